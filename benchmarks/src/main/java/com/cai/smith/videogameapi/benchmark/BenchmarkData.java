@@ -0,0 +1,77 @@
+package com.cai.smith.videogameapi.benchmark;
+
+import com.cai.smith.videogameapi.model.Developer;
+import com.cai.smith.videogameapi.model.Game;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Fixtures shaped like real catalogue entries - UUID ids, titles of a few words,
+ * three or four genres - so per-item costs are representative.
+ */
+final class BenchmarkData {
+
+    private static final String[] TITLES = {
+            "Halo: Combat Evolved", "Super Smash Bros. Brawl", "The Legend of Zelda: Breath of the Wild",
+            "Destiny 2", "Metroid Prime", "Mario Kart 8 Deluxe", "Animal Crossing: New Horizons"
+    };
+
+    private static final String[][] GENRES = {
+            {"First Person Shooter", "Action", "Sci-fi", "Multiplayer"},
+            {"Fighting", "Action", "Multiplayer"},
+            {"Adventure", "Open World", "Action"},
+            {"Racing", "Multiplayer", "Family"}
+    };
+
+    private static final String[] DEVELOPERS = {"Nintendo", "Bungie", "Retro Studios", "Monolith Soft"};
+
+    private BenchmarkData() {
+    }
+
+    /**
+     * The ObjectMapper Spring Boot would build for the application - java.time
+     * support with dates written as strings.
+     */
+    static ObjectMapper objectMapper() {
+        return Jackson2ObjectMapperBuilder.json()
+                .featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+                .build();
+    }
+
+    static List<Game> games(int count) {
+
+        List<Game> games = new ArrayList<>(count);
+
+        for (int i = 0; i < count; i++) {
+            Game game = new Game();
+            game.setGameId(UUID.randomUUID().toString());
+            game.setTitle(TITLES[i % TITLES.length]);
+            game.setReleaseDate(LocalDate.of(1990 + i % 30, 1 + i % 12, 1 + i % 28));
+            game.setGenres(Arrays.asList(GENRES[i % GENRES.length]));
+            game.setDeveloper(DEVELOPERS[i % DEVELOPERS.length]);
+            game.setVersion(1);
+            games.add(game);
+        }
+        return games;
+    }
+
+    static List<Developer> developers(int count) {
+
+        List<Developer> developers = new ArrayList<>(count);
+
+        for (int i = 0; i < count; i++) {
+            Developer developer = new Developer();
+            developer.setName("Developer " + i);
+            developer.setHeadquarters("Country " + i % 50);
+            developers.add(developer);
+        }
+        return developers;
+    }
+}
@@ -0,0 +1,67 @@
+package com.cai.smith.videogameapi.benchmark;
+
+import com.cai.smith.videogameapi.model.Developer;
+import com.cai.smith.videogameapi.service.ApprovedDeveloperRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * GameService.checkDeveloperApproved is a lookup in the {@link ApprovedDeveloperRegistry}.
+ * The scan benchmark is the loop it replaced, run over a list that is already in
+ * memory - the real version also paid for a findAll() against Mongo on every write,
+ * so it is a lower bound for the old cost.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class DeveloperApprovalBenchmark {
+
+    @Param({"10", "1000", "100000"})
+    private int developerCount;
+
+    private ApprovedDeveloperRegistry approvedDeveloperRegistry;
+
+    private List<Developer> developers;
+
+    // Worst case for the scan - the match is the last entry
+    private String developer;
+
+    @Setup
+    public void setUp() {
+        developers = BenchmarkData.developers(developerCount);
+        developer = developers.get(developerCount - 1).getName();
+
+        approvedDeveloperRegistry = new ApprovedDeveloperRegistry();
+        approvedDeveloperRegistry.replace(developers);
+    }
+
+    @Benchmark
+    public boolean registryLookup() {
+        return approvedDeveloperRegistry.isApproved(developer);
+    }
+
+    @Benchmark
+    public boolean repositoryScan() {
+        for (Developer approved : developers) {
+            if (developer.equals(approved.getName())) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
@@ -0,0 +1,124 @@
+package com.cai.smith.videogameapi.benchmark;
+
+import com.cai.smith.videogameapi.mapper.GameFormat;
+import com.cai.smith.videogameapi.mapper.GameFormats;
+import com.cai.smith.videogameapi.mapper.GameListWriter;
+import com.cai.smith.videogameapi.model.Game;
+import com.cai.smith.videogameapi.model.response.GameResponseList;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.annotation.AnnotationConfigApplicationContext;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * A list of games written with {@link GameListWriter} and read back as a
+ * {@link GameResponseList} in each {@link GameFormat}. Payload sizes do not need
+ * JMH - run this class's main method to print them:
+ * {@code java -cp target/benchmarks.jar com.cai.smith.videogameapi.benchmark.GameFormatBenchmark}
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class GameFormatBenchmark {
+
+    private static final int[] SIZES = {1000, 100000};
+
+    @Param({"JSON", "CBOR", "SMILE", "PROTOBUF"})
+    private GameFormat format;
+
+    @Param({"1000", "100000"})
+    private int games;
+
+    private AnnotationConfigApplicationContext context;
+
+    private GameListWriter gameListWriter;
+
+    private ObjectReader reader;
+
+    private List<Game> list;
+
+    private byte[] encoded;
+
+    @Setup
+    public void setUp() {
+        context = context();
+        gameListWriter = context.getBean(GameListWriter.class);
+        reader = context.getBean(GameFormats.class).readerFor(format, GameResponseList.class);
+        list = BenchmarkData.games(games);
+        encoded = encode();
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public byte[] encode() {
+        return gameListWriter.writeGameList(list, 0, games, games, null, format);
+    }
+
+    @Benchmark
+    public GameResponseList decode() throws IOException {
+        return reader.readValue(encoded);
+    }
+
+    private static AnnotationConfigApplicationContext context() {
+        AnnotationConfigApplicationContext context = new AnnotationConfigApplicationContext();
+        context.registerBean(ObjectMapper.class, BenchmarkData::objectMapper);
+        context.registerBean(GameFormats.class);
+        context.registerBean(GameListWriter.class);
+        context.refresh();
+        return context;
+    }
+
+    public static void main(String[] args) throws IOException {
+
+        try (AnnotationConfigApplicationContext context = context()) {
+            GameListWriter gameListWriter = context.getBean(GameListWriter.class);
+
+            System.out.printf("%-10s %8s %14s %14s %10s%n", "format", "games", "bytes", "gzip bytes", "vs json");
+            for (int size : SIZES) {
+                List<Game> list = BenchmarkData.games(size);
+                long json = 0;
+
+                for (GameFormat format : GameFormat.values()) {
+                    byte[] bytes = gameListWriter.writeGameList(list, 0, size, size, null, format);
+                    if (format == GameFormat.JSON) {
+                        json = bytes.length;
+                    }
+                    System.out.printf("%-10s %8d %14d %14d %9.0f%%%n",
+                            format, size, bytes.length, gzip(bytes).length, 100.0 * bytes.length / json);
+                }
+            }
+        }
+    }
+
+    private static byte[] gzip(byte[] bytes) throws IOException {
+        ByteArrayOutputStream output = new ByteArrayOutputStream(bytes.length / 4);
+        try (GZIPOutputStream gzip = new GZIPOutputStream(output)) {
+            gzip.write(bytes);
+        }
+        return output.toByteArray();
+    }
+}
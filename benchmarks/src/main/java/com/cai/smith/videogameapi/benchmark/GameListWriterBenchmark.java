@@ -0,0 +1,90 @@
+package com.cai.smith.videogameapi.benchmark;
+
+import com.cai.smith.videogameapi.mapper.GameFormat;
+import com.cai.smith.videogameapi.mapper.GameFormats;
+import com.cai.smith.videogameapi.mapper.GameListWriter;
+import com.cai.smith.videogameapi.mapper.ResponseMapper;
+import com.cai.smith.videogameapi.model.Game;
+import com.cai.smith.videogameapi.model.GameFields;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.annotation.AnnotationConfigApplicationContext;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * A page of games from Game documents to JSON bytes. The mapped benchmark is the
+ * old path - build the GameResponseList and let Jackson serialize it; the streamed
+ * one is {@link GameListWriter}. Both return the same bytes, so the difference in
+ * gc.alloc.rate.norm between page sizes is the per-element garbage of each. The
+ * fields parameter is a {@code fields=} projection, {@code all} for none.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class GameListWriterBenchmark {
+
+    @Param({"20", "100"})
+    private int pageSize;
+
+    @Param({"all", "id,title"})
+    private String fields;
+
+    private GameFields gameFields;
+
+    private AnnotationConfigApplicationContext context;
+
+    private GameListWriter gameListWriter;
+
+    private final ResponseMapper responseMapper = new ResponseMapper();
+
+    private ObjectMapper objectMapper;
+
+    private List<Game> games;
+
+    @Setup
+    public void setUp() {
+        context = new AnnotationConfigApplicationContext();
+        context.registerBean(ObjectMapper.class, BenchmarkData::objectMapper);
+        context.registerBean(GameFormats.class);
+        context.registerBean(GameListWriter.class);
+        context.refresh();
+
+        gameListWriter = context.getBean(GameListWriter.class);
+        objectMapper = context.getBean(ObjectMapper.class);
+        games = BenchmarkData.games(pageSize);
+        gameFields = "all".equals(fields) ? GameFields.ALL : GameFields.of(fields);
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public byte[] mapped() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(responseMapper.mapGameResponseList(games, 0, pageSize, 10000, null,
+                gameFields));
+    }
+
+    @Benchmark
+    public byte[] streamed() {
+        return gameListWriter.writeGameList(games, 0, pageSize, 10000, null, GameFormat.JSON, gameFields);
+    }
+}
@@ -0,0 +1,65 @@
+package com.cai.smith.videogameapi.benchmark;
+
+import com.cai.smith.videogameapi.model.Game;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Request body parsing for POST /games and POST /games/batch, including the
+ * yyyy-MM-dd release_date pattern.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class GameParsingBenchmark {
+
+    private static final int BATCH_SIZE = 500;
+
+    private ObjectReader gameReader;
+
+    private ObjectReader batchReader;
+
+    private byte[] gameJson;
+
+    private byte[] batchJson;
+
+    @Setup
+    public void setUp() throws IOException {
+        ObjectMapper objectMapper = BenchmarkData.objectMapper();
+
+        gameReader = objectMapper.readerFor(Game.class);
+        batchReader = objectMapper.readerFor(new TypeReference<List<Game>>() { });
+
+        List<Game> games = BenchmarkData.games(BATCH_SIZE);
+        gameJson = objectMapper.writeValueAsBytes(games.get(0));
+        batchJson = objectMapper.writeValueAsBytes(games);
+    }
+
+    @Benchmark
+    public Game readGame() throws IOException {
+        return gameReader.readValue(gameJson);
+    }
+
+    @Benchmark
+    public List<Game> readBatch() throws IOException {
+        return batchReader.readValue(batchJson);
+    }
+}
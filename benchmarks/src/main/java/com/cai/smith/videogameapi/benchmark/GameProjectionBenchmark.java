@@ -0,0 +1,120 @@
+package com.cai.smith.videogameapi.benchmark;
+
+import com.cai.smith.videogameapi.model.Game;
+import com.cai.smith.videogameapi.model.GameField;
+import com.cai.smith.videogameapi.model.GameFields;
+import org.bson.Document;
+import org.bson.RawBsonDocument;
+import org.bson.codecs.DocumentCodec;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.data.mongodb.core.convert.MappingMongoConverter;
+import org.springframework.data.mongodb.core.convert.MongoCustomConversions;
+import org.springframework.data.mongodb.core.convert.NoOpDbRefResolver;
+import org.springframework.data.mongodb.core.mapping.MongoMappingContext;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * A page of games read from the BSON mongo would send back - decoded by the
+ * driver's codec, then mapped to {@link Game} by Spring Data - with every field
+ * and with a {@code fields=} projection applied. Mongo itself is not needed: the
+ * documents are written by the same converter. Run the main method for the
+ * bytes on the wire of each.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class GameProjectionBenchmark {
+
+    private static final int PAGE_SIZE = 100;
+
+    @Param({"all", "id,title"})
+    private String fields;
+
+    private final DocumentCodec codec = new DocumentCodec();
+
+    private MappingMongoConverter converter;
+
+    private List<RawBsonDocument> page;
+
+    @Setup
+    public void setUp() {
+        converter = converter();
+        page = page(converter, "all".equals(fields) ? GameFields.ALL : GameFields.of(fields));
+    }
+
+    @Benchmark
+    public List<Game> read() {
+
+        List<Game> games = new ArrayList<>(page.size());
+        for (RawBsonDocument document : page) {
+            games.add(converter.read(Game.class, document.decode(codec)));
+        }
+        return games;
+    }
+
+    private static MappingMongoConverter converter() {
+
+        MongoCustomConversions conversions = new MongoCustomConversions(Collections.emptyList());
+        MongoMappingContext mappingContext = new MongoMappingContext();
+        mappingContext.setSimpleTypeHolder(conversions.getSimpleTypeHolder());
+        mappingContext.afterPropertiesSet();
+
+        MappingMongoConverter converter = new MappingMongoConverter(NoOpDbRefResolver.INSTANCE, mappingContext);
+        converter.setCustomConversions(conversions);
+        converter.afterPropertiesSet();
+        return converter;
+    }
+
+    private static List<RawBsonDocument> page(MappingMongoConverter converter, GameFields fields) {
+
+        List<RawBsonDocument> page = new ArrayList<>(PAGE_SIZE);
+        for (Game game : BenchmarkData.games(PAGE_SIZE)) {
+            Document document = new Document();
+            converter.write(game, document);
+
+            // What mongo returns for the projection - _id is always included
+            if (!fields.isAll()) {
+                Document projected = new Document("_id", document.get("_id"));
+                for (GameField field : fields.getFields()) {
+                    if (document.containsKey(field.getField())) {
+                        projected.append(field.getField(), document.get(field.getField()));
+                    }
+                }
+                document = projected;
+            }
+            page.add(new RawBsonDocument(document, new DocumentCodec()));
+        }
+        return page;
+    }
+
+    public static void main(String[] args) {
+
+        MappingMongoConverter converter = converter();
+
+        System.out.printf("%-10s %8s %12s%n", "fields", "games", "bson bytes");
+        for (String fields : new String[] {"all", "id,title"}) {
+            long bytes = 0;
+            for (RawBsonDocument document : page(converter, "all".equals(fields) ? GameFields.ALL : GameFields.of(fields))) {
+                bytes += document.getByteBuffer().remaining();
+            }
+            System.out.printf("%-10s %8d %12d%n", fields, PAGE_SIZE, bytes);
+        }
+    }
+}
@@ -0,0 +1,219 @@
+package com.cai.smith.videogameapi.benchmark;
+
+import com.cai.smith.videogameapi.InsertPipelineConfig;
+import com.cai.smith.videogameapi.model.Game;
+import com.cai.smith.videogameapi.repository.CollectionGenerationRepository;
+import com.cai.smith.videogameapi.repository.GameRepository;
+import com.cai.smith.videogameapi.service.GameInsertPipeline;
+import com.cai.smith.videogameapi.service.GamesGenerationTracker;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.Recorder;
+import org.springframework.context.annotation.AnnotationConfigApplicationContext;
+import org.springframework.core.env.MapPropertySource;
+
+import java.lang.reflect.Proxy;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Throughput and latency of single creates with and without the group-commit
+ * {@link GameInsertPipeline}, at several batch sizes. A closed loop of callers
+ * each insert one game at a time against a stub repository that models a mongo
+ * write: a network round trip that overlaps freely, plus a commit cost and a
+ * per-document cost that writes pay one at a time. A create without the pipeline
+ * also pays a second write for the generation bump, as {@code GameService} does.
+ * The costs are made up rather than measured, so the numbers only compare the
+ * modes with each other - the load test measures them against a real mongo.
+ * Not a JMH benchmark - run the main method:
+ * {@code java -cp target/benchmarks.jar com.cai.smith.videogameapi.benchmark.InsertPipelineBenchmark}
+ */
+public class InsertPipelineBenchmark {
+
+    private static final long ROUND_TRIP_NANOS = TimeUnit.MICROSECONDS.toNanos(500);
+
+    private static final long COMMIT_NANOS = TimeUnit.MICROSECONDS.toNanos(200);
+
+    private static final long DOCUMENT_NANOS = TimeUnit.MICROSECONDS.toNanos(5);
+
+    private static final int[] CALLERS = {64, 512};
+
+    private static final int[] BATCH_SIZES = {1, 16, 64, 256};
+
+    private static final long WARMUP_NANOS = TimeUnit.SECONDS.toNanos(2);
+
+    private static final long DURATION_NANOS = TimeUnit.SECONDS.toNanos(5);
+
+    private static final Object SERVER = new Object();
+
+    private static final AtomicLong WRITES = new AtomicLong();
+
+    @FunctionalInterface
+    private interface Insert {
+        void insert(Game game) throws Exception;
+    }
+
+    public static void main(String[] args) throws Exception {
+
+        System.out.printf("simulated mongo: round trip %dus, commit %dus, per document %dus, flush interval %dus%n",
+                TimeUnit.NANOSECONDS.toMicros(ROUND_TRIP_NANOS), TimeUnit.NANOSECONDS.toMicros(COMMIT_NANOS),
+                TimeUnit.NANOSECONDS.toMicros(DOCUMENT_NANOS), new InsertPipelineConfig().getFlushIntervalMicros());
+        System.out.printf("%-10s %8s %6s %12s %12s %10s %10s%n",
+                "mode", "callers", "batch", "inserts/s", "writes/s", "p50 ms", "p99 ms");
+
+        GameRepository gameRepository = gameRepository();
+        CollectionGenerationRepository collectionGenerationRepository = collectionGenerationRepository();
+
+        for (int callers : CALLERS) {
+            report("direct", callers, "-", run(callers, game -> {
+                gameRepository.insert(game);
+                collectionGenerationRepository.incrementGeneration("games");
+            }));
+
+            for (int batchSize : BATCH_SIZES) {
+                try (AnnotationConfigApplicationContext context =
+                             context(batchSize, gameRepository, collectionGenerationRepository)) {
+                    GameInsertPipeline pipeline = context.getBean(GameInsertPipeline.class);
+                    report("pipeline", callers, String.valueOf(batchSize),
+                            run(callers, game -> pipeline.submit(game).get()));
+                }
+            }
+        }
+    }
+
+    private static Result run(int callers, Insert insert) throws InterruptedException {
+
+        Recorder recorder = new Recorder(3);
+        AtomicLong inserts = new AtomicLong();
+        long start = System.nanoTime();
+        long measureFrom = start + WARMUP_NANOS;
+        long end = measureFrom + DURATION_NANOS;
+        CountDownLatch done = new CountDownLatch(callers);
+
+        for (int i = 0; i < callers; i++) {
+            Thread caller = new Thread(() -> {
+                try {
+                    long now;
+                    while ((now = System.nanoTime()) < end) {
+                        insert.insert(new Game());
+                        long finished = System.nanoTime();
+                        if (now >= measureFrom) {
+                            recorder.recordValue(finished - now);
+                            inserts.incrementAndGet();
+                        }
+                    }
+                } catch (Exception e) {
+                    throw new IllegalStateException(e);
+                } finally {
+                    done.countDown();
+                }
+            });
+            caller.setDaemon(true);
+            caller.start();
+        }
+
+        LockSupport.parkNanos(measureFrom - System.nanoTime());
+        long writesAtStart = WRITES.get();
+        done.await();
+        long writes = WRITES.get() - writesAtStart;
+
+        return new Result(inserts.get(), writes, recorder.getIntervalHistogram());
+    }
+
+    private static void report(String mode, int callers, String batch, Result result) {
+
+        double seconds = DURATION_NANOS / 1e9;
+        System.out.printf("%-10s %8d %6s %12.0f %12.0f %10.2f %10.2f%n", mode, callers, batch,
+                result.inserts / seconds, result.writes / seconds,
+                result.latency.getValueAtPercentile(50) / 1e6, result.latency.getValueAtPercentile(99) / 1e6);
+    }
+
+    private static AnnotationConfigApplicationContext context(int batchSize, GameRepository gameRepository,
+                                                              CollectionGenerationRepository collectionGenerationRepository) {
+
+        AnnotationConfigApplicationContext context = new AnnotationConfigApplicationContext();
+        context.getEnvironment().getPropertySources().addFirst(new MapPropertySource("benchmark",
+                Collections.singletonMap(InsertPipelineConfig.ENABLED_PROPERTY, "true")));
+
+        InsertPipelineConfig config = new InsertPipelineConfig();
+        config.setEnabled(true);
+        config.setMaxBatchSize(batchSize);
+        context.registerBean(InsertPipelineConfig.class, () -> config);
+        context.registerBean(GameRepository.class, () -> gameRepository);
+        context.registerBean(CollectionGenerationRepository.class, () -> collectionGenerationRepository);
+        context.registerBean(MeterRegistry.class, SimpleMeterRegistry::new);
+        context.registerBean(GamesGenerationTracker.class);
+        context.registerBean(GameInsertPipeline.class);
+        context.refresh();
+        return context;
+    }
+
+    private static GameRepository gameRepository() {
+        return (GameRepository) Proxy.newProxyInstance(InsertPipelineBenchmark.class.getClassLoader(),
+                new Class<?>[] {GameRepository.class}, (proxy, method, args) -> {
+                    switch (method.getName()) {
+                        case "insert":
+                            write(1);
+                            return args[0];
+                        case "insertUnordered":
+                            write(((List<?>) args[0]).size());
+                            return Collections.emptySet();
+                        default:
+                            throw new UnsupportedOperationException(method.getName());
+                    }
+                });
+    }
+
+    private static CollectionGenerationRepository collectionGenerationRepository() {
+        return (CollectionGenerationRepository) Proxy.newProxyInstance(InsertPipelineBenchmark.class.getClassLoader(),
+                new Class<?>[] {CollectionGenerationRepository.class}, (proxy, method, args) -> {
+                    if ("incrementGeneration".equals(method.getName())) {
+                        write(1);
+                        return null;
+                    }
+                    throw new UnsupportedOperationException(method.getName());
+                });
+    }
+
+    /**
+     * One write command: the round trip overlaps with other callers', the commit
+     * and per-document work does not.
+     */
+    private static void write(int documents) {
+
+        LockSupport.parkNanos(ROUND_TRIP_NANOS / 2);
+        synchronized (SERVER) {
+            spin(COMMIT_NANOS + documents * DOCUMENT_NANOS);
+        }
+        WRITES.incrementAndGet();
+        LockSupport.parkNanos(ROUND_TRIP_NANOS / 2);
+    }
+
+    private static void spin(long nanos) {
+        // Parking under the lock would be rounded up to the timer slack, so hold it for the exact time
+        long until = System.nanoTime() + nanos;
+        while (System.nanoTime() < until) {
+            // spin
+        }
+    }
+
+    private static final class Result {
+
+        private final long inserts;
+
+        private final long writes;
+
+        private final Histogram latency;
+
+        Result(long inserts, long writes, Histogram latency) {
+            this.inserts = inserts;
+            this.writes = writes;
+            this.latency = latency;
+        }
+    }
+}
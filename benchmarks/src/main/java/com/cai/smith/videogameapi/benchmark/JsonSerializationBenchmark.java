@@ -0,0 +1,65 @@
+package com.cai.smith.videogameapi.benchmark;
+
+import com.cai.smith.videogameapi.mapper.ResponseMapper;
+import com.cai.smith.videogameapi.model.response.GameResponse;
+import com.cai.smith.videogameapi.model.response.GameResponseList;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Serialisation of already-mapped responses, as the message converter does after
+ * the controller returns.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class JsonSerializationBenchmark {
+
+    @Param({"20", "100"})
+    private int pageSize;
+
+    private ObjectWriter gameResponseWriter;
+
+    private ObjectWriter gameResponseListWriter;
+
+    private GameResponse gameResponse;
+
+    private GameResponseList gameResponseList;
+
+    @Setup
+    public void setUp() {
+        ResponseMapper responseMapper = new ResponseMapper();
+
+        gameResponseWriter = BenchmarkData.objectMapper().writerFor(GameResponse.class);
+        gameResponseListWriter = BenchmarkData.objectMapper().writerFor(GameResponseList.class);
+
+        gameResponseList = responseMapper.mapGameResponseList(BenchmarkData.games(pageSize), 0, pageSize, 10000, null);
+        gameResponse = gameResponseList.getItems().get(0);
+    }
+
+    @Benchmark
+    public byte[] writeGameResponse() throws JsonProcessingException {
+        return gameResponseWriter.writeValueAsBytes(gameResponse);
+    }
+
+    @Benchmark
+    public byte[] writeGameResponseList() throws JsonProcessingException {
+        return gameResponseListWriter.writeValueAsBytes(gameResponseList);
+    }
+}
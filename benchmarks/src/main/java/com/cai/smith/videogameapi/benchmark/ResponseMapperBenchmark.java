@@ -0,0 +1,55 @@
+package com.cai.smith.videogameapi.benchmark;
+
+import com.cai.smith.videogameapi.mapper.ResponseMapper;
+import com.cai.smith.videogameapi.model.Game;
+import com.cai.smith.videogameapi.model.response.GameResponse;
+import com.cai.smith.videogameapi.model.response.GameResponseList;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ResponseMapperBenchmark {
+
+    // A single game, the default page and the largest permitted page
+    @Param({"1", "20", "100"})
+    private int pageSize;
+
+    private final ResponseMapper responseMapper = new ResponseMapper();
+
+    private List<Game> games;
+
+    private Game game;
+
+    @Setup
+    public void setUp() {
+        games = BenchmarkData.games(pageSize);
+        game = games.get(0);
+    }
+
+    @Benchmark
+    public GameResponse mapGameResponse() {
+        return responseMapper.mapGameResponse(game);
+    }
+
+    @Benchmark
+    public GameResponseList mapGameResponseList() {
+        return responseMapper.mapGameResponseList(games, 0, pageSize, 10000, null);
+    }
+}
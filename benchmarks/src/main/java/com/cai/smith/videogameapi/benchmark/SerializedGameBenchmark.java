@@ -0,0 +1,102 @@
+package com.cai.smith.videogameapi.benchmark;
+
+import com.cai.smith.videogameapi.CacheConfig;
+import com.cai.smith.videogameapi.cache.GameResponseCache;
+import com.cai.smith.videogameapi.mapper.ResponseMapper;
+import com.cai.smith.videogameapi.model.Game;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.annotation.AnnotationConfigApplicationContext;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Per-request body cost of GET /games/{id} for a game that is already in the
+ * GameCache. The uncached benchmarks are what the endpoint did before - map the
+ * game and serialize the response on every call; the cached ones are a
+ * {@link GameResponseCache} hit for the same version.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SerializedGameBenchmark {
+
+    private AnnotationConfigApplicationContext context;
+
+    private GameResponseCache gameResponseCache;
+
+    private ResponseMapper responseMapper;
+
+    private ObjectMapper objectMapper;
+
+    private Game game;
+
+    @Setup
+    public void setUp() {
+        CacheConfig cacheConfig = new CacheConfig();
+        cacheConfig.setGzipSerialized(true);
+        cacheConfig.setGzipMinBytes(0);
+
+        context = new AnnotationConfigApplicationContext();
+        context.registerBean(CacheConfig.class, () -> cacheConfig);
+        context.registerBean(ResponseMapper.class);
+        context.registerBean(ObjectMapper.class, BenchmarkData::objectMapper);
+        context.registerBean(MeterRegistry.class, SimpleMeterRegistry::new);
+        context.registerBean(GameResponseCache.class);
+        context.refresh();
+
+        gameResponseCache = context.getBean(GameResponseCache.class);
+        responseMapper = context.getBean(ResponseMapper.class);
+        objectMapper = context.getBean(ObjectMapper.class);
+
+        game = BenchmarkData.games(1).get(0);
+        gameResponseCache.get(game);
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public byte[] uncached() throws IOException {
+        return objectMapper.writeValueAsBytes(responseMapper.mapGameResponse(game));
+    }
+
+    @Benchmark
+    public byte[] cached() {
+        return gameResponseCache.get(game).getJson();
+    }
+
+    @Benchmark
+    public byte[] uncachedGzip() throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (GZIPOutputStream out = new GZIPOutputStream(bytes)) {
+            objectMapper.writeValue(out, responseMapper.mapGameResponse(game));
+        }
+        return bytes.toByteArray();
+    }
+
+    @Benchmark
+    public byte[] cachedGzip() {
+        return gameResponseCache.get(game).getGzip();
+    }
+}
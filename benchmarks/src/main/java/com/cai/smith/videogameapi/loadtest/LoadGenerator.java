@@ -0,0 +1,243 @@
+package com.cai.smith.videogameapi.loadtest;
+
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.Recorder;
+import org.springframework.http.MediaType;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Open-model load: requests are sent on a fixed schedule whether or not earlier
+ * ones have answered, and each latency is measured from the time the request was
+ * due rather than the time it went out. A server stall therefore shows up in the
+ * histogram as the full queueing delay every scheduled request would have seen,
+ * instead of being hidden by the generator slowing down with it.
+ */
+final class LoadGenerator {
+
+    static final String DEVELOPER = "Nintendo";
+
+    private static final long HIGHEST_TRACKABLE_MICROS = TimeUnit.MINUTES.toMicros(10);
+
+    private static final int SIGNIFICANT_DIGITS = 3;
+
+    private static final int SEED_CONCURRENCY = 16;
+
+    private final WebClient webClient;
+
+    private final LoadTestConfig config;
+
+    private final Map<Operation, Recorder> recorders = new EnumMap<>(Operation.class);
+
+    private final Map<Operation, LongAdder> errors = new EnumMap<>(Operation.class);
+
+    private final AtomicInteger inFlight = new AtomicInteger();
+
+    private final LongAdder lateStarts = new LongAdder();
+
+    // Ids the generator has created and not yet deleted - the targets for get, put and delete
+    private final List<String> ids = new ArrayList<>();
+
+    LoadGenerator(WebClient webClient, LoadTestConfig config) {
+        this.webClient = webClient;
+        this.config = config;
+
+        for (Operation operation : Operation.values()) {
+            recorders.put(operation, new Recorder(HIGHEST_TRACKABLE_MICROS, SIGNIFICANT_DIGITS));
+            errors.put(operation, new LongAdder());
+        }
+    }
+
+    void seed(int count) {
+
+        Flux.range(0, count)
+                .flatMap(i -> create(), SEED_CONCURRENCY)
+                .blockLast();
+    }
+
+    /**
+     * Runs the schedule for the given time and waits for the stragglers, returning
+     * the histograms recorded since the previous call.
+     */
+    Map<Operation, Histogram> run(long durationNanos) {
+
+        long intervalNanos = TimeUnit.SECONDS.toNanos(1) / config.getRate();
+        long start = System.nanoTime();
+
+        for (long i = 0; i * intervalNanos < durationNanos; i++) {
+            long intendedStart = start + i * intervalNanos;
+            long wait = intendedStart - System.nanoTime();
+
+            if (wait > 0) {
+                LockSupport.parkNanos(wait);
+            } else if (-wait > intervalNanos) {
+                lateStarts.increment();
+            }
+
+            send(config.nextOperation(), intendedStart);
+        }
+
+        awaitInFlight();
+        return intervalHistograms();
+    }
+
+    long errors(Operation operation) {
+        return errors.get(operation).sumThenReset();
+    }
+
+    long lateStarts() {
+        return lateStarts.sumThenReset();
+    }
+
+    private void send(Operation operation, long intendedStart) {
+
+        Mono<Integer> call = request(operation);
+        if (call == null) {
+            // Nothing to read, update or delete yet - create instead so the schedule is kept
+            operation = Operation.CREATE;
+            call = request(operation);
+        }
+
+        Operation sent = operation;
+        inFlight.incrementAndGet();
+
+        call.subscribe(status -> complete(sent, intendedStart, isSuccess(sent, status)),
+                error -> complete(sent, intendedStart, false));
+    }
+
+    private void complete(Operation operation, long intendedStart, boolean success) {
+
+        recorders.get(operation).recordValue(
+                Math.min(TimeUnit.NANOSECONDS.toMicros(System.nanoTime() - intendedStart), HIGHEST_TRACKABLE_MICROS));
+        if (!success) {
+            errors.get(operation).increment();
+        }
+        inFlight.decrementAndGet();
+    }
+
+    private Mono<Integer> request(Operation operation) {
+
+        switch (operation) {
+            case CREATE:
+                return create().map(id -> 201).defaultIfEmpty(0);
+            case GET_ALL:
+                return exchange(webClient.get().uri("/games?items_per_page=20"));
+            case GET: {
+                String id = randomId(false);
+                return id == null ? null : exchange(webClient.get().uri("/games/{id}", id));
+            }
+            case PUT: {
+                String id = randomId(false);
+                return id == null ? null : exchange(webClient.put()
+                        .uri("/games/developer/{developer}/{id}", DEVELOPER, id)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .syncBody(game("Updated")));
+            }
+            case DELETE: {
+                String id = randomId(true);
+                return id == null ? null : exchange(webClient.delete()
+                        .uri("/games/developer/{developer}/{id}", DEVELOPER, id));
+            }
+            default:
+                throw new IllegalArgumentException("Unsupported operation " + operation);
+        }
+    }
+
+    private Mono<String> create() {
+
+        return webClient.post().uri("/games")
+                .contentType(MediaType.APPLICATION_JSON)
+                .syncBody(game("Load Test"))
+                .exchange()
+                .flatMap(response -> response.statusCode().value() == 201
+                        ? response.bodyToMono(Map.class).map(body -> (String) body.get("id"))
+                        : response.bodyToMono(Void.class).then(Mono.<String>empty()))
+                .doOnNext(this::addId);
+    }
+
+    private Mono<Integer> exchange(WebClient.RequestHeadersSpec<?> spec) {
+
+        // The body is drained so the connection goes back to the pool
+        return spec.exchange()
+                .flatMap(response -> response.bodyToMono(Void.class).thenReturn(response.rawStatusCode()));
+    }
+
+    private static boolean isSuccess(Operation operation, int status) {
+
+        switch (operation) {
+            case CREATE:
+                return status == 201;
+            case PUT:
+            case DELETE:
+                return status == 204;
+            default:
+                return status == 200;
+        }
+    }
+
+    private static Map<String, Object> game(String title) {
+
+        Map<String, Object> game = new HashMap<>();
+        game.put("title", title + " " + ThreadLocalRandom.current().nextInt(1_000_000));
+        game.put("release_date", "2017-03-03");
+        game.put("genres", Arrays.asList("Action", "Adventure"));
+        game.put("developer", DEVELOPER);
+        return game;
+    }
+
+    private void addId(String id) {
+        synchronized (ids) {
+            ids.add(id);
+        }
+    }
+
+    private String randomId(boolean remove) {
+
+        synchronized (ids) {
+            if (ids.isEmpty()) {
+                return null;
+            }
+
+            int index = ThreadLocalRandom.current().nextInt(ids.size());
+            String id = ids.get(index);
+
+            if (remove) {
+                // Swap with the last element so removal stays constant time
+                ids.set(index, ids.get(ids.size() - 1));
+                ids.remove(ids.size() - 1);
+            }
+            return id;
+        }
+    }
+
+    private void awaitInFlight() {
+
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(30);
+
+        while (inFlight.get() > 0 && System.nanoTime() < deadline) {
+            LockSupport.parkNanos(TimeUnit.MILLISECONDS.toNanos(10));
+        }
+    }
+
+    private Map<Operation, Histogram> intervalHistograms() {
+
+        Map<Operation, Histogram> histograms = new EnumMap<>(Operation.class);
+        for (Map.Entry<Operation, Recorder> entry : recorders.entrySet()) {
+            histograms.put(entry.getKey(), entry.getValue().getIntervalHistogram());
+        }
+        return histograms;
+    }
+}
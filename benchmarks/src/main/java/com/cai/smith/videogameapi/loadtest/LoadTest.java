@@ -0,0 +1,189 @@
+package com.cai.smith.videogameapi.loadtest;
+
+import com.cai.smith.videogameapi.VideogameApiApplication;
+import org.HdrHistogram.Histogram;
+import org.springframework.boot.SpringApplication;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.web.reactive.function.client.WebClient;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Drives a weighted mix of GameController calls at a fixed arrival rate and
+ * prints latency percentiles and throughput per operation. Without --target the
+ * application is started in-process on a random port against the Mongo given by
+ * --mongo-host/--mongo-port (or an embedded one with --embedded-mongo=true), with
+ * a file developer source that approves Nintendo.
+ */
+public final class LoadTest {
+
+    private static final String DEVELOPERS_JSON =
+            "{\"developers\": [{\"name\": \"" + LoadGenerator.DEVELOPER + "\", \"headquarters\": \"Japan\"}]}";
+
+    private static final Duration READY_TIMEOUT = Duration.ofMinutes(2);
+
+    private LoadTest() {
+    }
+
+    public static void main(String[] args) throws Exception {
+
+        LoadTestConfig config = LoadTestConfig.parse(args);
+
+        ConfigurableApplicationContext application = null;
+        String target = config.getTarget();
+
+        if (target == null) {
+            application = startApplication(config);
+            target = "http://localhost:" + application.getEnvironment().getProperty("local.server.port");
+        }
+
+        try {
+            WebClient webClient = WebClient.create(target);
+            awaitReady(webClient);
+
+            LoadGenerator generator = new LoadGenerator(webClient, config);
+
+            System.out.printf("Seeding %d games at %s%n", config.getSeedGames(), target);
+            generator.seed(config.getSeedGames());
+
+            System.out.printf("Warming up for %ds at %d req/s%n", config.getWarmupSeconds(), config.getRate());
+            generator.run(TimeUnit.SECONDS.toNanos(config.getWarmupSeconds()));
+            for (Operation operation : Operation.values()) {
+                generator.errors(operation);
+            }
+            generator.lateStarts();
+
+            System.out.printf("Measuring for %ds at %d req/s, mix %s%n",
+                    config.getDurationSeconds(), config.getRate(), config.getMix());
+            Map<Operation, Histogram> histograms = generator.run(TimeUnit.SECONDS.toNanos(config.getDurationSeconds()));
+
+            report(generator, histograms, config);
+
+        } finally {
+            if (application != null) {
+                application.close();
+            }
+        }
+    }
+
+    private static ConfigurableApplicationContext startApplication(LoadTestConfig config) throws IOException {
+
+        Path developers = Files.createTempFile("loadtest-developers", ".json");
+        developers.toFile().deleteOnExit();
+        Files.write(developers, DEVELOPERS_JSON.getBytes(StandardCharsets.UTF_8));
+
+        // Command line arguments, so they win over application.properties
+        List<String> arguments = new ArrayList<>();
+        arguments.add("--server.port=0");
+        arguments.add("--developersourceconfig.type=file");
+        arguments.add("--developersourceconfig.filePath=" + developers);
+        arguments.add("--startupconfig.resetGames=true");
+        arguments.add("--logging.level.root=WARN");
+        arguments.add("--asyncconfig.enabled=" + config.isAsync());
+        arguments.add("--insertpipelineconfig.enabled=" + config.isInsertPipeline());
+
+        if (config.getProfile() != null) {
+            arguments.add("--spring.profiles.active=" + config.getProfile());
+        }
+
+        if (config.isEmbeddedMongo()) {
+            arguments.add("--spring.data.mongodb.port=0");
+            arguments.add("--spring.mongodb.embedded.version=4.0.2");
+        } else {
+            arguments.add("--spring.data.mongodb.host=" + config.getMongoHost());
+            arguments.add("--spring.data.mongodb.port=" + config.getMongoPort());
+            arguments.add("--spring.autoconfigure.exclude="
+                    + "org.springframework.boot.autoconfigure.mongo.embedded.EmbeddedMongoAutoConfiguration");
+        }
+
+        System.out.println("Starting application with " + arguments);
+        return SpringApplication.run(VideogameApiApplication.class, arguments.toArray(new String[0]));
+    }
+
+    private static void awaitReady(WebClient webClient) throws InterruptedException {
+
+        long deadline = System.nanoTime() + READY_TIMEOUT.toNanos();
+
+        while (System.nanoTime() < deadline) {
+            Integer status = webClient.get().uri("/actuator/health")
+                    .exchange()
+                    .flatMap(response -> response.bodyToMono(Void.class).thenReturn(response.rawStatusCode()))
+                    .onErrorReturn(0)
+                    .block();
+
+            if (status != null && status == 200) {
+                return;
+            }
+            Thread.sleep(500);
+        }
+        throw new IllegalStateException("Application did not report healthy within " + READY_TIMEOUT);
+    }
+
+    private static void report(LoadGenerator generator, Map<Operation, Histogram> histograms,
+                               LoadTestConfig config) throws IOException {
+
+        double seconds = config.getDurationSeconds();
+
+        System.out.println();
+        System.out.printf("%-8s %9s %8s %10s %10s %10s %10s %10s%n",
+                "op", "count", "errors", "req/s", "p50 ms", "p99 ms", "p999 ms", "max ms");
+
+        for (Map.Entry<Operation, Histogram> entry : histograms.entrySet()) {
+            Histogram histogram = entry.getValue();
+            if (histogram.getTotalCount() == 0) {
+                continue;
+            }
+
+            System.out.printf("%-8s %9d %8d %10.1f %10.2f %10.2f %10.2f %10.2f%n",
+                    entry.getKey().getName(),
+                    histogram.getTotalCount(),
+                    generator.errors(entry.getKey()),
+                    histogram.getTotalCount() / seconds,
+                    millis(histogram.getValueAtPercentile(50)),
+                    millis(histogram.getValueAtPercentile(99)),
+                    millis(histogram.getValueAtPercentile(99.9)),
+                    millis(histogram.getMaxValue()));
+        }
+
+        long lateStarts = generator.lateStarts();
+        if (lateStarts > 0) {
+            System.out.printf("%nWarning: %d requests were sent more than one interval late - "
+                    + "the generator could not keep up with the requested rate%n", lateStarts);
+        }
+
+        if (config.getHistogramDir() != null) {
+            writeDistributions(histograms, new File(config.getHistogramDir()));
+        }
+    }
+
+    // Percentile distribution files, in the format the HdrHistogram plotter reads
+    private static void writeDistributions(Map<Operation, Histogram> histograms, File directory) throws IOException {
+
+        if (!directory.isDirectory() && !directory.mkdirs()) {
+            throw new IOException("Could not create " + directory);
+        }
+
+        for (Map.Entry<Operation, Histogram> entry : histograms.entrySet()) {
+            File file = new File(directory, entry.getKey().getName() + ".hgrm");
+            try (PrintStream out = new PrintStream(new FileOutputStream(file), false, "UTF-8")) {
+                entry.getValue().outputPercentileDistribution(out, 1000.0);
+            }
+        }
+        System.out.println("Percentile distributions written to " + directory);
+    }
+
+    private static double millis(long micros) {
+        return micros / 1000.0;
+    }
+}
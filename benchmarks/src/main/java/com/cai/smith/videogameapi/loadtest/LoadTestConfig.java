@@ -0,0 +1,188 @@
+package com.cai.smith.videogameapi.loadtest;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Command line options, given as --name=value.
+ */
+final class LoadTestConfig {
+
+    private String target;
+
+    private boolean embeddedMongo = false;
+
+    private String mongoHost = "localhost";
+
+    private int mongoPort = 12345;
+
+    private String profile;
+
+    private boolean async = false;
+
+    private boolean insertPipeline = false;
+
+    private int rate = 200;
+
+    private int warmupSeconds = 10;
+
+    private int durationSeconds = 60;
+
+    private int seedGames = 500;
+
+    private String histogramDir;
+
+    private final Map<Operation, Integer> mix = new EnumMap<>(Operation.class);
+
+    private int totalWeight;
+
+    static LoadTestConfig parse(String[] args) {
+
+        LoadTestConfig config = new LoadTestConfig();
+        config.setMix("create=10,get=50,getAll=20,put=10,delete=10");
+
+        for (String arg : args) {
+            if (!arg.startsWith("--") || !arg.contains("=")) {
+                throw new IllegalArgumentException("Expected --name=value but got " + arg);
+            }
+
+            String name = arg.substring(2, arg.indexOf('='));
+            String value = arg.substring(arg.indexOf('=') + 1);
+
+            switch (name) {
+                case "target":
+                    config.target = value;
+                    break;
+                case "embedded-mongo":
+                    config.embeddedMongo = Boolean.parseBoolean(value);
+                    break;
+                case "mongo-host":
+                    config.mongoHost = value;
+                    break;
+                case "mongo-port":
+                    config.mongoPort = Integer.parseInt(value);
+                    break;
+                case "profile":
+                    config.profile = value;
+                    break;
+                case "async":
+                    config.async = Boolean.parseBoolean(value);
+                    break;
+                case "insert-pipeline":
+                    config.insertPipeline = Boolean.parseBoolean(value);
+                    break;
+                case "rate":
+                    config.rate = Integer.parseInt(value);
+                    break;
+                case "warmup":
+                    config.warmupSeconds = Integer.parseInt(value);
+                    break;
+                case "duration":
+                    config.durationSeconds = Integer.parseInt(value);
+                    break;
+                case "seed":
+                    config.seedGames = Integer.parseInt(value);
+                    break;
+                case "histogram-dir":
+                    config.histogramDir = value;
+                    break;
+                case "mix":
+                    config.setMix(value);
+                    break;
+                default:
+                    throw new IllegalArgumentException("Unknown option --" + name);
+            }
+        }
+
+        if (config.rate < 1) {
+            throw new IllegalArgumentException("--rate must be at least 1");
+        }
+        return config;
+    }
+
+    private void setMix(String value) {
+
+        mix.clear();
+        totalWeight = 0;
+
+        for (String entry : value.split(",")) {
+            String[] parts = entry.split("=");
+            int weight = Integer.parseInt(parts[1].trim());
+
+            if (weight > 0) {
+                mix.put(Operation.fromName(parts[0].trim()), weight);
+                totalWeight += weight;
+            }
+        }
+
+        if (totalWeight == 0) {
+            throw new IllegalArgumentException("--mix needs at least one operation with a positive weight");
+        }
+    }
+
+    Operation nextOperation() {
+
+        int pick = ThreadLocalRandom.current().nextInt(totalWeight);
+
+        for (Map.Entry<Operation, Integer> entry : mix.entrySet()) {
+            pick -= entry.getValue();
+            if (pick < 0) {
+                return entry.getKey();
+            }
+        }
+        throw new IllegalStateException("Operation weights changed during selection");
+    }
+
+    String getTarget() {
+        return target;
+    }
+
+    boolean isEmbeddedMongo() {
+        return embeddedMongo;
+    }
+
+    String getMongoHost() {
+        return mongoHost;
+    }
+
+    int getMongoPort() {
+        return mongoPort;
+    }
+
+    String getProfile() {
+        return profile;
+    }
+
+    boolean isAsync() {
+        return async;
+    }
+
+    boolean isInsertPipeline() {
+        return insertPipeline;
+    }
+
+    int getRate() {
+        return rate;
+    }
+
+    int getWarmupSeconds() {
+        return warmupSeconds;
+    }
+
+    int getDurationSeconds() {
+        return durationSeconds;
+    }
+
+    int getSeedGames() {
+        return seedGames;
+    }
+
+    String getHistogramDir() {
+        return histogramDir;
+    }
+
+    Map<Operation, Integer> getMix() {
+        return mix;
+    }
+}
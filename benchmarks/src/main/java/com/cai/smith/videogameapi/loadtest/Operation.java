@@ -0,0 +1,32 @@
+package com.cai.smith.videogameapi.loadtest;
+
+/**
+ * The GameController calls the harness can issue, named as they are given in --mix.
+ */
+enum Operation {
+
+    CREATE("create"),
+    GET("get"),
+    GET_ALL("getAll"),
+    PUT("put"),
+    DELETE("delete");
+
+    private final String name;
+
+    Operation(String name) {
+        this.name = name;
+    }
+
+    String getName() {
+        return name;
+    }
+
+    static Operation fromName(String name) {
+        for (Operation operation : values()) {
+            if (operation.name.equalsIgnoreCase(name)) {
+                return operation;
+            }
+        }
+        throw new IllegalArgumentException("Unknown operation " + name);
+    }
+}
@@ -0,0 +1,29 @@
+package com.cai.smith.videogameapi;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+@Component
+@ConfigurationProperties(prefix = "batchconfig")
+public class BatchConfig {
+
+    private int maxGames = 10000;
+
+    private int insertChunkSize = 500;
+
+    public int getMaxGames() {
+        return maxGames;
+    }
+
+    public void setMaxGames(int maxGames) {
+        this.maxGames = maxGames;
+    }
+
+    public int getInsertChunkSize() {
+        return insertChunkSize;
+    }
+
+    public void setInsertChunkSize(int insertChunkSize) {
+        this.insertChunkSize = insertChunkSize;
+    }
+}
@@ -0,0 +1,59 @@
+package com.cai.smith.videogameapi;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+@Component
+@ConfigurationProperties(prefix = "cacheconfig")
+public class CacheConfig {
+
+    private long maximumSize = 10000;
+
+    private long expireAfterWriteSeconds = 300;
+
+    private long serializedMaximumSize = 10000;
+
+    private boolean gzipSerialized = false;
+
+    private int gzipMinBytes = 1024;
+
+    public long getMaximumSize() {
+        return maximumSize;
+    }
+
+    public void setMaximumSize(long maximumSize) {
+        this.maximumSize = maximumSize;
+    }
+
+    public long getExpireAfterWriteSeconds() {
+        return expireAfterWriteSeconds;
+    }
+
+    public void setExpireAfterWriteSeconds(long expireAfterWriteSeconds) {
+        this.expireAfterWriteSeconds = expireAfterWriteSeconds;
+    }
+
+    public long getSerializedMaximumSize() {
+        return serializedMaximumSize;
+    }
+
+    public void setSerializedMaximumSize(long serializedMaximumSize) {
+        this.serializedMaximumSize = serializedMaximumSize;
+    }
+
+    public boolean isGzipSerialized() {
+        return gzipSerialized;
+    }
+
+    public void setGzipSerialized(boolean gzipSerialized) {
+        this.gzipSerialized = gzipSerialized;
+    }
+
+    public int getGzipMinBytes() {
+        return gzipMinBytes;
+    }
+
+    public void setGzipMinBytes(int gzipMinBytes) {
+        this.gzipMinBytes = gzipMinBytes;
+    }
+}
@@ -0,0 +1,39 @@
+package com.cai.smith.videogameapi;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+@Component
+@ConfigurationProperties(prefix = "compressionconfig")
+public class CompressionConfig {
+
+    private boolean enabled = false;
+
+    private int minBytes = 1024;
+
+    private long snapshotMaximumBytes = 64L * 1024 * 1024;
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public int getMinBytes() {
+        return minBytes;
+    }
+
+    public void setMinBytes(int minBytes) {
+        this.minBytes = minBytes;
+    }
+
+    public long getSnapshotMaximumBytes() {
+        return snapshotMaximumBytes;
+    }
+
+    public void setSnapshotMaximumBytes(long snapshotMaximumBytes) {
+        this.snapshotMaximumBytes = snapshotMaximumBytes;
+    }
+}
@@ -0,0 +1,45 @@
+package com.cai.smith.videogameapi;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+@Component
+@ConfigurationProperties(prefix = "developersourceconfig")
+public class DeveloperSourceConfig {
+
+    public static final String TYPE_PROPERTY = "developersourceconfig.type";
+
+    public static final String S3_TYPE = "s3";
+
+    public static final String FILE_TYPE = "file";
+
+    private String type = S3_TYPE;
+
+    private String filePath = "developers.json";
+
+    private long refreshIntervalMillis = 300000;
+
+    public String getType() {
+        return type;
+    }
+
+    public void setType(String type) {
+        this.type = type;
+    }
+
+    public String getFilePath() {
+        return filePath;
+    }
+
+    public void setFilePath(String filePath) {
+        this.filePath = filePath;
+    }
+
+    public long getRefreshIntervalMillis() {
+        return refreshIntervalMillis;
+    }
+
+    public void setRefreshIntervalMillis(long refreshIntervalMillis) {
+        this.refreshIntervalMillis = refreshIntervalMillis;
+    }
+}
@@ -0,0 +1,65 @@
+package com.cai.smith.videogameapi;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+@Component
+@ConfigurationProperties(prefix = "idempotencyconfig")
+public class IdempotencyConfig {
+
+    public static final String STORE_PROPERTY = "idempotencyconfig.store";
+
+    public static final String MEMORY_STORE = "memory";
+
+    public static final String MONGO_STORE = "mongo";
+
+    private String store = MEMORY_STORE;
+
+    private long ttlSeconds = 86400;
+
+    private long pendingLeaseSeconds = 60;
+
+    private long maximumSize = 100000;
+
+    private int maxKeyLength = 255;
+
+    public String getStore() {
+        return store;
+    }
+
+    public void setStore(String store) {
+        this.store = store;
+    }
+
+    public long getTtlSeconds() {
+        return ttlSeconds;
+    }
+
+    public void setTtlSeconds(long ttlSeconds) {
+        this.ttlSeconds = ttlSeconds;
+    }
+
+    public long getPendingLeaseSeconds() {
+        return pendingLeaseSeconds;
+    }
+
+    public void setPendingLeaseSeconds(long pendingLeaseSeconds) {
+        this.pendingLeaseSeconds = pendingLeaseSeconds;
+    }
+
+    public long getMaximumSize() {
+        return maximumSize;
+    }
+
+    public void setMaximumSize(long maximumSize) {
+        this.maximumSize = maximumSize;
+    }
+
+    public int getMaxKeyLength() {
+        return maxKeyLength;
+    }
+
+    public void setMaxKeyLength(int maxKeyLength) {
+        this.maxKeyLength = maxKeyLength;
+    }
+}
@@ -0,0 +1,61 @@
+package com.cai.smith.videogameapi;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+@Component
+@ConfigurationProperties(prefix = "insertpipelineconfig")
+public class InsertPipelineConfig {
+
+    public static final String ENABLED_PROPERTY = "insertpipelineconfig.enabled";
+
+    private boolean enabled = false;
+
+    private int queueCapacity = 4096;
+
+    private int maxBatchSize = 256;
+
+    private long flushIntervalMicros = 2000;
+
+    private long waitTimeoutMillis = 5000;
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public int getQueueCapacity() {
+        return queueCapacity;
+    }
+
+    public void setQueueCapacity(int queueCapacity) {
+        this.queueCapacity = queueCapacity;
+    }
+
+    public int getMaxBatchSize() {
+        return maxBatchSize;
+    }
+
+    public void setMaxBatchSize(int maxBatchSize) {
+        this.maxBatchSize = maxBatchSize;
+    }
+
+    public long getFlushIntervalMicros() {
+        return flushIntervalMicros;
+    }
+
+    public void setFlushIntervalMicros(long flushIntervalMicros) {
+        this.flushIntervalMicros = flushIntervalMicros;
+    }
+
+    public long getWaitTimeoutMillis() {
+        return waitTimeoutMillis;
+    }
+
+    public void setWaitTimeoutMillis(long waitTimeoutMillis) {
+        this.waitTimeoutMillis = waitTimeoutMillis;
+    }
+}
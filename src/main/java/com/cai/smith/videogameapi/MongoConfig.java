@@ -1,5 +1,10 @@
 package com.cai.smith.videogameapi;
 
+import com.cai.smith.videogameapi.metrics.MongoCommandMetrics;
+import com.cai.smith.videogameapi.metrics.MongoConnectionPoolMetrics;
+import com.mongodb.MongoClientOptions;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.boot.autoconfigure.mongo.MongoClientSettingsBuilderCustomizer;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.data.mongodb.MongoDbFactory;
@@ -22,4 +27,21 @@ public class MongoConfig {
 
         return mappingConverter;
     }
+
+    // Picked up by the blocking client auto-configuration
+    @Bean
+    public MongoClientOptions mongoClientOptions(MeterRegistry meterRegistry) {
+        return MongoClientOptions.builder()
+                .addCommandListener(new MongoCommandMetrics(meterRegistry, "sync"))
+                .addConnectionPoolListener(new MongoConnectionPoolMetrics(meterRegistry, "sync"))
+                .build();
+    }
+
+    @Bean
+    public MongoClientSettingsBuilderCustomizer reactiveMongoMetrics(MeterRegistry meterRegistry) {
+        return builder -> builder
+                .addCommandListener(new MongoCommandMetrics(meterRegistry, "reactive"))
+                .applyToConnectionPoolSettings(pool ->
+                        pool.addConnectionPoolListener(new MongoConnectionPoolMetrics(meterRegistry, "reactive")));
+    }
 }
@@ -0,0 +1,39 @@
+package com.cai.smith.videogameapi;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+@Component
+@ConfigurationProperties(prefix = "paginationconfig")
+public class PaginationConfig {
+
+    private int defaultItemsPerPage = 20;
+
+    private int maxItemsPerPage = 100;
+
+    private int maxStartIndex = 10000;
+
+    public int getDefaultItemsPerPage() {
+        return defaultItemsPerPage;
+    }
+
+    public void setDefaultItemsPerPage(int defaultItemsPerPage) {
+        this.defaultItemsPerPage = defaultItemsPerPage;
+    }
+
+    public int getMaxItemsPerPage() {
+        return maxItemsPerPage;
+    }
+
+    public void setMaxItemsPerPage(int maxItemsPerPage) {
+        this.maxItemsPerPage = maxItemsPerPage;
+    }
+
+    public int getMaxStartIndex() {
+        return maxStartIndex;
+    }
+
+    public void setMaxStartIndex(int maxStartIndex) {
+        this.maxStartIndex = maxStartIndex;
+    }
+}
@@ -0,0 +1,50 @@
+package com.cai.smith.videogameapi;
+
+import com.cai.smith.videogameapi.utility.ETags;
+import org.springframework.boot.web.embedded.netty.NettyReactiveWebServerFactory;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import org.springframework.web.server.WebFilter;
+import reactor.core.publisher.Mono;
+
+@Configuration
+@Profile(ReactiveConfig.REACTIVE_PROFILE)
+public class ReactiveConfig {
+
+    public static final String REACTIVE_PROFILE = "reactive";
+
+    /**
+     * Tomcat is still on the classpath for the servlet mode and would otherwise be
+     * picked ahead of Netty for the reactive server.
+     */
+    @Bean
+    public NettyReactiveWebServerFactory nettyReactiveWebServerFactory() {
+        return new NettyReactiveWebServerFactory();
+    }
+
+    /**
+     * Netty's response compression (server.compression) already skips bodies the api
+     * has coded itself, but sends the ones it compresses under the identity body's
+     * strong ETag. Whether it will compress is only decided after the headers are
+     * written, so every uncoded body's tag is weakened while compression is on.
+     */
+    @Bean
+    public WebFilter containerCompressionETagFilter(CompressionConfig compressionConfig) {
+        return (exchange, chain) -> {
+            if (compressionConfig.isEnabled()) {
+                ServerHttpResponse response = exchange.getResponse();
+                response.beforeCommit(() -> {
+                    HttpHeaders headers = response.getHeaders();
+                    if (headers.getETag() != null && !headers.containsKey(HttpHeaders.CONTENT_ENCODING)) {
+                        headers.setETag(ETags.weaken(headers.getETag()));
+                    }
+                    return Mono.empty();
+                });
+            }
+            return chain.filter(exchange);
+        };
+    }
+}
@@ -0,0 +1,39 @@
+package com.cai.smith.videogameapi;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+@Component
+@ConfigurationProperties(prefix = "searchconfig")
+public class SearchConfig {
+
+    private boolean inMemoryEnabled = true;
+
+    private int defaultLimit = 10;
+
+    private int maxLimit = 50;
+
+    public boolean isInMemoryEnabled() {
+        return inMemoryEnabled;
+    }
+
+    public void setInMemoryEnabled(boolean inMemoryEnabled) {
+        this.inMemoryEnabled = inMemoryEnabled;
+    }
+
+    public int getDefaultLimit() {
+        return defaultLimit;
+    }
+
+    public void setDefaultLimit(int defaultLimit) {
+        this.defaultLimit = defaultLimit;
+    }
+
+    public int getMaxLimit() {
+        return maxLimit;
+    }
+
+    public void setMaxLimit(int maxLimit) {
+        this.maxLimit = maxLimit;
+    }
+}
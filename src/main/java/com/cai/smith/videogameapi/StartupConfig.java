@@ -0,0 +1,39 @@
+package com.cai.smith.videogameapi;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+@Component
+@ConfigurationProperties(prefix = "startupconfig")
+public class StartupConfig {
+
+    private boolean resetGames = false;
+
+    private long retryBackoffMillis = 1000;
+
+    private long maxRetryBackoffMillis = 60000;
+
+    public boolean isResetGames() {
+        return resetGames;
+    }
+
+    public void setResetGames(boolean resetGames) {
+        this.resetGames = resetGames;
+    }
+
+    public long getRetryBackoffMillis() {
+        return retryBackoffMillis;
+    }
+
+    public void setRetryBackoffMillis(long retryBackoffMillis) {
+        this.retryBackoffMillis = retryBackoffMillis;
+    }
+
+    public long getMaxRetryBackoffMillis() {
+        return maxRetryBackoffMillis;
+    }
+
+    public void setMaxRetryBackoffMillis(long maxRetryBackoffMillis) {
+        this.maxRetryBackoffMillis = maxRetryBackoffMillis;
+    }
+}
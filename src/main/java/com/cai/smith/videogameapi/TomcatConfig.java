@@ -0,0 +1,46 @@
+package com.cai.smith.videogameapi;
+
+import com.cai.smith.videogameapi.utility.ETags;
+import org.apache.coyote.Request;
+import org.apache.coyote.Response;
+import org.apache.coyote.http11.Http11NioProtocol;
+import org.springframework.boot.web.embedded.tomcat.TomcatServletWebServerFactory;
+import org.springframework.boot.web.server.WebServerFactoryCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.HttpHeaders;
+
+@Configuration
+@Profile("!" + ReactiveConfig.REACTIVE_PROFILE)
+public class TomcatConfig {
+
+    @Bean
+    public WebServerFactoryCustomizer<TomcatServletWebServerFactory> codingAwareCompression() {
+        return factory -> factory.setProtocol(CodingAwareHttp11NioProtocol.class.getName());
+    }
+
+    /**
+     * Tomcat's response compression (server.compression) leaves a body alone only when
+     * it is already gzip or br, so a deflate snapshot written by the api would be gzipped
+     * again. This skips every body that already has a coding, and weakens the strong
+     * ETag of a body it does compress - the gzipped bytes are another representation.
+     */
+    public static class CodingAwareHttp11NioProtocol extends Http11NioProtocol {
+
+        @Override
+        public boolean useCompression(Request request, Response response) {
+
+            if (response.getMimeHeaders().getHeader(HttpHeaders.CONTENT_ENCODING) != null
+                    || !super.useCompression(request, response)) {
+                return false;
+            }
+
+            String eTag = response.getMimeHeaders().getHeader(HttpHeaders.ETAG);
+            if (eTag != null) {
+                response.setHeader(HttpHeaders.ETAG, ETags.weaken(eTag));
+            }
+            return true;
+        }
+    }
+}
@@ -0,0 +1,29 @@
+package com.cai.smith.videogameapi;
+
+import com.cai.smith.videogameapi.mapper.GameFormat;
+import com.cai.smith.videogameapi.mapper.GameFormatHttpMessageConverter;
+import com.cai.smith.videogameapi.mapper.GameFormats;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import java.util.List;
+
+@Configuration
+@Profile("!" + ReactiveConfig.REACTIVE_PROFILE)
+public class WebConfig implements WebMvcConfigurer {
+
+    @Autowired
+    private GameFormats gameFormats;
+
+    /**
+     * Spring already converts CBOR and Smile bodies. Protobuf is appended after the
+     * defaults so that a wildcard Accept still resolves to JSON.
+     */
+    @Override
+    public void extendMessageConverters(List<HttpMessageConverter<?>> converters) {
+        converters.add(new GameFormatHttpMessageConverter(gameFormats, GameFormat.PROTOBUF));
+    }
+}
@@ -0,0 +1,129 @@
+package com.cai.smith.videogameapi.cache;
+
+import com.cai.smith.videogameapi.CompressionConfig;
+import com.cai.smith.videogameapi.mapper.GameFormat;
+import com.cai.smith.videogameapi.model.GameFields;
+import com.cai.smith.videogameapi.utility.ContentEncoding;
+import com.cai.smith.videogameapi.utility.ETags;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Component;
+
+import javax.annotation.PostConstruct;
+
+/**
+ * Compressed response bodies for the whole-catalogue reads - unfiltered pages and
+ * the export - valid for one games collection generation. Any write bumps the
+ * generation, so the first request to see a newer one drops every snapshot and
+ * a snapshot taken from an older one is never stored. Bounded by total bytes.
+ */
+@Component
+public class CompressedSnapshotCache {
+
+    public static final String CACHE_NAME = "compressed-snapshots";
+
+    @Autowired
+    private CompressionConfig compressionConfig;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    private Cache<String, byte[]> cache;
+
+    private volatile long generation = -1;
+
+    @PostConstruct
+    public void init() {
+        cache = Caffeine.newBuilder()
+                .maximumWeight(compressionConfig.getSnapshotMaximumBytes())
+                .<String, byte[]>weigher((key, body) -> body.length)
+                .recordStats()
+                .build();
+
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, CACHE_NAME);
+    }
+
+    /**
+     * The coding to compress a whole-catalogue body with, or null when
+     * compression is off or the client accepts neither gzip nor deflate.
+     */
+    public ContentEncoding encodingFor(String acceptEncoding) {
+        return compressionConfig.isEnabled() ? ContentEncoding.negotiate(acceptEncoding) : null;
+    }
+
+    /**
+     * Once compression is on the same URL may be sent compressed, so even a
+     * plain whole-catalogue body varies by Accept-Encoding.
+     */
+    public boolean isEnabled() {
+        return compressionConfig.isEnabled();
+    }
+
+    public boolean isLargeEnough(byte[] body) {
+        return body.length >= compressionConfig.getMinBytes();
+    }
+
+    public long getMaximumBytes() {
+        return compressionConfig.getSnapshotMaximumBytes();
+    }
+
+    public byte[] get(long generation, String key) {
+        return advance(generation) ? cache.getIfPresent(generation + ":" + key) : null;
+    }
+
+    public void put(long generation, String key, byte[] compressed) {
+        // Keyed by generation too, so a put that races a newer generation's clear is never served
+        if (advance(generation) && compressed.length <= getMaximumBytes()) {
+            cache.put(generation + ":" + key, compressed);
+        }
+    }
+
+    public static String pageKey(GameFormat format, ContentEncoding encoding, GameFields fields,
+                                 Integer startIndex, int itemsPerPage, String pageToken) {
+        return "page:" + format + ":" + encoding + ":" + fields + ":" + (pageToken != null ? "token:" + pageToken
+                : "index:" + (startIndex == null ? 0 : startIndex)) + ":" + itemsPerPage;
+    }
+
+    public static String exportKey(ContentEncoding encoding) {
+        return "export:" + encoding;
+    }
+
+    /**
+     * A compressed body is a different representation of the page, so its tag
+     * carries the coding, e.g. "g3" becomes "g3-gzip".
+     */
+    public static ResponseEntity<byte[]> toResponse(String eTag, GameFormat format, ContentEncoding encoding,
+                                                    byte[] compressed) {
+        return ResponseEntity.status(HttpStatus.OK)
+                .eTag(ETags.forEncoding(eTag, encoding))
+                .varyBy(HttpHeaders.ACCEPT, HttpHeaders.ACCEPT_ENCODING)
+                .contentType(format.getMediaType())
+                .header(HttpHeaders.CONTENT_ENCODING, encoding.getToken())
+                .body(compressed);
+    }
+
+    /**
+     * Moves on to a newer generation, dropping the old snapshots. False when the
+     * caller's generation is already out of date.
+     */
+    private boolean advance(long generation) {
+
+        if (generation == this.generation) {
+            return true;
+        }
+
+        synchronized (this) {
+            if (generation > this.generation) {
+                this.generation = generation;
+                cache.invalidateAll();
+            }
+            return generation == this.generation;
+        }
+    }
+}
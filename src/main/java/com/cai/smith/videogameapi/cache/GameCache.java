@@ -0,0 +1,88 @@
+package com.cai.smith.videogameapi.cache;
+
+import com.cai.smith.videogameapi.CacheConfig;
+import com.cai.smith.videogameapi.model.Game;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import javax.annotation.PostConstruct;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+
+/**
+ * Size and TTL bounded read-through cache of games by id. Caffeine evicts with
+ * W-TinyLFU, which keeps the small set of popular titles resident. Hit, miss and
+ * eviction counts are published to the meter registry under the "games" cache.
+ */
+@Component
+public class GameCache {
+
+    public static final String CACHE_NAME = "games";
+
+    @Autowired
+    private CacheConfig cacheConfig;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    private Cache<String, Game> cache;
+
+    // Bumped before every invalidate, so a read made outside the loader can tell it may be stale
+    private final AtomicLong invalidations = new AtomicLong();
+
+    @PostConstruct
+    public void init() {
+        cache = Caffeine.newBuilder()
+                .maximumSize(cacheConfig.getMaximumSize())
+                .expireAfterWrite(cacheConfig.getExpireAfterWriteSeconds(), TimeUnit.SECONDS)
+                .recordStats()
+                .build();
+
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, CACHE_NAME);
+    }
+
+    public Game get(String id, Function<String, Game> loader) {
+        return cache.get(id, loader);
+    }
+
+    public Game getIfPresent(String id) {
+        return cache.getIfPresent(id);
+    }
+
+    public void put(Game game) {
+        cache.put(game.getGameId(), game);
+    }
+
+    public long invalidations() {
+        return invalidations.get();
+    }
+
+    /**
+     * Caches a game read outside {@link #get}, given {@link #invalidations()} from
+     * before the read. Skipped if anything was invalidated since, as the read may
+     * predate that write, and never replaces a newer version.
+     */
+    public void putIfCurrent(Game game, long invalidationsBeforeRead) {
+        cache.asMap().compute(game.getGameId(), (id, current) -> {
+            if (invalidations.get() != invalidationsBeforeRead) {
+                return current;
+            }
+            return current != null && current.getVersion() > game.getVersion() ? current : game;
+        });
+    }
+
+    public void invalidate(String id) {
+        invalidations.incrementAndGet();
+        cache.invalidate(id);
+    }
+
+    public CacheStats stats() {
+        return cache.stats();
+    }
+}
@@ -0,0 +1,96 @@
+package com.cai.smith.videogameapi.cache;
+
+import com.cai.smith.videogameapi.CacheConfig;
+import com.cai.smith.videogameapi.mapper.ResponseMapper;
+import com.cai.smith.videogameapi.model.Game;
+import com.cai.smith.videogameapi.utility.ContentEncoding;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import javax.annotation.PostConstruct;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Game responses already serialized to JSON, keyed by game id and tagged with the
+ * version they were written from. A hit is only served when the version matches
+ * the game being returned, so a stale entry can never be sent even if an
+ * invalidation is missed - it is just rewritten.
+ */
+@Component
+public class GameResponseCache {
+
+    public static final String CACHE_NAME = "game-responses";
+
+    @Autowired
+    private CacheConfig cacheConfig;
+
+    @Autowired
+    private ResponseMapper responseMapper;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    private Cache<String, SerializedGame> cache;
+
+    @PostConstruct
+    public void init() {
+        cache = Caffeine.newBuilder()
+                .maximumSize(cacheConfig.getSerializedMaximumSize())
+                .expireAfterWrite(cacheConfig.getExpireAfterWriteSeconds(), TimeUnit.SECONDS)
+                .recordStats()
+                .build();
+
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, CACHE_NAME);
+    }
+
+    public SerializedGame get(Game game) {
+
+        SerializedGame cached = cache.getIfPresent(game.getGameId());
+        if (cached != null && cached.getVersion() == game.getVersion()) {
+            return cached;
+        }
+
+        SerializedGame serialized = serialize(game);
+
+        // A slower reader of an older version must not replace a newer entry
+        cache.asMap().merge(game.getGameId(), serialized,
+                (current, candidate) -> candidate.getVersion() >= current.getVersion() ? candidate : current);
+        return serialized;
+    }
+
+    /**
+     * Whether bodies may be served gzipped, so their responses vary by Accept-Encoding.
+     */
+    public boolean isGzipEnabled() {
+        return cacheConfig.isGzipSerialized();
+    }
+
+    public void invalidate(String id) {
+        cache.invalidate(id);
+    }
+
+    private SerializedGame serialize(Game game) {
+
+        byte[] json;
+        try {
+            json = objectMapper.writeValueAsBytes(responseMapper.mapGameResponse(game));
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Failed to serialize game " + game.getGameId(), e);
+        }
+
+        byte[] gzip = cacheConfig.isGzipSerialized() && json.length >= cacheConfig.getGzipMinBytes()
+                ? ContentEncoding.GZIP.encode(json)
+                : null;
+
+        return new SerializedGame(game.getVersion(), json, gzip);
+    }
+}
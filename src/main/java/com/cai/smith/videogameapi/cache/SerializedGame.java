@@ -0,0 +1,76 @@
+package com.cai.smith.videogameapi.cache;
+
+import com.cai.smith.videogameapi.utility.ContentEncoding;
+import com.cai.smith.videogameapi.utility.ETags;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+
+/**
+ * A game response already written as JSON for one version of the game, with its
+ * gzipped form when that is kept. Serving it is a header write and a byte copy.
+ */
+public final class SerializedGame {
+
+    private final long version;
+
+    private final String eTag;
+
+    private final String gzipETag;
+
+    private final byte[] json;
+
+    private final byte[] gzip;
+
+    public SerializedGame(long version, byte[] json, byte[] gzip) {
+        this.version = version;
+        this.eTag = ETags.forVersion(version);
+        this.gzipETag = ETags.forEncoding(eTag, ContentEncoding.GZIP);
+        this.json = json;
+        this.gzip = gzip;
+    }
+
+    public long getVersion() {
+        return version;
+    }
+
+    public String getETag() {
+        return eTag;
+    }
+
+    public String getGzipETag() {
+        return gzipETag;
+    }
+
+    public byte[] getJson() {
+        return json;
+    }
+
+    public byte[] getGzip() {
+        return gzip;
+    }
+
+    public ResponseEntity<byte[]> toResponse(String acceptEncoding) {
+
+        ResponseEntity.BodyBuilder response = ResponseEntity.status(HttpStatus.OK)
+                .contentType(MediaType.APPLICATION_JSON_UTF8);
+
+        // JSON is only one of the formats a game is served in
+        if (gzip == null) {
+            return response.eTag(eTag).varyBy(HttpHeaders.ACCEPT).body(json);
+        }
+
+        // The gzipped body is a different representation of this version, so it carries its own strong tag
+        response.varyBy(HttpHeaders.ACCEPT, HttpHeaders.ACCEPT_ENCODING);
+        if (acceptsGzip(acceptEncoding)) {
+            return response.eTag(gzipETag).header(HttpHeaders.CONTENT_ENCODING, ContentEncoding.GZIP.getToken())
+                    .body(gzip);
+        }
+        return response.eTag(eTag).body(json);
+    }
+
+    static boolean acceptsGzip(String acceptEncoding) {
+        return ContentEncoding.GZIP.isAcceptedBy(acceptEncoding);
+    }
+}
@@ -0,0 +1,30 @@
+package com.cai.smith.videogameapi.controller;
+
+import com.cai.smith.videogameapi.exception.DataException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.bind.annotation.RestControllerAdvice;
+
+import javax.servlet.http.HttpServletRequest;
+
+/**
+ * Answers a {@link DataException} from {@link GameController} with a 400, whether
+ * it was thrown on the request thread or delivered through a DeferredResult by the
+ * {@link com.cai.smith.videogameapi.service.GameServiceExecutor}.
+ */
+@RestControllerAdvice(assignableTypes = GameController.class)
+public class DataExceptionHandler {
+
+    private static final Logger logger =
+            LoggerFactory.getLogger(DataExceptionHandler.class);
+
+    @ExceptionHandler(DataException.class)
+    public ResponseEntity handle(DataException de, HttpServletRequest request) {
+
+        logger.error("An error occured when attempting to {} {}", request.getMethod(), request.getRequestURI(), de);
+        return ResponseEntity.status(HttpStatus.BAD_REQUEST).build();
+    }
+}
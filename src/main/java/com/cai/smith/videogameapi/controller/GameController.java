@@ -1,11 +1,21 @@
 package com.cai.smith.videogameapi.controller;
 
+import com.cai.smith.videogameapi.ExportConfig;
+import com.cai.smith.videogameapi.ReactiveConfig;
 import com.cai.smith.videogameapi.exception.DataException;
+import com.cai.smith.videogameapi.mapper.GameFormat;
 import com.cai.smith.videogameapi.model.Game;
+import com.cai.smith.videogameapi.model.GameFields;
+import com.cai.smith.videogameapi.model.GameFilter;
 import com.cai.smith.videogameapi.service.GameService;
+import com.cai.smith.videogameapi.service.GameServiceExecutor;
+import com.cai.smith.videogameapi.utility.AsyncTimeouts;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Profile;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.DeleteMapping;
@@ -14,76 +24,160 @@ import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * The servlet endpoints. With asyncconfig.enabled=true every call that can touch
+ * Mongo is handed to the {@link GameServiceExecutor} and answered with a
+ * DeferredResult, releasing the servlet thread straight away; otherwise it runs on
+ * the request thread. Data errors become a 400 in {@link DataExceptionHandler}.
+ */
 @RestController
+@Profile("!" + ReactiveConfig.REACTIVE_PROFILE)
 @RequestMapping("/games")
 public class GameController {
 
     @Autowired
     private GameService gameService;
 
+    @Autowired
+    private ExportConfig exportConfig;
+
+    // Only present when asyncconfig.enabled
+    @Autowired(required = false)
+    private GameServiceExecutor gameServiceExecutor;
+
     private static final Logger logger =
             LoggerFactory.getLogger(GameController.class);
 
     @PostMapping
-    public ResponseEntity create(@RequestBody Game game) {
+    public Object create(@RequestBody Game game,
+                         @RequestHeader(value = GameService.IDEMPOTENCY_KEY_HEADER, required = false)
+                         String idempotencyKey) throws DataException {
 
-        try {
-            logger.info("Attempting to post game");
-            return gameService.create(game);
-        } catch(DataException de) {
-            logger.error("An error occured when attempting to post the game");
-            return ResponseEntity.status(HttpStatus.BAD_REQUEST).build();
-        }
+        logger.info("Attempting to post game");
+        return call(() -> gameService.create(game, idempotencyKey));
+    }
+
+    @PostMapping("/batch")
+    public Object createBatch(@RequestBody List<Game> games) throws DataException {
+
+        logger.info("Attempting to post batch of games");
+        return call(() -> gameService.createBatch(games));
     }
 
     @GetMapping
-    public ResponseEntity getAll() {
+    public Object getAll(@RequestParam(value = "start_index", required = false) Integer startIndex,
+                         @RequestParam(value = "items_per_page", required = false) Integer itemsPerPage,
+                         @RequestParam(value = "page_token", required = false) String pageToken,
+                         @RequestParam(value = "developer", required = false) String developer,
+                         @RequestParam(value = "genre", required = false) List<String> genres,
+                         @RequestParam(value = "genre_match", required = false) String genreMatch,
+                         @RequestParam(value = "released_after", required = false)
+                         @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate releasedAfter,
+                         @RequestParam(value = "released_before", required = false)
+                         @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate releasedBefore,
+                         @RequestParam(value = "sort", required = false) String sort,
+                         @RequestParam(value = "fields", required = false) String fields,
+                         @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch,
+                         @RequestHeader(value = HttpHeaders.ACCEPT, required = false) String accept,
+                         @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding)
+            throws DataException {
 
+        GameFilter filter;
+        GameFields gameFields;
         try {
-            logger.info("Attempting to retreive all games");
-            return gameService.getAll();
-        } catch (DataException de) {
-            logger.error("An error occured when attempting to get all games");
+            filter = GameFilter.of(developer, genres, genreMatch, releasedAfter, releasedBefore, sort);
+            gameFields = GameFields.of(fields);
+        } catch (IllegalArgumentException e) {
+            logger.info("Invalid filter supplied - {}", e.getMessage());
             return ResponseEntity.status(HttpStatus.BAD_REQUEST).build();
         }
+
+        GameFormat format = GameFormat.negotiate(accept);
+
+        logger.info("Attempting to retreive page of games");
+        return call(() -> gameService.getAll(startIndex, itemsPerPage, pageToken, filter, gameFields, ifNoneMatch,
+                format, acceptEncoding));
+    }
+
+    @GetMapping(value = "/export", produces = GameService.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> export(
+            @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding,
+            HttpServletRequest request, HttpServletResponse response) throws DataException {
+
+        AsyncTimeouts.set(request, response, exportConfig.getTimeoutMillis());
+
+        // Already asynchronous - the body opens the cursor and writes from the MVC task executor
+        logger.info("Attempting to export all games");
+        return gameService.export(acceptEncoding);
+    }
+
+    @GetMapping("/search")
+    public Object search(@RequestParam(value = "q", required = false) String query,
+                         @RequestParam(value = "limit", required = false) Integer limit) throws DataException {
+
+        return call(() -> gameService.search(query, limit));
+    }
+
+    @GetMapping("/facets")
+    public ResponseEntity facets() {
+
+        logger.info("Attempting to retrieve game facets");
+        return gameService.facets();
     }
 
     @GetMapping("/{id}")
-    public ResponseEntity get(@PathVariable String id) {
+    public Object get(@PathVariable String id,
+                      @RequestParam(value = "fields", required = false) String fields,
+                      @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch,
+                      @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding,
+                      @RequestHeader(value = HttpHeaders.ACCEPT, required = false) String accept)
+            throws DataException {
 
+        GameFields gameFields;
         try {
-            return gameService.get(id);
-        } catch (DataException de) {
-            logger.error("An error occured when attempting to retrieve game");
+            gameFields = GameFields.of(fields);
+        } catch (IllegalArgumentException e) {
+            logger.info("Invalid fields supplied - {}", e.getMessage());
             return ResponseEntity.status(HttpStatus.BAD_REQUEST).build();
         }
+
+        GameFormat format = GameFormat.negotiate(accept);
+
+        return call(() -> gameService.get(id, gameFields, ifNoneMatch, acceptEncoding, format));
     }
 
     @PutMapping("/developer/{developer}/{id}")
-    public ResponseEntity put(@PathVariable String developer,
-                              @PathVariable String id,
-                              @RequestBody Game game) {
+    public Object put(@PathVariable String developer,
+                      @PathVariable String id,
+                      @RequestBody Game game) throws DataException {
 
-        try {
-            return gameService.update(game, developer, id);
-        } catch (DataException de) {
-            logger.error("An error occured when attempting to update game");
-            return ResponseEntity.status(HttpStatus.BAD_REQUEST).build();
-        }
+        return call(() -> gameService.update(game, developer, id));
     }
 
     @DeleteMapping("/developer/{developer}/{id}")
-    public ResponseEntity delete(@PathVariable String developer,
-                                 @PathVariable String id) {
+    public Object delete(@PathVariable String developer,
+                         @PathVariable String id) throws DataException {
 
-        try {
-            return gameService.delete(developer, id);
-        } catch (DataException de) {
-            logger.error("An error occured when attempting to delete game");
-            return ResponseEntity.status(HttpStatus.BAD_REQUEST).build();
-        }
+        return call(() -> gameService.delete(developer, id));
+    }
+
+    /**
+     * A ResponseEntity when the call runs here, or a DeferredResult for it when the
+     * executor is enabled - Spring MVC picks the return value handler by the
+     * returned object, so one handler method serves both modes.
+     */
+    private Object call(GameServiceExecutor.ServiceCall call) throws DataException {
+        return gameServiceExecutor == null ? call.call() : gameServiceExecutor.submit(call);
     }
 }
@@ -0,0 +1,153 @@
+package com.cai.smith.videogameapi.controller;
+
+import com.cai.smith.videogameapi.ReactiveConfig;
+import com.cai.smith.videogameapi.exception.DataException;
+import com.cai.smith.videogameapi.mapper.GameFormat;
+import com.cai.smith.videogameapi.model.Game;
+import com.cai.smith.videogameapi.model.GameFields;
+import com.cai.smith.videogameapi.model.GameFilter;
+import com.cai.smith.videogameapi.service.GameService;
+import com.cai.smith.videogameapi.service.ReactiveGameService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Profile;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.PutMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import reactor.core.publisher.Mono;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * WebFlux handlers for the reactive profile, replacing {@link GameController}.
+ * Batch insert, the NDJSON export and idempotent creates stay servlet-only.
+ */
+@RestController
+@Profile(ReactiveConfig.REACTIVE_PROFILE)
+@RequestMapping("/games")
+public class ReactiveGameController {
+
+    @Autowired
+    private ReactiveGameService reactiveGameService;
+
+    private static final Logger logger =
+            LoggerFactory.getLogger(ReactiveGameController.class);
+
+    @PostMapping
+    public Mono<ResponseEntity> create(@RequestBody Game game,
+                                       @RequestHeader(value = GameService.IDEMPOTENCY_KEY_HEADER, required = false)
+                                       String idempotencyKey) {
+
+        // Refused rather than ignored, so a client never takes a plain create for a safely retryable one
+        if (idempotencyKey != null) {
+            logger.info("Idempotency keys are not supported in the reactive profile");
+            return Mono.just(ResponseEntity.status(HttpStatus.BAD_REQUEST).build());
+        }
+
+        logger.info("Attempting to post game");
+        return reactiveGameService.create(game)
+                .onErrorResume(DataException.class, de -> badRequest("An error occured when attempting to post the game"));
+    }
+
+    @GetMapping
+    public Mono<ResponseEntity> getAll(@RequestParam(value = "start_index", required = false) Integer startIndex,
+                                       @RequestParam(value = "items_per_page", required = false) Integer itemsPerPage,
+                                       @RequestParam(value = "page_token", required = false) String pageToken,
+                                       @RequestParam(value = "developer", required = false) String developer,
+                                       @RequestParam(value = "genre", required = false) List<String> genres,
+                                       @RequestParam(value = "genre_match", required = false) String genreMatch,
+                                       @RequestParam(value = "released_after", required = false)
+                                       @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate releasedAfter,
+                                       @RequestParam(value = "released_before", required = false)
+                                       @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate releasedBefore,
+                                       @RequestParam(value = "sort", required = false) String sort,
+                                       @RequestParam(value = "fields", required = false) String fields,
+                                       @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch,
+                                       @RequestHeader(value = HttpHeaders.ACCEPT, required = false) String accept,
+                                       @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding) {
+
+        GameFilter filter;
+        GameFields gameFields;
+        try {
+            filter = GameFilter.of(developer, genres, genreMatch, releasedAfter, releasedBefore, sort);
+            gameFields = GameFields.of(fields);
+        } catch (IllegalArgumentException e) {
+            logger.info("Invalid filter supplied - {}", e.getMessage());
+            return Mono.just(ResponseEntity.status(HttpStatus.BAD_REQUEST).build());
+        }
+
+        logger.info("Attempting to retreive page of games");
+        return reactiveGameService.getAll(startIndex, itemsPerPage, pageToken, filter, gameFields, ifNoneMatch,
+                        GameFormat.negotiate(accept), acceptEncoding)
+                .onErrorResume(DataException.class, de -> badRequest("An error occured when attempting to get all games"));
+    }
+
+    @GetMapping("/search")
+    public Mono<ResponseEntity> search(@RequestParam(value = "q", required = false) String query,
+                                       @RequestParam(value = "limit", required = false) Integer limit) {
+
+        return reactiveGameService.search(query, limit)
+                .onErrorResume(DataException.class, de -> badRequest("An error occured when attempting to search games"));
+    }
+
+    @GetMapping("/facets")
+    public Mono<ResponseEntity> facets() {
+
+        logger.info("Attempting to retrieve game facets");
+        return reactiveGameService.facets();
+    }
+
+    @GetMapping("/{id}")
+    public Mono<ResponseEntity> get(@PathVariable String id,
+                                    @RequestParam(value = "fields", required = false) String fields,
+                                    @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch,
+                                    @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding,
+                                    @RequestHeader(value = HttpHeaders.ACCEPT, required = false) String accept) {
+
+        GameFields gameFields;
+        try {
+            gameFields = GameFields.of(fields);
+        } catch (IllegalArgumentException e) {
+            logger.info("Invalid fields supplied - {}", e.getMessage());
+            return Mono.just(ResponseEntity.status(HttpStatus.BAD_REQUEST).build());
+        }
+
+        return reactiveGameService.get(id, gameFields, ifNoneMatch, acceptEncoding, GameFormat.negotiate(accept))
+                .onErrorResume(DataException.class, de -> badRequest("An error occured when attempting to retrieve game"));
+    }
+
+    @PutMapping("/developer/{developer}/{id}")
+    public Mono<ResponseEntity> put(@PathVariable String developer,
+                                    @PathVariable String id,
+                                    @RequestBody Game game) {
+
+        return reactiveGameService.update(game, developer, id)
+                .onErrorResume(DataException.class, de -> badRequest("An error occured when attempting to update game"));
+    }
+
+    @DeleteMapping("/developer/{developer}/{id}")
+    public Mono<ResponseEntity> delete(@PathVariable String developer,
+                                       @PathVariable String id) {
+
+        return reactiveGameService.delete(developer, id)
+                .onErrorResume(DataException.class, de -> badRequest("An error occured when attempting to delete game"));
+    }
+
+    private Mono<ResponseEntity> badRequest(String message) {
+        logger.error(message);
+        return Mono.just(ResponseEntity.status(HttpStatus.BAD_REQUEST).build());
+    }
+}
@@ -0,0 +1,168 @@
+package com.cai.smith.videogameapi.facet;
+
+import com.cai.smith.videogameapi.model.Game;
+import com.cai.smith.videogameapi.model.response.FacetResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * Running counts of games per genre, developer and release year. Writes adjust
+ * LongAdder counters without locking, so reading the facets costs one pass over the
+ * facet values rather than over the games. A rebuild fills new counters and swaps
+ * them in whole, so readers never see a half-filled set. Writes made while the
+ * counts are fetched are also recorded and added on top before the swap, so they
+ * are not lost; a write that lands while mongo is counting may still be off by one
+ * until the next rebuild, as the counts are not taken from a snapshot.
+ */
+@Component
+public class GameFacets {
+
+    private static final Logger logger =
+            LoggerFactory.getLogger(GameFacets.class);
+
+    private volatile Counters counters = new Counters();
+
+    private final Object rebuildLock = new Object();
+
+    // Adjustments made while a rebuild fetches its counts, null otherwise. Only written while holding this
+    private volatile Counters writesDuringRebuild;
+
+    public void add(Game game) {
+        adjust(game, 1);
+    }
+
+    public void remove(Game game) {
+        adjust(game, -1);
+    }
+
+    public void replace(Game previous, Game current) {
+        adjust(previous, -1);
+        adjust(current, 1);
+    }
+
+    public void rebuild(Supplier<Map<String, Long>> genreCounts, Supplier<Map<String, Long>> developerCounts,
+                        Supplier<Map<String, Long>> releaseYearCounts) {
+
+        synchronized (rebuildLock) {
+            synchronized (this) {
+                writesDuringRebuild = new Counters();
+            }
+
+            try {
+                Counters rebuilt = new Counters();
+                fill(rebuilt.genres, genreCounts.get());
+                fill(rebuilt.developers, developerCounts.get());
+                fill(rebuilt.releaseYears, releaseYearCounts.get());
+
+                synchronized (this) {
+                    add(rebuilt.genres, writesDuringRebuild.genres);
+                    add(rebuilt.developers, writesDuringRebuild.developers);
+                    add(rebuilt.releaseYears, writesDuringRebuild.releaseYears);
+                    counters = rebuilt;
+                }
+
+                logger.info("Facets rebuilt - {} genres, {} developers, {} release years",
+                        rebuilt.genres.size(), rebuilt.developers.size(), rebuilt.releaseYears.size());
+
+            } finally {
+                synchronized (this) {
+                    writesDuringRebuild = null;
+                }
+            }
+        }
+    }
+
+    public FacetResponse snapshot() {
+
+        Counters current = counters;
+        FacetResponse facetResponse = new FacetResponse();
+        facetResponse.setGenres(snapshot(current.genres));
+        facetResponse.setDevelopers(snapshot(current.developers));
+        facetResponse.setReleaseYears(snapshot(current.releaseYears));
+
+        return facetResponse;
+    }
+
+    private void adjust(Game game, long delta) {
+
+        if (game == null) {
+            return;
+        }
+
+        if (writesDuringRebuild == null) {
+            adjust(counters, game, delta);
+            return;
+        }
+
+        // Held so the write lands in both the live counters and the record, or after the swap in the new counters
+        synchronized (this) {
+            adjust(counters, game, delta);
+            if (writesDuringRebuild != null) {
+                adjust(writesDuringRebuild, game, delta);
+            }
+        }
+    }
+
+    private static void adjust(Counters current, Game game, long delta) {
+
+        if (game.getGenres() != null) {
+            for (String genre : game.getGenres()) {
+                increment(current.genres, genre, delta);
+            }
+        }
+
+        increment(current.developers, game.getDeveloper(), delta);
+
+        if (game.getReleaseDate() != null) {
+            increment(current.releaseYears, String.valueOf(game.getReleaseDate().getYear()), delta);
+        }
+    }
+
+    private static void increment(ConcurrentMap<String, LongAdder> counters, String key, long delta) {
+        if (key != null) {
+            counters.computeIfAbsent(key, k -> new LongAdder()).add(delta);
+        }
+    }
+
+    private static void fill(ConcurrentMap<String, LongAdder> counters, Map<String, Long> counts) {
+        for (Map.Entry<String, Long> count : counts.entrySet()) {
+            increment(counters, count.getKey(), count.getValue());
+        }
+    }
+
+    private static void add(ConcurrentMap<String, LongAdder> counters, ConcurrentMap<String, LongAdder> adjustments) {
+        for (Map.Entry<String, LongAdder> adjustment : adjustments.entrySet()) {
+            increment(counters, adjustment.getKey(), adjustment.getValue().sum());
+        }
+    }
+
+    private static Map<String, Long> snapshot(ConcurrentMap<String, LongAdder> counters) {
+
+        // Counters are never removed, so values that have dropped to zero are skipped here
+        Map<String, Long> counts = new TreeMap<>();
+        for (Map.Entry<String, LongAdder> counter : counters.entrySet()) {
+            long count = counter.getValue().sum();
+            if (count > 0) {
+                counts.put(counter.getKey(), count);
+            }
+        }
+        return counts;
+    }
+
+    private static final class Counters {
+
+        private final ConcurrentMap<String, LongAdder> genres = new ConcurrentHashMap<>();
+
+        private final ConcurrentMap<String, LongAdder> developers = new ConcurrentHashMap<>();
+
+        private final ConcurrentMap<String, LongAdder> releaseYears = new ConcurrentHashMap<>();
+    }
+}
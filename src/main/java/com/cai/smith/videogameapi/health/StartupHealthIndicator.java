@@ -0,0 +1,31 @@
+package com.cai.smith.videogameapi.health;
+
+import org.springframework.boot.actuate.health.Health;
+import org.springframework.boot.actuate.health.HealthIndicator;
+import org.springframework.stereotype.Component;
+
+/**
+ * Readiness flag for the background startup load. Reported as "startup" on
+ * /actuator/health and held DOWN until developers, the title index and facets
+ * have been loaded, so a load balancer can hold traffic back until then.
+ */
+@Component
+public class StartupHealthIndicator implements HealthIndicator {
+
+    private volatile boolean ready;
+
+    public void markReady() {
+        ready = true;
+    }
+
+    public boolean isReady() {
+        return ready;
+    }
+
+    @Override
+    public Health health() {
+        return ready
+                ? Health.up().build()
+                : Health.down().withDetail("reason", "Startup data load in progress").build();
+    }
+}
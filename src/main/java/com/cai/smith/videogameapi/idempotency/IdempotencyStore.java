@@ -0,0 +1,35 @@
+package com.cai.smith.videogameapi.idempotency;
+
+import com.cai.smith.videogameapi.model.Game;
+import com.cai.smith.videogameapi.model.IdempotencyRecord;
+
+/**
+ * Remembers which Idempotency-Keys have already been used to create a game, for
+ * {@code idempotencyconfig.ttlSeconds}. A key is claimed before the insert and
+ * completed with the created game after it, so a second request for a key that
+ * is still in progress elsewhere can be told apart from a retry of a finished one.
+ */
+public interface IdempotencyStore {
+
+    /**
+     * Claims a key with a pending record the caller made, which it then hands back
+     * to {@link #complete} or {@link #release} so only its own claim is touched.
+     *
+     * @return null if the key was free and is now claimed by the caller, otherwise
+     * the existing record - pending or completed
+     */
+    IdempotencyRecord claim(IdempotencyRecord pending);
+
+    /**
+     * Records the created game against the caller's claim.
+     *
+     * @return false if the claim was no longer the caller's - its lease ran out and
+     * the key expired or was claimed again - so nothing was recorded
+     */
+    boolean complete(IdempotencyRecord claim, Game game);
+
+    /**
+     * Frees a key the caller claimed but did not create a game for, so a retry runs again.
+     */
+    void release(IdempotencyRecord claim);
+}
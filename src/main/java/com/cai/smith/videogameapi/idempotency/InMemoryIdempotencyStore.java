@@ -0,0 +1,71 @@
+package com.cai.smith.videogameapi.idempotency;
+
+import com.cai.smith.videogameapi.IdempotencyConfig;
+import com.cai.smith.videogameapi.model.Game;
+import com.cai.smith.videogameapi.model.IdempotencyRecord;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import javax.annotation.PostConstruct;
+import java.util.Date;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Keys held in a size and TTL bounded Caffeine cache. Only covers retries that
+ * reach the same instance, and is lost on restart.
+ */
+@Component
+@ConditionalOnProperty(name = IdempotencyConfig.STORE_PROPERTY, havingValue = IdempotencyConfig.MEMORY_STORE,
+        matchIfMissing = true)
+public class InMemoryIdempotencyStore implements IdempotencyStore {
+
+    public static final String CACHE_NAME = "idempotency-keys";
+
+    @Autowired
+    private IdempotencyConfig idempotencyConfig;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    private Cache<String, IdempotencyRecord> cache;
+
+    @PostConstruct
+    public void init() {
+        cache = Caffeine.newBuilder()
+                .maximumSize(idempotencyConfig.getMaximumSize())
+                .expireAfterWrite(idempotencyConfig.getTtlSeconds(), TimeUnit.SECONDS)
+                .recordStats()
+                .build();
+
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, CACHE_NAME);
+    }
+
+    @Override
+    public IdempotencyRecord claim(IdempotencyRecord pending) {
+
+        Date now = pending.getCreatedAt();
+
+        IdempotencyRecord current = cache.asMap().compute(pending.getKey(),
+                (k, existing) -> existing == null || existing.isLeaseExpired(now) ? pending : existing);
+        return current == pending ? null : current;
+    }
+
+    @Override
+    public boolean complete(IdempotencyRecord claim, Game game) {
+
+        IdempotencyRecord completed = IdempotencyRecord.completed(claim.getKey(), game);
+        return cache.asMap().computeIfPresent(claim.getKey(),
+                (k, existing) -> existing.isClaim(claim) ? completed : existing) == completed;
+    }
+
+    @Override
+    public void release(IdempotencyRecord claim) {
+        // Only drops the caller's own pending claim, so a late release cannot reopen a key someone else holds
+        cache.asMap().computeIfPresent(claim.getKey(), (k, existing) -> existing.isClaim(claim) ? null : existing);
+    }
+}
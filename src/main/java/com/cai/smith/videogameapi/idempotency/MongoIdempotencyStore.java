@@ -0,0 +1,106 @@
+package com.cai.smith.videogameapi.idempotency;
+
+import com.cai.smith.videogameapi.IdempotencyConfig;
+import com.cai.smith.videogameapi.model.Game;
+import com.cai.smith.videogameapi.model.IdempotencyRecord;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.index.Index;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.stereotype.Component;
+
+import javax.annotation.PostConstruct;
+import java.util.Date;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Keys held in the idempotency_keys collection, so a retry is recognised whichever
+ * instance it reaches. The unique _id makes claiming a key atomic across instances,
+ * and a TTL index removes records once they expire. Mongo's TTL monitor only runs
+ * once a minute, so expired records it has not reached yet are replaced on claim,
+ * as are pending claims whose lease has run out.
+ */
+@Component
+@ConditionalOnProperty(name = IdempotencyConfig.STORE_PROPERTY, havingValue = IdempotencyConfig.MONGO_STORE)
+public class MongoIdempotencyStore implements IdempotencyStore {
+
+    @Autowired
+    private IdempotencyConfig idempotencyConfig;
+
+    @Autowired
+    private MongoTemplate mongoTemplate;
+
+    private static final Logger logger =
+            LoggerFactory.getLogger(MongoIdempotencyStore.class);
+
+    @PostConstruct
+    public void init() {
+        logger.info("Ensuring idempotency key TTL index of {}s", idempotencyConfig.getTtlSeconds());
+        mongoTemplate.indexOps(IdempotencyRecord.class).ensureIndex(new Index()
+                .on(IdempotencyRecord.CREATED_AT_FIELD, Sort.Direction.ASC)
+                .expire(idempotencyConfig.getTtlSeconds(), TimeUnit.SECONDS));
+    }
+
+    @Override
+    public IdempotencyRecord claim(IdempotencyRecord pending) {
+
+        IdempotencyRecord existing = insertOrFind(pending);
+
+        if (existing == null || !isExpired(existing)) {
+            return existing;
+        }
+
+        logger.info("Replacing expired idempotency key");
+        mongoTemplate.remove(new Query(Criteria.where("_id").is(pending.getKey())
+                .and(IdempotencyRecord.CREATED_AT_FIELD).is(existing.getCreatedAt())), IdempotencyRecord.class);
+        return insertOrFind(pending);
+    }
+
+    @Override
+    public boolean complete(IdempotencyRecord claim, Game game) {
+        return mongoTemplate.findAndReplace(claimQuery(claim), IdempotencyRecord.completed(claim.getKey(), game)) != null;
+    }
+
+    @Override
+    public void release(IdempotencyRecord claim) {
+        // Only drops the caller's own pending claim, so a late release cannot reopen a key someone else holds
+        mongoTemplate.remove(claimQuery(claim), IdempotencyRecord.class);
+    }
+
+    /**
+     * Matches the caller's pending claim, and nothing that has replaced it since.
+     */
+    private static Query claimQuery(IdempotencyRecord claim) {
+        return new Query(Criteria.where("_id").is(claim.getKey())
+                .and(IdempotencyRecord.CREATED_AT_FIELD).is(claim.getCreatedAt())
+                .and(IdempotencyRecord.GAME_ID_FIELD).exists(false));
+    }
+
+    private IdempotencyRecord insertOrFind(IdempotencyRecord pending) {
+
+        try {
+            mongoTemplate.insert(pending);
+            return null;
+        } catch (DuplicateKeyException e) {
+            IdempotencyRecord existing = mongoTemplate.findById(pending.getKey(), IdempotencyRecord.class);
+            // Removed since the insert failed - still someone else's, so answer as in progress
+            return existing == null ? pending(pending.getKey()) : existing;
+        }
+    }
+
+    private IdempotencyRecord pending(String key) {
+        return IdempotencyRecord.pending(key, TimeUnit.SECONDS.toMillis(idempotencyConfig.getPendingLeaseSeconds()));
+    }
+
+    private boolean isExpired(IdempotencyRecord record) {
+        long now = System.currentTimeMillis();
+        long ttlMillis = TimeUnit.SECONDS.toMillis(idempotencyConfig.getTtlSeconds());
+        return record.getCreatedAt().before(new Date(now - ttlMillis)) || record.isLeaseExpired(new Date(now));
+    }
+}
@@ -0,0 +1,69 @@
+package com.cai.smith.videogameapi.mapper;
+
+import com.cai.smith.videogameapi.utility.ETags;
+import org.springframework.http.InvalidMediaTypeException;
+import org.springframework.http.MediaType;
+
+import java.util.List;
+
+/**
+ * The wire formats games can be exchanged in. JSON stays the default - a binary
+ * format is only chosen when the Accept header asks for it.
+ */
+public enum GameFormat {
+
+    JSON(MediaType.APPLICATION_JSON_UTF8),
+    CBOR(new MediaType("application", "cbor")),
+    SMILE(new MediaType("application", "x-jackson-smile")),
+    PROTOBUF(new MediaType("application", "x-protobuf"));
+
+    private final MediaType mediaType;
+
+    GameFormat(MediaType mediaType) {
+        this.mediaType = mediaType;
+    }
+
+    public MediaType getMediaType() {
+        return mediaType;
+    }
+
+    /**
+     * Each format is a different representation, so it gets its own entity tag -
+     * JSON keeps the plain one so existing clients revalidate as before.
+     */
+    public String eTag(String eTag) {
+        return this == JSON ? eTag : ETags.withSuffix(eTag, name().toLowerCase());
+    }
+
+    /**
+     * The format of the most preferred type in the Accept header that one of ours
+     * matches, falling back to JSON for a missing, wildcard or unsupported header.
+     */
+    public static GameFormat negotiate(String accept) {
+
+        if (accept == null || accept.trim().isEmpty()) {
+            return JSON;
+        }
+
+        List<MediaType> accepted;
+        try {
+            accepted = MediaType.parseMediaTypes(accept);
+        } catch (InvalidMediaTypeException e) {
+            return JSON;
+        }
+
+        MediaType.sortBySpecificityAndQuality(accepted);
+
+        for (MediaType mediaType : accepted) {
+            if (mediaType.getQualityValue() == 0) {
+                continue;
+            }
+            for (GameFormat format : values()) {
+                if (mediaType.includes(format.mediaType)) {
+                    return format;
+                }
+            }
+        }
+        return JSON;
+    }
+}
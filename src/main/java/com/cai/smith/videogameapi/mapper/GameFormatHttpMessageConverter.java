@@ -0,0 +1,50 @@
+package com.cai.smith.videogameapi.mapper;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import org.springframework.http.HttpInputMessage;
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.http.converter.AbstractHttpMessageConverter;
+import org.springframework.http.converter.HttpMessageNotReadableException;
+import org.springframework.http.converter.HttpMessageNotWritableException;
+
+import java.io.IOException;
+
+/**
+ * Reads and writes request and response bodies in one {@link GameFormat} through
+ * {@link GameFormats}, for the formats Spring MVC has no converter of its own for.
+ */
+public class GameFormatHttpMessageConverter extends AbstractHttpMessageConverter<Object> {
+
+    private final GameFormats gameFormats;
+
+    private final GameFormat format;
+
+    public GameFormatHttpMessageConverter(GameFormats gameFormats, GameFormat format) {
+        super(format.getMediaType());
+        this.gameFormats = gameFormats;
+        this.format = format;
+    }
+
+    @Override
+    protected boolean supports(Class<?> clazz) {
+        return gameFormats.supports(format, clazz);
+    }
+
+    @Override
+    protected Object readInternal(Class<?> clazz, HttpInputMessage inputMessage) throws IOException {
+        try {
+            return gameFormats.readerFor(format, clazz).readValue(inputMessage.getBody());
+        } catch (JsonProcessingException e) {
+            throw new HttpMessageNotReadableException("Invalid " + format + " body: " + e.getOriginalMessage(), e, inputMessage);
+        }
+    }
+
+    @Override
+    protected void writeInternal(Object value, HttpOutputMessage outputMessage) throws IOException {
+        try {
+            gameFormats.writerFor(format, value.getClass()).writeValue(outputMessage.getBody(), value);
+        } catch (JsonProcessingException e) {
+            throw new HttpMessageNotWritableException("Could not write " + format + ": " + e.getOriginalMessage(), e);
+        }
+    }
+}
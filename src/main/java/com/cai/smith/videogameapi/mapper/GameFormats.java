@@ -0,0 +1,115 @@
+package com.cai.smith.videogameapi.mapper;
+
+import com.cai.smith.videogameapi.model.Game;
+import com.cai.smith.videogameapi.model.response.GameResponse;
+import com.cai.smith.videogameapi.model.response.GameResponseList;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.JsonMappingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.dataformat.protobuf.ProtobufFactory;
+import com.fasterxml.jackson.dataformat.protobuf.schema.ProtobufSchema;
+import com.fasterxml.jackson.dataformat.protobuf.schemagen.ProtobufSchemaGenerator;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.stereotype.Component;
+
+import javax.annotation.PostConstruct;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * One ObjectMapper per {@link GameFormat}. JSON uses the application's own mapper;
+ * the binary formats are built the way Spring builds its Smile and CBOR
+ * converters. Protobuf needs a schema per root type, generated from the Jackson
+ * view of the class, so only the game request and response types can be sent as
+ * protobuf.
+ */
+@Component
+public class GameFormats {
+
+    static final List<Class<?>> PROTOBUF_TYPES = Collections.unmodifiableList(
+            Arrays.asList(Game.class, GameResponse.class, GameResponseList.class));
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    private final Map<GameFormat, ObjectMapper> mappers = new EnumMap<>(GameFormat.class);
+
+    private final Map<Class<?>, ProtobufSchema> schemas = new HashMap<>();
+
+    @PostConstruct
+    public void init() {
+        mappers.put(GameFormat.JSON, objectMapper);
+        mappers.put(GameFormat.CBOR, Jackson2ObjectMapperBuilder.cbor()
+                .featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS).build());
+        mappers.put(GameFormat.SMILE, Jackson2ObjectMapperBuilder.smile()
+                .featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS).build());
+        mappers.put(GameFormat.PROTOBUF, Jackson2ObjectMapperBuilder.json().factory(new ProtobufFactory())
+                .featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS).build());
+
+        for (Class<?> type : PROTOBUF_TYPES) {
+            schemas.put(type, generateSchema(type));
+        }
+    }
+
+    public boolean supports(GameFormat format, Class<?> type) {
+        return format != GameFormat.PROTOBUF || schemas.containsKey(type);
+    }
+
+    public ProtobufSchema schema(Class<?> type) {
+
+        ProtobufSchema schema = schemas.get(type);
+        if (schema == null) {
+            throw new IllegalArgumentException("No protobuf schema for " + type.getName());
+        }
+        return schema;
+    }
+
+    public ObjectWriter writerFor(GameFormat format, Class<?> type) {
+
+        ObjectWriter writer = mappers.get(format).writerFor(type);
+        return format == GameFormat.PROTOBUF ? writer.with(schema(type)) : writer;
+    }
+
+    public ObjectReader readerFor(GameFormat format, Class<?> type) {
+
+        ObjectReader reader = mappers.get(format).readerFor(type);
+        return format == GameFormat.PROTOBUF ? reader.with(schema(type)) : reader;
+    }
+
+    /**
+     * A generator configured as the format's mapper would configure its own, for
+     * writing a value of the given root type by hand.
+     */
+    public JsonGenerator createGenerator(GameFormat format, Class<?> type, OutputStream output) throws IOException {
+
+        ObjectMapper mapper = mappers.get(format);
+        JsonGenerator generator = mapper.getFactory().createGenerator(output);
+        mapper.getSerializationConfig().initialize(generator);
+
+        if (format == GameFormat.PROTOBUF) {
+            generator.setSchema(schema(type));
+        }
+        return generator;
+    }
+
+    private ProtobufSchema generateSchema(Class<?> type) {
+
+        ProtobufSchemaGenerator generator = new ProtobufSchemaGenerator();
+        try {
+            mappers.get(GameFormat.PROTOBUF).acceptJsonFormatVisitor(type, generator);
+            return generator.getGeneratedSchema();
+        } catch (JsonMappingException e) {
+            throw new IllegalStateException("Failed to generate protobuf schema for " + type.getName(), e);
+        }
+    }
+}
@@ -0,0 +1,228 @@
+package com.cai.smith.videogameapi.mapper;
+
+import com.cai.smith.videogameapi.model.Game;
+import com.cai.smith.videogameapi.model.GameField;
+import com.cai.smith.videogameapi.model.GameFields;
+import com.cai.smith.videogameapi.model.response.GameResponse;
+import com.cai.smith.videogameapi.model.response.GameResponseList;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.io.SerializedString;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
+import java.util.List;
+
+/**
+ * Writes games straight to a {@link JsonGenerator} in the wire format of
+ * {@link GameResponseList} and {@link GameResponse}, without building either.
+ * Field names are pre-encoded, dates are formatted into a reused char buffer and
+ * the output buffer is kept per thread, so the only allocation per list is the
+ * returned byte array. Output is byte-identical to serializing the mapped
+ * response with the same ObjectMapper - GameListWriterTest holds it to that. A
+ * {@link GameFields} projection leaves out the fields outside it and, like
+ * {@code NON_NULL}, any requested field that is null; a full game writes nulls. The
+ * binary {@link GameFormat}s share the same code through their own generators.
+ */
+@Component
+public class GameListWriter {
+
+    private static final SerializedString ITEMS_PER_PAGE = new SerializedString("itemsPerPage");
+    private static final SerializedString START_INDEX = new SerializedString("startIndex");
+    private static final SerializedString TOTAL_RESULTS = new SerializedString("totalResults");
+    private static final SerializedString ITEMS = new SerializedString("items");
+    private static final SerializedString NEXT_PAGE_TOKEN = new SerializedString("nextPageToken");
+
+    private static final SerializedString ID = new SerializedString("id");
+    private static final SerializedString TITLE = new SerializedString("title");
+    private static final SerializedString RELEASE_DATE = new SerializedString("releaseDate");
+    private static final SerializedString GENRES = new SerializedString("genres");
+    private static final SerializedString DEVELOPER = new SerializedString("developer");
+
+    // The @JsonFormat pattern on GameResponse.releaseDate, used for years the fast path cannot write
+    private static final DateTimeFormatter RELEASE_DATE_FORMAT = DateTimeFormatter.ofPattern("yyyy-MM-dd");
+
+    private static final int DATE_LENGTH = 10;
+
+    // A buffer grown by an unusually large page is dropped rather than held by the thread
+    private static final int MAX_RETAINED_BYTES = 1 << 20;
+
+    private static final ThreadLocal<PooledOutputStream> OUTPUT = ThreadLocal.withInitial(PooledOutputStream::new);
+
+    private static final ThreadLocal<char[]> DATE_CHARS = ThreadLocal.withInitial(() -> new char[DATE_LENGTH]);
+
+    @Autowired
+    private GameFormats gameFormats;
+
+    public byte[] writeGameList(List<Game> games, int startIndex, int itemsPerPage,
+                                long totalResults, String nextPageToken) {
+        return writeGameList(games, startIndex, itemsPerPage, totalResults, nextPageToken, GameFormat.JSON);
+    }
+
+    public byte[] writeGameList(List<Game> games, int startIndex, int itemsPerPage,
+                                long totalResults, String nextPageToken, GameFormat format) {
+        return writeGameList(games, startIndex, itemsPerPage, totalResults, nextPageToken, format, GameFields.ALL);
+    }
+
+    public byte[] writeGameList(List<Game> games, int startIndex, int itemsPerPage, long totalResults,
+                                String nextPageToken, GameFormat format, GameFields fields) {
+
+        PooledOutputStream output = OUTPUT.get();
+        output.reset();
+
+        // Carries the mapper's own output settings, such as indentation, as writeValue would
+        try (JsonGenerator generator = gameFormats.createGenerator(format, GameResponseList.class, output)) {
+
+            generator.writeStartObject();
+            generator.writeFieldName(ITEMS_PER_PAGE);
+            generator.writeNumber(itemsPerPage);
+            generator.writeFieldName(START_INDEX);
+            generator.writeNumber(startIndex);
+            generator.writeFieldName(TOTAL_RESULTS);
+            generator.writeNumber((int) Math.min(totalResults, Integer.MAX_VALUE));
+
+            generator.writeFieldName(ITEMS);
+            // Sized so CBOR writes definite-length arrays, as Jackson does for a List
+            generator.writeStartArray(games.size());
+            for (Game game : games) {
+                writeGame(generator, game, fields);
+            }
+            generator.writeEndArray();
+
+            generator.writeFieldName(NEXT_PAGE_TOKEN);
+            writeString(generator, nextPageToken);
+            generator.writeEndObject();
+
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to write game list", e);
+        }
+
+        return output.drain();
+    }
+
+    public byte[] writeGame(Game game, GameFormat format) {
+        return writeGame(game, format, GameFields.ALL);
+    }
+
+    public byte[] writeGame(Game game, GameFormat format, GameFields fields) {
+
+        PooledOutputStream output = OUTPUT.get();
+        output.reset();
+
+        try (JsonGenerator generator = gameFormats.createGenerator(format, GameResponse.class, output)) {
+            writeGame(generator, game, fields);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to write game " + game.getGameId(), e);
+        }
+
+        return output.drain();
+    }
+
+    public void writeGame(JsonGenerator generator, Game game) throws IOException {
+        writeGame(generator, game, GameFields.ALL);
+    }
+
+    public void writeGame(JsonGenerator generator, Game game, GameFields fields) throws IOException {
+
+        // A full game writes null fields, a sparse fieldset leaves them out along with the unrequested ones
+        boolean writeNulls = fields.isAll();
+
+        generator.writeStartObject();
+        if (fields.contains(GameField.ID)) {
+            writeString(generator, ID, game.getGameId(), writeNulls);
+        }
+        if (fields.contains(GameField.TITLE)) {
+            writeString(generator, TITLE, game.getTitle(), writeNulls);
+        }
+        if (fields.contains(GameField.RELEASE_DATE) && (writeNulls || game.getReleaseDate() != null)) {
+            generator.writeFieldName(RELEASE_DATE);
+            writeDate(generator, game.getReleaseDate());
+        }
+
+        List<String> genres = game.getGenres();
+        if (fields.contains(GameField.GENRES) && (writeNulls || genres != null)) {
+            generator.writeFieldName(GENRES);
+            if (genres == null) {
+                generator.writeNull();
+            } else {
+                generator.writeStartArray(genres.size());
+                for (int i = 0; i < genres.size(); i++) {
+                    writeString(generator, genres.get(i));
+                }
+                generator.writeEndArray();
+            }
+        }
+
+        if (fields.contains(GameField.DEVELOPER)) {
+            writeString(generator, DEVELOPER, game.getDeveloper(), writeNulls);
+        }
+        generator.writeEndObject();
+    }
+
+    private static void writeString(JsonGenerator generator, SerializedString name, String value,
+                                    boolean writeNull) throws IOException {
+        if (value != null || writeNull) {
+            generator.writeFieldName(name);
+            writeString(generator, value);
+        }
+    }
+
+    private static void writeString(JsonGenerator generator, String value) throws IOException {
+        if (value == null) {
+            generator.writeNull();
+        } else {
+            generator.writeString(value);
+        }
+    }
+
+    private static void writeDate(JsonGenerator generator, LocalDate date) throws IOException {
+
+        if (date == null) {
+            generator.writeNull();
+            return;
+        }
+
+        int year = date.getYear();
+        // yyyy is year-of-era, so years before 1 AD are left to the formatter too
+        if (year < 1 || year > 9999) {
+            generator.writeString(RELEASE_DATE_FORMAT.format(date));
+            return;
+        }
+
+        char[] chars = DATE_CHARS.get();
+        writeDigits(chars, 0, year, 4);
+        chars[4] = '-';
+        writeDigits(chars, 5, date.getMonthValue(), 2);
+        chars[7] = '-';
+        writeDigits(chars, 8, date.getDayOfMonth(), 2);
+
+        generator.writeString(chars, 0, DATE_LENGTH);
+    }
+
+    private static void writeDigits(char[] chars, int offset, int value, int width) {
+        for (int i = offset + width - 1; i >= offset; i--) {
+            chars[i] = (char) ('0' + value % 10);
+            value /= 10;
+        }
+    }
+
+    private static final class PooledOutputStream extends ByteArrayOutputStream {
+
+        PooledOutputStream() {
+            super(8192);
+        }
+
+        byte[] drain() {
+            byte[] bytes = toByteArray();
+            if (buf.length > MAX_RETAINED_BYTES) {
+                buf = new byte[8192];
+            }
+            reset();
+            return bytes;
+        }
+    }
+}
@@ -1,6 +1,8 @@
 package com.cai.smith.videogameapi.mapper;
 
 import com.cai.smith.videogameapi.model.Game;
+import com.cai.smith.videogameapi.model.GameField;
+import com.cai.smith.videogameapi.model.GameFields;
 import com.cai.smith.videogameapi.model.response.GameResponse;
 import com.cai.smith.videogameapi.model.response.GameResponseList;
 import org.springframework.stereotype.Component;
@@ -12,28 +14,53 @@ import java.util.List;
 public class ResponseMapper {
 
     public GameResponse mapGameResponse(Game game) {
+        return mapGameResponse(game, GameFields.ALL);
+    }
+
+    public GameResponse mapGameResponse(Game game, GameFields fields) {
 
         GameResponse gameResponse = new GameResponse();
-        gameResponse.setId(game.getGameId());
-        gameResponse.setTitle(game.getTitle());
-        gameResponse.setReleaseDate(game.getReleaseDate());
-        gameResponse.setGenres(game.getGenres());
-        gameResponse.setDeveloper(game.getDeveloper());
+        if (fields.contains(GameField.ID)) {
+            gameResponse.setId(game.getGameId());
+        }
+        if (fields.contains(GameField.TITLE)) {
+            gameResponse.setTitle(game.getTitle());
+        }
+        if (fields.contains(GameField.RELEASE_DATE)) {
+            gameResponse.setReleaseDate(game.getReleaseDate());
+        }
+        if (fields.contains(GameField.GENRES)) {
+            gameResponse.setGenres(game.getGenres());
+        }
+        if (fields.contains(GameField.DEVELOPER)) {
+            gameResponse.setDeveloper(game.getDeveloper());
+        }
 
         return gameResponse;
     }
 
     public GameResponseList mapGameResponseList(List<Game> games) {
+        return mapGameResponseList(games, 0, games.size(), games.size(), null);
+    }
+
+    public GameResponseList mapGameResponseList(List<Game> games, int startIndex, int itemsPerPage,
+                                                long totalResults, String nextPageToken) {
+        return mapGameResponseList(games, startIndex, itemsPerPage, totalResults, nextPageToken, GameFields.ALL);
+    }
+
+    public GameResponseList mapGameResponseList(List<Game> games, int startIndex, int itemsPerPage,
+                                                long totalResults, String nextPageToken, GameFields fields) {
 
         GameResponseList gameResponseList = new GameResponseList();
-        gameResponseList.setItemsPerPage(games.size());
-        gameResponseList.setStartIndex(0);
-        gameResponseList.setTotalResults(games.size());
+        gameResponseList.setItemsPerPage(itemsPerPage);
+        gameResponseList.setStartIndex(startIndex);
+        gameResponseList.setTotalResults((int) Math.min(totalResults, Integer.MAX_VALUE));
+        gameResponseList.setNextPageToken(nextPageToken);
 
-        List<GameResponse> gameResponses = new ArrayList<>();
+        List<GameResponse> gameResponses = new ArrayList<>(games.size());
 
         for (Game game : games) {
-            gameResponses.add(mapGameResponse(game));
+            gameResponses.add(mapGameResponse(game, fields));
         }
 
         gameResponseList.setItems(gameResponses);
@@ -0,0 +1,74 @@
+package com.cai.smith.videogameapi.metrics;
+
+import com.mongodb.event.CommandFailedEvent;
+import com.mongodb.event.CommandListener;
+import com.mongodb.event.CommandStartedEvent;
+import com.mongodb.event.CommandSucceededEvent;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.bson.BsonDocument;
+import org.bson.BsonValue;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Times every command the driver sends, tagged with the command, the collection
+ * it ran against and whether it succeeded. The driver only names the collection
+ * on the started event, so it is held by request id until the command completes.
+ */
+public class MongoCommandMetrics implements CommandListener {
+
+    public static final String METRIC_NAME = "mongodb.driver.commands";
+
+    private static final String UNKNOWN_COLLECTION = "unknown";
+
+    private final MeterRegistry meterRegistry;
+
+    private final String client;
+
+    private final Map<Integer, String> collections = new ConcurrentHashMap<>();
+
+    public MongoCommandMetrics(MeterRegistry meterRegistry, String client) {
+        this.meterRegistry = meterRegistry;
+        this.client = client;
+    }
+
+    @Override
+    public void commandStarted(CommandStartedEvent event) {
+        collections.put(event.getRequestId(), collectionOf(event.getCommandName(), event.getCommand()));
+    }
+
+    @Override
+    public void commandSucceeded(CommandSucceededEvent event) {
+        record(event.getRequestId(), event.getCommandName(), "SUCCESS", event.getElapsedTime(TimeUnit.NANOSECONDS));
+    }
+
+    @Override
+    public void commandFailed(CommandFailedEvent event) {
+        record(event.getRequestId(), event.getCommandName(), "FAILED", event.getElapsedTime(TimeUnit.NANOSECONDS));
+    }
+
+    private void record(int requestId, String command, String status, long elapsedNanos) {
+
+        String collection = collections.remove(requestId);
+
+        Timer.builder(METRIC_NAME)
+                .description("Mongo command latency")
+                .tag("client", client)
+                .tag("command", command)
+                .tag("collection", collection == null ? UNKNOWN_COLLECTION : collection)
+                .tag("status", status)
+                .register(meterRegistry)
+                .record(elapsedNanos, TimeUnit.NANOSECONDS);
+    }
+
+    // find, insert, update, delete, aggregate and count name the collection as the command's value; getMore names it separately
+    static String collectionOf(String commandName, BsonDocument command) {
+
+        BsonValue value = "getMore".equals(commandName) ? command.get("collection") : command.get(commandName);
+
+        return value != null && value.isString() ? value.asString().getValue() : UNKNOWN_COLLECTION;
+    }
+}
@@ -0,0 +1,128 @@
+package com.cai.smith.videogameapi.metrics;
+
+import com.mongodb.connection.ServerId;
+import com.mongodb.event.ConnectionAddedEvent;
+import com.mongodb.event.ConnectionCheckedInEvent;
+import com.mongodb.event.ConnectionCheckedOutEvent;
+import com.mongodb.event.ConnectionPoolClosedEvent;
+import com.mongodb.event.ConnectionPoolListenerAdapter;
+import com.mongodb.event.ConnectionPoolOpenedEvent;
+import com.mongodb.event.ConnectionPoolWaitQueueEnteredEvent;
+import com.mongodb.event.ConnectionPoolWaitQueueExitedEvent;
+import com.mongodb.event.ConnectionRemovedEvent;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.Meter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Gauges for each server's connection pool - open connections, connections in
+ * use and threads waiting for one. A growing wait queue is the first sign the
+ * pool is too small for the request load.
+ */
+public class MongoConnectionPoolMetrics extends ConnectionPoolListenerAdapter {
+
+    public static final String SIZE_METRIC = "mongodb.driver.pool.size";
+
+    public static final String CHECKED_OUT_METRIC = "mongodb.driver.pool.checkedout";
+
+    public static final String WAIT_QUEUE_METRIC = "mongodb.driver.pool.waitqueuesize";
+
+    private final MeterRegistry meterRegistry;
+
+    private final String client;
+
+    private final Map<ServerId, AtomicInteger> sizes = new ConcurrentHashMap<>();
+
+    private final Map<ServerId, AtomicInteger> checkedOut = new ConcurrentHashMap<>();
+
+    private final Map<ServerId, AtomicInteger> waitQueue = new ConcurrentHashMap<>();
+
+    private final Map<ServerId, List<Meter>> meters = new ConcurrentHashMap<>();
+
+    public MongoConnectionPoolMetrics(MeterRegistry meterRegistry, String client) {
+        this.meterRegistry = meterRegistry;
+        this.client = client;
+    }
+
+    @Override
+    public void connectionPoolOpened(ConnectionPoolOpenedEvent event) {
+
+        ServerId serverId = event.getServerId();
+        Tags tags = Tags.of("client", client, "server.address", serverId.getAddress().toString());
+
+        List<Meter> registered = new ArrayList<>();
+        registered.add(gauge(SIZE_METRIC, "Connections open in the pool", tags, sizes, serverId));
+        registered.add(gauge(CHECKED_OUT_METRIC, "Connections currently in use", tags, checkedOut, serverId));
+        registered.add(gauge(WAIT_QUEUE_METRIC, "Threads waiting for a connection", tags, waitQueue, serverId));
+        meters.put(serverId, registered);
+    }
+
+    @Override
+    public void connectionPoolClosed(ConnectionPoolClosedEvent event) {
+
+        ServerId serverId = event.getServerId();
+        List<Meter> registered = meters.remove(serverId);
+        if (registered != null) {
+            registered.forEach(meterRegistry::remove);
+        }
+        sizes.remove(serverId);
+        checkedOut.remove(serverId);
+        waitQueue.remove(serverId);
+    }
+
+    @Override
+    public void connectionAdded(ConnectionAddedEvent event) {
+        adjust(sizes, event.getConnectionId().getServerId(), 1);
+    }
+
+    @Override
+    public void connectionRemoved(ConnectionRemovedEvent event) {
+        adjust(sizes, event.getConnectionId().getServerId(), -1);
+    }
+
+    @Override
+    public void connectionCheckedOut(ConnectionCheckedOutEvent event) {
+        adjust(checkedOut, event.getConnectionId().getServerId(), 1);
+    }
+
+    @Override
+    public void connectionCheckedIn(ConnectionCheckedInEvent event) {
+        adjust(checkedOut, event.getConnectionId().getServerId(), -1);
+    }
+
+    @Override
+    public void waitQueueEntered(ConnectionPoolWaitQueueEnteredEvent event) {
+        adjust(waitQueue, event.getServerId(), 1);
+    }
+
+    @Override
+    public void waitQueueExited(ConnectionPoolWaitQueueExitedEvent event) {
+        adjust(waitQueue, event.getServerId(), -1);
+    }
+
+    private Gauge gauge(String name, String description, Tags tags, Map<ServerId, AtomicInteger> values,
+                        ServerId serverId) {
+
+        AtomicInteger value = values.computeIfAbsent(serverId, id -> new AtomicInteger());
+
+        return Gauge.builder(name, value, AtomicInteger::get)
+                .description(description)
+                .tags(tags)
+                .register(meterRegistry);
+    }
+
+    private void adjust(Map<ServerId, AtomicInteger> values, ServerId serverId, int delta) {
+
+        AtomicInteger value = values.get(serverId);
+        if (value != null) {
+            value.addAndGet(delta);
+        }
+    }
+}
@@ -0,0 +1,77 @@
+package com.cai.smith.videogameapi.metrics;
+
+import com.cai.smith.videogameapi.exception.DataException;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.DataAccessException;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+
+/**
+ * Times the public methods of the game services and counts the data errors they
+ * raise. The controllers turn a {@link DataException} into a 400, so without the
+ * counter a failing Mongo is indistinguishable from bad client input. Reactive
+ * methods are timed until their Mono completes rather than until it is returned.
+ */
+@Aspect
+@Component
+public class ServiceMetricsAspect {
+
+    public static final String CALLS_METRIC = "games.service.calls";
+
+    public static final String DATA_EXCEPTIONS_METRIC = "games.data.exceptions";
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Around("execution(public * com.cai.smith.videogameapi.service.GameService.*(..))"
+            + " || execution(public * com.cai.smith.videogameapi.service.ReactiveGameService.*(..))")
+    public Object time(ProceedingJoinPoint joinPoint) throws Throwable {
+
+        String method = joinPoint.getSignature().getName();
+        Timer.Sample sample = Timer.start(meterRegistry);
+
+        Object result;
+        try {
+            result = joinPoint.proceed();
+        } catch (Throwable e) {
+            stop(sample, method, null, e);
+            throw e;
+        }
+
+        if (result instanceof Mono) {
+            return ((Mono<?>) result)
+                    .doOnSuccess(value -> stop(sample, method, value, null))
+                    .doOnError(e -> stop(sample, method, null, e));
+        }
+
+        stop(sample, method, result, null);
+        return result;
+    }
+
+    private void stop(Timer.Sample sample, String method, Object result, Throwable error) {
+
+        boolean dataError = error instanceof DataException || error instanceof DataAccessException;
+        if (dataError) {
+            meterRegistry.counter(DATA_EXCEPTIONS_METRIC, "method", method).increment();
+        }
+
+        sample.stop(Timer.builder(CALLS_METRIC)
+                .description("Game service call latency")
+                .tag("method", method)
+                .tag("status", status(result))
+                .tag("exception", error == null ? "none" : error.getClass().getSimpleName())
+                .register(meterRegistry));
+    }
+
+    private static String status(Object result) {
+        return result instanceof ResponseEntity
+                ? String.valueOf(((ResponseEntity) result).getStatusCodeValue())
+                : "none";
+    }
+}
@@ -0,0 +1,33 @@
+package com.cai.smith.videogameapi.model;
+
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.mapping.Document;
+import org.springframework.data.mongodb.core.mapping.Field;
+
+@Document("generations")
+public class CollectionGeneration {
+
+    public static final String GAMES = "games";
+
+    @Id
+    private String collection;
+
+    @Field("generation")
+    private long generation;
+
+    public String getCollection() {
+        return collection;
+    }
+
+    public void setCollection(String collection) {
+        this.collection = collection;
+    }
+
+    public long getGeneration() {
+        return generation;
+    }
+
+    public void setGeneration(long generation) {
+        this.generation = generation;
+    }
+}
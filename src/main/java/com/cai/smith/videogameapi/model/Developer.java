@@ -1,7 +1,12 @@
 package com.cai.smith.videogameapi.model;
 
+import org.springframework.data.mongodb.core.index.Indexed;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+@Document(collection = "developer")
 public class Developer {
 
+    @Indexed
     private String name;
 
     private String headquarters;
@@ -1,19 +1,34 @@
 package com.cai.smith.videogameapi.model;
 
 import com.fasterxml.jackson.annotation.JsonFormat;
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.fasterxml.jackson.annotation.JsonProperty;
 import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.CompoundIndex;
+import org.springframework.data.mongodb.core.index.CompoundIndexes;
+import org.springframework.data.mongodb.core.index.TextIndexed;
+import org.springframework.data.mongodb.core.mapping.Document;
 import org.springframework.data.mongodb.core.mapping.Field;
 
 import java.time.LocalDate;
 import java.util.List;
 
+@Document(collection = "game")
+@CompoundIndexes({
+        @CompoundIndex(name = "developer_release_date", def = "{'developer': 1, 'release_date': 1, '_id': 1}"),
+        @CompoundIndex(name = "developer_title", def = "{'developer': 1, 'title': 1, '_id': 1}"),
+        @CompoundIndex(name = "genres_release_date", def = "{'genres': 1, 'release_date': 1, '_id': 1}"),
+        @CompoundIndex(name = "genres_title", def = "{'genres': 1, 'title': 1, '_id': 1}"),
+        @CompoundIndex(name = "release_date", def = "{'release_date': 1, '_id': 1}"),
+        @CompoundIndex(name = "title", def = "{'title': 1, '_id': 1}")
+})
 public class Game {
 
     @Id
     private String gameId;
 
     @Field("title")
+    @TextIndexed
     private String title;
 
     @Field("release_date")
@@ -27,6 +42,10 @@ public class Game {
     @Field("developer")
     private String developer;
 
+    @Field("version")
+    @JsonIgnore
+    private long version;
+
     public String getGameId() {
         return gameId;
     }
@@ -66,4 +85,12 @@ public class Game {
     public void setDeveloper(String developer) {
         this.developer = developer;
     }
+
+    public long getVersion() {
+        return version;
+    }
+
+    public void setVersion(long version) {
+        this.version = version;
+    }
 }
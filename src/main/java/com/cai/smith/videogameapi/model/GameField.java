@@ -0,0 +1,37 @@
+package com.cai.smith.videogameapi.model;
+
+public enum GameField {
+
+    ID("id", "_id"),
+    TITLE("title", "title"),
+    RELEASE_DATE("releaseDate", "release_date"),
+    GENRES("genres", "genres"),
+    DEVELOPER("developer", "developer");
+
+    private final String parameter;
+
+    private final String field;
+
+    GameField(String parameter, String field) {
+        this.parameter = parameter;
+        this.field = field;
+    }
+
+    public String getParameter() {
+        return parameter;
+    }
+
+    public String getField() {
+        return field;
+    }
+
+    public static GameField fromParameter(String parameter) {
+
+        for (GameField field : values()) {
+            if (field.parameter.equals(parameter)) {
+                return field;
+            }
+        }
+        throw new IllegalArgumentException("Unsupported field " + parameter);
+    }
+}
@@ -0,0 +1,70 @@
+package com.cai.smith.videogameapi.model;
+
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.Set;
+
+/**
+ * The fields of a game a caller asked for with {@code fields=}, named as they
+ * appear in the response. Read as a Mongo projection, so fields nobody asked for
+ * are never loaded.
+ */
+public class GameFields {
+
+    public static final GameFields ALL = new GameFields(EnumSet.allOf(GameField.class));
+
+    private final Set<GameField> fields;
+
+    private GameFields(EnumSet<GameField> fields) {
+        this.fields = Collections.unmodifiableSet(fields);
+    }
+
+    public static GameFields of(String parameter) {
+
+        if (parameter == null) {
+            return ALL;
+        }
+
+        EnumSet<GameField> fields = EnumSet.noneOf(GameField.class);
+        for (String name : parameter.split(",")) {
+            fields.add(GameField.fromParameter(name.trim()));
+        }
+
+        return fields.size() == ALL.fields.size() ? ALL : new GameFields(fields);
+    }
+
+    public boolean isAll() {
+        return this == ALL;
+    }
+
+    public boolean contains(GameField field) {
+        return fields.contains(field);
+    }
+
+    public Set<GameField> getFields() {
+        return fields;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        return this == o || o instanceof GameFields && fields.equals(((GameFields) o).fields);
+    }
+
+    @Override
+    public int hashCode() {
+        return fields.hashCode();
+    }
+
+    @Override
+    public String toString() {
+
+        StringBuilder parameter = new StringBuilder();
+        for (GameField field : fields) {
+            if (parameter.length() > 0) {
+                parameter.append(',');
+            }
+            parameter.append(field.getParameter());
+        }
+        return parameter.toString();
+    }
+}
@@ -0,0 +1,137 @@
+package com.cai.smith.videogameapi.model;
+
+import java.time.LocalDate;
+import java.util.Collections;
+import java.util.List;
+import java.util.Objects;
+
+public class GameFilter {
+
+    private static final String MATCH_ANY = "any";
+
+    private static final String MATCH_ALL = "all";
+
+    private String developer;
+
+    private List<String> genres = Collections.emptyList();
+
+    private boolean matchAllGenres;
+
+    private LocalDate releasedAfter;
+
+    private LocalDate releasedBefore;
+
+    private GameSort sort = GameSort.ID;
+
+    public static GameFilter of(String developer, List<String> genres, String genreMatch,
+                                LocalDate releasedAfter, LocalDate releasedBefore, String sort) {
+
+        GameFilter filter = new GameFilter();
+        filter.setDeveloper(developer);
+        filter.setGenres(genres == null ? Collections.<String>emptyList() : genres);
+        filter.setReleasedAfter(releasedAfter);
+        filter.setReleasedBefore(releasedBefore);
+        filter.setSort(GameSort.fromParameter(sort));
+
+        if (genreMatch == null || MATCH_ANY.equalsIgnoreCase(genreMatch)) {
+            filter.setMatchAllGenres(false);
+        } else if (MATCH_ALL.equalsIgnoreCase(genreMatch)) {
+            filter.setMatchAllGenres(true);
+        } else {
+            throw new IllegalArgumentException("Unsupported genre match " + genreMatch);
+        }
+
+        if (releasedAfter != null && releasedBefore != null && releasedAfter.isAfter(releasedBefore)) {
+            throw new IllegalArgumentException("Release date range is empty");
+        }
+
+        return filter;
+    }
+
+    public boolean isUnfiltered() {
+        return developer == null && genres.isEmpty() && releasedAfter == null
+                && releasedBefore == null && sort == GameSort.ID;
+    }
+
+    public String getDeveloper() {
+        return developer;
+    }
+
+    public void setDeveloper(String developer) {
+        this.developer = developer;
+    }
+
+    public List<String> getGenres() {
+        return genres;
+    }
+
+    public void setGenres(List<String> genres) {
+        this.genres = genres;
+    }
+
+    public boolean isMatchAllGenres() {
+        return matchAllGenres;
+    }
+
+    public void setMatchAllGenres(boolean matchAllGenres) {
+        this.matchAllGenres = matchAllGenres;
+    }
+
+    public LocalDate getReleasedAfter() {
+        return releasedAfter;
+    }
+
+    public void setReleasedAfter(LocalDate releasedAfter) {
+        this.releasedAfter = releasedAfter;
+    }
+
+    public LocalDate getReleasedBefore() {
+        return releasedBefore;
+    }
+
+    public void setReleasedBefore(LocalDate releasedBefore) {
+        this.releasedBefore = releasedBefore;
+    }
+
+    public GameSort getSort() {
+        return sort;
+    }
+
+    public void setSort(GameSort sort) {
+        this.sort = sort;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+
+        if (this == o) {
+            return true;
+        }
+        if (o == null || getClass() != o.getClass()) {
+            return false;
+        }
+
+        GameFilter that = (GameFilter) o;
+        return matchAllGenres == that.matchAllGenres
+                && Objects.equals(developer, that.developer)
+                && Objects.equals(genres, that.genres)
+                && Objects.equals(releasedAfter, that.releasedAfter)
+                && Objects.equals(releasedBefore, that.releasedBefore)
+                && sort == that.sort;
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(developer, genres, matchAllGenres, releasedAfter, releasedBefore, sort);
+    }
+
+    @Override
+    public String toString() {
+        return "developer=" + developer
+                + "&genres=" + genres
+                + "&all=" + matchAllGenres
+                + "&after=" + releasedAfter
+                + "&before=" + releasedBefore
+                + "&sort=" + sort.getParameter();
+    }
+}
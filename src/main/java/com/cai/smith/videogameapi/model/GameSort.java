@@ -0,0 +1,50 @@
+package com.cai.smith.videogameapi.model;
+
+import org.springframework.data.domain.Sort;
+
+public enum GameSort {
+
+    ID("id", "_id", Sort.Direction.ASC),
+    RELEASE_DATE("release_date", "release_date", Sort.Direction.ASC),
+    RELEASE_DATE_DESC("-release_date", "release_date", Sort.Direction.DESC),
+    TITLE("title", "title", Sort.Direction.ASC),
+    TITLE_DESC("-title", "title", Sort.Direction.DESC);
+
+    private final String parameter;
+
+    private final String field;
+
+    private final Sort.Direction direction;
+
+    GameSort(String parameter, String field, Sort.Direction direction) {
+        this.parameter = parameter;
+        this.field = field;
+        this.direction = direction;
+    }
+
+    public String getParameter() {
+        return parameter;
+    }
+
+    public Sort toSort() {
+        // _id breaks ties so offset paging is stable - every compound index ends in _id to keep the sort on the index
+        if (this == ID) {
+            return Sort.by(direction, field);
+        }
+        return Sort.by(direction, field).and(Sort.by(direction, "_id"));
+    }
+
+    public static GameSort fromParameter(String parameter) {
+
+        if (parameter == null) {
+            return ID;
+        }
+
+        for (GameSort sort : values()) {
+            if (sort.parameter.equals(parameter)) {
+                return sort;
+            }
+        }
+        throw new IllegalArgumentException("Unsupported sort " + parameter);
+    }
+}
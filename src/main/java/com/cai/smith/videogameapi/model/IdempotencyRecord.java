@@ -0,0 +1,190 @@
+package com.cai.smith.videogameapi.model;
+
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.mapping.Document;
+import org.springframework.data.mongodb.core.mapping.Field;
+
+import java.time.LocalDate;
+import java.util.Date;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * The outcome of a create made with an Idempotency-Key. Pending until the game is
+ * inserted, then holding the game as created so a retry can be answered with the
+ * original response. A pending claim only holds the key until its lease runs out,
+ * so a create that died without releasing it does not block the key for the TTL.
+ * The game is kept as flat fields rather than an embedded {@link Game}, so the
+ * games indexes are not copied onto this collection.
+ */
+@Document("idempotency_keys")
+public class IdempotencyRecord {
+
+    public static final String GAME_ID_FIELD = "game_id";
+
+    public static final String CREATED_AT_FIELD = "created_at";
+
+    public static final String PENDING_EXPIRES_AT_FIELD = "pending_expires_at";
+
+    @Id
+    private String key;
+
+    @Field(GAME_ID_FIELD)
+    private String gameId;
+
+    @Field("title")
+    private String title;
+
+    @Field("release_date")
+    private LocalDate releaseDate;
+
+    @Field("genres")
+    private List<String> genres;
+
+    @Field("developer")
+    private String developer;
+
+    @Field("version")
+    private long version;
+
+    @Field(CREATED_AT_FIELD)
+    private Date createdAt;
+
+    @Field(PENDING_EXPIRES_AT_FIELD)
+    private Date pendingExpiresAt;
+
+    public static IdempotencyRecord pending(String key, long leaseMillis) {
+
+        IdempotencyRecord record = new IdempotencyRecord();
+        record.setKey(key);
+        record.setCreatedAt(new Date());
+        record.setPendingExpiresAt(new Date(record.getCreatedAt().getTime() + leaseMillis));
+        return record;
+    }
+
+    public static IdempotencyRecord completed(String key, Game game) {
+
+        IdempotencyRecord record = new IdempotencyRecord();
+        record.setKey(key);
+        record.setCreatedAt(new Date());
+        record.setGameId(game.getGameId());
+        record.setTitle(game.getTitle());
+        record.setReleaseDate(game.getReleaseDate());
+        record.setGenres(game.getGenres());
+        record.setDeveloper(game.getDeveloper());
+        record.setVersion(game.getVersion());
+        return record;
+    }
+
+    public boolean isPending() {
+        return gameId == null;
+    }
+
+    /**
+     * Whether this is a pending claim whose lease has run out, so the key can be claimed again.
+     */
+    public boolean isLeaseExpired(Date now) {
+        return isPending() && pendingExpiresAt != null && pendingExpiresAt.before(now);
+    }
+
+    /**
+     * Whether this is still the given pending claim, told apart from a later claim of the key by its creation time.
+     */
+    public boolean isClaim(IdempotencyRecord claim) {
+        return isPending() && Objects.equals(createdAt, claim.getCreatedAt());
+    }
+
+    /**
+     * Whether a retry posted the same game as the original request.
+     */
+    public boolean matches(Game game) {
+        return Objects.equals(title, game.getTitle())
+                && Objects.equals(releaseDate, game.getReleaseDate())
+                && Objects.equals(genres, game.getGenres())
+                && Objects.equals(developer, game.getDeveloper());
+    }
+
+    public Game toGame() {
+
+        Game game = new Game();
+        game.setGameId(gameId);
+        game.setTitle(title);
+        game.setReleaseDate(releaseDate);
+        game.setGenres(genres);
+        game.setDeveloper(developer);
+        game.setVersion(version);
+        return game;
+    }
+
+    public String getKey() {
+        return key;
+    }
+
+    public void setKey(String key) {
+        this.key = key;
+    }
+
+    public String getGameId() {
+        return gameId;
+    }
+
+    public void setGameId(String gameId) {
+        this.gameId = gameId;
+    }
+
+    public String getTitle() {
+        return title;
+    }
+
+    public void setTitle(String title) {
+        this.title = title;
+    }
+
+    public LocalDate getReleaseDate() {
+        return releaseDate;
+    }
+
+    public void setReleaseDate(LocalDate releaseDate) {
+        this.releaseDate = releaseDate;
+    }
+
+    public List<String> getGenres() {
+        return genres;
+    }
+
+    public void setGenres(List<String> genres) {
+        this.genres = genres;
+    }
+
+    public String getDeveloper() {
+        return developer;
+    }
+
+    public void setDeveloper(String developer) {
+        this.developer = developer;
+    }
+
+    public long getVersion() {
+        return version;
+    }
+
+    public void setVersion(long version) {
+        this.version = version;
+    }
+
+    public Date getCreatedAt() {
+        return createdAt;
+    }
+
+    public void setCreatedAt(Date createdAt) {
+        this.createdAt = createdAt;
+    }
+
+    public Date getPendingExpiresAt() {
+        return pendingExpiresAt;
+    }
+
+    public void setPendingExpiresAt(Date pendingExpiresAt) {
+        this.pendingExpiresAt = pendingExpiresAt;
+    }
+}
@@ -0,0 +1,39 @@
+package com.cai.smith.videogameapi.model.response;
+
+import org.springframework.data.mongodb.core.mapping.Field;
+
+public class BatchItemResponse {
+
+    @Field("index")
+    private int index;
+
+    @Field("id")
+    private String id;
+
+    @Field("status")
+    private BatchItemStatus status;
+
+    public int getIndex() {
+        return index;
+    }
+
+    public void setIndex(int index) {
+        this.index = index;
+    }
+
+    public String getId() {
+        return id;
+    }
+
+    public void setId(String id) {
+        this.id = id;
+    }
+
+    public BatchItemStatus getStatus() {
+        return status;
+    }
+
+    public void setStatus(BatchItemStatus status) {
+        this.status = status;
+    }
+}
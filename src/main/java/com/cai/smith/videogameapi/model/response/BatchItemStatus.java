@@ -0,0 +1,21 @@
+package com.cai.smith.videogameapi.model.response;
+
+import com.fasterxml.jackson.annotation.JsonValue;
+
+public enum BatchItemStatus {
+
+    CREATED("created"),
+    UNAUTHORISED("unauthorised"),
+    FAILED("failed");
+
+    private final String value;
+
+    BatchItemStatus(String value) {
+        this.value = value;
+    }
+
+    @JsonValue
+    public String getValue() {
+        return value;
+    }
+}
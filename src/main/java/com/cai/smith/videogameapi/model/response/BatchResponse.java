@@ -0,0 +1,52 @@
+package com.cai.smith.videogameapi.model.response;
+
+import org.springframework.data.mongodb.core.mapping.Field;
+
+import java.util.List;
+
+public class BatchResponse {
+
+    @Field("created")
+    private int created;
+
+    @Field("unauthorised")
+    private int unauthorised;
+
+    @Field("failed")
+    private int failed;
+
+    @Field("items")
+    private List<BatchItemResponse> items;
+
+    public int getCreated() {
+        return created;
+    }
+
+    public void setCreated(int created) {
+        this.created = created;
+    }
+
+    public int getUnauthorised() {
+        return unauthorised;
+    }
+
+    public void setUnauthorised(int unauthorised) {
+        this.unauthorised = unauthorised;
+    }
+
+    public int getFailed() {
+        return failed;
+    }
+
+    public void setFailed(int failed) {
+        this.failed = failed;
+    }
+
+    public List<BatchItemResponse> getItems() {
+        return items;
+    }
+
+    public void setItems(List<BatchItemResponse> items) {
+        this.items = items;
+    }
+}
@@ -0,0 +1,41 @@
+package com.cai.smith.videogameapi.model.response;
+
+import org.springframework.data.mongodb.core.mapping.Field;
+
+import java.util.Map;
+
+public class FacetResponse {
+
+    @Field("genres")
+    private Map<String, Long> genres;
+
+    @Field("developers")
+    private Map<String, Long> developers;
+
+    @Field("release_years")
+    private Map<String, Long> releaseYears;
+
+    public Map<String, Long> getGenres() {
+        return genres;
+    }
+
+    public void setGenres(Map<String, Long> genres) {
+        this.genres = genres;
+    }
+
+    public Map<String, Long> getDevelopers() {
+        return developers;
+    }
+
+    public void setDevelopers(Map<String, Long> developers) {
+        this.developers = developers;
+    }
+
+    public Map<String, Long> getReleaseYears() {
+        return releaseYears;
+    }
+
+    public void setReleaseYears(Map<String, Long> releaseYears) {
+        this.releaseYears = releaseYears;
+    }
+}
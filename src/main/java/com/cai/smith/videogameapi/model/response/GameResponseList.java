@@ -18,6 +18,9 @@ public class GameResponseList {
     @Field("items")
     private List<GameResponse> items;
 
+    @Field("next_page_token")
+    private String nextPageToken;
+
     public int getItemsPerPage() {
         return itemsPerPage;
     }
@@ -49,4 +52,12 @@ public class GameResponseList {
     public void setItems(List<GameResponse> items) {
         this.items = items;
     }
+
+    public String getNextPageToken() {
+        return nextPageToken;
+    }
+
+    public void setNextPageToken(String nextPageToken) {
+        this.nextPageToken = nextPageToken;
+    }
 }
@@ -0,0 +1,30 @@
+package com.cai.smith.videogameapi.model.response;
+
+import org.springframework.data.mongodb.core.mapping.Field;
+
+import java.util.List;
+
+public class SearchResponse {
+
+    @Field("query")
+    private String query;
+
+    @Field("items")
+    private List<SearchResult> items;
+
+    public String getQuery() {
+        return query;
+    }
+
+    public void setQuery(String query) {
+        this.query = query;
+    }
+
+    public List<SearchResult> getItems() {
+        return items;
+    }
+
+    public void setItems(List<SearchResult> items) {
+        this.items = items;
+    }
+}
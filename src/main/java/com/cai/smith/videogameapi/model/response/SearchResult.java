@@ -0,0 +1,36 @@
+package com.cai.smith.videogameapi.model.response;
+
+import org.springframework.data.mongodb.core.mapping.Field;
+
+public class SearchResult {
+
+    @Field("id")
+    private String id;
+
+    @Field("title")
+    private String title;
+
+    public SearchResult() {
+    }
+
+    public SearchResult(String id, String title) {
+        this.id = id;
+        this.title = title;
+    }
+
+    public String getId() {
+        return id;
+    }
+
+    public void setId(String id) {
+        this.id = id;
+    }
+
+    public String getTitle() {
+        return title;
+    }
+
+    public void setTitle(String title) {
+        this.title = title;
+    }
+}
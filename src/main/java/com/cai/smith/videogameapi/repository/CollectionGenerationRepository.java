@@ -0,0 +1,8 @@
+package com.cai.smith.videogameapi.repository;
+
+import com.cai.smith.videogameapi.model.CollectionGeneration;
+import org.springframework.data.mongodb.repository.MongoRepository;
+
+public interface CollectionGenerationRepository extends MongoRepository<CollectionGeneration, String>,
+        CollectionGenerationRepositoryCustom {
+}
@@ -0,0 +1,8 @@
+package com.cai.smith.videogameapi.repository;
+
+public interface CollectionGenerationRepositoryCustom {
+
+    long currentGeneration(String collection);
+
+    void incrementGeneration(String collection);
+}
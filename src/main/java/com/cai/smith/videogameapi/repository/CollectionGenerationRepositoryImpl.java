@@ -0,0 +1,54 @@
+package com.cai.smith.videogameapi.repository;
+
+import com.cai.smith.videogameapi.model.CollectionGeneration;
+import com.mongodb.MongoException;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+
+public class CollectionGenerationRepositoryImpl implements CollectionGenerationRepositoryCustom {
+
+    private static final String GENERATION_FIELD = "generation";
+
+    // A lost bump leaves list ETags and compressed snapshots matching the data from before
+    // the write, so stale pages keep being served until some later write bumps it. A bump
+    // applied twice only costs one needless revalidation, so retrying is always safe.
+    static final int INCREMENT_ATTEMPTS = 3;
+
+    static final long INCREMENT_BACKOFF_MILLIS = 50;
+
+    @Autowired
+    private MongoTemplate mongoTemplate;
+
+    @Override
+    public long currentGeneration(String collection) {
+
+        CollectionGeneration generation = mongoTemplate.findById(collection, CollectionGeneration.class);
+        return generation == null ? 0 : generation.getGeneration();
+    }
+
+    @Override
+    public void incrementGeneration(String collection) {
+
+        for (int attempt = 1; ; attempt++) {
+            try {
+                mongoTemplate.upsert(new Query(Criteria.where("_id").is(collection)),
+                        new Update().inc(GENERATION_FIELD, 1), CollectionGeneration.class);
+                return;
+            } catch (MongoException | DataAccessException e) {
+                if (attempt == INCREMENT_ATTEMPTS) {
+                    throw e;
+                }
+                try {
+                    Thread.sleep(INCREMENT_BACKOFF_MILLIS * attempt);
+                } catch (InterruptedException interrupted) {
+                    Thread.currentThread().interrupt();
+                    throw e;
+                }
+            }
+        }
+    }
+}
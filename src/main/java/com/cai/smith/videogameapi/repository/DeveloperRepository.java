@@ -3,5 +3,9 @@ package com.cai.smith.videogameapi.repository;
 import com.cai.smith.videogameapi.model.Developer;
 import org.springframework.data.mongodb.repository.MongoRepository;
 
-public interface DeveloperRepository extends MongoRepository<Developer, String> {
+import java.util.Collection;
+
+public interface DeveloperRepository extends MongoRepository<Developer, String>, DeveloperRepositoryCustom {
+
+    long deleteByNameNotIn(Collection<String> names);
 }
@@ -0,0 +1,10 @@
+package com.cai.smith.videogameapi.repository;
+
+import com.cai.smith.videogameapi.model.Developer;
+
+import java.util.List;
+
+public interface DeveloperRepositoryCustom {
+
+    int upsertAll(List<Developer> developers);
+}
@@ -0,0 +1,37 @@
+package com.cai.smith.videogameapi.repository;
+
+import com.cai.smith.videogameapi.model.Developer;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+
+import java.util.List;
+
+public class DeveloperRepositoryImpl implements DeveloperRepositoryCustom {
+
+    private static final String NAME_FIELD = "name";
+
+    @Autowired
+    private MongoTemplate mongoTemplate;
+
+    @Override
+    public int upsertAll(List<Developer> developers) {
+
+        if (developers.isEmpty()) {
+            return 0;
+        }
+
+        // One round trip for the whole list, keyed on name so a restart rewrites rather than duplicates
+        BulkOperations bulkOperations = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, Developer.class);
+
+        for (Developer developer : developers) {
+            bulkOperations.upsert(new Query(Criteria.where(NAME_FIELD).is(developer.getName())),
+                    new Update().set("headquarters", developer.getHeadquarters()));
+        }
+
+        return bulkOperations.execute().getUpserts().size();
+    }
+}
@@ -3,8 +3,7 @@ package com.cai.smith.videogameapi.repository;
 import com.cai.smith.videogameapi.model.Game;
 import org.springframework.data.mongodb.repository.MongoRepository;
 
-public interface GameRepository extends MongoRepository<Game, String> {
+public interface GameRepository extends MongoRepository<Game, String>, GameRepositoryCustom {
 
     Game findByGameId(String id);
-    void deleteByGameId(String id);
 }
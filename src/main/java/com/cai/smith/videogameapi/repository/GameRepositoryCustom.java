@@ -0,0 +1,41 @@
+package com.cai.smith.videogameapi.repository;
+
+import com.cai.smith.videogameapi.model.Game;
+import com.cai.smith.videogameapi.model.GameFields;
+import com.cai.smith.videogameapi.model.GameFilter;
+import org.springframework.data.util.CloseableIterator;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+public interface GameRepositoryCustom {
+
+    Game findByGameId(String id, GameFields fields);
+
+    List<Game> findPage(int startIndex, int itemsPerPage, GameFields fields);
+
+    List<Game> findPageAfter(String lastGameId, int itemsPerPage, GameFields fields);
+
+    long estimatedCount();
+
+    List<Game> findByFilter(GameFilter filter, int startIndex, int itemsPerPage, GameFields fields);
+
+    long countByFilter(GameFilter filter);
+
+    List<Game> searchTitles(String text, int limit);
+
+    Map<String, Long> countByGenre();
+
+    Map<String, Long> countByDeveloper();
+
+    Map<String, Long> countByReleaseYear();
+
+    CloseableIterator<Game> streamAll();
+
+    Set<Integer> insertUnordered(List<Game> games);
+
+    Game updateIfDeveloper(String id, String developer, Game newGame);
+
+    Game deleteIfDeveloper(String id, String developer);
+}
@@ -0,0 +1,264 @@
+package com.cai.smith.videogameapi.repository;
+
+import com.cai.smith.videogameapi.model.Game;
+import com.cai.smith.videogameapi.model.GameField;
+import com.cai.smith.videogameapi.model.GameFields;
+import com.cai.smith.videogameapi.model.GameFilter;
+import com.mongodb.BulkWriteError;
+import org.bson.Document;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.BulkOperationException;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.aggregation.Aggregation;
+import org.springframework.data.mongodb.core.aggregation.DateOperators;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.TextCriteria;
+import org.springframework.data.mongodb.core.query.TextQuery;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.data.util.CloseableIterator;
+
+import java.time.ZoneId;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.regex.Pattern;
+
+public class GameRepositoryImpl implements GameRepositoryCustom {
+
+    private static final String ID_FIELD = "_id";
+
+    private static final String DEVELOPER_FIELD = "developer";
+
+    private static final String GENRES_FIELD = "genres";
+
+    private static final String RELEASE_DATE_FIELD = "release_date";
+
+    private static final String VERSION_FIELD = "version";
+
+    private static final String COUNT_FIELD = "count";
+
+    private static final int STREAM_BATCH_SIZE = 500;
+
+    @Autowired
+    private MongoTemplate mongoTemplate;
+
+    @Override
+    public Game findByGameId(String id, GameFields fields) {
+        return mongoTemplate.findOne(byIdQuery(id, fields), Game.class);
+    }
+
+    static Query byIdQuery(String id, GameFields fields) {
+
+        Query query = project(new Query(Criteria.where(ID_FIELD).is(id)), fields);
+        // The entity tag is the version, so it is read whatever was asked for
+        if (!fields.isAll()) {
+            query.fields().include(VERSION_FIELD);
+        }
+        return query;
+    }
+
+    @Override
+    public List<Game> findPage(int startIndex, int itemsPerPage, GameFields fields) {
+        return mongoTemplate.find(pageQuery(startIndex, itemsPerPage, fields), Game.class);
+    }
+
+    static Query pageQuery(int startIndex, int itemsPerPage, GameFields fields) {
+        return project(new Query(), fields)
+                .with(Sort.by(Sort.Direction.ASC, ID_FIELD))
+                .skip(startIndex)
+                .limit(itemsPerPage);
+    }
+
+    @Override
+    public List<Game> findPageAfter(String lastGameId, int itemsPerPage, GameFields fields) {
+        return mongoTemplate.find(pageAfterQuery(lastGameId, itemsPerPage, fields), Game.class);
+    }
+
+    static Query pageAfterQuery(String lastGameId, int itemsPerPage, GameFields fields) {
+
+        // Seeks straight to the last id on the _id index, so deep pages cost the same as the first
+        return project(new Query(Criteria.where(ID_FIELD).gt(lastGameId)), fields)
+                .with(Sort.by(Sort.Direction.ASC, ID_FIELD))
+                .limit(itemsPerPage);
+    }
+
+    @Override
+    public long estimatedCount() {
+        return mongoTemplate.getCollection(mongoTemplate.getCollectionName(Game.class))
+                .estimatedDocumentCount();
+    }
+
+    @Override
+    public List<Game> findByFilter(GameFilter filter, int startIndex, int itemsPerPage, GameFields fields) {
+        return mongoTemplate.find(filterPageQuery(filter, startIndex, itemsPerPage, fields), Game.class);
+    }
+
+    static Query filterPageQuery(GameFilter filter, int startIndex, int itemsPerPage, GameFields fields) {
+        return project(filterQuery(filter), fields)
+                .with(filter.getSort().toSort())
+                .skip(startIndex)
+                .limit(itemsPerPage);
+    }
+
+    @Override
+    public long countByFilter(GameFilter filter) {
+        return mongoTemplate.count(filterQuery(filter), Game.class);
+    }
+
+    @Override
+    public List<Game> searchTitles(String text, int limit) {
+        return mongoTemplate.find(searchTitlesQuery(text, limit), Game.class);
+    }
+
+    static Query searchTitlesQuery(String text, int limit) {
+
+        Query query = TextQuery.queryText(TextCriteria.forDefaultLanguage().matching(text))
+                .sortByScore()
+                .limit(limit);
+        query.fields().include("title");
+
+        return query;
+    }
+
+    @Override
+    public Map<String, Long> countByGenre() {
+        return countBy(Aggregation.newAggregation(
+                Aggregation.unwind(GENRES_FIELD),
+                Aggregation.group(GENRES_FIELD).count().as(COUNT_FIELD)));
+    }
+
+    @Override
+    public Map<String, Long> countByDeveloper() {
+        return countBy(Aggregation.newAggregation(
+                Aggregation.group(DEVELOPER_FIELD).count().as(COUNT_FIELD)));
+    }
+
+    @Override
+    public Map<String, Long> countByReleaseYear() {
+
+        // LocalDate is stored as local midnight, so take the year in the same zone to agree with LocalDate.getYear()
+        DateOperators.Timezone zone = DateOperators.Timezone.valueOf(ZoneId.systemDefault().getId());
+
+        return countBy(Aggregation.newAggregation(
+                Aggregation.match(Criteria.where(RELEASE_DATE_FIELD).ne(null)),
+                Aggregation.project().and(DateOperators.dateOf(RELEASE_DATE_FIELD).withTimezone(zone).year()).as("year"),
+                Aggregation.group("year").count().as(COUNT_FIELD)));
+    }
+
+    private Map<String, Long> countBy(Aggregation aggregation) {
+
+        Map<String, Long> counts = new HashMap<>();
+
+        for (Document result : mongoTemplate.aggregate(aggregation,
+                mongoTemplate.getCollectionName(Game.class), Document.class)) {
+
+            Object key = result.get(ID_FIELD);
+            if (key != null) {
+                counts.put(key.toString(), ((Number) result.get(COUNT_FIELD)).longValue());
+            }
+        }
+        return counts;
+    }
+
+    static Query project(Query query, GameFields fields) {
+
+        // _id is always returned - page tokens are built from it even when it is not asked for
+        if (!fields.isAll()) {
+            for (GameField field : fields.getFields()) {
+                query.fields().include(field.getField());
+            }
+        }
+        return query;
+    }
+
+    static Query filterQuery(GameFilter filter) {
+
+        Criteria criteria = new Criteria();
+
+        if (filter.getDeveloper() != null) {
+            criteria.and(DEVELOPER_FIELD).is(filter.getDeveloper());
+        }
+
+        if (!filter.getGenres().isEmpty()) {
+            if (filter.isMatchAllGenres()) {
+                criteria.and(GENRES_FIELD).all(filter.getGenres());
+            } else {
+                criteria.and(GENRES_FIELD).in(filter.getGenres());
+            }
+        }
+
+        if (filter.getReleasedAfter() != null || filter.getReleasedBefore() != null) {
+            Criteria releaseDate = criteria.and(RELEASE_DATE_FIELD);
+
+            if (filter.getReleasedAfter() != null) {
+                releaseDate.gte(filter.getReleasedAfter());
+            }
+            if (filter.getReleasedBefore() != null) {
+                releaseDate.lte(filter.getReleasedBefore());
+            }
+        }
+
+        return new Query(criteria);
+    }
+
+    @Override
+    public CloseableIterator<Game> streamAll() {
+
+        Query query = new Query()
+                .with(Sort.by(Sort.Direction.ASC, ID_FIELD))
+                .cursorBatchSize(STREAM_BATCH_SIZE);
+
+        return mongoTemplate.stream(query, Game.class);
+    }
+
+    @Override
+    public Set<Integer> insertUnordered(List<Game> games) {
+
+        try {
+            mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, Game.class)
+                    .insert(games)
+                    .execute();
+            return Collections.emptySet();
+
+        } catch (BulkOperationException e) {
+            // Unordered inserts carry on past a bad document - report which ones were rejected
+            Set<Integer> failed = new HashSet<>();
+            for (BulkWriteError error : e.getErrors()) {
+                failed.add(error.getIndex());
+            }
+            return failed;
+        }
+    }
+
+    @Override
+    public Game updateIfDeveloper(String id, String developer, Game newGame) {
+        return mongoTemplate.findAndModify(ownedBy(id, developer), updateOf(newGame), Game.class);
+    }
+
+    static Update updateOf(Game newGame) {
+        return new Update()
+                .set("title", newGame.getTitle())
+                .set(RELEASE_DATE_FIELD, newGame.getReleaseDate())
+                .set(GENRES_FIELD, newGame.getGenres())
+                .set(DEVELOPER_FIELD, newGame.getDeveloper())
+                .inc(VERSION_FIELD, 1);
+    }
+
+    @Override
+    public Game deleteIfDeveloper(String id, String developer) {
+        return mongoTemplate.findAndRemove(ownedBy(id, developer), Game.class);
+    }
+
+    static Query ownedBy(String id, String developer) {
+
+        // Same case-insensitive match the service used to do in Java, evaluated atomically by Mongo
+        return new Query(Criteria.where(ID_FIELD).is(id)
+                .and(DEVELOPER_FIELD).regex("^" + Pattern.quote(developer) + "$", "i"));
+    }
+}
@@ -0,0 +1,8 @@
+package com.cai.smith.videogameapi.repository;
+
+import com.cai.smith.videogameapi.model.CollectionGeneration;
+import org.springframework.data.mongodb.repository.ReactiveMongoRepository;
+
+public interface ReactiveCollectionGenerationRepository extends ReactiveMongoRepository<CollectionGeneration, String>,
+        ReactiveCollectionGenerationRepositoryCustom {
+}
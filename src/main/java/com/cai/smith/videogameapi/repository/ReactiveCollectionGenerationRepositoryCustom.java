@@ -0,0 +1,10 @@
+package com.cai.smith.videogameapi.repository;
+
+import reactor.core.publisher.Mono;
+
+public interface ReactiveCollectionGenerationRepositoryCustom {
+
+    Mono<Long> currentGeneration(String collection);
+
+    Mono<Void> incrementGeneration(String collection);
+}
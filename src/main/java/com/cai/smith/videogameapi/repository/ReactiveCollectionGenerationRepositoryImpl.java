@@ -0,0 +1,50 @@
+package com.cai.smith.videogameapi.repository;
+
+import com.cai.smith.videogameapi.model.CollectionGeneration;
+import com.mongodb.MongoException;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.mongodb.core.ReactiveMongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+
+public class ReactiveCollectionGenerationRepositoryImpl implements ReactiveCollectionGenerationRepositoryCustom {
+
+    private static final String GENERATION_FIELD = "generation";
+
+    // Retried for the same reason as CollectionGenerationRepositoryImpl - a lost bump serves stale pages
+    static final int INCREMENT_ATTEMPTS = 3;
+
+    static final long INCREMENT_BACKOFF_MILLIS = 50;
+
+    @Autowired
+    private ReactiveMongoTemplate reactiveMongoTemplate;
+
+    @Override
+    public Mono<Long> currentGeneration(String collection) {
+
+        return reactiveMongoTemplate.findById(collection, CollectionGeneration.class)
+                .map(CollectionGeneration::getGeneration)
+                .defaultIfEmpty(0L);
+    }
+
+    @Override
+    public Mono<Void> incrementGeneration(String collection) {
+        return incrementGeneration(collection, 1);
+    }
+
+    private Mono<Void> incrementGeneration(String collection, int attempt) {
+
+        return reactiveMongoTemplate.upsert(new Query(Criteria.where("_id").is(collection)),
+                new Update().inc(GENERATION_FIELD, 1), CollectionGeneration.class)
+                .then()
+                .onErrorResume(e -> attempt < INCREMENT_ATTEMPTS
+                                && (e instanceof MongoException || e instanceof DataAccessException),
+                        e -> Mono.delay(Duration.ofMillis(INCREMENT_BACKOFF_MILLIS * attempt))
+                                .then(incrementGeneration(collection, attempt + 1)));
+    }
+}
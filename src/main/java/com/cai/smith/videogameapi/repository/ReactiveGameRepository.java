@@ -0,0 +1,10 @@
+package com.cai.smith.videogameapi.repository;
+
+import com.cai.smith.videogameapi.model.Game;
+import org.springframework.data.mongodb.repository.ReactiveMongoRepository;
+import reactor.core.publisher.Mono;
+
+public interface ReactiveGameRepository extends ReactiveMongoRepository<Game, String>, ReactiveGameRepositoryCustom {
+
+    Mono<Game> findByGameId(String id);
+}
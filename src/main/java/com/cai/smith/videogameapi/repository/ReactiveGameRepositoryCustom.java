@@ -0,0 +1,28 @@
+package com.cai.smith.videogameapi.repository;
+
+import com.cai.smith.videogameapi.model.Game;
+import com.cai.smith.videogameapi.model.GameFields;
+import com.cai.smith.videogameapi.model.GameFilter;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+public interface ReactiveGameRepositoryCustom {
+
+    Mono<Game> findByGameId(String id, GameFields fields);
+
+    Flux<Game> findPage(int startIndex, int itemsPerPage, GameFields fields);
+
+    Flux<Game> findPageAfter(String lastGameId, int itemsPerPage, GameFields fields);
+
+    Mono<Long> estimatedCount();
+
+    Flux<Game> findByFilter(GameFilter filter, int startIndex, int itemsPerPage, GameFields fields);
+
+    Mono<Long> countByFilter(GameFilter filter);
+
+    Flux<Game> searchTitles(String text, int limit);
+
+    Mono<Game> updateIfDeveloper(String id, String developer, Game newGame);
+
+    Mono<Game> deleteIfDeveloper(String id, String developer);
+}
@@ -0,0 +1,67 @@
+package com.cai.smith.videogameapi.repository;
+
+import com.cai.smith.videogameapi.model.Game;
+import com.cai.smith.videogameapi.model.GameFields;
+import com.cai.smith.videogameapi.model.GameFilter;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.mongodb.core.ReactiveMongoTemplate;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * Non-blocking counterpart of {@link GameRepositoryImpl}. Queries are built by the
+ * blocking implementation so both serving modes hit the same indexes.
+ */
+public class ReactiveGameRepositoryImpl implements ReactiveGameRepositoryCustom {
+
+    @Autowired
+    private ReactiveMongoTemplate reactiveMongoTemplate;
+
+    @Override
+    public Mono<Game> findByGameId(String id, GameFields fields) {
+        return reactiveMongoTemplate.findOne(GameRepositoryImpl.byIdQuery(id, fields), Game.class);
+    }
+
+    @Override
+    public Flux<Game> findPage(int startIndex, int itemsPerPage, GameFields fields) {
+        return reactiveMongoTemplate.find(GameRepositoryImpl.pageQuery(startIndex, itemsPerPage, fields), Game.class);
+    }
+
+    @Override
+    public Flux<Game> findPageAfter(String lastGameId, int itemsPerPage, GameFields fields) {
+        return reactiveMongoTemplate.find(GameRepositoryImpl.pageAfterQuery(lastGameId, itemsPerPage, fields),
+                Game.class);
+    }
+
+    @Override
+    public Mono<Long> estimatedCount() {
+        return reactiveMongoTemplate.execute(Game.class, collection -> collection.estimatedDocumentCount()).next();
+    }
+
+    @Override
+    public Flux<Game> findByFilter(GameFilter filter, int startIndex, int itemsPerPage, GameFields fields) {
+        return reactiveMongoTemplate.find(
+                GameRepositoryImpl.filterPageQuery(filter, startIndex, itemsPerPage, fields), Game.class);
+    }
+
+    @Override
+    public Mono<Long> countByFilter(GameFilter filter) {
+        return reactiveMongoTemplate.count(GameRepositoryImpl.filterQuery(filter), Game.class);
+    }
+
+    @Override
+    public Flux<Game> searchTitles(String text, int limit) {
+        return reactiveMongoTemplate.find(GameRepositoryImpl.searchTitlesQuery(text, limit), Game.class);
+    }
+
+    @Override
+    public Mono<Game> updateIfDeveloper(String id, String developer, Game newGame) {
+        return reactiveMongoTemplate.findAndModify(GameRepositoryImpl.ownedBy(id, developer),
+                GameRepositoryImpl.updateOf(newGame), Game.class);
+    }
+
+    @Override
+    public Mono<Game> deleteIfDeveloper(String id, String developer) {
+        return reactiveMongoTemplate.findAndRemove(GameRepositoryImpl.ownedBy(id, developer), Game.class);
+    }
+}
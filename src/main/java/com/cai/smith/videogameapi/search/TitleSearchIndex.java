@@ -0,0 +1,305 @@
+package com.cai.smith.videogameapi.search;
+
+import com.cai.smith.videogameapi.model.Game;
+import com.cai.smith.videogameapi.model.response.SearchResult;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.data.util.CloseableIterator;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ConcurrentNavigableMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.function.Supplier;
+import java.util.regex.Pattern;
+
+/**
+ * In-process title index for autocomplete. Titles are split into lower-cased words
+ * held in a sorted map, so a prefix lookup is a sub-map range scan. Reads take no
+ * locks; writes are serialised, and a rebuild swaps in a complete new index with
+ * any writes made while it was being built replayed on top. Writes for one game can
+ * arrive out of order, so a title only replaces one of an older version, and a
+ * removed game stays removed.
+ */
+@Component
+public class TitleSearchIndex {
+
+    private static final Logger logger =
+            LoggerFactory.getLogger(TitleSearchIndex.class);
+
+    private static final Pattern WORD_SEPARATOR = Pattern.compile("[^\\p{L}\\p{N}]+");
+
+    private static final Comparator<Match> RANKING = Comparator
+            .comparingInt((Match match) -> match.score)
+            .thenComparingInt(match -> match.entry.title.length())
+            .thenComparing(match -> match.entry.title);
+
+    private volatile Index index = new Index();
+
+    // Latest entry per id written while a rebuild runs, null for a remove. Guarded by this
+    private Map<String, Entry> writesDuringRebuild;
+
+    // Ids are never reused, so a removed game is remembered until the next rebuild reads from mongo. Guarded by this
+    private Set<String> removed = new HashSet<>();
+
+    private final Object rebuildLock = new Object();
+
+    public synchronized void put(String id, String title, long version) {
+
+        if (id == null || removed.contains(id)) {
+            return;
+        }
+        Entry current = index.entries.get(id);
+        if (current != null && current.version >= version) {
+            return;
+        }
+
+        Entry entry = title == null ? null : new Entry(title, version);
+        remove(index, id);
+        add(index, id, entry);
+        if (writesDuringRebuild != null) {
+            writesDuringRebuild.put(id, entry);
+        }
+    }
+
+    public synchronized void remove(String id) {
+
+        if (id == null) {
+            return;
+        }
+        remove(index, id);
+        removed.add(id);
+        if (writesDuringRebuild != null) {
+            writesDuringRebuild.put(id, null);
+        }
+    }
+
+    /**
+     * Builds a new index from the games and swaps it in. The cursor is opened only
+     * once writes are being recorded, so a write that its read misses is replayed.
+     */
+    public void rebuild(Supplier<? extends CloseableIterator<Game>> cursor) {
+
+        synchronized (rebuildLock) {
+            synchronized (this) {
+                writesDuringRebuild = new LinkedHashMap<>();
+            }
+
+            Index rebuilt = new Index();
+            try {
+                try (CloseableIterator<Game> games = cursor.get()) {
+                    while (games.hasNext()) {
+                        Game game = games.next();
+                        if (game.getGameId() != null && game.getTitle() != null) {
+                            add(rebuilt, game.getGameId(), new Entry(game.getTitle(), game.getVersion()));
+                        }
+                    }
+                }
+
+                synchronized (this) {
+                    // The cursor may have read a game before or after these writes, so versions decide
+                    Set<String> rebuiltRemoved = new HashSet<>();
+                    for (Map.Entry<String, Entry> write : writesDuringRebuild.entrySet()) {
+                        Entry read = rebuilt.entries.get(write.getKey());
+                        if (write.getValue() == null) {
+                            remove(rebuilt, write.getKey());
+                            rebuiltRemoved.add(write.getKey());
+                        } else if (read == null || read.version < write.getValue().version) {
+                            remove(rebuilt, write.getKey());
+                            add(rebuilt, write.getKey(), write.getValue());
+                        }
+                    }
+                    index = rebuilt;
+                    removed = rebuiltRemoved;
+                }
+            } finally {
+                synchronized (this) {
+                    writesDuringRebuild = null;
+                }
+            }
+            logger.info("Title search index rebuilt with {} games", rebuilt.entries.size());
+        }
+    }
+
+    public int size() {
+        return index.entries.size();
+    }
+
+    public List<SearchResult> search(String query, int limit) {
+
+        String[] queryWords = words(query);
+        if (queryWords.length == 0 || limit < 1) {
+            return Collections.emptyList();
+        }
+
+        Index current = index;
+
+        // The longest word is usually the most selective - take candidates from it and check the rest per title
+        String anchor = queryWords[0];
+        for (String queryWord : queryWords) {
+            if (queryWord.length() > anchor.length()) {
+                anchor = queryWord;
+            }
+        }
+        String normalisedQuery = String.join(" ", queryWords);
+
+        // Worst of the best so far at the head, so each candidate costs at most log(limit)
+        PriorityQueue<Match> best = new PriorityQueue<>(limit + 1, RANKING.reversed());
+        Set<String> seen = new HashSet<>();
+
+        // A title can hold several words under the same prefix - only score it once
+        for (Set<String> ids : current.terms.subMap(anchor, true, anchor + Character.MAX_VALUE, true).values()) {
+            for (String id : ids) {
+                Entry entry = current.entries.get(id);
+
+                if (entry != null && seen.add(id)) {
+                    Match match = score(id, entry, queryWords, normalisedQuery);
+                    if (match != null) {
+                        best.add(match);
+                        if (best.size() > limit) {
+                            best.poll();
+                        }
+                    }
+                }
+            }
+        }
+
+        List<Match> matches = new ArrayList<>(best);
+        matches.sort(RANKING);
+
+        List<SearchResult> results = new ArrayList<>(matches.size());
+        for (Match match : matches) {
+            results.add(new SearchResult(match.id, match.entry.title));
+        }
+        return results;
+    }
+
+    private static Match score(String id, Entry entry, String[] queryWords, String normalisedQuery) {
+
+        for (String queryWord : queryWords) {
+            if (!anyStartsWith(entry.words, queryWord)) {
+                return null;
+            }
+        }
+
+        int score;
+
+        if (entry.normalisedTitle.equals(normalisedQuery)) {
+            score = 0;
+        } else if (entry.normalisedTitle.startsWith(normalisedQuery)) {
+            score = 1;
+        } else if (entry.words[0].startsWith(queryWords[0])) {
+            score = 2;
+        } else {
+            score = 3;
+        }
+
+        return new Match(id, entry, score);
+    }
+
+    private static boolean anyStartsWith(String[] words, String prefix) {
+        for (String word : words) {
+            if (word.startsWith(prefix)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static void add(Index target, String id, Entry entry) {
+
+        if (entry == null) {
+            return;
+        }
+
+        target.entries.put(id, entry);
+        for (String word : entry.words) {
+            target.terms.computeIfAbsent(word, key -> ConcurrentHashMap.newKeySet()).add(id);
+        }
+    }
+
+    private static void remove(Index target, String id) {
+
+        Entry entry = id == null ? null : target.entries.remove(id);
+        if (entry == null) {
+            return;
+        }
+
+        for (String word : entry.words) {
+            Set<String> ids = target.terms.get(word);
+            if (ids != null) {
+                ids.remove(id);
+                if (ids.isEmpty()) {
+                    target.terms.remove(word, ids);
+                }
+            }
+        }
+    }
+
+    static String[] words(String text) {
+
+        Collection<String> words = new LinkedHashSet<>();
+        for (String word : WORD_SEPARATOR.split(text.toLowerCase(Locale.ROOT))) {
+            if (!word.isEmpty()) {
+                words.add(word);
+            }
+        }
+        return words.toArray(new String[0]);
+    }
+
+    private static final class Index {
+
+        private final ConcurrentMap<String, Entry> entries = new ConcurrentHashMap<>();
+
+        private final ConcurrentNavigableMap<String, Set<String>> terms = new ConcurrentSkipListMap<>();
+    }
+
+    /**
+     * A title split once when it is indexed, so searches never re-tokenise candidates.
+     */
+    private static final class Entry {
+
+        private final String title;
+
+        private final String[] words;
+
+        private final String normalisedTitle;
+
+        private final long version;
+
+        private Entry(String title, long version) {
+            this.title = title;
+            this.version = version;
+            this.words = words(title);
+            this.normalisedTitle = String.join(" ", words);
+        }
+    }
+
+    private static final class Match {
+
+        private final String id;
+
+        private final Entry entry;
+
+        private final int score;
+
+        private Match(String id, Entry entry, int score) {
+            this.id = id;
+            this.entry = entry;
+            this.score = score;
+        }
+    }
+}
@@ -0,0 +1,62 @@
+package com.cai.smith.videogameapi.service;
+
+import com.cai.smith.videogameapi.model.Developer;
+import com.cai.smith.videogameapi.repository.DeveloperRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Locale;
+import java.util.Set;
+
+/**
+ * In-memory index of approved developer names. Lookups never touch Mongo - the
+ * set is rebuilt from the {@link DeveloperRepository} and swapped in whole, so
+ * readers always see either the old or the new list.
+ */
+@Component
+public class ApprovedDeveloperRegistry {
+
+    @Autowired
+    private DeveloperRepository developerRepository;
+
+    private static final Logger logger =
+            LoggerFactory.getLogger(ApprovedDeveloperRegistry.class);
+
+    private volatile Set<String> approvedNames = Collections.emptySet();
+
+    public void refresh() {
+        logger.info("Loading approved developers into registry");
+        replace(developerRepository.findAll());
+    }
+
+    public void replace(Collection<Developer> developers) {
+
+        Set<String> names = new HashSet<>(developers.size() * 2);
+
+        for (Developer developer : developers) {
+            if (developer.getName() != null) {
+                names.add(normalise(developer.getName()));
+            }
+        }
+
+        approvedNames = Collections.unmodifiableSet(names);
+        logger.info("Approved developer registry holds {} developers", names.size());
+    }
+
+    public boolean isApproved(String developer) {
+        return developer != null && approvedNames.contains(normalise(developer));
+    }
+
+    public int size() {
+        return approvedNames.size();
+    }
+
+    static String normalise(String name) {
+        return name.trim().toLowerCase(Locale.ROOT);
+    }
+}
@@ -0,0 +1,120 @@
+package com.cai.smith.videogameapi.service;
+
+import com.cai.smith.videogameapi.exception.FileDownloaderException;
+import com.cai.smith.videogameapi.model.Developer;
+import com.cai.smith.videogameapi.model.Developers;
+import com.cai.smith.videogameapi.repository.DeveloperRepository;
+import com.cai.smith.videogameapi.source.DeveloperSource;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Keeps the developer collection and the {@link ApprovedDeveloperRegistry} in line
+ * with the configured {@link DeveloperSource}. Runs once during startup and then on
+ * a fixed delay; an unchanged or unreachable source leaves the current list in place.
+ */
+@Component
+public class DeveloperListLoader {
+
+    @Autowired
+    private DeveloperSource developerSource;
+
+    @Autowired
+    private DeveloperRepository developerRepository;
+
+    @Autowired
+    private ApprovedDeveloperRegistry approvedDeveloperRegistry;
+
+    private static final Logger logger =
+            LoggerFactory.getLogger(DeveloperListLoader.class);
+
+    @Scheduled(initialDelayString = "${developersourceconfig.refreshIntervalMillis}",
+            fixedDelayString = "${developersourceconfig.refreshIntervalMillis}")
+    public void scheduledRefresh() {
+        try {
+            load();
+        } catch (RuntimeException e) {
+            logger.error("Failed to refresh approved developers", e);
+        }
+    }
+
+    public synchronized void load() {
+
+        List<Developer> developers;
+        try {
+            logger.info("Attempting to retrieve list of approved developers");
+            Developers fetched = developerSource.fetchIfChanged();
+
+            if (fetched == null) {
+                logger.info("Approved developers list unchanged");
+                return;
+            }
+            developers = named(fetched.getDevelopers());
+
+        } catch (FileDownloaderException e) {
+            logger.error("Failed to download approved developers list");
+
+            if (developerRepository.count() == 0) {
+                developerRepository.upsertAll(createDefaultApprovedDeveloper());
+                approvedDeveloperRegistry.refresh();
+                logger.info("Default developer provided");
+            } else {
+                logger.info("Keeping current approved developers");
+            }
+            return;
+        }
+
+        if (developers.isEmpty()) {
+            logger.info("Downloaded developers list is empty - keeping current approved developers");
+            return;
+        }
+
+        int added = developerRepository.upsertAll(developers);
+
+        Set<String> names = new HashSet<>();
+        for (Developer developer : developers) {
+            names.add(developer.getName());
+        }
+        long removed = developerRepository.deleteByNameNotIn(names);
+
+        logger.info("Approved developers stored in mongo - {} added, {} removed", added, removed);
+        approvedDeveloperRegistry.refresh();
+
+        // Only now is the list in place, so a failure above fetches it again on the next run
+        developerSource.commit();
+    }
+
+    private List<Developer> named(List<Developer> developers) {
+
+        List<Developer> named = new ArrayList<>();
+
+        if (developers != null) {
+            for (Developer developer : developers) {
+                if (developer != null && developer.getName() != null) {
+                    named.add(developer);
+                }
+            }
+        }
+        return named;
+    }
+
+    private List<Developer> createDefaultApprovedDeveloper() {
+        logger.info("Approved developers list unavailable - Providing default entry");
+
+        Developer defaultApprovedDeveloper = new Developer();
+        defaultApprovedDeveloper.setName("Nintendo");
+        defaultApprovedDeveloper.setHeadquarters("Japan");
+
+        List<Developer> developers = new ArrayList<>();
+        developers.add(defaultApprovedDeveloper);
+        return developers;
+    }
+}
@@ -0,0 +1,226 @@
+package com.cai.smith.videogameapi.service;
+
+import com.cai.smith.videogameapi.InsertPipelineConfig;
+import com.cai.smith.videogameapi.model.Game;
+import com.cai.smith.videogameapi.repository.GameRepository;
+import com.mongodb.MongoException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.dao.DataAccessException;
+import org.springframework.stereotype.Component;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Group commit for single game creates. Callers queue their game and wait on the
+ * returned future; one writer thread drains the queue into unordered insertMany
+ * batches, flushing when a batch is full or the flush interval has passed since
+ * it started, and completes each future once its batch is acknowledged. The
+ * games generation is bumped once per batch. A full queue is refused at once, and
+ * a caller that gives up waiting can withdraw its game until the writer takes it.
+ */
+@Component
+@ConditionalOnProperty(name = InsertPipelineConfig.ENABLED_PROPERTY, havingValue = "true")
+public class GameInsertPipeline {
+
+    public static final String PIPELINE_NAME = "games.insert.pipeline";
+
+    @Autowired
+    private InsertPipelineConfig insertPipelineConfig;
+
+    @Autowired
+    private GameRepository gameRepository;
+
+    @Autowired
+    private GamesGenerationTracker gamesGenerationTracker;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    private static final Logger logger =
+            LoggerFactory.getLogger(GameInsertPipeline.class);
+
+    private BlockingQueue<PendingInsert> queue;
+
+    private Thread writer;
+
+    private Counter rejected;
+
+    private DistributionSummary batchSizes;
+
+    @PostConstruct
+    public void init() {
+        queue = new ArrayBlockingQueue<>(insertPipelineConfig.getQueueCapacity());
+
+        Gauge.builder(PIPELINE_NAME + ".queued", queue, BlockingQueue::size).register(meterRegistry);
+        rejected = meterRegistry.counter(PIPELINE_NAME + ".rejected");
+        batchSizes = DistributionSummary.builder(PIPELINE_NAME + ".batch.size").register(meterRegistry);
+
+        writer = new Thread(this::run, "game-insert-writer");
+        writer.setDaemon(true);
+        writer.start();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        writer.interrupt();
+    }
+
+    /**
+     * Queues the game for the next batch. The future completes once the batch is
+     * acknowledged, or exceptionally with the mongo error if the game was not
+     * inserted.
+     *
+     * @throws RejectedExecutionException when the queue is full
+     */
+    public CompletableFuture<Void> submit(Game game) {
+
+        PendingInsert pending = new PendingInsert(game);
+
+        if (!queue.offer(pending)) {
+            rejected.increment();
+            throw new RejectedExecutionException("Insert pipeline queue is full");
+        }
+        return pending;
+    }
+
+    /**
+     * Makes sure a submitted game is never inserted, and cancels its future.
+     *
+     * @return false when the writer has already taken the game into a batch, so it
+     * may still be inserted
+     */
+    public boolean withdraw(CompletableFuture<Void> inserted) {
+
+        if (!(inserted instanceof PendingInsert) || !((PendingInsert) inserted).take()) {
+            return false;
+        }
+        inserted.cancel(false);
+        return true;
+    }
+
+    private void run() {
+
+        int maxBatchSize = insertPipelineConfig.getMaxBatchSize();
+        long flushIntervalNanos = TimeUnit.MICROSECONDS.toNanos(insertPipelineConfig.getFlushIntervalMicros());
+        List<PendingInsert> batch = new ArrayList<>(maxBatchSize);
+
+        try {
+            while (!Thread.currentThread().isInterrupted()) {
+                batch.add(queue.take());
+                long deadline = System.nanoTime() + flushIntervalNanos;
+
+                while (batch.size() < maxBatchSize) {
+                    // Anything already queued joins without waiting - the interval only bounds waiting for more
+                    if (queue.drainTo(batch, maxBatchSize - batch.size()) > 0) {
+                        continue;
+                    }
+                    long remaining = deadline - System.nanoTime();
+                    PendingInsert next = remaining > 0 ? queue.poll(remaining, TimeUnit.NANOSECONDS) : null;
+                    if (next == null) {
+                        break;
+                    }
+                    batch.add(next);
+                }
+
+                try {
+                    flush(batch);
+                } catch (RuntimeException e) {
+                    // One bad batch must not stop the writer - its callers get the error and the next batch goes ahead
+                    logger.error("Unexpected failure writing batch of {} games", batch.size(), e);
+                    for (PendingInsert pending : batch) {
+                        pending.completeExceptionally(e);
+                    }
+                } finally {
+                    batch.clear();
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+
+        // Shutting down - nobody is left to write what is still waiting
+        queue.drainTo(batch);
+        RejectedExecutionException stopped = new RejectedExecutionException("Insert pipeline stopped");
+        for (PendingInsert pending : batch) {
+            pending.completeExceptionally(stopped);
+        }
+    }
+
+    private void flush(List<PendingInsert> drained) {
+
+        // Games withdrawn by callers that stopped waiting are left out
+        List<PendingInsert> batch = new ArrayList<>(drained.size());
+        List<Game> games = new ArrayList<>(drained.size());
+        for (PendingInsert pending : drained) {
+            if (pending.take()) {
+                batch.add(pending);
+                games.add(pending.game);
+            }
+        }
+
+        if (batch.isEmpty()) {
+            return;
+        }
+
+        Set<Integer> failed;
+        try {
+            failed = gameRepository.insertUnordered(games);
+        } catch (MongoException | DataAccessException e) {
+            logger.error("Failed to insert batch of {} games", games.size(), e);
+            for (PendingInsert pending : batch) {
+                pending.completeExceptionally(e);
+            }
+            return;
+        }
+
+        batchSizes.record(games.size());
+        if (failed.size() < games.size()) {
+            gamesGenerationTracker.bump();
+        }
+
+        for (int i = 0; i < batch.size(); i++) {
+            if (failed.contains(i)) {
+                batch.get(i).completeExceptionally(
+                        new MongoException("Game " + games.get(i).getGameId() + " rejected by batch insert"));
+            } else {
+                batch.get(i).complete(null);
+            }
+        }
+    }
+
+    /**
+     * A queued game and the future its caller waits on. Whichever of the writer
+     * and a withdrawing caller takes it first decides whether it is inserted.
+     */
+    private static final class PendingInsert extends CompletableFuture<Void> {
+
+        private final Game game;
+
+        private final AtomicBoolean taken = new AtomicBoolean();
+
+        PendingInsert(Game game) {
+            this.game = game;
+        }
+
+        boolean take() {
+            return taken.compareAndSet(false, true);
+        }
+    }
+}
@@ -1,113 +1,813 @@
 package com.cai.smith.videogameapi.service;
 
+import com.cai.smith.videogameapi.BatchConfig;
+import com.cai.smith.videogameapi.IdempotencyConfig;
+import com.cai.smith.videogameapi.InsertPipelineConfig;
+import com.cai.smith.videogameapi.PaginationConfig;
+import com.cai.smith.videogameapi.SearchConfig;
+import com.cai.smith.videogameapi.cache.CompressedSnapshotCache;
+import com.cai.smith.videogameapi.cache.GameCache;
+import com.cai.smith.videogameapi.cache.GameResponseCache;
 import com.cai.smith.videogameapi.exception.DataException;
+import com.cai.smith.videogameapi.facet.GameFacets;
+import com.cai.smith.videogameapi.idempotency.IdempotencyStore;
+import com.cai.smith.videogameapi.mapper.GameFormat;
+import com.cai.smith.videogameapi.mapper.GameListWriter;
 import com.cai.smith.videogameapi.mapper.ResponseMapper;
-import com.cai.smith.videogameapi.model.Developer;
+import com.cai.smith.videogameapi.model.CollectionGeneration;
 import com.cai.smith.videogameapi.model.Game;
-import com.cai.smith.videogameapi.repository.DeveloperRepository;
+import com.cai.smith.videogameapi.model.GameFields;
+import com.cai.smith.videogameapi.model.GameFilter;
+import com.cai.smith.videogameapi.model.IdempotencyRecord;
+import com.cai.smith.videogameapi.model.response.BatchItemResponse;
+import com.cai.smith.videogameapi.model.response.BatchItemStatus;
+import com.cai.smith.videogameapi.model.response.BatchResponse;
+import com.cai.smith.videogameapi.model.response.SearchResponse;
+import com.cai.smith.videogameapi.model.response.SearchResult;
+import com.cai.smith.videogameapi.repository.CollectionGenerationRepository;
 import com.cai.smith.videogameapi.repository.GameRepository;
+import com.cai.smith.videogameapi.search.TitleSearchIndex;
+import com.cai.smith.videogameapi.utility.ContentEncoding;
+import com.cai.smith.videogameapi.utility.ETags;
+import com.cai.smith.videogameapi.utility.PageToken;
+import com.cai.smith.videogameapi.utility.RecordingOutputStream;
+import com.cai.smith.videogameapi.utility.SingleFlight;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import com.mongodb.MongoException;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.util.CloseableIterator;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Service;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
 import java.util.List;
+import java.util.Set;
 import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.zip.DeflaterOutputStream;
 
 @Service
 public class GameService {
 
+    public static final String APPLICATION_NDJSON_VALUE = "application/x-ndjson";
+
+    public static final String IDEMPOTENCY_KEY_HEADER = "Idempotency-Key";
+
+    public static final String IDEMPOTENT_REPLAYED_HEADER = "Idempotent-Replayed";
+
+    private static final long INITIAL_VERSION = 1;
+
+    private static final int EXPORT_FLUSH_INTERVAL = 100;
+
     @Autowired
     private GameRepository gameRepository;
 
     @Autowired
-    private DeveloperRepository developerRepository;
+    private ApprovedDeveloperRegistry approvedDeveloperRegistry;
 
     @Autowired
     private ResponseMapper responseMapper;
 
+    @Autowired
+    private GameListWriter gameListWriter;
+
+    @Autowired
+    private PaginationConfig paginationConfig;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private BatchConfig batchConfig;
+
+    @Autowired
+    private GameCache gameCache;
+
+    @Autowired
+    private GameResponseCache gameResponseCache;
+
+    @Autowired
+    private CompressedSnapshotCache compressedSnapshotCache;
+
+    @Autowired
+    private CollectionGenerationRepository collectionGenerationRepository;
+
+    @Autowired
+    private GamesGenerationTracker gamesGenerationTracker;
+
+    @Autowired
+    private SearchConfig searchConfig;
+
+    @Autowired
+    private TitleSearchIndex titleSearchIndex;
+
+    @Autowired
+    private GameFacets gameFacets;
+
+    @Autowired
+    private IdempotencyConfig idempotencyConfig;
+
+    @Autowired
+    private InsertPipelineConfig insertPipelineConfig;
+
+    @Autowired
+    private IdempotencyStore idempotencyStore;
+
+    // Only present when insertpipelineconfig.enabled - creates then share insertMany round trips
+    @Autowired(required = false)
+    private GameInsertPipeline gameInsertPipeline;
+
     private static final Logger logger =
             LoggerFactory.getLogger(GameService.class);
 
+    // Identical list requests arriving together share one Mongo query. Lookups by id
+    // are already coalesced per key by the Caffeine loader in GameCache. Keys are lists of
+    // the query's parts, so free-text values can never make two queries collide.
+    private final SingleFlight<List<Object>, List<Game>> pageQueries = new SingleFlight<>();
+
+    private final SingleFlight<List<Object>, Long> countQueries = new SingleFlight<>();
+
+    // A retry that arrives while the original create is still running waits for it to finish
+    private final SingleFlight<String, ResponseEntity> idempotentCreates = new SingleFlight<>();
+
+    // How far a create got - only one that failed while inserting may or may not have stored the game
+    private enum CreateProgress { CHECKING, INSERTING, INSERTED }
+
     public ResponseEntity create(Game game) throws DataException {
+        return create(game, new AtomicReference<>(CreateProgress.CHECKING));
+    }
+
+    /**
+     * @param progress how far the create got, so a caller whose create failed can
+     *                 tell whether the game may have been stored
+     */
+    private ResponseEntity create(Game game, AtomicReference<CreateProgress> progress) throws DataException {
         try {
             logger.info("Checking if posted developer is authorised");
             if (checkDeveloperApproved(game)) {
 
                 logger.info("Developer authorised - inserting into database");
                 game.setGameId(createUUID());
-                gameRepository.insert(game);
-
-                return ResponseEntity.status(HttpStatus.CREATED).body(responseMapper.mapGameResponse(game));
+                game.setVersion(INITIAL_VERSION);
+                progress.set(CreateProgress.INSERTING);
+                if (gameInsertPipeline != null) {
+                    if (!insertBatched(game)) {
+                        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).build();
+                    }
+                } else {
+                    gameRepository.insert(game);
+                    gamesGenerationTracker.bump();
+                }
+                progress.set(CreateProgress.INSERTED);
+                gameCache.put(game);
+                indexTitle(game.getGameId(), game.getTitle(), game.getVersion());
+                gameFacets.add(game);
+
+                return ResponseEntity.status(HttpStatus.CREATED)
+                        .eTag(ETags.forVersion(game.getVersion()))
+                        .body(responseMapper.mapGameResponse(game));
             }
             logger.info("Developer is not part of the authorised list");
             return ResponseEntity.status(HttpStatus.UNAUTHORIZED).build();
 
-        } catch (MongoException e) {
+        } catch (MongoException | DataAccessException e) {
             throw new DataException("Failed to insert game", e);
         }
     }
 
-    public ResponseEntity getAll() throws DataException {
+    /**
+     * A create that can safely be retried - the first request with a key creates the
+     * game, and any other within the TTL is answered with that original 201 instead
+     * of inserting again. Without a key this is a plain create.
+     */
+    public ResponseEntity create(Game game, String idempotencyKey) throws DataException {
+
+        if (idempotencyKey == null) {
+            return create(game);
+        }
+
+        if (idempotencyKey.isEmpty() || idempotencyKey.length() > idempotencyConfig.getMaxKeyLength()) {
+            logger.info("Idempotency key is empty or longer than the permitted length");
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).build();
+        }
+
+        AtomicBoolean ran = new AtomicBoolean();
+        try {
+            ResponseEntity response = idempotentCreates.execute(idempotencyKey, () -> {
+                ran.set(true);
+                try {
+                    return createOnce(game, idempotencyKey);
+                } catch (DataException e) {
+                    throw new CompletionException(e);
+                }
+            });
+            if (ran.get()) {
+                return response;
+            }
+        } catch (RuntimeException e) {
+            if (!ran.get()) {
+                // Its key is free again only if it failed before inserting, otherwise this is answered by what it left
+                logger.info("Create this request waited for failed - checking its idempotency key again");
+            } else if (e instanceof CompletionException && e.getCause() instanceof DataException) {
+                throw (DataException) e.getCause();
+            } else {
+                throw e;
+            }
+        }
+
+        // Waited for another request with this key - its outcome is now recorded, so check this body against it
+        return createOnce(game, idempotencyKey);
+    }
+
+    private ResponseEntity createOnce(Game game, String idempotencyKey) throws DataException {
+
+        IdempotencyRecord claim = IdempotencyRecord.pending(idempotencyKey,
+                TimeUnit.SECONDS.toMillis(idempotencyConfig.getPendingLeaseSeconds()));
+        IdempotencyRecord existing;
+        try {
+            existing = idempotencyStore.claim(claim);
+        } catch (MongoException | DataAccessException e) {
+            throw new DataException("Failed to claim idempotency key", e);
+        }
+
+        if (existing != null) {
+            return replay(existing, game);
+        }
+
+        AtomicReference<CreateProgress> progress = new AtomicReference<>(CreateProgress.CHECKING);
+        ResponseEntity response;
+        try {
+            response = create(game, progress);
+        } catch (DataException | RuntimeException e) {
+            switch (progress.get()) {
+                case CHECKING:
+                    releaseIdempotencyKey(claim);
+                    break;
+                case INSERTING:
+                    // The game may or may not be stored, so a retry gets a conflict until the lease runs out
+                    logger.error("Create failed with its outcome unknown - keeping idempotency key pending");
+                    break;
+                default:
+                    completeIdempotencyKey(claim, game);
+            }
+            throw e;
+        }
+
+        if (response.getStatusCode() == HttpStatus.CREATED) {
+            completeIdempotencyKey(claim, game);
+        } else {
+            // Nothing was created, so a retry should be decided afresh
+            releaseIdempotencyKey(claim);
+        }
+        return response;
+    }
+
+    private ResponseEntity replay(IdempotencyRecord existing, Game game) {
+
+        if (existing.isPending()) {
+            logger.info("Idempotency key is in use by a create still in progress");
+            return ResponseEntity.status(HttpStatus.CONFLICT).build();
+        }
+
+        if (!existing.matches(game)) {
+            logger.info("Idempotency key was already used to create a different game");
+            return ResponseEntity.status(HttpStatus.UNPROCESSABLE_ENTITY).build();
+        }
+
+        logger.info("Replaying original response for idempotency key");
+        Game created = existing.toGame();
+        return ResponseEntity.status(HttpStatus.CREATED)
+                .eTag(ETags.forVersion(created.getVersion()))
+                .header(IDEMPOTENT_REPLAYED_HEADER, "true")
+                .body(responseMapper.mapGameResponse(created));
+    }
 
+    private void completeIdempotencyKey(IdempotencyRecord claim, Game game) {
         try {
-            List<Game> games = gameRepository.findAll();
+            if (!idempotencyStore.complete(claim, game)) {
+                logger.error("Idempotency key lease ran out before the game was recorded");
+            }
+        } catch (MongoException | DataAccessException e) {
+            // The game is in - a retry now gets a conflict until the lease runs out rather than a second game
+            logger.error("Failed to record idempotency key", e);
+        }
+    }
+
+    private void releaseIdempotencyKey(IdempotencyRecord claim) {
+        try {
+            idempotencyStore.release(claim);
+        } catch (MongoException | DataAccessException e) {
+            logger.error("Failed to release idempotency key", e);
+        }
+    }
+
+    /**
+     * Waits for the game's batch to be acknowledged - the pipeline has already
+     * bumped the generation by then. False when the queue is full.
+     */
+    private boolean insertBatched(Game game) throws DataException {
+
+        CompletableFuture<Void> inserted;
+        try {
+            inserted = gameInsertPipeline.submit(game);
+        } catch (RejectedExecutionException e) {
+            logger.error("Insert pipeline full - rejecting game");
+            return false;
+        }
+
+        try {
+            inserted.get(insertPipelineConfig.getWaitTimeoutMillis(), TimeUnit.MILLISECONDS);
+            return true;
+        } catch (TimeoutException e) {
+            if (gameInsertPipeline.withdraw(inserted)) {
+                logger.error("Insert pipeline too slow - game withdrawn");
+                return false;
+            }
+            // Already in a batch, so the game may still be stored
+            throw new DataException("Timed out waiting for game insert", e);
+        } catch (ExecutionException e) {
+            throw new DataException("Failed to insert game", e.getCause());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new DataException("Interrupted waiting for game insert", e);
+        }
+    }
+
+    public ResponseEntity createBatch(List<Game> games) throws DataException {
+
+        if (games == null || games.isEmpty() || games.size() > batchConfig.getMaxGames()) {
+            logger.info("Batch is empty or larger than the permitted size");
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).build();
+        }
+
+        List<BatchItemResponse> items = new ArrayList<>(games.size());
+        List<Game> pendingGames = new ArrayList<>(batchConfig.getInsertChunkSize());
+        List<BatchItemResponse> pendingItems = new ArrayList<>(batchConfig.getInsertChunkSize());
+
+        logger.info("Checking developers for batch of {} games", games.size());
+        for (int i = 0; i < games.size(); i++) {
+
+            Game game = games.get(i);
+            BatchItemResponse item = new BatchItemResponse();
+            item.setIndex(i);
+            items.add(item);
+
+            if (game == null) {
+                item.setStatus(BatchItemStatus.FAILED);
+            } else if (!checkDeveloperApproved(game)) {
+                item.setStatus(BatchItemStatus.UNAUTHORISED);
+            } else {
+                game.setGameId(createUUID());
+                game.setVersion(INITIAL_VERSION);
+                item.setId(game.getGameId());
+                pendingGames.add(game);
+                pendingItems.add(item);
+
+                if (pendingGames.size() == batchConfig.getInsertChunkSize()) {
+                    insertChunk(pendingGames, pendingItems);
+                }
+            }
+        }
+        insertChunk(pendingGames, pendingItems);
+
+        BatchResponse batchResponse = mapBatchResponse(items);
+        if (batchResponse.getCreated() > 0) {
+            gamesGenerationTracker.bump();
+        }
+
+        return ResponseEntity.status(HttpStatus.OK).body(batchResponse);
+    }
+
+    private void insertChunk(List<Game> games, List<BatchItemResponse> items) {
+
+        if (games.isEmpty()) {
+            return;
+        }
+
+        Set<Integer> failed;
+        try {
+            logger.info("Inserting chunk of {} games", games.size());
+            failed = gameRepository.insertUnordered(games);
+        } catch (MongoException | DataAccessException e) {
+            logger.error("Failed to insert chunk of {} games", games.size(), e);
+            failed = null;
+        }
+
+        for (int i = 0; i < items.size(); i++) {
+            BatchItemResponse item = items.get(i);
+
+            if (failed == null || failed.contains(i)) {
+                item.setStatus(BatchItemStatus.FAILED);
+                item.setId(null);
+            } else {
+                item.setStatus(BatchItemStatus.CREATED);
+                indexTitle(games.get(i).getGameId(), games.get(i).getTitle(), games.get(i).getVersion());
+                gameFacets.add(games.get(i));
+            }
+        }
+
+        games.clear();
+        items.clear();
+    }
+
+    private BatchResponse mapBatchResponse(List<BatchItemResponse> items) {
+
+        BatchResponse batchResponse = new BatchResponse();
+
+        for (BatchItemResponse item : items) {
+            switch (item.getStatus()) {
+                case CREATED:
+                    batchResponse.setCreated(batchResponse.getCreated() + 1);
+                    break;
+                case UNAUTHORISED:
+                    batchResponse.setUnauthorised(batchResponse.getUnauthorised() + 1);
+                    break;
+                default:
+                    batchResponse.setFailed(batchResponse.getFailed() + 1);
+            }
+        }
+
+        batchResponse.setItems(items);
+        logger.info("Batch complete - {} created, {} unauthorised, {} failed",
+                batchResponse.getCreated(), batchResponse.getUnauthorised(), batchResponse.getFailed());
+        return batchResponse;
+    }
+
+    public ResponseEntity getAll(Integer startIndex, Integer itemsPerPage, String pageToken,
+                                 String ifNoneMatch) throws DataException {
+        return getAll(startIndex, itemsPerPage, pageToken, new GameFilter(), ifNoneMatch);
+    }
+
+    public ResponseEntity getAll(Integer startIndex, Integer itemsPerPage, String pageToken,
+                                 GameFilter filter, String ifNoneMatch) throws DataException {
+        return getAll(startIndex, itemsPerPage, pageToken, filter, GameFields.ALL, ifNoneMatch, GameFormat.JSON, null);
+    }
+
+    public ResponseEntity getAll(Integer startIndex, Integer itemsPerPage, String pageToken, GameFilter filter,
+                                 GameFields fields, String ifNoneMatch, GameFormat format,
+                                 String acceptEncoding) throws DataException {
+
+        int limit = itemsPerPage == null ? paginationConfig.getDefaultItemsPerPage() : itemsPerPage;
+
+        if (limit < 1 || limit > paginationConfig.getMaxItemsPerPage()) {
+            logger.info("Requested page size outside of permitted range");
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).build();
+        }
+
+        try {
+            // Any write to the collection bumps its generation, so an unchanged generation means an unchanged page
+            // unless a bump failed since, when pages go out untagged and uncached until one succeeds
+            boolean stale = isGenerationStale();
+            long generation = collectionGenerationRepository.currentGeneration(CollectionGeneration.GAMES);
+            String eTag = stale ? null : format.eTag(ETags.forGeneration(generation));
+            String matched = stale ? null : ETags.matchAnyEncoding(ifNoneMatch, eTag);
+
+            if (matched != null) {
+                logger.info("Games unchanged since last request");
+                return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(matched)
+                        .varyBy(pageVary()).build();
+            }
+
+            // Unfiltered pages are the same for every client until the next write, so keep them compressed
+            ContentEncoding encoding = filter.isUnfiltered() && !stale
+                    ? compressedSnapshotCache.encodingFor(acceptEncoding) : null;
+            String snapshotKey = encoding == null ? null
+                    : CompressedSnapshotCache.pageKey(format, encoding, fields, startIndex, limit, pageToken);
+
+            if (snapshotKey != null) {
+                byte[] snapshot = compressedSnapshotCache.get(generation, snapshotKey);
+                if (snapshot != null) {
+                    logger.info("Returning compressed page of games");
+                    return CompressedSnapshotCache.toResponse(eTag, format, encoding, snapshot);
+                }
+            }
+
+            int offset;
+            List<Game> games;
+
+            if (!filter.isUnfiltered()) {
+                if (pageToken != null) {
+                    logger.info("Page tokens are only supported on the unfiltered list");
+                    return ResponseEntity.status(HttpStatus.BAD_REQUEST).build();
+                }
+
+                offset = startIndex == null ? 0 : startIndex;
+
+                if (offset < 0 || offset > paginationConfig.getMaxStartIndex()) {
+                    logger.info("Start index outside of permitted range");
+                    return ResponseEntity.status(HttpStatus.BAD_REQUEST).build();
+                }
+                games = findByFilter(filter, offset, limit, fields);
+            } else if (pageToken != null) {
+                PageToken token;
+                try {
+                    token = PageToken.decode(pageToken);
+                } catch (IllegalArgumentException e) {
+                    logger.info("Invalid page token supplied");
+                    return ResponseEntity.status(HttpStatus.BAD_REQUEST).build();
+                }
+
+                offset = token.getStartIndex();
+                games = findPageAfter(token.getLastGameId(), limit, fields);
+            } else {
+                offset = startIndex == null ? 0 : startIndex;
+
+                if (offset < 0 || offset > paginationConfig.getMaxStartIndex()) {
+                    logger.info("Start index outside of permitted range - page_token required for deep pages");
+                    return ResponseEntity.status(HttpStatus.BAD_REQUEST).build();
+                }
+                games = findPage(offset, limit, fields);
+            }
 
             if (games.isEmpty()) {
                 logger.info("No games found");
                 return ResponseEntity.status(HttpStatus.NOT_FOUND).build();
             }
-            logger.info("Returning all games");
-            return ResponseEntity.status(HttpStatus.OK).body(responseMapper.mapGameResponseList(games));
 
-        } catch (MongoException e) {
+            String nextPageToken = null;
+            if (games.size() == limit && filter.isUnfiltered()) {
+                Game last = games.get(games.size() - 1);
+                nextPageToken = new PageToken(offset + games.size(), last.getGameId()).encode();
+            }
+
+            long totalResults = filter.isUnfiltered()
+                    ? countQueries.execute(Collections.<Object>singletonList("count"), gameRepository::estimatedCount)
+                    : countQueries.execute(Arrays.<Object>asList("filter", filter), () -> gameRepository.countByFilter(filter));
+
+            byte[] body = gameListWriter.writeGameList(games, offset, limit, totalResults, nextPageToken, format, fields);
+
+            if (snapshotKey != null && compressedSnapshotCache.isLargeEnough(body)) {
+                byte[] compressed = encoding.encode(body);
+                compressedSnapshotCache.put(generation, snapshotKey, compressed);
+                logger.info("Returning compressed page of games");
+                return CompressedSnapshotCache.toResponse(eTag, format, encoding, compressed);
+            }
+
+            logger.info("Returning page of games");
+            ResponseEntity.BodyBuilder response = ResponseEntity.status(HttpStatus.OK).varyBy(pageVary())
+                    .contentType(format.getMediaType());
+            if (eTag != null) {
+                response.eTag(eTag);
+            }
+            return response.body(body);
+
+        } catch (MongoException | DataAccessException e) {
             throw new DataException("Failed to retrieve games", e);
         }
     }
 
-    public ResponseEntity get(String id) throws DataException {
+    private String[] pageVary() {
+        // Pages are sent compressed to other clients once compression is on, even if this one is plain
+        return compressedSnapshotCache.isEnabled()
+                ? new String[] {HttpHeaders.ACCEPT, HttpHeaders.ACCEPT_ENCODING}
+                : new String[] {HttpHeaders.ACCEPT};
+    }
 
-        try {
-            Game game = gameRepository.findByGameId(id);
+    private List<Game> findPage(int offset, int limit, GameFields fields) {
+        return pageQueries.execute(Arrays.<Object>asList("page", offset, limit, fields),
+                () -> gameRepository.findPage(offset, limit, fields));
+    }
 
-            logger.info("Returning game");
-            return ResponseEntity.status(HttpStatus.OK).body(responseMapper.mapGameResponse(game));
+    private List<Game> findByFilter(GameFilter filter, int offset, int limit, GameFields fields) {
+        return pageQueries.execute(Arrays.<Object>asList("filter", filter, offset, limit, fields),
+                () -> gameRepository.findByFilter(filter, offset, limit, fields));
+    }
 
-        } catch (MongoException e) {
-            throw new DataException("Failed to retrieve game", e);
+    private List<Game> findPageAfter(String lastGameId, int limit, GameFields fields) {
+        return pageQueries.execute(Arrays.<Object>asList("after", lastGameId, limit, fields),
+                () -> gameRepository.findPageAfter(lastGameId, limit, fields));
+    }
+
+    public ResponseEntity<StreamingResponseBody> export() throws DataException {
+        return export(null);
+    }
+
+    public ResponseEntity<StreamingResponseBody> export(String acceptEncoding) throws DataException {
+
+        ContentEncoding encoding = compressedSnapshotCache.encodingFor(acceptEncoding);
+        String snapshotKey = encoding == null ? null : CompressedSnapshotCache.exportKey(encoding);
+        long generation = 0;
+        boolean stale = false;
+
+        if (snapshotKey != null) {
+            try {
+                // Read before the cursor opens, so a snapshot is never filed under a newer generation than its data
+                stale = isGenerationStale();
+                generation = collectionGenerationRepository.currentGeneration(CollectionGeneration.GAMES);
+            } catch (MongoException | DataAccessException e) {
+                throw new DataException("Failed to read games generation", e);
+            }
+            byte[] snapshot = stale ? null : compressedSnapshotCache.get(generation, snapshotKey);
+
+            if (snapshot != null) {
+                logger.info("Returning compressed games export");
+                return ResponseEntity.status(HttpStatus.OK)
+                        .contentType(MediaType.parseMediaType(APPLICATION_NDJSON_VALUE))
+                        .varyBy(HttpHeaders.ACCEPT_ENCODING)
+                        .header(HttpHeaders.CONTENT_ENCODING, encoding.getToken())
+                        .contentLength(snapshot.length)
+                        .body(outputStream -> outputStream.write(snapshot));
+            }
         }
+
+        // The cursor is only opened once the body runs, so an export the client abandons before then holds none
+        if (snapshotKey == null) {
+            logger.info("Streaming games export");
+            ResponseEntity.BodyBuilder response = ResponseEntity.status(HttpStatus.OK)
+                    .contentType(MediaType.parseMediaType(APPLICATION_NDJSON_VALUE));
+            if (compressedSnapshotCache.isEnabled()) {
+                response.varyBy(HttpHeaders.ACCEPT_ENCODING);
+            }
+            return response.body(this::writeExport);
+        }
+
+        // A stale generation may already name older data, so the copy is only kept under a trusted one
+        Long snapshotGeneration = stale ? null : generation;
+        logger.info("Streaming compressed games export");
+        return ResponseEntity.status(HttpStatus.OK)
+                .contentType(MediaType.parseMediaType(APPLICATION_NDJSON_VALUE))
+                .varyBy(HttpHeaders.ACCEPT_ENCODING)
+                .header(HttpHeaders.CONTENT_ENCODING, encoding.getToken())
+                .body(outputStream -> writeCompressedExport(outputStream, encoding, snapshotGeneration));
     }
 
-    public ResponseEntity update(Game newGame, String developer, String id) throws DataException {
+    private void writeCompressedExport(OutputStream outputStream, ContentEncoding encoding, Long generation)
+            throws IOException {
+
+        // Compressed once while it streams, the copy then serves every export until the next write
+        RecordingOutputStream recording =
+                new RecordingOutputStream(outputStream, compressedSnapshotCache.getMaximumBytes());
+
+        try (DeflaterOutputStream compressed = encoding.wrap(recording)) {
+            writeExport(compressed);
+        }
+
+        byte[] snapshot = recording.getRecording();
+        if (snapshot != null && generation != null) {
+            compressedSnapshotCache.put(generation, CompressedSnapshotCache.exportKey(encoding), snapshot);
+        }
+    }
+
+    private void writeExport(OutputStream outputStream) throws IOException {
+
+        int written = 0;
+
+        try (CloseableIterator<Game> cursor = gameRepository.streamAll();
+             JsonGenerator generator = objectMapper.getFactory().createGenerator(outputStream)) {
+
+            generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+            generator.setRootValueSeparator(null);
+
+            while (cursor.hasNext()) {
+                gameListWriter.writeGame(generator, cursor.next());
+                generator.writeRaw('\n');
+
+                // Flush the first line straight away, then in small batches, so the client sees data before the cursor is drained
+                if (written++ % EXPORT_FLUSH_INTERVAL == 0) {
+                    generator.flush();
+                }
+            }
+        } catch (MongoException | DataAccessException e) {
+            logger.error("Games export aborted after {} games", written, e);
+            throw new IOException("Failed to read games during export", e);
+        }
+
+        logger.info("Exported {} games", written);
+    }
+
+    public ResponseEntity get(String id, String ifNoneMatch) throws DataException {
+        return get(id, ifNoneMatch, null);
+    }
+
+    public ResponseEntity get(String id, String ifNoneMatch, String acceptEncoding) throws DataException {
+        return get(id, GameFields.ALL, ifNoneMatch, acceptEncoding, GameFormat.JSON);
+    }
+
+    public ResponseEntity get(String id, GameFields fields, String ifNoneMatch, String acceptEncoding,
+                              GameFormat format) throws DataException {
 
         try {
-            Game game = gameRepository.findByGameId(id);
+            Game game = fields.isAll() ? gameCache.get(id, gameRepository::findByGameId) : findPartial(id, fields);
 
             if (game == null) {
                 logger.info("No game returned");
                 return ResponseEntity.status(HttpStatus.NOT_FOUND).build();
             }
 
-            if (developer.equalsIgnoreCase(game.getDeveloper())) {
+            String eTag = format.eTag(ETags.forVersion(game.getVersion()));
+            boolean serialized = format == GameFormat.JSON && fields.isAll();
+
+            // A gzipped serialized body has its own tag, and either one means the client has this version
+            String matched = serialized
+                    ? ETags.match(ifNoneMatch, eTag, ETags.forEncoding(eTag, ContentEncoding.GZIP))
+                    : ETags.match(ifNoneMatch, eTag);
+
+            if (matched != null) {
+                logger.info("Game unchanged since last request");
+                ResponseEntity.HeadersBuilder<?> notModified = ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(matched);
+                return (serialized && gameResponseCache.isGzipEnabled()
+                        ? notModified.varyBy(HttpHeaders.ACCEPT, HttpHeaders.ACCEPT_ENCODING)
+                        : notModified.varyBy(HttpHeaders.ACCEPT)).build();
+            }
+
+            logger.info("Returning game");
+            if (serialized) {
+                return gameResponseCache.get(game).toResponse(acceptEncoding);
+            }
+
+            // Binary and partial bodies are written per request rather than cached
+            return ResponseEntity.status(HttpStatus.OK).eTag(eTag).varyBy(HttpHeaders.ACCEPT)
+                    .contentType(format.getMediaType())
+                    .body(gameListWriter.writeGame(game, format, fields));
+
+        } catch (MongoException | DataAccessException e) {
+            throw new DataException("Failed to retrieve game", e);
+        }
+    }
+
+    private Game findPartial(String id, GameFields fields) {
+
+        // A cached whole game already has every field - only a miss goes to mongo, and the projected game is not cached
+        Game cached = gameCache.getIfPresent(id);
+        return cached != null ? cached : gameRepository.findByGameId(id, fields);
+    }
+
+    public ResponseEntity search(String query, Integer limit) throws DataException {
+
+        int resultLimit = limit == null ? searchConfig.getDefaultLimit() : limit;
+
+        if (query == null || query.trim().isEmpty() || resultLimit < 1 || resultLimit > searchConfig.getMaxLimit()) {
+            logger.info("Search query missing or limit outside of permitted range");
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).build();
+        }
+
+        List<SearchResult> results;
+
+        if (searchConfig.isInMemoryEnabled()) {
+            results = titleSearchIndex.search(query, resultLimit);
+        } else {
+            try {
+                results = new ArrayList<>();
+                for (Game game : gameRepository.searchTitles(query, resultLimit)) {
+                    results.add(new SearchResult(game.getGameId(), game.getTitle()));
+                }
+            } catch (MongoException | DataAccessException e) {
+                throw new DataException("Failed to search games", e);
+            }
+        }
+
+        SearchResponse searchResponse = new SearchResponse();
+        searchResponse.setQuery(query);
+        searchResponse.setItems(results);
+
+        logger.info("Returning {} search results", results.size());
+        return ResponseEntity.status(HttpStatus.OK).body(searchResponse);
+    }
+
+    public ResponseEntity facets() {
+
+        logger.info("Returning game facets");
+        return ResponseEntity.status(HttpStatus.OK).body(gameFacets.snapshot());
+    }
 
-                logger.info("Updating game with new data");
-                game.setTitle(newGame.getTitle());
-                game.setGenres(newGame.getGenres());
-                game.setDeveloper(newGame.getDeveloper());
-                game.setReleaseDate(newGame.getReleaseDate());
+    public ResponseEntity update(Game newGame, String developer, String id) throws DataException {
 
-                gameRepository.save(game);
+        try {
+            Game previous = gameRepository.updateIfDeveloper(id, developer, newGame);
+
+            if (previous != null) {
+                gameCache.invalidate(id);
+                gameResponseCache.invalidate(id);
+                // The update bumped the stored version, so this title is for the one after previous
+                indexTitle(id, newGame.getTitle(), previous.getVersion() + 1);
+                gameFacets.replace(previous, newGame);
+                gamesGenerationTracker.bump();
                 logger.info("Game updated");
                 return ResponseEntity.status(HttpStatus.NO_CONTENT).build();
             }
 
-            logger.info("Unauthorised developer - unable to update game");
-            return ResponseEntity.status(HttpStatus.UNAUTHORIZED).build();
+            return notOwnedResponse(id, "update");
 
-        } catch (MongoException e) {
+        } catch (MongoException | DataAccessException e) {
             throw new DataException("Failed to update game", e);
         }
     }
@@ -115,42 +815,59 @@ public class GameService {
     public ResponseEntity delete(String developer, String id) throws DataException {
 
         try {
-
-            Game game = gameRepository.findByGameId(id);
-
-            if (game == null) {
-                logger.info("No game returned");
-                return ResponseEntity.status(HttpStatus.NOT_FOUND).build();
-            }
-
-            if (developer.equalsIgnoreCase(game.getDeveloper())) {
-                gameRepository.deleteByGameId(id);
+            Game deleted = gameRepository.deleteIfDeveloper(id, developer);
+
+            if (deleted != null) {
+                gameCache.invalidate(id);
+                gameResponseCache.invalidate(id);
+                if (searchConfig.isInMemoryEnabled()) {
+                    titleSearchIndex.remove(id);
+                }
+                gameFacets.remove(deleted);
+                gamesGenerationTracker.bump();
                 logger.info("Game deleted");
                 return ResponseEntity.status(HttpStatus.NO_CONTENT).build();
             }
 
-            logger.info("Unauthorised developer - unable to delete game");
-            return ResponseEntity.status(HttpStatus.UNAUTHORIZED).build();
-        } catch (MongoException e) {
-            throw new DataException("Failed to update game", e);
+            return notOwnedResponse(id, "delete");
+
+        } catch (MongoException | DataAccessException e) {
+            throw new DataException("Failed to delete game", e);
+        }
+    }
+
+    private ResponseEntity notOwnedResponse(String id, String action) {
+
+        // Only reached when the conditional write matched nothing - work out why
+        if (!gameRepository.existsById(id)) {
+            logger.info("No game returned");
+            return ResponseEntity.status(HttpStatus.NOT_FOUND).build();
+        }
+
+        logger.info("Unauthorised developer - unable to {} game", action);
+        return ResponseEntity.status(HttpStatus.UNAUTHORIZED).build();
+    }
+
+    private void indexTitle(String id, String title, long version) {
+        if (searchConfig.isInMemoryEnabled()) {
+            titleSearchIndex.put(id, title, version);
         }
     }
 
+    private boolean isGenerationStale() {
+        // A failed bump left the generation behind the data - try again before trusting it
+        if (gamesGenerationTracker.isStale()) {
+            gamesGenerationTracker.bump();
+        }
+        return gamesGenerationTracker.isStale();
+    }
+
     private String createUUID() {
         UUID uuid = UUID.randomUUID();
         return uuid.toString();
     }
 
     private boolean checkDeveloperApproved(Game game) {
-
-        List<Developer> developers = developerRepository.findAll();
-
-        for (Developer developer : developers) {
-
-            if (game.getDeveloper().equals(developer.getName())) {
-                return true;
-            }
-        }
-        return false;
+        return approvedDeveloperRegistry.isApproved(game.getDeveloper());
     }
 }
@@ -0,0 +1,129 @@
+package com.cai.smith.videogameapi.service;
+
+import com.cai.smith.videogameapi.AsyncConfig;
+import com.cai.smith.videogameapi.exception.DataException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.jvm.ExecutorServiceMetrics;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Component;
+import org.springframework.web.context.request.async.DeferredResult;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import java.util.Collections;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Runs {@link GameService} calls for the controller in async mode on a fixed size
+ * pool with a bounded queue. Request threads only hand work over and return, so a
+ * stalled Mongo fills this pool rather than Tomcat's. A full queue is rejected
+ * straight away and a call that outlives the timeout answers 503.
+ * <p>
+ * A timeout only cancels a call that has not started. One already running carries
+ * on, so a write that times out may still commit after its client was sent the 503.
+ * Creates are only safe to retry with an Idempotency-Key. An update replaces the
+ * whole game, so repeating it is harmless; a repeated delete may answer 404
+ * because the first attempt landed.
+ */
+@Component
+@ConditionalOnProperty(name = AsyncConfig.ENABLED_PROPERTY, havingValue = "true")
+public class GameServiceExecutor {
+
+    public static final String EXECUTOR_NAME = "games.service";
+
+    @Autowired
+    private AsyncConfig asyncConfig;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    private static final Logger logger =
+            LoggerFactory.getLogger(GameServiceExecutor.class);
+
+    private ThreadPoolExecutor executor;
+
+    private Counter rejected;
+
+    private Counter timedOut;
+
+    @FunctionalInterface
+    public interface ServiceCall {
+        ResponseEntity call() throws DataException;
+    }
+
+    @PostConstruct
+    public void init() {
+        executor = new ThreadPoolExecutor(asyncConfig.getPoolSize(), asyncConfig.getPoolSize(),
+                0, TimeUnit.MILLISECONDS, new ArrayBlockingQueue<>(asyncConfig.getQueueCapacity()),
+                threadFactory(), new ThreadPoolExecutor.AbortPolicy());
+
+        // Publishes executor.queued, executor.active, executor.pool.size and executor.completed
+        new ExecutorServiceMetrics(executor, EXECUTOR_NAME, Collections.emptyList()).bindTo(meterRegistry);
+
+        Gauge.builder(EXECUTOR_NAME + ".queue.remaining", executor, e -> e.getQueue().remainingCapacity())
+                .register(meterRegistry);
+        rejected = meterRegistry.counter(EXECUTOR_NAME + ".rejected");
+        timedOut = meterRegistry.counter(EXECUTOR_NAME + ".timeouts");
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    public DeferredResult<ResponseEntity> submit(ServiceCall call) {
+
+        DeferredResult<ResponseEntity> result = new DeferredResult<>(asyncConfig.getTimeoutMillis());
+
+        Future<?> future;
+        try {
+            future = executor.submit(() -> {
+                try {
+                    result.setResult(call.call());
+                } catch (DataException | RuntimeException e) {
+                    // Dispatched back to the controller's exception handling, as if it had thrown there
+                    result.setErrorResult(e);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            rejected.increment();
+            logger.error("Game service executor saturated - rejecting request");
+            result.setResult(ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).build());
+            return result;
+        }
+
+        result.onTimeout(() -> {
+            // Frees the queue slot if the call has not started - a running Mongo call is left to its own timeouts
+            future.cancel(false);
+            timedOut.increment();
+            logger.error("Game service call timed out after {}ms", asyncConfig.getTimeoutMillis());
+            result.setResult(ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).build());
+        });
+
+        return result;
+    }
+
+    private ThreadFactory threadFactory() {
+
+        AtomicInteger count = new AtomicInteger();
+
+        return runnable -> {
+            Thread thread = new Thread(runnable, "game-service-" + count.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+}
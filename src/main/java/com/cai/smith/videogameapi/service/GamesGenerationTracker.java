@@ -0,0 +1,76 @@
+package com.cai.smith.videogameapi.service;
+
+import com.cai.smith.videogameapi.model.CollectionGeneration;
+import com.cai.smith.videogameapi.repository.CollectionGenerationRepository;
+import com.mongodb.MongoException;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.DataAccessException;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Bumps the games generation after a write and remembers when that failed. The
+ * write itself has committed by then, so a failed bump is logged and counted
+ * rather than reported to the caller - instead the generation is stale, and list
+ * ETags and compressed snapshots must not be trusted until a later bump succeeds.
+ * Only a bump that started after the failure was recorded clears it, as only that
+ * one is certain to land after the write the failed bump was for.
+ */
+@Component
+public class GamesGenerationTracker {
+
+    public static final String BUMP_FAILURES_METRIC = "games.generation.bump.failures";
+
+    @Autowired
+    private CollectionGenerationRepository collectionGenerationRepository;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    private static final Logger logger =
+            LoggerFactory.getLogger(GamesGenerationTracker.class);
+
+    private final AtomicLong failedBumps = new AtomicLong();
+
+    private final AtomicLong clearedThrough = new AtomicLong();
+
+    /**
+     * Bumps the generation, never throwing - a failure is recorded instead.
+     */
+    public void bump() {
+
+        long failedBefore = beforeBump();
+        try {
+            collectionGenerationRepository.incrementGeneration(CollectionGeneration.GAMES);
+            bumped(failedBefore);
+        } catch (MongoException | DataAccessException e) {
+            bumpFailed(e);
+        }
+    }
+
+    /**
+     * Taken just before a bump is attempted, and handed back to {@link #bumped} once it succeeds.
+     */
+    public long beforeBump() {
+        return failedBumps.get();
+    }
+
+    public void bumped(long failedBefore) {
+        clearedThrough.accumulateAndGet(failedBefore, Math::max);
+    }
+
+    public void bumpFailed(Throwable e) {
+        // Already retried by the repository - the write stands, but the generation no longer describes it
+        logger.error("Failed to increment games generation - list ETags disabled until a later bump succeeds", e);
+        meterRegistry.counter(BUMP_FAILURES_METRIC).increment();
+        failedBumps.incrementAndGet();
+    }
+
+    public boolean isStale() {
+        return failedBumps.get() > clearedThrough.get();
+    }
+}
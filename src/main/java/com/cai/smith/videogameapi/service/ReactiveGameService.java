@@ -0,0 +1,427 @@
+package com.cai.smith.videogameapi.service;
+
+import com.cai.smith.videogameapi.PaginationConfig;
+import com.cai.smith.videogameapi.ReactiveConfig;
+import com.cai.smith.videogameapi.SearchConfig;
+import com.cai.smith.videogameapi.cache.CompressedSnapshotCache;
+import com.cai.smith.videogameapi.cache.GameCache;
+import com.cai.smith.videogameapi.cache.GameResponseCache;
+import com.cai.smith.videogameapi.exception.DataException;
+import com.cai.smith.videogameapi.facet.GameFacets;
+import com.cai.smith.videogameapi.mapper.GameFormat;
+import com.cai.smith.videogameapi.mapper.GameListWriter;
+import com.cai.smith.videogameapi.mapper.ResponseMapper;
+import com.cai.smith.videogameapi.model.CollectionGeneration;
+import com.cai.smith.videogameapi.model.Game;
+import com.cai.smith.videogameapi.model.GameFields;
+import com.cai.smith.videogameapi.model.GameFilter;
+import com.cai.smith.videogameapi.model.response.SearchResponse;
+import com.cai.smith.videogameapi.model.response.SearchResult;
+import com.cai.smith.videogameapi.repository.ReactiveCollectionGenerationRepository;
+import com.cai.smith.videogameapi.repository.ReactiveGameRepository;
+import com.cai.smith.videogameapi.search.TitleSearchIndex;
+import com.cai.smith.videogameapi.utility.ContentEncoding;
+import com.cai.smith.videogameapi.utility.ETags;
+import com.cai.smith.videogameapi.utility.PageToken;
+import com.mongodb.MongoException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Profile;
+import org.springframework.dao.DataAccessException;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Non-blocking equivalent of {@link GameService} for the reactive profile. Status
+ * codes match the servlet mode; Mongo failures surface as a {@link DataException}
+ * error signal for the controller to map.
+ */
+@Service
+@Profile(ReactiveConfig.REACTIVE_PROFILE)
+public class ReactiveGameService {
+
+    private static final long INITIAL_VERSION = 1;
+
+    @Autowired
+    private ReactiveGameRepository reactiveGameRepository;
+
+    @Autowired
+    private ReactiveCollectionGenerationRepository reactiveCollectionGenerationRepository;
+
+    @Autowired
+    private GamesGenerationTracker gamesGenerationTracker;
+
+    @Autowired
+    private ApprovedDeveloperRegistry approvedDeveloperRegistry;
+
+    @Autowired
+    private ResponseMapper responseMapper;
+
+    @Autowired
+    private GameListWriter gameListWriter;
+
+    @Autowired
+    private PaginationConfig paginationConfig;
+
+    @Autowired
+    private GameCache gameCache;
+
+    @Autowired
+    private GameResponseCache gameResponseCache;
+
+    @Autowired
+    private CompressedSnapshotCache compressedSnapshotCache;
+
+    @Autowired
+    private SearchConfig searchConfig;
+
+    @Autowired
+    private TitleSearchIndex titleSearchIndex;
+
+    @Autowired
+    private GameFacets gameFacets;
+
+    private static final Logger logger =
+            LoggerFactory.getLogger(ReactiveGameService.class);
+
+    public Mono<ResponseEntity> create(Game game) {
+
+        logger.info("Checking if posted developer is authorised");
+        if (!approvedDeveloperRegistry.isApproved(game.getDeveloper())) {
+            logger.info("Developer is not part of the authorised list");
+            return Mono.just(status(HttpStatus.UNAUTHORIZED));
+        }
+
+        logger.info("Developer authorised - inserting into database");
+        game.setGameId(createUUID());
+        game.setVersion(INITIAL_VERSION);
+
+        return reactiveGameRepository.insert(game)
+                .flatMap(inserted -> {
+                    gameCache.put(inserted);
+                    indexTitle(inserted.getGameId(), inserted.getTitle(), inserted.getVersion());
+                    gameFacets.add(inserted);
+
+                    return incrementGeneration().thenReturn((ResponseEntity) ResponseEntity.status(HttpStatus.CREATED)
+                            .eTag(ETags.forVersion(inserted.getVersion()))
+                            .body(responseMapper.mapGameResponse(inserted)));
+                })
+                .onErrorMap(ReactiveGameService::isDataError, e -> new DataException("Failed to insert game", e));
+    }
+
+    public Mono<ResponseEntity> getAll(Integer startIndex, Integer itemsPerPage, String pageToken,
+                                       GameFilter filter, String ifNoneMatch) {
+        return getAll(startIndex, itemsPerPage, pageToken, filter, GameFields.ALL, ifNoneMatch, GameFormat.JSON, null);
+    }
+
+    public Mono<ResponseEntity> getAll(Integer startIndex, Integer itemsPerPage, String pageToken, GameFilter filter,
+                                       GameFields fields, String ifNoneMatch, GameFormat format,
+                                       String acceptEncoding) {
+
+        int limit = itemsPerPage == null ? paginationConfig.getDefaultItemsPerPage() : itemsPerPage;
+
+        if (limit < 1 || limit > paginationConfig.getMaxItemsPerPage()) {
+            logger.info("Requested page size outside of permitted range");
+            return Mono.just(status(HttpStatus.BAD_REQUEST));
+        }
+
+        int offset;
+        Flux<Game> page;
+
+        if (!filter.isUnfiltered()) {
+            if (pageToken != null) {
+                logger.info("Page tokens are only supported on the unfiltered list");
+                return Mono.just(status(HttpStatus.BAD_REQUEST));
+            }
+
+            offset = startIndex == null ? 0 : startIndex;
+
+            if (offset < 0 || offset > paginationConfig.getMaxStartIndex()) {
+                logger.info("Start index outside of permitted range");
+                return Mono.just(status(HttpStatus.BAD_REQUEST));
+            }
+            page = reactiveGameRepository.findByFilter(filter, offset, limit, fields);
+        } else if (pageToken != null) {
+            PageToken token;
+            try {
+                token = PageToken.decode(pageToken);
+            } catch (IllegalArgumentException e) {
+                logger.info("Invalid page token supplied");
+                return Mono.just(status(HttpStatus.BAD_REQUEST));
+            }
+
+            offset = token.getStartIndex();
+            page = reactiveGameRepository.findPageAfter(token.getLastGameId(), limit, fields);
+        } else {
+            offset = startIndex == null ? 0 : startIndex;
+
+            if (offset < 0 || offset > paginationConfig.getMaxStartIndex()) {
+                logger.info("Start index outside of permitted range - page_token required for deep pages");
+                return Mono.just(status(HttpStatus.BAD_REQUEST));
+            }
+            page = reactiveGameRepository.findPage(offset, limit, fields);
+        }
+
+        ContentEncoding encoding = filter.isUnfiltered() ? compressedSnapshotCache.encodingFor(acceptEncoding) : null;
+        String snapshotKey = encoding == null ? null
+                : CompressedSnapshotCache.pageKey(format, encoding, fields, startIndex, limit, pageToken);
+
+        // A stale generation no longer describes the data, so those pages go out untagged and uncached
+        return isGenerationStale().flatMap(stale -> reactiveCollectionGenerationRepository
+                .currentGeneration(CollectionGeneration.GAMES)
+                .flatMap(generation -> {
+                    String eTag = stale ? null : format.eTag(ETags.forGeneration(generation));
+                    String matched = stale ? null : ETags.matchAnyEncoding(ifNoneMatch, eTag);
+
+                    if (matched != null) {
+                        logger.info("Games unchanged since last request");
+                        return Mono.just((ResponseEntity) ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(matched)
+                                .varyBy(pageVary()).build());
+                    }
+
+                    String cacheKey = stale ? null : snapshotKey;
+                    byte[] snapshot = cacheKey == null ? null : compressedSnapshotCache.get(generation, cacheKey);
+                    if (snapshot != null) {
+                        logger.info("Returning compressed page of games");
+                        return Mono.just((ResponseEntity) CompressedSnapshotCache.toResponse(eTag, format, encoding, snapshot));
+                    }
+
+                    return page.collectList().flatMap(games -> mapPage(games, offset, limit, filter, fields, eTag, format)
+                            .map(response -> compress(response, eTag, format, generation, cacheKey, encoding)));
+                }))
+                .onErrorMap(ReactiveGameService::isDataError, e -> new DataException("Failed to retrieve games", e));
+    }
+
+    private Mono<ResponseEntity> mapPage(List<Game> games, int offset, int limit, GameFilter filter,
+                                         GameFields fields, String eTag, GameFormat format) {
+
+        if (games.isEmpty()) {
+            logger.info("No games found");
+            return Mono.just(status(HttpStatus.NOT_FOUND));
+        }
+
+        String nextPageToken = null;
+        if (games.size() == limit && filter.isUnfiltered()) {
+            Game last = games.get(games.size() - 1);
+            nextPageToken = new PageToken(offset + games.size(), last.getGameId()).encode();
+        }
+
+        String token = nextPageToken;
+        Mono<Long> totalResults = filter.isUnfiltered()
+                ? reactiveGameRepository.estimatedCount()
+                : reactiveGameRepository.countByFilter(filter);
+
+        return totalResults.map(total -> {
+            logger.info("Returning page of games");
+            ResponseEntity.BodyBuilder response = ResponseEntity.status(HttpStatus.OK).varyBy(pageVary())
+                    .contentType(format.getMediaType());
+            if (eTag != null) {
+                response.eTag(eTag);
+            }
+            return response.body(gameListWriter.writeGameList(games, offset, limit, total, token, format, fields));
+        });
+    }
+
+    private String[] pageVary() {
+        // Pages are sent compressed to other clients once compression is on, even if this one is plain
+        return compressedSnapshotCache.isEnabled()
+                ? new String[] {HttpHeaders.ACCEPT, HttpHeaders.ACCEPT_ENCODING}
+                : new String[] {HttpHeaders.ACCEPT};
+    }
+
+    private ResponseEntity compress(ResponseEntity response, String eTag, GameFormat format, long generation,
+                                    String snapshotKey, ContentEncoding encoding) {
+
+        if (snapshotKey == null || !(response.getBody() instanceof byte[])
+                || !compressedSnapshotCache.isLargeEnough((byte[]) response.getBody())) {
+            return response;
+        }
+
+        byte[] compressed = encoding.encode((byte[]) response.getBody());
+        compressedSnapshotCache.put(generation, snapshotKey, compressed);
+        logger.info("Compressed page of games");
+        return CompressedSnapshotCache.toResponse(eTag, format, encoding, compressed);
+    }
+
+    public Mono<ResponseEntity> get(String id, String ifNoneMatch) {
+        return get(id, ifNoneMatch, null);
+    }
+
+    public Mono<ResponseEntity> get(String id, String ifNoneMatch, String acceptEncoding) {
+        return get(id, GameFields.ALL, ifNoneMatch, acceptEncoding, GameFormat.JSON);
+    }
+
+    public Mono<ResponseEntity> get(String id, GameFields fields, String ifNoneMatch, String acceptEncoding,
+                                    GameFormat format) {
+
+        // A projected game is missing fields, so only whole games go into the cache
+        Game cached = gameCache.getIfPresent(id);
+        Mono<Game> game = cached != null
+                ? Mono.just(cached)
+                : fields.isAll()
+                ? Mono.defer(() -> {
+                    long invalidations = gameCache.invalidations();
+                    return reactiveGameRepository.findByGameId(id)
+                            .doOnNext(found -> gameCache.putIfCurrent(found, invalidations));
+                })
+                : reactiveGameRepository.findByGameId(id, fields);
+
+        return game.map(found -> {
+                    String eTag = format.eTag(ETags.forVersion(found.getVersion()));
+                    boolean serialized = format == GameFormat.JSON && fields.isAll();
+
+                    // A gzipped serialized body has its own tag, and either one means the client has this version
+                    String matched = serialized
+                            ? ETags.match(ifNoneMatch, eTag, ETags.forEncoding(eTag, ContentEncoding.GZIP))
+                            : ETags.match(ifNoneMatch, eTag);
+
+                    if (matched != null) {
+                        logger.info("Game unchanged since last request");
+                        ResponseEntity.HeadersBuilder<?> notModified =
+                                ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(matched);
+                        return (ResponseEntity) (serialized && gameResponseCache.isGzipEnabled()
+                                ? notModified.varyBy(HttpHeaders.ACCEPT, HttpHeaders.ACCEPT_ENCODING)
+                                : notModified.varyBy(HttpHeaders.ACCEPT)).build();
+                    }
+
+                    logger.info("Returning game");
+                    if (serialized) {
+                        return (ResponseEntity) gameResponseCache.get(found).toResponse(acceptEncoding);
+                    }
+                    return (ResponseEntity) ResponseEntity.status(HttpStatus.OK).eTag(eTag).varyBy(HttpHeaders.ACCEPT)
+                            .contentType(format.getMediaType())
+                            .body(gameListWriter.writeGame(found, format, fields));
+                })
+                .switchIfEmpty(Mono.fromSupplier(() -> {
+                    logger.info("No game returned");
+                    return status(HttpStatus.NOT_FOUND);
+                }))
+                .onErrorMap(ReactiveGameService::isDataError, e -> new DataException("Failed to retrieve game", e));
+    }
+
+    public Mono<ResponseEntity> search(String query, Integer limit) {
+
+        int resultLimit = limit == null ? searchConfig.getDefaultLimit() : limit;
+
+        if (query == null || query.trim().isEmpty() || resultLimit < 1 || resultLimit > searchConfig.getMaxLimit()) {
+            logger.info("Search query missing or limit outside of permitted range");
+            return Mono.just(status(HttpStatus.BAD_REQUEST));
+        }
+
+        Mono<List<SearchResult>> results = searchConfig.isInMemoryEnabled()
+                ? Mono.fromSupplier(() -> titleSearchIndex.search(query, resultLimit))
+                : reactiveGameRepository.searchTitles(query, resultLimit)
+                        .map(game -> new SearchResult(game.getGameId(), game.getTitle()))
+                        .collectList();
+
+        return results.map(items -> {
+                    SearchResponse searchResponse = new SearchResponse();
+                    searchResponse.setQuery(query);
+                    searchResponse.setItems(items);
+
+                    logger.info("Returning {} search results", items.size());
+                    return (ResponseEntity) ResponseEntity.status(HttpStatus.OK).body(searchResponse);
+                })
+                .onErrorMap(ReactiveGameService::isDataError, e -> new DataException("Failed to search games", e));
+    }
+
+    public Mono<ResponseEntity> facets() {
+
+        logger.info("Returning game facets");
+        return Mono.fromSupplier(() -> ResponseEntity.status(HttpStatus.OK).body(gameFacets.snapshot()));
+    }
+
+    public Mono<ResponseEntity> update(Game newGame, String developer, String id) {
+
+        return reactiveGameRepository.updateIfDeveloper(id, developer, newGame)
+                .flatMap(previous -> {
+                    gameCache.invalidate(id);
+                    gameResponseCache.invalidate(id);
+                    // The update bumped the stored version, so this title is for the one after previous
+                    indexTitle(id, newGame.getTitle(), previous.getVersion() + 1);
+                    gameFacets.replace(previous, newGame);
+                    logger.info("Game updated");
+                    return incrementGeneration().thenReturn(status(HttpStatus.NO_CONTENT));
+                })
+                .switchIfEmpty(Mono.defer(() -> notOwnedResponse(id, "update")))
+                .onErrorMap(ReactiveGameService::isDataError, e -> new DataException("Failed to update game", e));
+    }
+
+    public Mono<ResponseEntity> delete(String developer, String id) {
+
+        return reactiveGameRepository.deleteIfDeveloper(id, developer)
+                .flatMap(deleted -> {
+                    gameCache.invalidate(id);
+                    gameResponseCache.invalidate(id);
+                    if (searchConfig.isInMemoryEnabled()) {
+                        titleSearchIndex.remove(id);
+                    }
+                    gameFacets.remove(deleted);
+                    logger.info("Game deleted");
+                    return incrementGeneration().thenReturn(status(HttpStatus.NO_CONTENT));
+                })
+                .switchIfEmpty(Mono.defer(() -> notOwnedResponse(id, "delete")))
+                .onErrorMap(ReactiveGameService::isDataError, e -> new DataException("Failed to delete game", e));
+    }
+
+    private Mono<ResponseEntity> notOwnedResponse(String id, String action) {
+
+        // Only reached when the conditional write matched nothing - work out why
+        return reactiveGameRepository.existsById(id).map(exists -> {
+            if (!exists) {
+                logger.info("No game returned");
+                return status(HttpStatus.NOT_FOUND);
+            }
+
+            logger.info("Unauthorised developer - unable to {} game", action);
+            return status(HttpStatus.UNAUTHORIZED);
+        });
+    }
+
+    private void indexTitle(String id, String title, long version) {
+        if (searchConfig.isInMemoryEnabled()) {
+            titleSearchIndex.put(id, title, version);
+        }
+    }
+
+    private Mono<Void> incrementGeneration() {
+        // The write has committed by now, so a failed bump is recorded rather than failing the request
+        return Mono.defer(() -> {
+            long failedBefore = gamesGenerationTracker.beforeBump();
+            return reactiveCollectionGenerationRepository.incrementGeneration(CollectionGeneration.GAMES)
+                    .doOnSuccess(ignored -> gamesGenerationTracker.bumped(failedBefore))
+                    .onErrorResume(ReactiveGameService::isDataError, e -> {
+                        gamesGenerationTracker.bumpFailed(e);
+                        return Mono.empty();
+                    });
+        });
+    }
+
+    private Mono<Boolean> isGenerationStale() {
+        // A failed bump left the generation behind the data - try again before trusting it
+        return Mono.defer(() -> gamesGenerationTracker.isStale()
+                ? incrementGeneration().then(Mono.fromSupplier(gamesGenerationTracker::isStale))
+                : Mono.just(false));
+    }
+
+    private static ResponseEntity status(HttpStatus status) {
+        return ResponseEntity.status(status).build();
+    }
+
+    private static boolean isDataError(Throwable e) {
+        return e instanceof MongoException || e instanceof DataAccessException;
+    }
+
+    private String createUUID() {
+        UUID uuid = UUID.randomUUID();
+        return uuid.toString();
+    }
+}
@@ -0,0 +1,113 @@
+package com.cai.smith.videogameapi.service;
+
+import com.cai.smith.videogameapi.SearchConfig;
+import com.cai.smith.videogameapi.StartupConfig;
+import com.cai.smith.videogameapi.facet.GameFacets;
+import com.cai.smith.videogameapi.health.StartupHealthIndicator;
+import com.cai.smith.videogameapi.model.CollectionGeneration;
+import com.cai.smith.videogameapi.repository.CollectionGenerationRepository;
+import com.cai.smith.videogameapi.repository.GameRepository;
+import com.cai.smith.videogameapi.search.TitleSearchIndex;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+/**
+ * Brings the data the API depends on up to date at boot without wiping it. Every
+ * step runs in the background, retried with backoff until it succeeds, so boot never
+ * waits on Mongo: the developers already in Mongo are served as soon as they are
+ * read, then the developer list load and in-memory index builds follow, and the
+ * {@link StartupHealthIndicator} flips once they finish.
+ */
+@Component
+public class StartupDataLoader {
+
+    @Autowired
+    private DeveloperListLoader developerListLoader;
+
+    @Autowired
+    private GameRepository gameRepository;
+
+    @Autowired
+    private ApprovedDeveloperRegistry approvedDeveloperRegistry;
+
+    @Autowired
+    private CollectionGenerationRepository collectionGenerationRepository;
+
+    @Autowired
+    private StartupConfig startupConfig;
+
+    @Autowired
+    private SearchConfig searchConfig;
+
+    @Autowired
+    private TitleSearchIndex titleSearchIndex;
+
+    @Autowired
+    private GameFacets gameFacets;
+
+    @Autowired
+    private StartupHealthIndicator startupHealthIndicator;
+
+    private static final Logger logger =
+            LoggerFactory.getLogger(StartupDataLoader.class);
+
+    // Only the loader thread touches this - a reset is done once, not again on each retry
+    private boolean gamesReset;
+
+    public void start() {
+
+        Thread loader = new Thread(this::load, "startup-loader");
+        loader.setDaemon(true);
+        loader.start();
+    }
+
+    void load() {
+
+        long backoffMillis = startupConfig.getRetryBackoffMillis();
+        while (!loadOnce()) {
+            try {
+                Thread.sleep(backoffMillis);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+            backoffMillis = Math.min(backoffMillis * 2, startupConfig.getMaxRetryBackoffMillis());
+        }
+    }
+
+    boolean loadOnce() {
+
+        try {
+            if (startupConfig.isResetGames() && !gamesReset) {
+                logger.info("Reset requested - removing all games");
+                gameRepository.deleteAll();
+                collectionGenerationRepository.incrementGeneration(CollectionGeneration.GAMES);
+                gamesReset = true;
+            }
+
+            // Last known list from the previous run, so writes are authorised while the developer source is fetched
+            approvedDeveloperRegistry.refresh();
+
+            developerListLoader.load();
+
+            if (searchConfig.isInMemoryEnabled()) {
+                logger.info("Building title search index");
+                titleSearchIndex.rebuild(gameRepository::streamAll);
+            }
+
+            logger.info("Counting game facets");
+            gameFacets.rebuild(gameRepository::countByGenre, gameRepository::countByDeveloper,
+                    gameRepository::countByReleaseYear);
+
+            startupHealthIndicator.markReady();
+            logger.info("Startup data load complete");
+            return true;
+
+        } catch (RuntimeException e) {
+            logger.error("Startup data load failed - service will report not ready until a retry succeeds", e);
+            return false;
+        }
+    }
+}
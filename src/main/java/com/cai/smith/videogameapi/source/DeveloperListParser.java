@@ -0,0 +1,58 @@
+package com.cai.smith.videogameapi.source;
+
+import com.cai.smith.videogameapi.model.Developer;
+import com.cai.smith.videogameapi.model.Developers;
+import com.fasterxml.jackson.core.JsonParseException;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Reads {"developers": [...]} one element at a time, so only the developers
+ * themselves are held in memory - never a tree of the whole document.
+ */
+public final class DeveloperListParser {
+
+    private static final String DEVELOPERS_FIELD = "developers";
+
+    private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper()
+            .disable(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES);
+
+    private DeveloperListParser() {
+    }
+
+    public static Developers parse(InputStream inputStream) throws IOException {
+
+        List<Developer> developers = new ArrayList<>();
+
+        try (JsonParser parser = OBJECT_MAPPER.getFactory().createParser(inputStream)) {
+
+            if (parser.nextToken() != JsonToken.START_OBJECT) {
+                throw new JsonParseException(parser, "Expected developers object");
+            }
+
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                String field = parser.getCurrentName();
+                JsonToken value = parser.nextToken();
+
+                if (DEVELOPERS_FIELD.equals(field) && value == JsonToken.START_ARRAY) {
+                    while (parser.nextToken() == JsonToken.START_OBJECT) {
+                        developers.add(parser.readValueAs(Developer.class));
+                    }
+                } else {
+                    parser.skipChildren();
+                }
+            }
+        }
+
+        Developers result = new Developers();
+        result.setDevelopers(developers);
+        return result;
+    }
+}
@@ -0,0 +1,23 @@
+package com.cai.smith.videogameapi.source;
+
+import com.cai.smith.videogameapi.exception.FileDownloaderException;
+import com.cai.smith.videogameapi.model.Developers;
+
+/**
+ * Somewhere the approved developers list can be fetched from. Implementations
+ * remember the list last committed and make a conditional request, so polling an
+ * unchanged list is cheap. A fetched list is only remembered once the caller has
+ * applied it and calls {@link #commit()}, so a failed apply is fetched again.
+ */
+public interface DeveloperSource {
+
+    /**
+     * @return the current list, or null if it has not changed since the last commit
+     */
+    Developers fetchIfChanged() throws FileDownloaderException;
+
+    /**
+     * Marks the list last returned by {@link #fetchIfChanged()} as applied.
+     */
+    void commit();
+}
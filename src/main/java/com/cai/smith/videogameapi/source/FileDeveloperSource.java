@@ -0,0 +1,72 @@
+package com.cai.smith.videogameapi.source;
+
+import com.cai.smith.videogameapi.DeveloperSourceConfig;
+import com.cai.smith.videogameapi.exception.FileDownloaderException;
+import com.cai.smith.videogameapi.model.Developers;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.attribute.FileTime;
+
+/**
+ * Reads the developers list from the local file system, for running without S3.
+ * The file is only re-read when its modification time differs from the last one applied.
+ */
+@Component
+@ConditionalOnProperty(name = DeveloperSourceConfig.TYPE_PROPERTY, havingValue = DeveloperSourceConfig.FILE_TYPE)
+public class FileDeveloperSource implements DeveloperSource {
+
+    private static final Logger logger =
+            LoggerFactory.getLogger(FileDeveloperSource.class);
+
+    @Autowired
+    private DeveloperSourceConfig developerSourceConfig;
+
+    private FileTime lastModified;
+
+    private FileTime fetchedModified;
+
+    @Override
+    public synchronized Developers fetchIfChanged() throws FileDownloaderException {
+
+        Path path = Paths.get(developerSourceConfig.getFilePath());
+
+        try {
+            FileTime modified = Files.getLastModifiedTime(path);
+
+            if (modified.equals(lastModified)) {
+                logger.info("Developers file unchanged since {}", lastModified);
+                return null;
+            }
+
+            Developers developers;
+            try (InputStream inputStream = Files.newInputStream(path)) {
+                developers = DeveloperListParser.parse(inputStream);
+            }
+            fetchedModified = modified;
+
+            logger.info("Read developers file {}", path);
+            return developers;
+
+        } catch (IOException e) {
+            logger.error("Failed to read developers file {}", path, e);
+            throw new FileDownloaderException(e);
+        }
+    }
+
+    @Override
+    public synchronized void commit() {
+        if (fetchedModified != null) {
+            lastModified = fetchedModified;
+            fetchedModified = null;
+        }
+    }
+}
@@ -0,0 +1,89 @@
+package com.cai.smith.videogameapi.source;
+
+import com.amazonaws.SdkClientException;
+import com.amazonaws.auth.AWSStaticCredentialsProvider;
+import com.amazonaws.auth.BasicAWSCredentials;
+import com.amazonaws.services.s3.AmazonS3;
+import com.amazonaws.services.s3.AmazonS3ClientBuilder;
+import com.amazonaws.services.s3.model.AmazonS3Exception;
+import com.amazonaws.services.s3.model.GetObjectRequest;
+import com.amazonaws.services.s3.model.S3Object;
+import com.cai.smith.videogameapi.AwsConfig;
+import com.cai.smith.videogameapi.DeveloperSourceConfig;
+import com.cai.smith.videogameapi.exception.FileDownloaderException;
+import com.cai.smith.videogameapi.model.Developers;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import javax.annotation.PostConstruct;
+import java.io.IOException;
+
+@Component
+@ConditionalOnProperty(name = DeveloperSourceConfig.TYPE_PROPERTY, havingValue = DeveloperSourceConfig.S3_TYPE,
+        matchIfMissing = true)
+public class S3DeveloperSource implements DeveloperSource {
+
+    private static final Logger logger =
+            LoggerFactory.getLogger(S3DeveloperSource.class);
+
+    @Autowired
+    private AwsConfig awsConfig;
+
+    private AmazonS3 s3Client;
+
+    private String lastETag;
+
+    private String fetchedETag;
+
+    @PostConstruct
+    public void init() {
+        BasicAWSCredentials awsCreds = new BasicAWSCredentials(awsConfig.getAccessKey(), awsConfig.getSecretAccessKey());
+
+        s3Client = AmazonS3ClientBuilder.standard().withRegion(awsConfig.getRegion())
+                .withCredentials(new AWSStaticCredentialsProvider(awsCreds))
+                .build();
+    }
+
+    @Override
+    public synchronized Developers fetchIfChanged() throws FileDownloaderException {
+
+        GetObjectRequest request = new GetObjectRequest(awsConfig.getBucketName(), awsConfig.getFileName());
+        if (lastETag != null) {
+            request.withNonmatchingETagConstraint(lastETag);
+        }
+
+        logger.info("Attempting to download file from S3");
+        try (S3Object object = s3Client.getObject(request)) {
+
+            // The client answers a 304 Not Modified with no object
+            if (object == null) {
+                logger.info("Developers file unchanged since ETag {}", lastETag);
+                return null;
+            }
+
+            Developers developers = DeveloperListParser.parse(object.getObjectContent());
+            fetchedETag = object.getObjectMetadata().getETag();
+
+            logger.info("File download complete");
+            return developers;
+
+        } catch (IOException | AmazonS3Exception e) {
+            logger.error("Failed to download file from S3", e);
+            throw new FileDownloaderException(e);
+        } catch (SdkClientException sdkEx) {
+            logger.error("SDK exception thrown when attempting to download file");
+            throw new FileDownloaderException(sdkEx);
+        }
+    }
+
+    @Override
+    public synchronized void commit() {
+        if (fetchedETag != null) {
+            lastETag = fetchedETag;
+            fetchedETag = null;
+        }
+    }
+}
@@ -0,0 +1,31 @@
+package com.cai.smith.videogameapi.utility;
+
+import org.springframework.web.context.request.async.AsyncWebRequest;
+import org.springframework.web.context.request.async.WebAsyncUtils;
+
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+
+/**
+ * Per-request timeouts for async processing that has no timeout of its own, such
+ * as a StreamingResponseBody. Spring gives every such request the global
+ * spring.mvc.async.request-timeout, so one long-running endpoint would otherwise
+ * force that timeout onto all of them.
+ */
+public final class AsyncTimeouts {
+
+    private AsyncTimeouts() {
+    }
+
+    /**
+     * Sets the timeout of the async processing the current handler is about to
+     * start. Must be called from the handler method, before it returns.
+     */
+    public static void set(HttpServletRequest request, HttpServletResponse response, long timeoutMillis) {
+
+        // The handler adapter registered its own async request, with the global timeout, just before the handler ran
+        AsyncWebRequest asyncWebRequest = WebAsyncUtils.createAsyncWebRequest(request, response);
+        asyncWebRequest.setTimeout(timeoutMillis);
+        WebAsyncUtils.getAsyncManager(request).setAsyncWebRequest(asyncWebRequest);
+    }
+}
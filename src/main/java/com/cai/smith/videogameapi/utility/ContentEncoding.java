@@ -0,0 +1,104 @@
+package com.cai.smith.videogameapi.utility;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.util.zip.DeflaterOutputStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * The compressed content codings the API writes itself. Deflate is the zlib
+ * format, which is what HTTP means by deflate.
+ */
+public enum ContentEncoding {
+
+    GZIP("gzip"),
+    DEFLATE("deflate");
+
+    private final String token;
+
+    ContentEncoding(String token) {
+        this.token = token;
+    }
+
+    public String getToken() {
+        return token;
+    }
+
+    /**
+     * A stream that compresses into the target and flushes everything written so
+     * far on flush, so a streamed body still reaches the client as it is written.
+     */
+    public DeflaterOutputStream wrap(OutputStream target) throws IOException {
+        return this == GZIP ? new GZIPOutputStream(target, true) : new DeflaterOutputStream(target, true);
+    }
+
+    public byte[] encode(byte[] body) {
+
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(body.length / 4);
+        try (DeflaterOutputStream out = wrap(bytes)) {
+            out.write(body);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return bytes.toByteArray();
+    }
+
+    public boolean isAcceptedBy(String acceptEncoding) {
+        return quality(acceptEncoding) > 0;
+    }
+
+    /**
+     * The accepted coding with the highest quality, gzip on a tie, or null when
+     * the client accepts neither.
+     */
+    public static ContentEncoding negotiate(String acceptEncoding) {
+
+        float gzip = GZIP.quality(acceptEncoding);
+        float deflate = DEFLATE.quality(acceptEncoding);
+
+        if (gzip == 0 && deflate == 0) {
+            return null;
+        }
+        return gzip >= deflate ? GZIP : DEFLATE;
+    }
+
+    private float quality(String acceptEncoding) {
+
+        if (acceptEncoding == null) {
+            return 0;
+        }
+
+        float wildcard = 0;
+
+        for (String coding : acceptEncoding.split(",")) {
+            String[] parts = coding.trim().split(";");
+            String name = parts[0].trim();
+            float quality = parseQuality(parts);
+
+            if (token.equalsIgnoreCase(name)) {
+                return quality;
+            }
+            if ("*".equals(name)) {
+                wildcard = quality;
+            }
+        }
+        return wildcard;
+    }
+
+    private static float parseQuality(String[] parts) {
+
+        for (int i = 1; i < parts.length; i++) {
+            String parameter = parts[i].trim();
+            if (parameter.startsWith("q=")) {
+                try {
+                    return Float.parseFloat(parameter.substring(2));
+                } catch (NumberFormatException e) {
+                    return 0;
+                }
+            }
+        }
+        return 1;
+    }
+}
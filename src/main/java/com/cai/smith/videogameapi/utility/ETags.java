@@ -0,0 +1,96 @@
+package com.cai.smith.videogameapi.utility;
+
+public final class ETags {
+
+    private static final String WEAK_PREFIX = "W/";
+
+    private ETags() {
+    }
+
+    public static String forVersion(long version) {
+        return "\"v" + version + "\"";
+    }
+
+    public static String forGeneration(long generation) {
+        return "\"g" + generation + "\"";
+    }
+
+    /**
+     * Marks a variant of an entity tag, e.g. "v3" becomes "v3-cbor".
+     */
+    public static String withSuffix(String etag, String suffix) {
+        return etag.substring(0, etag.length() - 1) + "-" + suffix + "\"";
+    }
+
+    /**
+     * The tag of a body sent with a content coding, which is a different
+     * representation of the same version, e.g. "v3" becomes "v3-gzip".
+     */
+    public static String forEncoding(String etag, ContentEncoding encoding) {
+        return withSuffix(etag, encoding.getToken());
+    }
+
+    /**
+     * The weak form of a tag, for a body that may be re-coded on the way out and so
+     * cannot promise to be byte for byte the one the strong tag names.
+     */
+    public static String weaken(String etag) {
+        return etag.startsWith(WEAK_PREFIX) ? etag : WEAK_PREFIX + etag;
+    }
+
+    /**
+     * The first of the tags that If-None-Match matches, or null when none do.
+     */
+    public static String match(String ifNoneMatch, String... etags) {
+
+        for (String etag : etags) {
+            if (matches(ifNoneMatch, etag)) {
+                return etag;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * The first of the tag and its content-coded variants that If-None-Match
+     * matches, or null when none do.
+     */
+    public static String matchAnyEncoding(String ifNoneMatch, String etag) {
+
+        if (matches(ifNoneMatch, etag)) {
+            return etag;
+        }
+        for (ContentEncoding encoding : ContentEncoding.values()) {
+            String encoded = forEncoding(etag, encoding);
+            if (matches(ifNoneMatch, encoded)) {
+                return encoded;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * If-None-Match uses the weak comparison, so a W/ prefix on either side is ignored.
+     */
+    public static boolean matches(String ifNoneMatch, String etag) {
+
+        if (ifNoneMatch == null || etag == null) {
+            return false;
+        }
+
+        String target = stripWeak(etag);
+
+        for (String candidate : ifNoneMatch.split(",")) {
+            String tag = candidate.trim();
+
+            if ("*".equals(tag) || stripWeak(tag).equals(target)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static String stripWeak(String tag) {
+        return tag.startsWith(WEAK_PREFIX) ? tag.substring(WEAK_PREFIX.length()) : tag;
+    }
+}
@@ -0,0 +1,54 @@
+package com.cai.smith.videogameapi.utility;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+/**
+ * Opaque continuation token for keyset paging. Carries the start index of the next
+ * page and the id of the last game returned, so the next page can seek on the _id
+ * index instead of skipping.
+ */
+public final class PageToken {
+
+    private static final String SEPARATOR = ":";
+
+    private final int startIndex;
+
+    private final String lastGameId;
+
+    public PageToken(int startIndex, String lastGameId) {
+        this.startIndex = startIndex;
+        this.lastGameId = lastGameId;
+    }
+
+    public int getStartIndex() {
+        return startIndex;
+    }
+
+    public String getLastGameId() {
+        return lastGameId;
+    }
+
+    public String encode() {
+        String raw = startIndex + SEPARATOR + lastGameId;
+        return Base64.getUrlEncoder().withoutPadding()
+                .encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static PageToken decode(String token) {
+
+        String raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+        int separator = raw.indexOf(SEPARATOR);
+
+        if (separator <= 0 || separator == raw.length() - 1) {
+            throw new IllegalArgumentException("Malformed page token");
+        }
+
+        int startIndex = Integer.parseInt(raw.substring(0, separator));
+        if (startIndex < 0) {
+            throw new IllegalArgumentException("Malformed page token");
+        }
+
+        return new PageToken(startIndex, raw.substring(separator + 1));
+    }
+}
@@ -0,0 +1,54 @@
+package com.cai.smith.videogameapi.utility;
+
+import java.io.ByteArrayOutputStream;
+import java.io.FilterOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+
+/**
+ * Passes writes straight through to the target and keeps a copy of them, until
+ * the copy would grow past a limit - after that it is dropped and only the
+ * target is written.
+ */
+public class RecordingOutputStream extends FilterOutputStream {
+
+    private final long limit;
+
+    private ByteArrayOutputStream recording = new ByteArrayOutputStream();
+
+    public RecordingOutputStream(OutputStream target, long limit) {
+        super(target);
+        this.limit = limit;
+    }
+
+    @Override
+    public void write(int b) throws IOException {
+        out.write(b);
+        record(new byte[] {(byte) b}, 0, 1);
+    }
+
+    @Override
+    public void write(byte[] b, int off, int len) throws IOException {
+        out.write(b, off, len);
+        record(b, off, len);
+    }
+
+    /**
+     * Everything written, or null if it outgrew the limit.
+     */
+    public byte[] getRecording() {
+        return recording == null ? null : recording.toByteArray();
+    }
+
+    private void record(byte[] b, int off, int len) {
+
+        if (recording == null) {
+            return;
+        }
+        if (recording.size() + (long) len > limit) {
+            recording = null;
+            return;
+        }
+        recording.write(b, off, len);
+    }
+}
@@ -0,0 +1,74 @@
+package com.cai.smith.videogameapi;
+
+import org.apache.coyote.Request;
+import org.apache.coyote.Response;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.http.HttpHeaders;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+public class TomcatConfigTest {
+
+    private TomcatConfig.CodingAwareHttp11NioProtocol protocol;
+
+    @BeforeEach
+    void setUp() {
+        protocol = new TomcatConfig.CodingAwareHttp11NioProtocol();
+        protocol.setCompression("on");
+        protocol.setCompressibleMimeType("application/json");
+        protocol.setCompressionMinSize(1024);
+    }
+
+    @Test
+    @DisplayName("Tests a body the api has already deflated is not gzipped again")
+    void codedBodyLeftAlone() {
+
+        Response response = jsonResponse(acceptingGzip());
+        response.setHeader(HttpHeaders.CONTENT_ENCODING, "deflate");
+        response.setHeader(HttpHeaders.ETAG, "\"g7-deflate\"");
+
+        assertFalse(protocol.useCompression(response.getRequest(), response));
+        assertEquals("\"g7-deflate\"", response.getMimeHeaders().getHeader(HttpHeaders.ETAG));
+    }
+
+    @Test
+    @DisplayName("Tests a body the container gzips is sent under a weak ETag")
+    void compressedBodyWeakened() {
+
+        Response response = jsonResponse(acceptingGzip());
+
+        assertTrue(protocol.useCompression(response.getRequest(), response));
+        assertEquals("W/\"g7\"", response.getMimeHeaders().getHeader(HttpHeaders.ETAG));
+    }
+
+    @Test
+    @DisplayName("Tests a body sent uncompressed keeps its strong ETag")
+    void uncompressedBodyKeepsTag() {
+
+        Response response = jsonResponse(new Request());
+
+        assertFalse(protocol.useCompression(response.getRequest(), response));
+        assertEquals("\"g7\"", response.getMimeHeaders().getHeader(HttpHeaders.ETAG));
+    }
+
+    private static Request acceptingGzip() {
+        Request request = new Request();
+        request.getMimeHeaders().addValue(HttpHeaders.ACCEPT_ENCODING).setString("deflate, gzip;q=0.5");
+        return request;
+    }
+
+    private static Response jsonResponse(Request request) {
+        Response response = new Response();
+        response.setRequest(request);
+        response.setContentType("application/json");
+        response.setContentLength(4096);
+        response.setHeader(HttpHeaders.ETAG, "\"g7\"");
+        return response;
+    }
+}
@@ -0,0 +1,95 @@
+package com.cai.smith.videogameapi.cache;
+
+import com.cai.smith.videogameapi.CompressionConfig;
+import com.cai.smith.videogameapi.utility.ContentEncoding;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Spy;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@ExtendWith(MockitoExtension.class)
+@TestInstance(TestInstance.Lifecycle.PER_METHOD)
+public class CompressedSnapshotCacheTest {
+
+    @Spy
+    private CompressionConfig compressionConfig = new CompressionConfig();
+
+    @Spy
+    private MeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @InjectMocks
+    private CompressedSnapshotCache compressedSnapshotCache;
+
+    @BeforeEach
+    void setUp() {
+        compressionConfig.setEnabled(true);
+        compressionConfig.setMinBytes(4);
+        compressionConfig.setSnapshotMaximumBytes(16);
+        compressedSnapshotCache.init();
+    }
+
+    @Test
+    @DisplayName("Tests a snapshot is returned for the generation it was taken in")
+    void getSameGeneration() {
+
+        byte[] snapshot = {1, 2, 3};
+
+        compressedSnapshotCache.put(1, "export:GZIP", snapshot);
+
+        assertSame(snapshot, compressedSnapshotCache.get(1, "export:GZIP"));
+        assertNull(compressedSnapshotCache.get(1, "export:DEFLATE"));
+    }
+
+    @Test
+    @DisplayName("Tests a newer generation drops older snapshots and an older one is never stored")
+    void newerGenerationInvalidates() {
+
+        compressedSnapshotCache.put(1, "export:GZIP", new byte[] {1});
+
+        assertNull(compressedSnapshotCache.get(2, "export:GZIP"));
+
+        compressedSnapshotCache.put(1, "export:GZIP", new byte[] {1});
+
+        assertNull(compressedSnapshotCache.get(1, "export:GZIP"));
+        assertNull(compressedSnapshotCache.get(2, "export:GZIP"));
+    }
+
+    @Test
+    @DisplayName("Tests a snapshot larger than the byte limit is not kept")
+    void putTooLarge() {
+
+        compressedSnapshotCache.put(1, "export:GZIP", new byte[17]);
+
+        assertNull(compressedSnapshotCache.get(1, "export:GZIP"));
+    }
+
+    @Test
+    @DisplayName("Tests encoding is only negotiated when compression is enabled")
+    void encodingFor() {
+
+        assertEquals(ContentEncoding.GZIP, compressedSnapshotCache.encodingFor("gzip, deflate"));
+
+        compressionConfig.setEnabled(false);
+
+        assertNull(compressedSnapshotCache.encodingFor("gzip, deflate"));
+    }
+
+    @Test
+    @DisplayName("Tests bodies below the minimum size are left uncompressed")
+    void isLargeEnough() {
+        assertFalse(compressedSnapshotCache.isLargeEnough(new byte[3]));
+        assertTrue(compressedSnapshotCache.isLargeEnough(new byte[4]));
+    }
+}
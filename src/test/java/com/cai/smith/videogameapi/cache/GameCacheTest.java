@@ -0,0 +1,128 @@
+package com.cai.smith.videogameapi.cache;
+
+import com.cai.smith.videogameapi.CacheConfig;
+import com.cai.smith.videogameapi.model.Game;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Spy;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+@ExtendWith(MockitoExtension.class)
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+public class GameCacheTest {
+
+    @Spy
+    private CacheConfig cacheConfig = new CacheConfig();
+
+    @Spy
+    private MeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @InjectMocks
+    private GameCache gameCache;
+
+    private static final String ID = "id";
+
+    @BeforeEach
+    void setUp() {
+        gameCache.init();
+    }
+
+    @Test
+    @DisplayName("Tests repeated gets only load once")
+    void getLoadsOnce() {
+
+        Game game = createGame();
+        AtomicInteger loads = new AtomicInteger();
+
+        gameCache.get(ID, id -> {
+            loads.incrementAndGet();
+            return game;
+        });
+        Game cached = gameCache.get(ID, id -> {
+            loads.incrementAndGet();
+            return game;
+        });
+
+        assertSame(game, cached);
+        assertEquals(1, loads.get());
+        assertEquals(1, gameCache.stats().hitCount());
+        assertEquals(1, gameCache.stats().missCount());
+    }
+
+    @Test
+    @DisplayName("Tests invalidate forces the next get to reload")
+    void invalidate() {
+
+        Game game = createGame();
+        gameCache.put(game);
+
+        gameCache.invalidate(ID);
+
+        assertNull(gameCache.get(ID, id -> null));
+    }
+
+    @Test
+    @DisplayName("Tests put refreshes the cached entry")
+    void put() {
+
+        Game game = createGame();
+        gameCache.put(game);
+
+        assertSame(game, gameCache.get(ID, id -> null));
+    }
+
+    @Test
+    @DisplayName("Tests a read that an invalidate overtook is not cached")
+    void putIfCurrentAfterInvalidate() {
+
+        long invalidations = gameCache.invalidations();
+        Game stale = createGame();
+
+        gameCache.invalidate(ID);
+        gameCache.putIfCurrent(stale, invalidations);
+
+        assertNull(gameCache.getIfPresent(ID));
+    }
+
+    @Test
+    @DisplayName("Tests a read never replaces a newer cached version")
+    void putIfCurrentKeepsNewerVersion() {
+
+        Game newer = createGame();
+        newer.setVersion(2);
+        Game older = createGame();
+        older.setVersion(1);
+        gameCache.put(newer);
+
+        gameCache.putIfCurrent(older, gameCache.invalidations());
+
+        assertSame(newer, gameCache.getIfPresent(ID));
+
+        Game newest = createGame();
+        newest.setVersion(3);
+        gameCache.putIfCurrent(newest, gameCache.invalidations());
+
+        assertSame(newest, gameCache.getIfPresent(ID));
+    }
+
+    private Game createGame() {
+        Game game = new Game();
+
+        game.setGameId(ID);
+        game.setTitle("title");
+
+        return game;
+    }
+}
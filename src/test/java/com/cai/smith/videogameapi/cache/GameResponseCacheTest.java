@@ -0,0 +1,155 @@
+package com.cai.smith.videogameapi.cache;
+
+import com.cai.smith.videogameapi.CacheConfig;
+import com.cai.smith.videogameapi.mapper.ResponseMapper;
+import com.cai.smith.videogameapi.model.Game;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Spy;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.zip.GZIPInputStream;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+@ExtendWith(MockitoExtension.class)
+@TestInstance(TestInstance.Lifecycle.PER_METHOD)
+public class GameResponseCacheTest {
+
+    @Spy
+    private CacheConfig cacheConfig = new CacheConfig();
+
+    @Spy
+    private ResponseMapper responseMapper = new ResponseMapper();
+
+    @Spy
+    private ObjectMapper objectMapper = new ObjectMapper().registerModule(new JavaTimeModule());
+
+    @Spy
+    private MeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @InjectMocks
+    private GameResponseCache gameResponseCache;
+
+    @BeforeEach
+    void setUp() {
+        gameResponseCache.init();
+    }
+
+    @Test
+    @DisplayName("Tests a repeated get for the same version reuses the serialized bytes")
+    void getSameVersion() throws IOException {
+
+        Game game = createGame(1);
+
+        SerializedGame first = gameResponseCache.get(game);
+        SerializedGame second = gameResponseCache.get(game);
+
+        assertSame(first, second);
+        assertEquals("\"v1\"", first.getETag());
+        assertEquals("Halo", objectMapper.readTree(first.getJson()).get("title").asText());
+        verify(responseMapper, times(1)).mapGameResponse(any());
+    }
+
+    @Test
+    @DisplayName("Tests a new version is serialized again")
+    void getNewVersion() {
+
+        SerializedGame first = gameResponseCache.get(createGame(1));
+        SerializedGame second = gameResponseCache.get(createGame(2));
+
+        assertNotSame(first, second);
+        assertEquals(2, second.getVersion());
+        assertSame(second, gameResponseCache.get(createGame(2)));
+    }
+
+    @Test
+    @DisplayName("Tests an older version does not replace a newer entry")
+    void getOlderVersion() {
+
+        SerializedGame newer = gameResponseCache.get(createGame(2));
+        gameResponseCache.get(createGame(1));
+
+        assertSame(newer, gameResponseCache.get(createGame(2)));
+    }
+
+    @Test
+    @DisplayName("Tests invalidate drops the entry")
+    void invalidate() {
+
+        SerializedGame first = gameResponseCache.get(createGame(1));
+        gameResponseCache.invalidate("id");
+
+        assertNotSame(first, gameResponseCache.get(createGame(1)));
+    }
+
+    @Test
+    @DisplayName("Tests gzip is only kept when enabled and the body is large enough")
+    void gzip() throws IOException {
+
+        assertNull(gameResponseCache.get(createGame(1)).getGzip());
+
+        cacheConfig.setGzipSerialized(true);
+        cacheConfig.setGzipMinBytes(0);
+        SerializedGame serialized = gameResponseCache.get(createGame(2));
+
+        assertArrayEquals(serialized.getJson(), gunzip(serialized.getGzip()));
+    }
+
+    @Test
+    @DisplayName("Tests Accept-Encoding parsing honours q=0")
+    void acceptsGzip() {
+
+        assertTrue(SerializedGame.acceptsGzip("gzip"));
+        assertTrue(SerializedGame.acceptsGzip("deflate, GZIP;q=0.8"));
+        assertFalse(SerializedGame.acceptsGzip("gzip;q=0"));
+        assertFalse(SerializedGame.acceptsGzip("br, deflate"));
+        assertFalse(SerializedGame.acceptsGzip(null));
+    }
+
+    private Game createGame(long version) {
+        Game game = new Game();
+        game.setGameId("id");
+        game.setTitle("Halo");
+        game.setReleaseDate(LocalDate.of(2001, 11, 15));
+        game.setGenres(Arrays.asList("Action", "Sci-fi"));
+        game.setDeveloper("Bungie");
+        game.setVersion(version);
+        return game;
+    }
+
+    private static byte[] gunzip(byte[] gzip) throws IOException {
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (GZIPInputStream in = new GZIPInputStream(new ByteArrayInputStream(gzip))) {
+            byte[] buffer = new byte[512];
+            int read;
+            while ((read = in.read(buffer)) != -1) {
+                out.write(buffer, 0, read);
+            }
+        }
+        return out.toByteArray();
+    }
+}
@@ -0,0 +1,27 @@
+package com.cai.smith.videogameapi.controller;
+
+import com.cai.smith.videogameapi.exception.DataException;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.mock.web.MockHttpServletRequest;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+public class DataExceptionHandlerTest {
+
+    private final DataExceptionHandler dataExceptionHandler = new DataExceptionHandler();
+
+    @Test
+    @DisplayName("Tests a data exception is answered with bad request")
+    void handle() {
+
+        ResponseEntity returnedResponse = dataExceptionHandler.handle(
+                new DataException("failed", new RuntimeException()), new MockHttpServletRequest("GET", "/games"));
+
+        assertEquals(HttpStatus.BAD_REQUEST, returnedResponse.getStatusCode());
+    }
+}
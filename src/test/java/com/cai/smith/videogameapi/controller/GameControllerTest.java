@@ -1,19 +1,31 @@
 package com.cai.smith.videogameapi.controller;
 
+import com.cai.smith.videogameapi.ExportConfig;
 import com.cai.smith.videogameapi.exception.DataException;
+import com.cai.smith.videogameapi.mapper.GameFormat;
 import com.cai.smith.videogameapi.model.Game;
+import com.cai.smith.videogameapi.model.GameFields;
+import com.cai.smith.videogameapi.model.GameFilter;
 import com.cai.smith.videogameapi.model.response.GameResponse;
 import com.cai.smith.videogameapi.model.response.GameResponseList;
 import com.cai.smith.videogameapi.service.GameService;
+import com.cai.smith.videogameapi.service.GameServiceExecutor;
+import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.TestInstance;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.web.context.request.async.DeferredResult;
 
 import java.time.LocalDate;
 import java.util.ArrayList;
@@ -21,6 +33,14 @@ import java.util.List;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyZeroInteractions;
 import static org.mockito.Mockito.when;
 
 @ExtendWith(MockitoExtension.class)
@@ -39,6 +59,9 @@ public class GameControllerTest {
     @Mock
     private DataException mockDataException;
 
+    @Spy
+    private ExportConfig exportConfig = new ExportConfig();
+
     @InjectMocks
     private GameController gameController;
 
@@ -46,86 +69,192 @@ public class GameControllerTest {
     private static final String DEVELOPER = "developer";
     private static final LocalDate RELEASE_DATE = LocalDate.of(2019, 01, 01);
 
+    @AfterEach
+    void tearDown() {
+        // Not a mock field, so it would otherwise outlive the test that set it
+        ReflectionTestUtils.setField(gameController, "gameServiceExecutor", null);
+    }
+
     @Test
     @DisplayName("Tests successful create")
     void create() throws DataException {
 
         Game game = createGame();
 
-        when(mockGameService.create(game))
+        when(mockGameService.create(game, "key"))
                 .thenReturn(ResponseEntity.status(HttpStatus.CREATED)
                         .body(mockGameResponse));
 
-        ResponseEntity returnedResponse = gameController.create(game);
+        ResponseEntity returnedResponse = (ResponseEntity) gameController.create(game, "key");
 
         assertNotNull(returnedResponse);
         assertEquals(HttpStatus.CREATED, returnedResponse.getStatusCode());
     }
 
     @Test
-    @DisplayName("Test create throws exception")
+    @DisplayName("Tests create leaves a data exception to DataExceptionHandler")
     void createException() throws DataException {
 
         Game game = createGame();
 
-        when(mockGameService.create(game)).thenThrow(mockDataException);
+        when(mockGameService.create(game, null)).thenThrow(mockDataException);
 
-        ResponseEntity returnedResponse = gameController.create(game);
+        assertThrows(DataException.class, () -> gameController.create(game, null));
+    }
+
+    @Test
+    @DisplayName("Tests successful batch create")
+    void createBatch() throws DataException {
+
+        List<Game> games = new ArrayList<>();
+        games.add(createGame());
+
+        when(mockGameService.createBatch(games))
+                .thenReturn(ResponseEntity.status(HttpStatus.OK).build());
+
+        ResponseEntity returnedResponse = (ResponseEntity) gameController.createBatch(games);
 
         assertNotNull(returnedResponse);
-        assertEquals(HttpStatus.BAD_REQUEST, returnedResponse.getStatusCode());
+        assertEquals(HttpStatus.OK, returnedResponse.getStatusCode());
     }
 
     @Test
     @DisplayName("Tests successful getAll")
     void getAll() throws DataException {
 
-        when(mockGameService.getAll())
+        when(mockGameService.getAll(isNull(), isNull(), isNull(), any(GameFilter.class), eq(GameFields.ALL), isNull(), eq(GameFormat.JSON), isNull()))
                 .thenReturn(ResponseEntity.status(HttpStatus.OK)
                         .body(mockGameResponseList));
 
-        ResponseEntity returnedResponse = gameController.getAll();
+        ResponseEntity returnedResponse = (ResponseEntity) gameController.getAll(null, null, null, null, null, null, null, null, null, null, null, null, null);
 
         assertNotNull(returnedResponse);
         assertEquals(HttpStatus.OK, returnedResponse.getStatusCode());
     }
 
     @Test
-    @DisplayName("Test getAll throws exception")
+    @DisplayName("Tests getAll rejects an unsupported sort")
+    void getAllInvalidFilter() throws DataException {
+
+        ResponseEntity returnedResponse = (ResponseEntity) gameController.getAll(null, null, null, null, null, null, null, null, "rating", null, null, null, null);
+
+        assertNotNull(returnedResponse);
+        assertEquals(HttpStatus.BAD_REQUEST, returnedResponse.getStatusCode());
+    }
+
+    @Test
+    @DisplayName("Tests getAll and get reject an unknown field")
+    void getInvalidFields() throws DataException {
+
+        ResponseEntity returnedResponse = (ResponseEntity) gameController.getAll(null, null, null, null, null, null, null, null, null, "id,rating", null, null, null);
+        ResponseEntity returnedGame = (ResponseEntity) gameController.get("id", "rating", null, null, null);
+
+        assertEquals(HttpStatus.BAD_REQUEST, returnedResponse.getStatusCode());
+        assertEquals(HttpStatus.BAD_REQUEST, returnedGame.getStatusCode());
+        verifyZeroInteractions(mockGameService);
+    }
+
+    @Test
+    @DisplayName("Tests getAll leaves a data exception to DataExceptionHandler")
     void getAllException() throws DataException {
 
-        when(mockGameService.getAll()).thenThrow(mockDataException);
+        when(mockGameService.getAll(isNull(), isNull(), isNull(), any(GameFilter.class), eq(GameFields.ALL), isNull(), eq(GameFormat.JSON), isNull())).thenThrow(mockDataException);
+
+        assertThrows(DataException.class, () -> gameController.getAll(null, null, null, null, null, null, null, null, null, null, null, null, null));
+    }
 
-        ResponseEntity returnedResponse = gameController.getAll();
+    @Test
+    @DisplayName("Tests successful export")
+    void export() throws DataException {
+
+        when(mockGameService.export(null))
+                .thenReturn(ResponseEntity.status(HttpStatus.OK)
+                        .body(outputStream -> { }));
+
+        ResponseEntity returnedResponse = gameController.export(null, new MockHttpServletRequest(), new MockHttpServletResponse());
 
         assertNotNull(returnedResponse);
-        assertEquals(HttpStatus.BAD_REQUEST, returnedResponse.getStatusCode());
+        assertEquals(HttpStatus.OK, returnedResponse.getStatusCode());
+    }
+
+    @Test
+    @DisplayName("Tests export leaves a data exception to DataExceptionHandler")
+    void exportException() throws DataException {
+
+        when(mockGameService.export(null)).thenThrow(mockDataException);
+
+        assertThrows(DataException.class, () -> gameController.export(null, new MockHttpServletRequest(), new MockHttpServletResponse()));
     }
 
     @Test
     @DisplayName("Tests successful get")
     void get() throws DataException {
 
-        when(mockGameService.get("id"))
+        when(mockGameService.get("id", GameFields.ALL, null, null, GameFormat.JSON))
                 .thenReturn(ResponseEntity.status(HttpStatus.OK)
                         .body(mockGameResponse));
 
-        ResponseEntity returnedResponse = gameController.get("id");
+        ResponseEntity returnedResponse = (ResponseEntity) gameController.get("id", null, null, null, null);
+
+        assertNotNull(returnedResponse);
+        assertEquals(HttpStatus.OK, returnedResponse.getStatusCode());
+    }
+
+    @Test
+    @DisplayName("Tests get passes on the format negotiated from the Accept header")
+    void getNegotiatesFormat() throws DataException {
+
+        when(mockGameService.get("id", GameFields.ALL, null, null, GameFormat.CBOR))
+                .thenReturn(ResponseEntity.status(HttpStatus.OK).build());
+
+        ResponseEntity returnedResponse = (ResponseEntity) gameController.get("id", null, null, null, "application/cbor, application/json;q=0.5");
 
         assertNotNull(returnedResponse);
         assertEquals(HttpStatus.OK, returnedResponse.getStatusCode());
     }
 
     @Test
-    @DisplayName("Test get throws exception")
+    @DisplayName("Tests get leaves a data exception to DataExceptionHandler")
     void getException() throws DataException {
 
-        when(mockGameService.get("id")).thenThrow(mockDataException);
+        when(mockGameService.get("id", GameFields.ALL, null, null, GameFormat.JSON)).thenThrow(mockDataException);
+
+        assertThrows(DataException.class, () -> gameController.get("id", null, null, null, null));
+    }
+
+    @Test
+    @DisplayName("Tests successful search")
+    void search() throws DataException {
+
+        when(mockGameService.search("halo", null))
+                .thenReturn(ResponseEntity.status(HttpStatus.OK).build());
 
-        ResponseEntity returnedResponse = gameController.get("id");
+        ResponseEntity returnedResponse = (ResponseEntity) gameController.search("halo", null);
 
         assertNotNull(returnedResponse);
-        assertEquals(HttpStatus.BAD_REQUEST, returnedResponse.getStatusCode());
+        assertEquals(HttpStatus.OK, returnedResponse.getStatusCode());
+    }
+
+    @Test
+    @DisplayName("Tests search leaves a data exception to DataExceptionHandler")
+    void searchException() throws DataException {
+
+        when(mockGameService.search("halo", null)).thenThrow(mockDataException);
+
+        assertThrows(DataException.class, () -> gameController.search("halo", null));
+    }
+
+    @Test
+    @DisplayName("Tests successful facets")
+    void facets() {
+
+        when(mockGameService.facets())
+                .thenReturn(ResponseEntity.status(HttpStatus.OK).build());
+
+        ResponseEntity returnedResponse = gameController.facets();
+
+        assertNotNull(returnedResponse);
+        assertEquals(HttpStatus.OK, returnedResponse.getStatusCode());
     }
 
     @Test
@@ -137,24 +266,21 @@ public class GameControllerTest {
         when(mockGameService.update(game, DEVELOPER, "id"))
                 .thenReturn(ResponseEntity.status(HttpStatus.NO_CONTENT).build());
 
-        ResponseEntity returnedResponse = gameController.put(DEVELOPER, "id", game);
+        ResponseEntity returnedResponse = (ResponseEntity) gameController.put(DEVELOPER, "id", game);
 
         assertNotNull(returnedResponse);
         assertEquals(HttpStatus.NO_CONTENT, returnedResponse.getStatusCode());
     }
 
     @Test
-    @DisplayName("Tests update throws exception")
+    @DisplayName("Tests update leaves a data exception to DataExceptionHandler")
     void putException() throws DataException {
 
         Game game = createGame();
 
         when(mockGameService.update(game, DEVELOPER, "id")).thenThrow(mockDataException);
 
-        ResponseEntity returnedResponse = gameController.put(DEVELOPER, "id", game);
-
-        assertNotNull(returnedResponse);
-        assertEquals(HttpStatus.BAD_REQUEST, returnedResponse.getStatusCode());
+        assertThrows(DataException.class, () -> gameController.put(DEVELOPER, "id", game));
     }
 
     @Test
@@ -164,22 +290,68 @@ public class GameControllerTest {
         when(mockGameService.delete(DEVELOPER, "id"))
                 .thenReturn(ResponseEntity.status(HttpStatus.NO_CONTENT).build());
 
-        ResponseEntity returnedResponse = gameController.delete(DEVELOPER, "id");
+        ResponseEntity returnedResponse = (ResponseEntity) gameController.delete(DEVELOPER, "id");
 
         assertNotNull(returnedResponse);
         assertEquals(HttpStatus.NO_CONTENT, returnedResponse.getStatusCode());
     }
 
     @Test
-    @DisplayName("Tests delete throws exception")
+    @DisplayName("Tests delete leaves a data exception to DataExceptionHandler")
     void deleteException() throws DataException {
 
         when(mockGameService.delete(DEVELOPER, "id")).thenThrow(mockDataException);
 
-        ResponseEntity returnedResponse = gameController.delete(DEVELOPER, "id");
+        assertThrows(DataException.class, () -> gameController.delete(DEVELOPER, "id"));
+    }
+
+    @Test
+    @DisplayName("Tests post is handed to the executor in async mode")
+    void createAsync() throws DataException {
+
+        Game game = createGame();
+        GameServiceExecutor mockGameServiceExecutor = mock(GameServiceExecutor.class);
+        ReflectionTestUtils.setField(gameController, "gameServiceExecutor", mockGameServiceExecutor);
+        DeferredResult<ResponseEntity> deferredResult = new DeferredResult<>();
+        ArgumentCaptor<GameServiceExecutor.ServiceCall> call = ArgumentCaptor.forClass(GameServiceExecutor.ServiceCall.class);
+
+        when(mockGameServiceExecutor.submit(call.capture())).thenReturn(deferredResult);
+        when(mockGameService.create(game, "key")).thenReturn(ResponseEntity.status(HttpStatus.CREATED).build());
+
+        assertEquals(deferredResult, gameController.create(game, "key"));
+        verify(mockGameService, never()).create(game, "key");
+
+        assertEquals(HttpStatus.CREATED, call.getValue().call().getStatusCode());
+    }
+
+    @Test
+    @DisplayName("Tests an invalid filter is rejected without using the executor in async mode")
+    void getAllInvalidFilterAsync() throws DataException {
+
+        GameServiceExecutor mockGameServiceExecutor = mock(GameServiceExecutor.class);
+        ReflectionTestUtils.setField(gameController, "gameServiceExecutor", mockGameServiceExecutor);
+
+        ResponseEntity returnedResponse = (ResponseEntity) gameController.getAll(null, null, null, null, null,
+                "sometimes", null, null, null, null, null, null, null);
 
-        assertNotNull(returnedResponse);
         assertEquals(HttpStatus.BAD_REQUEST, returnedResponse.getStatusCode());
+        verifyZeroInteractions(mockGameServiceExecutor);
+    }
+
+    @Test
+    @DisplayName("Tests get is handed to the executor in async mode")
+    void getAsync() throws DataException {
+
+        GameServiceExecutor mockGameServiceExecutor = mock(GameServiceExecutor.class);
+        ReflectionTestUtils.setField(gameController, "gameServiceExecutor", mockGameServiceExecutor);
+        DeferredResult<ResponseEntity> deferredResult = new DeferredResult<>();
+        ArgumentCaptor<GameServiceExecutor.ServiceCall> call = ArgumentCaptor.forClass(GameServiceExecutor.ServiceCall.class);
+
+        when(mockGameServiceExecutor.submit(call.capture())).thenReturn(deferredResult);
+        when(mockGameService.get("id", GameFields.ALL, null, null, GameFormat.JSON)).thenReturn(ResponseEntity.status(HttpStatus.OK).build());
+
+        assertEquals(deferredResult, gameController.get("id", null, null, null, null));
+        assertEquals(HttpStatus.OK, call.getValue().call().getStatusCode());
     }
 
     private Game createGame() {
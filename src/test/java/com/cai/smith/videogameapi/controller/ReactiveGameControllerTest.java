@@ -0,0 +1,115 @@
+package com.cai.smith.videogameapi.controller;
+
+import com.cai.smith.videogameapi.exception.DataException;
+import com.cai.smith.videogameapi.mapper.GameFormat;
+import com.cai.smith.videogameapi.model.Game;
+import com.cai.smith.videogameapi.model.GameFields;
+import com.cai.smith.videogameapi.model.GameFilter;
+import com.cai.smith.videogameapi.service.ReactiveGameService;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import reactor.core.publisher.Mono;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+public class ReactiveGameControllerTest {
+
+    @Mock
+    private ReactiveGameService mockReactiveGameService;
+
+    @InjectMocks
+    private ReactiveGameController reactiveGameController;
+
+    @Test
+    @DisplayName("Tests successful post")
+    void postGame() {
+
+        Game game = new Game();
+
+        when(mockReactiveGameService.create(game))
+                .thenReturn(Mono.just(ResponseEntity.status(HttpStatus.CREATED).build()));
+
+        ResponseEntity returnedResponse = reactiveGameController.create(game, null).block();
+
+        assertNotNull(returnedResponse);
+        assertEquals(HttpStatus.CREATED, returnedResponse.getStatusCode());
+    }
+
+    @Test
+    @DisplayName("Tests DataException signal maps to bad request")
+    void postGameDataException() {
+
+        Game game = new Game();
+
+        when(mockReactiveGameService.create(game))
+                .thenReturn(Mono.error(new DataException("failed", new RuntimeException())));
+
+        ResponseEntity returnedResponse = reactiveGameController.create(game, null).block();
+
+        assertNotNull(returnedResponse);
+        assertEquals(HttpStatus.BAD_REQUEST, returnedResponse.getStatusCode());
+    }
+
+    @Test
+    @DisplayName("Tests an idempotency key is rejected rather than ignored")
+    void postGameIdempotencyKey() {
+
+        ResponseEntity returnedResponse = reactiveGameController.create(new Game(), "key").block();
+
+        assertNotNull(returnedResponse);
+        assertEquals(HttpStatus.BAD_REQUEST, returnedResponse.getStatusCode());
+        verify(mockReactiveGameService, never()).create(any());
+    }
+
+    @Test
+    @DisplayName("Tests invalid filter is rejected before reaching the service")
+    void getAllInvalidFilter() {
+
+        ResponseEntity returnedResponse = reactiveGameController.getAll(null, null, null, null, null,
+                "sometimes", null, null, null, null, null, null, null).block();
+
+        assertNotNull(returnedResponse);
+        assertEquals(HttpStatus.BAD_REQUEST, returnedResponse.getStatusCode());
+        verify(mockReactiveGameService, never()).getAll(any(), any(), any(), any(GameFilter.class), any(), any(), any(), any());
+    }
+
+    @Test
+    @DisplayName("Tests successful get")
+    void getGame() {
+
+        when(mockReactiveGameService.get("id", GameFields.ALL, null, null, GameFormat.JSON))
+                .thenReturn(Mono.just(ResponseEntity.status(HttpStatus.OK).build()));
+
+        ResponseEntity returnedResponse = reactiveGameController.get("id", null, null, null, null).block();
+
+        assertNotNull(returnedResponse);
+        assertEquals(HttpStatus.OK, returnedResponse.getStatusCode());
+    }
+
+    @Test
+    @DisplayName("Tests DataException on delete maps to bad request")
+    void deleteGameDataException() {
+
+        when(mockReactiveGameService.delete("developer", "id"))
+                .thenReturn(Mono.error(new DataException("failed", new RuntimeException())));
+
+        ResponseEntity returnedResponse = reactiveGameController.delete("developer", "id").block();
+
+        assertNotNull(returnedResponse);
+        assertEquals(HttpStatus.BAD_REQUEST, returnedResponse.getStatusCode());
+    }
+}
@@ -0,0 +1,126 @@
+package com.cai.smith.videogameapi.facet;
+
+import com.cai.smith.videogameapi.model.Game;
+import com.cai.smith.videogameapi.model.response.FacetResponse;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+public class GameFacetsTest {
+
+    private GameFacets gameFacets;
+
+    @BeforeEach
+    void setUp() {
+        gameFacets = new GameFacets();
+    }
+
+    @Test
+    @DisplayName("Tests adding games counts each facet")
+    void add() {
+
+        gameFacets.add(createGame("Nintendo", 2008, "Action", "Fighting"));
+        gameFacets.add(createGame("Bungie", 2001, "Action"));
+
+        FacetResponse facets = gameFacets.snapshot();
+
+        assertEquals(Long.valueOf(2), facets.getGenres().get("Action"));
+        assertEquals(Long.valueOf(1), facets.getGenres().get("Fighting"));
+        assertEquals(Long.valueOf(1), facets.getDevelopers().get("Nintendo"));
+        assertEquals(Long.valueOf(1), facets.getReleaseYears().get("2001"));
+    }
+
+    @Test
+    @DisplayName("Tests replace moves counts from the old to the new values")
+    void replace() {
+
+        Game previous = createGame("Nintendo", 2008, "Action");
+        gameFacets.add(previous);
+
+        gameFacets.replace(previous, createGame("Nintendo", 2009, "Platformer"));
+
+        FacetResponse facets = gameFacets.snapshot();
+
+        assertFalse(facets.getGenres().containsKey("Action"));
+        assertEquals(Long.valueOf(1), facets.getGenres().get("Platformer"));
+        assertFalse(facets.getReleaseYears().containsKey("2008"));
+        assertEquals(Long.valueOf(1), facets.getDevelopers().get("Nintendo"));
+    }
+
+    @Test
+    @DisplayName("Tests removing the last game drops the facet value")
+    void remove() {
+
+        Game game = createGame("Bungie", 2001, "Action");
+        gameFacets.add(game);
+
+        gameFacets.remove(game);
+
+        assertEquals(Collections.emptyMap(), gameFacets.snapshot().getDevelopers());
+    }
+
+    @Test
+    @DisplayName("Tests rebuild replaces every counter")
+    void rebuild() {
+
+        gameFacets.add(createGame("Bungie", 2001, "Action"));
+
+        Map<String, Long> genres = new HashMap<>();
+        genres.put("Racing", 4L);
+
+        gameFacets.rebuild(() -> genres, () -> Collections.singletonMap("Nintendo", 4L),
+                () -> Collections.singletonMap("1992", 4L));
+
+        FacetResponse facets = gameFacets.snapshot();
+
+        assertEquals(genres, facets.getGenres());
+        assertEquals(Collections.singletonMap("Nintendo", 4L), facets.getDevelopers());
+        assertEquals(Collections.singletonMap("1992", 4L), facets.getReleaseYears());
+    }
+
+    @Test
+    @DisplayName("Tests writes made while the counts are fetched survive the rebuild")
+    void rebuildKeepsConcurrentWrites() {
+
+        Game removed = createGame("Nintendo", 1992, "Racing");
+
+        gameFacets.rebuild(() -> {
+            gameFacets.add(createGame("Bungie", 2001, "Action"));
+            return Collections.singletonMap("Racing", 4L);
+        }, () -> {
+            gameFacets.remove(removed);
+            return Collections.singletonMap("Nintendo", 4L);
+        }, () -> Collections.singletonMap("1992", 4L));
+
+        gameFacets.add(createGame("Bungie", 2002, "Action"));
+
+        FacetResponse facets = gameFacets.snapshot();
+
+        assertEquals(Long.valueOf(2), facets.getGenres().get("Action"));
+        assertEquals(Long.valueOf(3), facets.getGenres().get("Racing"));
+        assertEquals(Long.valueOf(3), facets.getDevelopers().get("Nintendo"));
+        assertEquals(Long.valueOf(2), facets.getDevelopers().get("Bungie"));
+        assertEquals(Long.valueOf(3), facets.getReleaseYears().get("1992"));
+    }
+
+    private Game createGame(String developer, int year, String... genres) {
+        Game game = new Game();
+
+        game.setDeveloper(developer);
+        game.setReleaseDate(LocalDate.of(year, 6, 1));
+        game.setGenres(Arrays.asList(genres));
+
+        return game;
+    }
+}
@@ -0,0 +1,160 @@
+package com.cai.smith.videogameapi.idempotency;
+
+import com.cai.smith.videogameapi.IdempotencyConfig;
+import com.cai.smith.videogameapi.model.Game;
+import com.cai.smith.videogameapi.model.IdempotencyRecord;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Spy;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.Date;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@ExtendWith(MockitoExtension.class)
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+public class InMemoryIdempotencyStoreTest {
+
+    @Spy
+    private IdempotencyConfig idempotencyConfig = new IdempotencyConfig();
+
+    @Spy
+    private MeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @InjectMocks
+    private InMemoryIdempotencyStore idempotencyStore;
+
+    private static final String KEY = "key";
+
+    @BeforeEach
+    void setUp() {
+        idempotencyStore.init();
+    }
+
+    @Test
+    @DisplayName("Tests only the first claim of a key succeeds")
+    void claim() {
+
+        assertNull(idempotencyStore.claim(pending()));
+
+        IdempotencyRecord existing = idempotencyStore.claim(pending());
+        assertTrue(existing.isPending());
+    }
+
+    @Test
+    @DisplayName("Tests a completed key returns the created game")
+    void complete() {
+
+        Game game = createGame();
+        IdempotencyRecord claim = pending();
+
+        idempotencyStore.claim(claim);
+        assertTrue(idempotencyStore.complete(claim, game));
+
+        IdempotencyRecord existing = idempotencyStore.claim(pending());
+        assertFalse(existing.isPending());
+        assertTrue(existing.matches(game));
+        assertEquals("id", existing.toGame().getGameId());
+        assertEquals(1, existing.toGame().getVersion());
+    }
+
+    @Test
+    @DisplayName("Tests a claim that lost the key to a later one cannot complete it")
+    void completeLostClaim() {
+
+        IdempotencyRecord abandoned = expiredPending();
+        IdempotencyRecord later = pending();
+
+        idempotencyStore.claim(abandoned);
+        assertNull(idempotencyStore.claim(later));
+
+        assertFalse(idempotencyStore.complete(abandoned, createGame()));
+        assertTrue(idempotencyStore.claim(pending()).isPending());
+        assertTrue(idempotencyStore.complete(later, createGame()));
+    }
+
+    @Test
+    @DisplayName("Tests a claim cannot complete a key that was never claimed or has expired")
+    void completeMissing() {
+        assertFalse(idempotencyStore.complete(pending(), createGame()));
+        assertNull(idempotencyStore.claim(pending()));
+    }
+
+    @Test
+    @DisplayName("Tests a released key can be claimed again")
+    void release() {
+
+        IdempotencyRecord claim = pending();
+
+        idempotencyStore.claim(claim);
+        idempotencyStore.release(claim);
+
+        assertNull(idempotencyStore.claim(pending()));
+    }
+
+    @Test
+    @DisplayName("Tests a pending claim whose lease has run out can be claimed again")
+    void claimLeaseExpired() {
+
+        idempotencyStore.claim(expiredPending());
+
+        assertNull(idempotencyStore.claim(pending()));
+    }
+
+    @Test
+    @DisplayName("Tests a completed key is kept when released")
+    void releaseCompleted() {
+
+        IdempotencyRecord claim = pending();
+
+        idempotencyStore.claim(claim);
+        idempotencyStore.complete(claim, createGame());
+        idempotencyStore.release(claim);
+
+        assertFalse(idempotencyStore.claim(pending()).isPending());
+    }
+
+    @Test
+    @DisplayName("Tests a late release leaves a later claim of the key in place")
+    void releaseLostClaim() {
+
+        IdempotencyRecord abandoned = expiredPending();
+
+        idempotencyStore.claim(abandoned);
+        idempotencyStore.claim(pending());
+        idempotencyStore.release(abandoned);
+
+        assertNotNull(idempotencyStore.claim(pending()));
+    }
+
+    private IdempotencyRecord pending() {
+        return IdempotencyRecord.pending(KEY, 60000);
+    }
+
+    private IdempotencyRecord expiredPending() {
+        // Created a minute ago so it is told apart from a claim made now
+        IdempotencyRecord pending = IdempotencyRecord.pending(KEY, 1000);
+        pending.setCreatedAt(new Date(System.currentTimeMillis() - 60000));
+        pending.setPendingExpiresAt(new Date(System.currentTimeMillis() - 1));
+        return pending;
+    }
+
+    private Game createGame() {
+        Game game = new Game();
+        game.setGameId("id");
+        game.setTitle("title");
+        game.setVersion(1);
+        return game;
+    }
+}
@@ -0,0 +1,167 @@
+package com.cai.smith.videogameapi.idempotency;
+
+import com.cai.smith.videogameapi.IdempotencyConfig;
+import com.cai.smith.videogameapi.model.Game;
+import com.cai.smith.videogameapi.model.IdempotencyRecord;
+import org.bson.Document;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Spy;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+
+import java.util.Date;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+public class MongoIdempotencyStoreTest {
+
+    @Spy
+    private IdempotencyConfig idempotencyConfig = new IdempotencyConfig();
+
+    @Mock
+    private MongoTemplate mockMongoTemplate;
+
+    @InjectMocks
+    private MongoIdempotencyStore idempotencyStore;
+
+    private static final String KEY = "key";
+
+    @Test
+    @DisplayName("Tests a key is claimed by inserting its pending record")
+    void claim() {
+
+        IdempotencyRecord claim = pending();
+
+        assertNull(idempotencyStore.claim(claim));
+
+        verify(mockMongoTemplate).insert(claim);
+    }
+
+    @Test
+    @DisplayName("Tests a key already inserted returns the existing record")
+    void claimExisting() {
+
+        IdempotencyRecord existing = IdempotencyRecord.completed(KEY, createGame());
+
+        doThrow(new DuplicateKeyException("duplicate")).when(mockMongoTemplate).insert(any(IdempotencyRecord.class));
+        when(mockMongoTemplate.findById(KEY, IdempotencyRecord.class)).thenReturn(existing);
+
+        assertSame(existing, idempotencyStore.claim(pending()));
+    }
+
+    @Test
+    @DisplayName("Tests a key removed between the insert and the find is reported in progress")
+    void claimRemoved() {
+
+        doThrow(new DuplicateKeyException("duplicate")).when(mockMongoTemplate).insert(any(IdempotencyRecord.class));
+        when(mockMongoTemplate.findById(KEY, IdempotencyRecord.class)).thenReturn(null);
+
+        assertTrue(idempotencyStore.claim(pending()).isPending());
+    }
+
+    @Test
+    @DisplayName("Tests an expired record the TTL monitor has not removed yet is replaced")
+    void claimExpired() {
+
+        IdempotencyRecord expired = IdempotencyRecord.completed(KEY, createGame());
+        expired.setCreatedAt(new Date(0));
+
+        doThrow(new DuplicateKeyException("duplicate")).doReturn(null)
+                .when(mockMongoTemplate).insert(any(IdempotencyRecord.class));
+        doReturn(expired).when(mockMongoTemplate).findById(KEY, IdempotencyRecord.class);
+
+        assertNull(idempotencyStore.claim(pending()));
+
+        verify(mockMongoTemplate).remove(any(Query.class), eq(IdempotencyRecord.class));
+        verify(mockMongoTemplate, times(2)).insert(any(IdempotencyRecord.class));
+    }
+
+    @Test
+    @DisplayName("Tests a pending claim whose lease has run out is replaced long before the TTL")
+    void claimLeaseExpired() {
+
+        IdempotencyRecord abandoned = IdempotencyRecord.pending(KEY, 1000);
+        abandoned.setPendingExpiresAt(new Date(System.currentTimeMillis() - 1));
+
+        doThrow(new DuplicateKeyException("duplicate")).doReturn(null)
+                .when(mockMongoTemplate).insert(any(IdempotencyRecord.class));
+        doReturn(abandoned).when(mockMongoTemplate).findById(KEY, IdempotencyRecord.class);
+
+        assertNull(idempotencyStore.claim(pending()));
+
+        verify(mockMongoTemplate).remove(any(Query.class), eq(IdempotencyRecord.class));
+        verify(mockMongoTemplate, times(2)).insert(any(IdempotencyRecord.class));
+    }
+
+    @Test
+    @DisplayName("Tests releasing a key only removes the caller's own pending record")
+    void release() {
+
+        IdempotencyRecord claim = pending();
+
+        idempotencyStore.release(claim);
+
+        verify(mockMongoTemplate).remove(argThat((Query query) -> isClaimQuery(query, claim)), eq(IdempotencyRecord.class));
+    }
+
+    @Test
+    @DisplayName("Tests completing a key replaces only the caller's own pending record with the created game")
+    void complete() {
+
+        IdempotencyRecord claim = pending();
+
+        when(mockMongoTemplate.findAndReplace(argThat((Query query) -> isClaimQuery(query, claim)),
+                argThat((IdempotencyRecord record) -> KEY.equals(record.getKey()) && "id".equals(record.getGameId()))))
+                .thenReturn(claim);
+
+        assertTrue(idempotencyStore.complete(claim, createGame()));
+    }
+
+    @Test
+    @DisplayName("Tests completing a key whose claim was lost records nothing")
+    void completeLostClaim() {
+
+        when(mockMongoTemplate.findAndReplace(any(Query.class), any(IdempotencyRecord.class))).thenReturn(null);
+
+        assertFalse(idempotencyStore.complete(pending(), createGame()));
+    }
+
+    private boolean isClaimQuery(Query query, IdempotencyRecord claim) {
+        Document queryObject = query.getQueryObject();
+        return KEY.equals(queryObject.get("_id"))
+                && claim.getCreatedAt().equals(queryObject.get(IdempotencyRecord.CREATED_AT_FIELD))
+                && queryObject.containsKey(IdempotencyRecord.GAME_ID_FIELD);
+    }
+
+    private IdempotencyRecord pending() {
+        return IdempotencyRecord.pending(KEY, 60000);
+    }
+
+    private Game createGame() {
+        Game game = new Game();
+        game.setGameId("id");
+        game.setTitle("title");
+        game.setVersion(1);
+        return game;
+    }
+}
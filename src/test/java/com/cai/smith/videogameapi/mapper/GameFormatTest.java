@@ -0,0 +1,37 @@
+package com.cai.smith.videogameapi.mapper;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+public class GameFormatTest {
+
+    @Test
+    @DisplayName("Tests JSON is chosen unless a binary format is asked for")
+    void negotiateDefaultsToJson() {
+        assertEquals(GameFormat.JSON, GameFormat.negotiate(null));
+        assertEquals(GameFormat.JSON, GameFormat.negotiate("*/*"));
+        assertEquals(GameFormat.JSON, GameFormat.negotiate("text/html, application/xml"));
+        assertEquals(GameFormat.JSON, GameFormat.negotiate("not a media type"));
+        assertEquals(GameFormat.JSON, GameFormat.negotiate("application/cbor;q=0.5, application/json"));
+    }
+
+    @Test
+    @DisplayName("Tests the most preferred binary format is chosen")
+    void negotiateBinaryFormats() {
+        assertEquals(GameFormat.CBOR, GameFormat.negotiate("application/cbor"));
+        assertEquals(GameFormat.SMILE, GameFormat.negotiate("application/x-jackson-smile, */*;q=0.1"));
+        assertEquals(GameFormat.PROTOBUF, GameFormat.negotiate("application/json;q=0.9, application/x-protobuf"));
+        assertEquals(GameFormat.CBOR, GameFormat.negotiate("application/x-protobuf;q=0, application/cbor;q=0.2"));
+    }
+
+    @Test
+    @DisplayName("Tests only binary formats change the entity tag")
+    void eTag() {
+        assertEquals("\"v3\"", GameFormat.JSON.eTag("\"v3\""));
+        assertEquals("\"v3-protobuf\"", GameFormat.PROTOBUF.eTag("\"v3\""));
+    }
+}
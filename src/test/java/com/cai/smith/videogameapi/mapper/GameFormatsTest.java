@@ -0,0 +1,97 @@
+package com.cai.smith.videogameapi.mapper;
+
+import com.cai.smith.videogameapi.model.Game;
+import com.cai.smith.videogameapi.model.response.BatchResponse;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.protobuf.schema.ProtobufField;
+import com.fasterxml.jackson.dataformat.protobuf.schema.ProtobufMessage;
+import com.fasterxml.jackson.dataformat.protobuf.schema.ProtobufSchemaLoader;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Spy;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.time.LocalDate;
+import java.util.Arrays;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@ExtendWith(MockitoExtension.class)
+@TestInstance(TestInstance.Lifecycle.PER_METHOD)
+public class GameFormatsTest {
+
+    @Spy
+    private ObjectMapper objectMapper = Jackson2ObjectMapperBuilder.json().build();
+
+    @InjectMocks
+    private GameFormats gameFormats;
+
+    @BeforeEach
+    void setUp() {
+        gameFormats.init();
+    }
+
+    @Test
+    @DisplayName("Tests the generated protobuf schemas match the published games.proto")
+    void schemasMatchProtoFile() throws IOException {
+
+        for (Class<?> type : GameFormats.PROTOBUF_TYPES) {
+
+            ProtobufMessage published;
+            try (InputStream proto = getClass().getResourceAsStream("/proto/games.proto")) {
+                published = ProtobufSchemaLoader.std.load(proto, type.getSimpleName()).getRootType();
+            }
+            ProtobufMessage generated = gameFormats.schema(type).getRootType();
+
+            assertEquals(published.getFieldCount(), generated.getFieldCount(), type.getSimpleName());
+            for (ProtobufField field : generated.fields()) {
+                ProtobufField match = published.field(field.name);
+                assertNotNull(match, type.getSimpleName() + "." + field.name);
+                assertEquals(match.id, field.id, type.getSimpleName() + "." + field.name);
+                assertEquals(match.type, field.type, type.getSimpleName() + "." + field.name);
+                assertEquals(match.repeated, field.repeated, type.getSimpleName() + "." + field.name);
+            }
+        }
+    }
+
+    @Test
+    @DisplayName("Tests a game request body round trips through every format")
+    void readGame() throws IOException {
+
+        Game game = new Game();
+        game.setTitle("Halo: Combat Evolved");
+        game.setReleaseDate(LocalDate.of(2001, 11, 15));
+        game.setGenres(Arrays.asList("Action", "Sci-fi"));
+        game.setDeveloper("Bungie");
+
+        for (GameFormat format : GameFormat.values()) {
+            byte[] body = gameFormats.writerFor(format, Game.class).writeValueAsBytes(game);
+            Game read = gameFormats.readerFor(format, Game.class).readValue(body);
+
+            assertEquals(game.getTitle(), read.getTitle(), format::name);
+            assertEquals(game.getReleaseDate(), read.getReleaseDate(), format::name);
+            assertEquals(game.getGenres(), read.getGenres(), format::name);
+        }
+    }
+
+    @Test
+    @DisplayName("Tests protobuf is limited to the types with a schema")
+    void supports() {
+
+        assertTrue(gameFormats.supports(GameFormat.CBOR, BatchResponse.class));
+        assertTrue(gameFormats.supports(GameFormat.PROTOBUF, Game.class));
+        assertFalse(gameFormats.supports(GameFormat.PROTOBUF, BatchResponse.class));
+        assertThrows(IllegalArgumentException.class, () -> gameFormats.writerFor(GameFormat.PROTOBUF, BatchResponse.class));
+    }
+}
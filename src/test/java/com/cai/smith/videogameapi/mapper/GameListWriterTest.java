@@ -0,0 +1,198 @@
+package com.cai.smith.videogameapi.mapper;
+
+import com.cai.smith.videogameapi.model.Game;
+import com.cai.smith.videogameapi.model.GameFields;
+import com.cai.smith.videogameapi.model.response.GameResponse;
+import com.cai.smith.videogameapi.model.response.GameResponseList;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Spy;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+@ExtendWith(MockitoExtension.class)
+@TestInstance(TestInstance.Lifecycle.PER_METHOD)
+public class GameListWriterTest {
+
+    // Configured as Spring Boot configures the application's mapper
+    @Spy
+    private ObjectMapper objectMapper = Jackson2ObjectMapperBuilder.json()
+            .featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+            .build();
+
+    @InjectMocks
+    private GameFormats gameFormats;
+
+    private final GameListWriter gameListWriter = new GameListWriter();
+
+    private final ResponseMapper responseMapper = new ResponseMapper();
+
+    @BeforeEach
+    void setUp() {
+        gameFormats.init();
+        ReflectionTestUtils.setField(gameListWriter, "gameFormats", gameFormats);
+    }
+
+    @AfterEach
+    void tearDown() {
+        objectMapper.disable(SerializationFeature.INDENT_OUTPUT);
+    }
+
+    @Test
+    @DisplayName("Tests a page is written byte for byte as the mapped response would be")
+    void writeGameList() throws IOException {
+
+        List<Game> games = createGames();
+
+        assertIdentical(games, 40, 20, 1234L, "token");
+    }
+
+    @Test
+    @DisplayName("Tests missing fields, an empty page and a total above int range match the mapped response")
+    void writeGameListEdgeCases() throws IOException {
+
+        Game empty = new Game();
+
+        assertIdentical(Collections.singletonList(empty), 0, 20, 1L, null);
+        assertIdentical(Collections.emptyList(), 0, 20, 0L, null);
+        assertIdentical(createGames(), 0, 20, Long.MAX_VALUE, null);
+    }
+
+    @Test
+    @DisplayName("Tests escaping, non-ASCII text and out of range years match the mapped response")
+    void writeGameListUnusualValues() throws IOException {
+
+        Game game = createGame("id", "Pokémon \"Red\" \\ Blue\n☃", LocalDate.of(10000, 1, 2));
+        Game ancient = createGame("ancient", "\u0001", LocalDate.of(-44, 3, 15));
+        Game yearZero = createGame("zero", "", LocalDate.of(0, 12, 31));
+
+        assertIdentical(Arrays.asList(game, ancient, yearZero), 0, 3, 3L, null);
+    }
+
+    @Test
+    @DisplayName("Tests the mapper's indentation setting is followed")
+    void writeGameListIndented() throws IOException {
+
+        objectMapper.enable(SerializationFeature.INDENT_OUTPUT);
+
+        assertIdentical(createGames(), 0, 2, 2L, null);
+    }
+
+    @Test
+    @DisplayName("Tests a page of selected fields is written as the partially mapped response would be")
+    @SuppressWarnings("unchecked")
+    void writeGameListFields() throws IOException {
+
+        List<Game> games = createGames();
+        games.add(new Game());
+        GameFields fields = GameFields.of("id,title");
+
+        // A sparse fieldset leaves out requested fields that are null, as NON_NULL would
+        Map<GameFormat, ObjectMapper> mappers = (Map<GameFormat, ObjectMapper>) ReflectionTestUtils.getField(gameFormats, "mappers");
+        mappers.values().forEach(mapper -> mapper.configOverride(GameResponse.class)
+                .setInclude(JsonInclude.Value.construct(JsonInclude.Include.NON_NULL, null)));
+
+        for (GameFormat format : GameFormat.values()) {
+            byte[] expected = gameFormats.writerFor(format, GameResponseList.class)
+                    .writeValueAsBytes(responseMapper.mapGameResponseList(games, 0, 3, 3L, null, fields));
+
+            assertArrayEquals(expected, gameListWriter.writeGameList(games, 0, 3, 3L, null, format, fields), format::name);
+        }
+    }
+
+    @Test
+    @DisplayName("Tests a single game is written as the mapped game response would be")
+    void writeGame() throws IOException {
+
+        Game game = createGames().get(0);
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+
+        try (JsonGenerator generator = objectMapper.getFactory().createGenerator(output)) {
+            gameListWriter.writeGame(generator, game);
+        }
+
+        assertArrayEquals(objectMapper.writeValueAsBytes(responseMapper.mapGameResponse(game)), output.toByteArray());
+    }
+
+    @Test
+    @DisplayName("Tests each binary format is written byte for byte as its own mapper would write the response")
+    void writeGameListBinaryFormats() throws IOException {
+
+        List<Game> games = createGames();
+        games.add(new Game());
+
+        for (GameFormat format : GameFormat.values()) {
+            byte[] expected = gameFormats.writerFor(format, GameResponseList.class)
+                    .writeValueAsBytes(responseMapper.mapGameResponseList(games, 20, 3, 1234L, "token"));
+
+            assertArrayEquals(expected, gameListWriter.writeGameList(games, 20, 3, 1234L, "token", format), format::name);
+        }
+    }
+
+    @Test
+    @DisplayName("Tests a single game in a binary format reads back as the game response")
+    void writeGameBinaryFormats() throws IOException {
+
+        Game game = createGames().get(0);
+
+        for (GameFormat format : GameFormat.values()) {
+            GameResponse read = gameFormats.readerFor(format, GameResponse.class)
+                    .readValue(gameListWriter.writeGame(game, format));
+
+            assertEquals("first", read.getId(), format::name);
+            assertEquals(LocalDate.of(2001, 11, 15), read.getReleaseDate(), format::name);
+            assertEquals(Arrays.asList("Action", "Sci-fi"), read.getGenres(), format::name);
+        }
+    }
+
+    private void assertIdentical(List<Game> games, int startIndex, int itemsPerPage,
+                                 long totalResults, String nextPageToken) throws IOException {
+
+        byte[] expected = objectMapper.writeValueAsBytes(
+                responseMapper.mapGameResponseList(games, startIndex, itemsPerPage, totalResults, nextPageToken));
+
+        byte[] actual = gameListWriter.writeGameList(games, startIndex, itemsPerPage, totalResults, nextPageToken);
+
+        assertArrayEquals(expected, actual, () -> new String(actual));
+    }
+
+    private List<Game> createGames() {
+        List<Game> games = new ArrayList<>();
+        games.add(createGame("first", "Halo: Combat Evolved", LocalDate.of(2001, 11, 15)));
+        games.add(createGame("second", "Metroid Prime", LocalDate.of(987, 1, 9)));
+        return games;
+    }
+
+    private Game createGame(String id, String title, LocalDate releaseDate) {
+        Game game = new Game();
+        game.setGameId(id);
+        game.setTitle(title);
+        game.setReleaseDate(releaseDate);
+        game.setGenres(Arrays.asList("Action", "Sci-fi"));
+        game.setDeveloper("Bungie");
+        game.setVersion(4);
+        return game;
+    }
+}
@@ -1,6 +1,7 @@
 package com.cai.smith.videogameapi.mapper;
 
 import com.cai.smith.videogameapi.model.Game;
+import com.cai.smith.videogameapi.model.GameFields;
 import com.cai.smith.videogameapi.model.response.GameResponse;
 import com.cai.smith.videogameapi.model.response.GameResponseList;
 import org.junit.jupiter.api.Test;
@@ -11,6 +12,7 @@ import java.util.ArrayList;
 import java.util.List;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
 @TestInstance(TestInstance.Lifecycle.PER_CLASS)
@@ -39,6 +41,19 @@ public class ResponseMapperTest {
         assertTrue(gameResponse.getGenres().contains(ADVENTURE_GENRE));
     }
 
+    @Test
+    void mapGameResponseFieldsTest() {
+        Game game = createGame();
+
+        GameResponse gameResponse = responseMapper.mapGameResponse(game, GameFields.of("id,title"));
+
+        assertEquals(ID, gameResponse.getId());
+        assertEquals(TITLE, gameResponse.getTitle());
+        assertNull(gameResponse.getReleaseDate());
+        assertNull(gameResponse.getDeveloper());
+        assertNull(gameResponse.getGenres());
+    }
+
     @Test
     void mapGameResponseListTest() {
         List<Game> games = createGamesList();
@@ -52,6 +67,19 @@ public class ResponseMapperTest {
 
     }
 
+    @Test
+    void mapGameResponseListPageTest() {
+        List<Game> games = createGamesList();
+
+        GameResponseList gameResponseList = responseMapper.mapGameResponseList(games, 40, 2, 100L, "token");
+
+        assertEquals(2, gameResponseList.getItemsPerPage());
+        assertEquals(40, gameResponseList.getStartIndex());
+        assertEquals(100, gameResponseList.getTotalResults());
+        assertEquals("token", gameResponseList.getNextPageToken());
+        assertEquals(2, gameResponseList.getItems().size());
+    }
+
     private Game createGame() {
         Game game = new Game();
 
@@ -0,0 +1,91 @@
+package com.cai.smith.videogameapi.metrics;
+
+import com.mongodb.ServerAddress;
+import com.mongodb.connection.ClusterId;
+import com.mongodb.connection.ConnectionDescription;
+import com.mongodb.connection.ServerId;
+import com.mongodb.event.CommandFailedEvent;
+import com.mongodb.event.CommandStartedEvent;
+import com.mongodb.event.CommandSucceededEvent;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.bson.BsonDocument;
+import org.bson.BsonInt64;
+import org.bson.BsonString;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+
+@TestInstance(TestInstance.Lifecycle.PER_METHOD)
+public class MongoCommandMetricsTest {
+
+    private static final ConnectionDescription CONNECTION =
+            new ConnectionDescription(new ServerId(new ClusterId(), new ServerAddress()));
+
+    private MeterRegistry meterRegistry;
+
+    private MongoCommandMetrics mongoCommandMetrics;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        mongoCommandMetrics = new MongoCommandMetrics(meterRegistry, "sync");
+    }
+
+    @Test
+    @DisplayName("Tests a successful command is timed against its collection")
+    void commandSucceeded() {
+
+        mongoCommandMetrics.commandStarted(new CommandStartedEvent(1, CONNECTION, "videogames", "find",
+                new BsonDocument("find", new BsonString("game"))));
+        mongoCommandMetrics.commandSucceeded(new CommandSucceededEvent(1, CONNECTION, "find",
+                new BsonDocument(), TimeUnit.MILLISECONDS.toNanos(5)));
+
+        Timer timer = meterRegistry.find(MongoCommandMetrics.METRIC_NAME)
+                .tags("client", "sync", "command", "find", "collection", "game", "status", "SUCCESS")
+                .timer();
+
+        assertNotNull(timer);
+        assertEquals(1, timer.count());
+        assertEquals(5, timer.totalTime(TimeUnit.MILLISECONDS), 0.001);
+    }
+
+    @Test
+    @DisplayName("Tests a failed command is timed with a failed status")
+    void commandFailed() {
+
+        mongoCommandMetrics.commandStarted(new CommandStartedEvent(2, CONNECTION, "videogames", "insert",
+                new BsonDocument("insert", new BsonString("developer"))));
+        mongoCommandMetrics.commandFailed(new CommandFailedEvent(2, CONNECTION, "insert",
+                TimeUnit.MILLISECONDS.toNanos(1), new RuntimeException()));
+
+        assertNotNull(meterRegistry.find(MongoCommandMetrics.METRIC_NAME)
+                .tags("command", "insert", "collection", "developer", "status", "FAILED")
+                .timer());
+    }
+
+    @Test
+    @DisplayName("Tests getMore is attributed to the collection field")
+    void collectionOfGetMore() {
+
+        BsonDocument command = new BsonDocument("getMore", new BsonInt64(42))
+                .append("collection", new BsonString("game"));
+
+        assertEquals("game", MongoCommandMetrics.collectionOf("getMore", command));
+    }
+
+    @Test
+    @DisplayName("Tests commands without a collection are tagged unknown")
+    void collectionOfUnknown() {
+
+        assertEquals("unknown", MongoCommandMetrics.collectionOf("isMaster",
+                new BsonDocument("isMaster", new BsonInt64(1))));
+    }
+}
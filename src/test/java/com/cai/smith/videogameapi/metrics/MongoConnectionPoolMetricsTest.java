@@ -0,0 +1,70 @@
+package com.cai.smith.videogameapi.metrics;
+
+import com.mongodb.ServerAddress;
+import com.mongodb.connection.ClusterId;
+import com.mongodb.connection.ConnectionId;
+import com.mongodb.connection.ConnectionPoolSettings;
+import com.mongodb.connection.ServerId;
+import com.mongodb.event.ConnectionAddedEvent;
+import com.mongodb.event.ConnectionCheckedInEvent;
+import com.mongodb.event.ConnectionCheckedOutEvent;
+import com.mongodb.event.ConnectionPoolClosedEvent;
+import com.mongodb.event.ConnectionPoolOpenedEvent;
+import com.mongodb.event.ConnectionPoolWaitQueueEnteredEvent;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+@TestInstance(TestInstance.Lifecycle.PER_METHOD)
+public class MongoConnectionPoolMetricsTest {
+
+    private static final ServerId SERVER = new ServerId(new ClusterId(), new ServerAddress());
+
+    private static final ConnectionId CONNECTION = new ConnectionId(SERVER);
+
+    private MeterRegistry meterRegistry;
+
+    private MongoConnectionPoolMetrics poolMetrics;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        poolMetrics = new MongoConnectionPoolMetrics(meterRegistry, "sync");
+        poolMetrics.connectionPoolOpened(new ConnectionPoolOpenedEvent(SERVER, ConnectionPoolSettings.builder().build()));
+    }
+
+    @Test
+    @DisplayName("Tests the gauges follow connections being added, checked out and waited for")
+    void gauges() {
+
+        poolMetrics.connectionAdded(new ConnectionAddedEvent(CONNECTION));
+        poolMetrics.connectionAdded(new ConnectionAddedEvent(CONNECTION));
+        poolMetrics.connectionCheckedOut(new ConnectionCheckedOutEvent(CONNECTION));
+        poolMetrics.connectionCheckedOut(new ConnectionCheckedOutEvent(CONNECTION));
+        poolMetrics.connectionCheckedIn(new ConnectionCheckedInEvent(CONNECTION));
+        poolMetrics.waitQueueEntered(new ConnectionPoolWaitQueueEnteredEvent(SERVER));
+
+        assertEquals(2, gauge(MongoConnectionPoolMetrics.SIZE_METRIC));
+        assertEquals(1, gauge(MongoConnectionPoolMetrics.CHECKED_OUT_METRIC));
+        assertEquals(1, gauge(MongoConnectionPoolMetrics.WAIT_QUEUE_METRIC));
+    }
+
+    @Test
+    @DisplayName("Tests the gauges are removed when the pool closes")
+    void poolClosed() {
+
+        poolMetrics.connectionPoolClosed(new ConnectionPoolClosedEvent(SERVER));
+
+        assertNull(meterRegistry.find(MongoConnectionPoolMetrics.SIZE_METRIC).gauge());
+    }
+
+    private double gauge(String name) {
+        return meterRegistry.get(name).tag("client", "sync").gauge().value();
+    }
+}
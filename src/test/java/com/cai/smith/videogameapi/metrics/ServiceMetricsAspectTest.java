@@ -0,0 +1,103 @@
+package com.cai.smith.videogameapi.metrics;
+
+import com.cai.smith.videogameapi.exception.DataException;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.Signature;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Spy;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import reactor.core.publisher.Mono;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+@TestInstance(TestInstance.Lifecycle.PER_METHOD)
+public class ServiceMetricsAspectTest {
+
+    @Spy
+    private MeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @Mock
+    private ProceedingJoinPoint joinPoint;
+
+    @Mock
+    private Signature signature;
+
+    @InjectMocks
+    private ServiceMetricsAspect serviceMetricsAspect;
+
+    @BeforeEach
+    void setUp() {
+        when(joinPoint.getSignature()).thenReturn(signature);
+        when(signature.getName()).thenReturn("get");
+    }
+
+    @Test
+    @DisplayName("Tests a call is timed with its response status")
+    void timeResponse() throws Throwable {
+
+        when(joinPoint.proceed()).thenReturn(ResponseEntity.status(HttpStatus.NOT_FOUND).build());
+
+        serviceMetricsAspect.time(joinPoint);
+
+        assertEquals(1, meterRegistry.get(ServiceMetricsAspect.CALLS_METRIC)
+                .tags("method", "get", "status", "404", "exception", "none").timer().count());
+        assertNull(meterRegistry.find(ServiceMetricsAspect.DATA_EXCEPTIONS_METRIC).counter());
+    }
+
+    @Test
+    @DisplayName("Tests a DataException is counted and rethrown")
+    void timeDataException() throws Throwable {
+
+        when(joinPoint.proceed()).thenThrow(new DataException("failed", new RuntimeException()));
+
+        assertThrows(DataException.class, () -> serviceMetricsAspect.time(joinPoint));
+
+        assertEquals(1, meterRegistry.get(ServiceMetricsAspect.DATA_EXCEPTIONS_METRIC)
+                .tag("method", "get").counter().count());
+        assertEquals(1, meterRegistry.get(ServiceMetricsAspect.CALLS_METRIC)
+                .tag("exception", "DataException").timer().count());
+    }
+
+    @Test
+    @DisplayName("Tests a reactive call is timed when the Mono completes")
+    void timeMono() throws Throwable {
+
+        when(joinPoint.proceed()).thenReturn(Mono.just(ResponseEntity.status(HttpStatus.OK).build()));
+
+        Mono<?> result = (Mono<?>) serviceMetricsAspect.time(joinPoint);
+        assertNull(meterRegistry.find(ServiceMetricsAspect.CALLS_METRIC).timer());
+
+        result.block();
+
+        assertEquals(1, meterRegistry.get(ServiceMetricsAspect.CALLS_METRIC).tag("status", "200").timer().count());
+    }
+
+    @Test
+    @DisplayName("Tests a failed Mono is counted as a data error")
+    void timeMonoDataException() throws Throwable {
+
+        when(joinPoint.proceed()).thenReturn(Mono.error(new DataException("failed", new RuntimeException())));
+
+        Mono<?> result = (Mono<?>) serviceMetricsAspect.time(joinPoint);
+        Exception exception = assertThrows(RuntimeException.class, result::block);
+
+        assertTrue(exception.getCause() instanceof DataException);
+
+        assertEquals(1, meterRegistry.get(ServiceMetricsAspect.DATA_EXCEPTIONS_METRIC).counter().count());
+    }
+}
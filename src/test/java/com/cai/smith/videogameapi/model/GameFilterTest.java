@@ -0,0 +1,36 @@
+package com.cai.smith.videogameapi.model;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.Collections;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+public class GameFilterTest {
+
+    private static final LocalDate RELEASED_AFTER = LocalDate.of(2001, 1, 1);
+
+    @Test
+    void equalFiltersTest() {
+        GameFilter filter = GameFilter.of("Nintendo", Arrays.asList("Action"), "all", RELEASED_AFTER, null, "title");
+        GameFilter same = GameFilter.of("Nintendo", Arrays.asList("Action"), "ALL", RELEASED_AFTER, null, "title");
+
+        assertEquals(filter, same);
+        assertEquals(filter.hashCode(), same.hashCode());
+    }
+
+    @Test
+    void genresWithSeparatorsAreDistinctTest() {
+        // Both print as genres=[Action, RPG], so a key built from toString would merge them
+        GameFilter joined = GameFilter.of(null, Collections.singletonList("Action, RPG"), null, null, null, null);
+        GameFilter split = GameFilter.of(null, Arrays.asList("Action", "RPG"), null, null, null, null);
+
+        assertEquals(joined.toString(), split.toString());
+        assertNotEquals(joined, split);
+    }
+}
@@ -0,0 +1,61 @@
+package com.cai.smith.videogameapi.repository;
+
+import com.cai.smith.videogameapi.model.CollectionGeneration;
+import com.mongodb.MongoException;
+import com.mongodb.client.result.UpdateResult;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.reset;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+public class CollectionGenerationRepositoryImplTest {
+
+    @Mock
+    private MongoTemplate mongoTemplate;
+
+    @InjectMocks
+    private CollectionGenerationRepositoryImpl collectionGenerationRepository;
+
+    @Test
+    @DisplayName("Tests a failed increment is retried")
+    void incrementGenerationRetried() {
+
+        reset(mongoTemplate);
+        when(mongoTemplate.upsert(any(Query.class), any(Update.class), eq(CollectionGeneration.class)))
+                .thenThrow(new MongoException("failed"))
+                .thenReturn(UpdateResult.acknowledged(1, 1L, null));
+
+        collectionGenerationRepository.incrementGeneration("games");
+
+        verify(mongoTemplate, times(2)).upsert(any(Query.class), any(Update.class), eq(CollectionGeneration.class));
+    }
+
+    @Test
+    @DisplayName("Tests an increment that keeps failing is propagated")
+    void incrementGenerationExhausted() {
+
+        reset(mongoTemplate);
+        when(mongoTemplate.upsert(any(Query.class), any(Update.class), eq(CollectionGeneration.class)))
+                .thenThrow(new MongoException("failed"));
+
+        assertThrows(MongoException.class, () -> collectionGenerationRepository.incrementGeneration("games"));
+        verify(mongoTemplate, times(CollectionGenerationRepositoryImpl.INCREMENT_ATTEMPTS))
+                .upsert(any(Query.class), any(Update.class), eq(CollectionGeneration.class));
+    }
+}
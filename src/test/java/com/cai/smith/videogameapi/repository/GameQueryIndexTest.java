@@ -0,0 +1,194 @@
+package com.cai.smith.videogameapi.repository;
+
+import com.cai.smith.videogameapi.model.Game;
+import com.cai.smith.videogameapi.model.GameFilter;
+import com.mongodb.MongoClient;
+import com.mongodb.MongoClientURI;
+import de.flapdoodle.embed.mongo.MongodExecutable;
+import de.flapdoodle.embed.mongo.MongodStarter;
+import de.flapdoodle.embed.mongo.config.IMongodConfig;
+import de.flapdoodle.embed.mongo.config.MongodConfigBuilder;
+import de.flapdoodle.embed.mongo.config.Net;
+import de.flapdoodle.embed.mongo.distribution.Version;
+import de.flapdoodle.embed.process.exceptions.DistributionException;
+import de.flapdoodle.embed.process.runtime.Network;
+import org.bson.Document;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.convert.QueryMapper;
+import org.springframework.data.mongodb.core.index.IndexOperations;
+import org.springframework.data.mongodb.core.index.MongoPersistentEntityIndexResolver;
+import org.springframework.data.mongodb.core.mapping.MongoMappingContext;
+import org.springframework.data.mongodb.core.mapping.MongoPersistentEntity;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.util.ClassTypeInformation;
+
+import java.io.IOException;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+/**
+ * Runs each supported filter shape through explain() against a real server and
+ * checks the winning plan is an index scan. Starts an embedded mongod (downloaded
+ * once into ~/.embedmongo), or uses the server given by -Dmongo.uri instead.
+ */
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+public class GameQueryIndexTest {
+
+    private static final LocalDate RELEASED_AFTER = LocalDate.of(2001, 1, 1);
+    private static final LocalDate RELEASED_BEFORE = LocalDate.of(2010, 12, 31);
+
+    private MongodExecutable mongodExecutable;
+
+    private MongoClient mongoClient;
+
+    private MongoTemplate mongoTemplate;
+
+    @BeforeAll
+    void setUp() throws IOException {
+        String uri = System.getProperty("mongo.uri");
+        mongoClient = new MongoClient(new MongoClientURI(uri != null ? uri : startEmbeddedMongo()));
+        mongoTemplate = new MongoTemplate(mongoClient, "videogames_index_" + UUID.randomUUID().toString().replace("-", ""));
+
+        MongoMappingContext mappingContext = (MongoMappingContext) mongoTemplate.getConverter().getMappingContext();
+        MongoPersistentEntityIndexResolver indexResolver = new MongoPersistentEntityIndexResolver(mappingContext);
+        IndexOperations indexOperations = mongoTemplate.indexOps(Game.class);
+        indexResolver.resolveIndexFor(ClassTypeInformation.from(Game.class)).forEach(indexOperations::ensureIndex);
+
+        List<Game> games = new ArrayList<>();
+        for (int i = 0; i < 200; i++) {
+            Game game = new Game();
+            game.setGameId(UUID.randomUUID().toString());
+            game.setTitle("title " + i);
+            game.setDeveloper("developer " + (i % 10));
+            game.setReleaseDate(LocalDate.of(1990 + i % 30, 1 + i % 12, 1));
+            game.setGenres(Arrays.asList("genre " + (i % 7), "genre " + (i % 5)));
+            games.add(game);
+        }
+        mongoTemplate.insertAll(games);
+    }
+
+    @AfterAll
+    void tearDown() {
+        if (mongoClient != null) {
+            mongoTemplate.getDb().drop();
+            mongoClient.close();
+        }
+        if (mongodExecutable != null) {
+            mongodExecutable.stop();
+        }
+    }
+
+    private String startEmbeddedMongo() throws IOException {
+
+        int port = Network.getFreeServerPort();
+        IMongodConfig config = new MongodConfigBuilder()
+                .version(Version.Main.V4_0)
+                .net(new Net("localhost", port, Network.localhostIsIPv6()))
+                .build();
+
+        try {
+            mongodExecutable = MongodStarter.getDefaultInstance().prepare(config);
+        } catch (DistributionException e) {
+            // The mongod binary is neither cached nor downloadable, e.g. on an offline build
+            assumeTrue(false, "Embedded mongod unavailable - " + e.getMessage());
+        }
+        mongodExecutable.start();
+        return "mongodb://localhost:" + port;
+    }
+
+    @Test
+    @DisplayName("Tests developer filter sorted by release date uses an index")
+    void developerByReleaseDate() {
+        assertIndexScan(GameFilter.of("developer 1", null, null, RELEASED_AFTER, RELEASED_BEFORE, "-release_date"));
+    }
+
+    @Test
+    @DisplayName("Tests developer filter sorted by title uses an index")
+    void developerByTitle() {
+        assertIndexScan(GameFilter.of("developer 1", null, null, null, null, "title"));
+    }
+
+    @Test
+    @DisplayName("Tests any-genre filter uses an index")
+    void anyGenre() {
+        assertIndexScan(GameFilter.of(null, Arrays.asList("genre 1", "genre 2"), "any", null, null, "release_date"));
+    }
+
+    @Test
+    @DisplayName("Tests all-genre filter uses an index")
+    void allGenres() {
+        assertIndexScan(GameFilter.of(null, Arrays.asList("genre 1", "genre 2"), "all", RELEASED_AFTER, null, "title"));
+    }
+
+    @Test
+    @DisplayName("Tests developer filter in the default order uses an index")
+    void developerById() {
+        assertIndexScan(GameFilter.of("developer 1", null, null, null, null, null));
+    }
+
+    @Test
+    @DisplayName("Tests genre filter in the default order uses an index")
+    void genreById() {
+        assertIndexScan(GameFilter.of(null, Collections.singletonList("genre 1"), null, null, null, null));
+    }
+
+    @Test
+    @DisplayName("Tests release date range uses an index")
+    void releaseDateRange() {
+        assertIndexScan(GameFilter.of(null, null, null, RELEASED_AFTER, RELEASED_BEFORE, null));
+    }
+
+    @Test
+    @DisplayName("Tests sort by title alone uses an index")
+    void sortByTitle() {
+        assertIndexScan(GameFilter.of(null, null, null, null, null, "-title"));
+    }
+
+    private void assertIndexScan(GameFilter filter) {
+
+        Query query = GameRepositoryImpl.filterQuery(filter).with(filter.getSort().toSort());
+
+        MongoPersistentEntity<?> entity = mongoTemplate.getConverter().getMappingContext().getPersistentEntity(Game.class);
+        QueryMapper queryMapper = new QueryMapper(mongoTemplate.getConverter());
+
+        Document find = new Document("find", mongoTemplate.getCollectionName(Game.class))
+                .append("filter", queryMapper.getMappedObject(query.getQueryObject(), entity))
+                .append("sort", queryMapper.getMappedSort(query.getSortObject(), entity));
+
+        Document explain = mongoTemplate.executeCommand(new Document("explain", find).append("verbosity", "queryPlanner"));
+        Document winningPlan = (Document) ((Document) explain.get("queryPlanner")).get("winningPlan");
+
+        List<String> stages = new ArrayList<>();
+        collectStages(winningPlan, stages);
+
+        assertTrue(stages.contains("IXSCAN"), "Expected an index scan for " + filter + " but got " + stages);
+        assertFalse(stages.contains("COLLSCAN"), "Unexpected collection scan for " + filter);
+    }
+
+    private void collectStages(Document plan, List<String> stages) {
+
+        stages.add(plan.getString("stage"));
+
+        if (plan.get("inputStage") != null) {
+            collectStages((Document) plan.get("inputStage"), stages);
+        }
+        if (plan.get("inputStages") != null) {
+            for (Object inputStage : (List<?>) plan.get("inputStages")) {
+                collectStages((Document) inputStage, stages);
+            }
+        }
+    }
+}
@@ -0,0 +1,70 @@
+package com.cai.smith.videogameapi.repository;
+
+import com.cai.smith.videogameapi.model.GameFields;
+import com.cai.smith.videogameapi.model.GameFilter;
+import org.bson.Document;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+
+import java.time.LocalDate;
+import java.util.Arrays;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+public class GameRepositoryImplTest {
+
+    private static final LocalDate RELEASED_AFTER = LocalDate.of(2001, 1, 1);
+    private static final LocalDate RELEASED_BEFORE = LocalDate.of(2010, 12, 31);
+
+    @Test
+    void projectionTest() {
+        GameFields fields = GameFields.of("title,releaseDate");
+
+        assertTrue(GameRepositoryImpl.pageQuery(0, 20, GameFields.ALL).getFieldsObject().isEmpty());
+        assertEquals(new Document("title", 1).append("release_date", 1),
+                GameRepositoryImpl.pageQuery(0, 20, fields).getFieldsObject());
+        assertEquals(new Document("title", 1).append("release_date", 1),
+                GameRepositoryImpl.filterPageQuery(new GameFilter(), 0, 20, fields).getFieldsObject());
+        assertEquals(new Document("title", 1).append("release_date", 1).append("version", 1),
+                GameRepositoryImpl.byIdQuery("id", fields).getFieldsObject());
+    }
+
+    @Test
+    void unfilteredQueryTest() {
+        Document query = GameRepositoryImpl.filterQuery(new GameFilter()).getQueryObject();
+
+        assertTrue(query.isEmpty());
+    }
+
+    @Test
+    void developerAndReleaseRangeQueryTest() {
+        GameFilter filter = GameFilter.of("Nintendo", null, null, RELEASED_AFTER, RELEASED_BEFORE, null);
+
+        Document query = GameRepositoryImpl.filterQuery(filter).getQueryObject();
+
+        assertEquals("Nintendo", query.get("developer"));
+        Document releaseDate = (Document) query.get("release_date");
+        assertEquals(RELEASED_AFTER, releaseDate.get("$gte"));
+        assertEquals(RELEASED_BEFORE, releaseDate.get("$lte"));
+    }
+
+    @Test
+    void genresAnyQueryTest() {
+        GameFilter filter = GameFilter.of(null, Arrays.asList("Action", "Fighting"), "any", null, null, null);
+
+        Document query = GameRepositoryImpl.filterQuery(filter).getQueryObject();
+
+        assertEquals(Arrays.asList("Action", "Fighting"), ((Document) query.get("genres")).get("$in"));
+    }
+
+    @Test
+    void genresAllQueryTest() {
+        GameFilter filter = GameFilter.of(null, Arrays.asList("Action", "Fighting"), "all", null, null, null);
+
+        Document query = GameRepositoryImpl.filterQuery(filter).getQueryObject();
+
+        assertEquals(Arrays.asList("Action", "Fighting"), ((Document) query.get("genres")).get("$all"));
+    }
+}
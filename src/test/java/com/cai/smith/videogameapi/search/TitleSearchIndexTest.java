@@ -0,0 +1,196 @@
+package com.cai.smith.videogameapi.search;
+
+import com.cai.smith.videogameapi.model.Game;
+import com.cai.smith.videogameapi.model.response.SearchResult;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.data.util.CloseableIterator;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+public class TitleSearchIndexTest {
+
+    private TitleSearchIndex titleSearchIndex;
+
+    @BeforeEach
+    void setUp() {
+        titleSearchIndex = new TitleSearchIndex();
+        titleSearchIndex.put("1", "Halo: Combat Evolved", 1);
+        titleSearchIndex.put("2", "Halo 2", 1);
+        titleSearchIndex.put("3", "Super Smash Bros.", 1);
+        titleSearchIndex.put("4", "Super Mario Bros.", 1);
+        titleSearchIndex.put("5", "Mario Kart", 1);
+    }
+
+    @Test
+    @DisplayName("Tests prefix of a single word matches every title holding it")
+    void prefixSearch() {
+
+        List<SearchResult> results = titleSearchIndex.search("Hal", 10);
+
+        assertEquals(2, results.size());
+        assertEquals("Halo 2", results.get(0).getTitle());
+        assertEquals("Halo: Combat Evolved", results.get(1).getTitle());
+    }
+
+    @Test
+    @DisplayName("Tests titles starting with the query rank above inner matches")
+    void ranking() {
+
+        List<SearchResult> results = titleSearchIndex.search("mario", 10);
+
+        assertEquals(2, results.size());
+        assertEquals("5", results.get(0).getId());
+        assertEquals("4", results.get(1).getId());
+    }
+
+    @Test
+    @DisplayName("Tests every query word must prefix a title word")
+    void multipleWords() {
+
+        List<SearchResult> results = titleSearchIndex.search("super bro sma", 10);
+
+        assertEquals(1, results.size());
+        assertEquals("3", results.get(0).getId());
+    }
+
+    @Test
+    @DisplayName("Tests results are capped at the limit")
+    void limit() {
+
+        assertEquals(1, titleSearchIndex.search("super", 1).size());
+    }
+
+    @Test
+    @DisplayName("Tests put replaces the previous title and remove drops the game")
+    void putAndRemove() {
+
+        titleSearchIndex.put("2", "Halo Infinite", 2);
+        titleSearchIndex.remove("1");
+
+        List<SearchResult> results = titleSearchIndex.search("halo", 10);
+
+        assertEquals(1, results.size());
+        assertEquals("Halo Infinite", results.get(0).getTitle());
+        assertTrue(titleSearchIndex.search("combat", 10).isEmpty());
+    }
+
+    @Test
+    @DisplayName("Tests a title for an older version than the indexed one is ignored")
+    void putOutOfOrder() {
+
+        titleSearchIndex.put("2", "Halo Infinite", 3);
+        titleSearchIndex.put("2", "Halo 3", 2);
+
+        assertEquals("Halo Infinite", titleSearchIndex.search("halo i", 10).get(0).getTitle());
+        assertTrue(titleSearchIndex.search("halo 3", 10).isEmpty());
+    }
+
+    @Test
+    @DisplayName("Tests a title arriving after its game was removed does not bring it back")
+    void putAfterRemove() {
+
+        titleSearchIndex.remove("2");
+        titleSearchIndex.put("2", "Halo Infinite", 2);
+
+        assertTrue(titleSearchIndex.search("infinite", 10).isEmpty());
+    }
+
+    @Test
+    @DisplayName("Tests rebuild replaces the whole index")
+    void rebuild() {
+
+        List<Game> games = new ArrayList<>();
+        games.add(createGame("6", "Metroid Prime"));
+
+        titleSearchIndex.rebuild(cursor(games.iterator()));
+
+        assertEquals(1, titleSearchIndex.size());
+        assertTrue(titleSearchIndex.search("halo", 10).isEmpty());
+        assertEquals("6", titleSearchIndex.search("met", 10).get(0).getId());
+    }
+
+    @Test
+    @DisplayName("Tests writes made while a rebuild reads the games survive the swap")
+    void writesDuringRebuild() {
+
+        List<Game> games = new ArrayList<>();
+        games.add(createGame("1", "Halo: Combat Evolved"));
+        games.add(createGame("6", "Metroid Prime"));
+        Iterator<Game> read = games.iterator();
+
+        titleSearchIndex.rebuild(cursor(new Iterator<Game>() {
+            @Override
+            public boolean hasNext() {
+                return read.hasNext();
+            }
+
+            @Override
+            public Game next() {
+                // Lands after the rebuild has read game 1 but before it is swapped in
+                titleSearchIndex.put("7", "Metroid Dread", 1);
+                titleSearchIndex.remove("1");
+                return read.next();
+            }
+        }));
+
+        assertEquals(2, titleSearchIndex.size());
+        assertTrue(titleSearchIndex.search("halo", 10).isEmpty());
+        assertEquals(2, titleSearchIndex.search("metroid", 10).size());
+    }
+
+    @Test
+    @DisplayName("Tests a capped search keeps the best ranked titles in order")
+    void limitKeepsBestRanked() {
+
+        titleSearchIndex.put("6", "Mario Party", 1);
+        titleSearchIndex.put("7", "Dr. Mario", 1);
+
+        List<SearchResult> results = titleSearchIndex.search("mario", 2);
+
+        assertEquals(2, results.size());
+        assertEquals("5", results.get(0).getId());
+        assertEquals("6", results.get(1).getId());
+    }
+
+    @Test
+    @DisplayName("Tests blank query returns nothing")
+    void blankQuery() {
+
+        assertTrue(titleSearchIndex.search(" : ", 10).isEmpty());
+    }
+
+    private static Game createGame(String id, String title) {
+        Game game = new Game();
+        game.setGameId(id);
+        game.setTitle(title);
+        return game;
+    }
+
+    private static Supplier<CloseableIterator<Game>> cursor(Iterator<Game> games) {
+        return () -> new CloseableIterator<Game>() {
+            @Override
+            public boolean hasNext() {
+                return games.hasNext();
+            }
+
+            @Override
+            public Game next() {
+                return games.next();
+            }
+
+            @Override
+            public void close() {
+            }
+        };
+    }
+}
@@ -0,0 +1,99 @@
+package com.cai.smith.videogameapi.service;
+
+import com.cai.smith.videogameapi.model.Developer;
+import com.cai.smith.videogameapi.repository.DeveloperRepository;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+public class ApprovedDeveloperRegistryTest {
+
+    @Mock
+    private DeveloperRepository mockDeveloperRepository;
+
+    @InjectMocks
+    private ApprovedDeveloperRegistry approvedDeveloperRegistry;
+
+    private static final String APPROVED_DEVELOPER = "Approved Developer";
+    private static final String UNAPPROVED_DEVELOPER = "unapproved developer";
+
+    @Test
+    @DisplayName("Tests refresh loads developers from repository")
+    void refresh() {
+
+        when(mockDeveloperRepository.findAll()).thenReturn(createDevelopers(APPROVED_DEVELOPER));
+
+        approvedDeveloperRegistry.refresh();
+
+        assertEquals(1, approvedDeveloperRegistry.size());
+        assertTrue(approvedDeveloperRegistry.isApproved(APPROVED_DEVELOPER));
+        assertFalse(approvedDeveloperRegistry.isApproved(UNAPPROVED_DEVELOPER));
+    }
+
+    @Test
+    @DisplayName("Tests lookups ignore case and surrounding whitespace")
+    void isApprovedNormalisesName() {
+
+        approvedDeveloperRegistry.replace(createDevelopers(APPROVED_DEVELOPER));
+
+        assertTrue(approvedDeveloperRegistry.isApproved("approved developer"));
+        assertTrue(approvedDeveloperRegistry.isApproved("  APPROVED DEVELOPER "));
+    }
+
+    @Test
+    @DisplayName("Tests null developer is never approved")
+    void isApprovedNull() {
+
+        approvedDeveloperRegistry.replace(createDevelopers(APPROVED_DEVELOPER));
+
+        assertFalse(approvedDeveloperRegistry.isApproved(null));
+    }
+
+    @Test
+    @DisplayName("Tests replace swaps out the previous list")
+    void replace() {
+
+        approvedDeveloperRegistry.replace(createDevelopers(APPROVED_DEVELOPER));
+        approvedDeveloperRegistry.replace(createDevelopers(UNAPPROVED_DEVELOPER));
+
+        assertFalse(approvedDeveloperRegistry.isApproved(APPROVED_DEVELOPER));
+        assertTrue(approvedDeveloperRegistry.isApproved(UNAPPROVED_DEVELOPER));
+    }
+
+    @Test
+    @DisplayName("Tests registry is empty before first load")
+    void emptyRegistry() {
+
+        approvedDeveloperRegistry.replace(Collections.<Developer>emptyList());
+
+        assertEquals(0, approvedDeveloperRegistry.size());
+        assertFalse(approvedDeveloperRegistry.isApproved(APPROVED_DEVELOPER));
+    }
+
+    private List<Developer> createDevelopers(String... names) {
+        List<Developer> developers = new ArrayList<>();
+
+        for (String name : names) {
+            Developer developer = new Developer();
+            developer.setName(name);
+            developers.add(developer);
+        }
+
+        return developers;
+    }
+}
@@ -0,0 +1,146 @@
+package com.cai.smith.videogameapi.service;
+
+import com.cai.smith.videogameapi.exception.FileDownloaderException;
+import com.cai.smith.videogameapi.model.Developer;
+import com.cai.smith.videogameapi.model.Developers;
+import com.cai.smith.videogameapi.repository.DeveloperRepository;
+import com.cai.smith.videogameapi.source.DeveloperSource;
+import com.mongodb.MongoException;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+public class DeveloperListLoaderTest {
+
+    @Mock
+    private DeveloperSource mockDeveloperSource;
+
+    @Mock
+    private DeveloperRepository mockDeveloperRepository;
+
+    @Mock
+    private ApprovedDeveloperRegistry mockApprovedDeveloperRegistry;
+
+    @InjectMocks
+    private DeveloperListLoader developerListLoader;
+
+    @Test
+    @DisplayName("Tests fetched developers are upserted, stale ones removed and the registry swapped")
+    @SuppressWarnings("unchecked")
+    void loadUpsertsDevelopers() throws FileDownloaderException {
+
+        when(mockDeveloperSource.fetchIfChanged()).thenReturn(createDevelopers("Nintendo", "Bungie"));
+
+        developerListLoader.load();
+
+        ArgumentCaptor<List<Developer>> upserted = ArgumentCaptor.forClass(List.class);
+        ArgumentCaptor<Collection<String>> kept = ArgumentCaptor.forClass(Collection.class);
+        verify(mockDeveloperRepository).upsertAll(upserted.capture());
+        verify(mockDeveloperRepository).deleteByNameNotIn(kept.capture());
+        verify(mockDeveloperRepository, never()).deleteAll();
+        verify(mockApprovedDeveloperRegistry).refresh();
+        verify(mockDeveloperSource).commit();
+
+        assertEquals(2, upserted.getValue().size());
+        assertTrue(kept.getValue().contains("Bungie"));
+    }
+
+    @Test
+    @DisplayName("Tests a list that fails to apply is not committed, so it is fetched again")
+    void loadFailureNotCommitted() throws FileDownloaderException {
+
+        when(mockDeveloperSource.fetchIfChanged()).thenReturn(createDevelopers("Nintendo"));
+        when(mockDeveloperRepository.upsertAll(anyList())).thenThrow(new MongoException("failed"));
+
+        assertThrows(MongoException.class, () -> developerListLoader.load());
+
+        verify(mockDeveloperSource, never()).commit();
+        verify(mockApprovedDeveloperRegistry, never()).refresh();
+    }
+
+    @Test
+    @DisplayName("Tests an unchanged source does no writes")
+    void loadUnchanged() throws FileDownloaderException {
+
+        when(mockDeveloperSource.fetchIfChanged()).thenReturn(null);
+
+        developerListLoader.load();
+
+        verify(mockDeveloperRepository, never()).upsertAll(anyList());
+        verify(mockApprovedDeveloperRegistry, never()).refresh();
+    }
+
+    @Test
+    @DisplayName("Tests a failed download keeps the current developers")
+    void loadKeepsDevelopersOnFailure() throws FileDownloaderException {
+
+        when(mockDeveloperSource.fetchIfChanged()).thenThrow(new FileDownloaderException(new RuntimeException()));
+        when(mockDeveloperRepository.count()).thenReturn(3L);
+
+        developerListLoader.load();
+
+        verify(mockDeveloperRepository, never()).upsertAll(anyList());
+        verify(mockDeveloperRepository, never()).deleteByNameNotIn(any());
+    }
+
+    @Test
+    @DisplayName("Tests a failed download on an empty database stores the default developer")
+    @SuppressWarnings("unchecked")
+    void loadDefaultDeveloper() throws FileDownloaderException {
+
+        when(mockDeveloperSource.fetchIfChanged()).thenThrow(new FileDownloaderException(new RuntimeException()));
+        when(mockDeveloperRepository.count()).thenReturn(0L);
+
+        developerListLoader.load();
+
+        ArgumentCaptor<List<Developer>> upserted = ArgumentCaptor.forClass(List.class);
+        verify(mockDeveloperRepository).upsertAll(upserted.capture());
+        verify(mockApprovedDeveloperRegistry).refresh();
+        assertEquals("Nintendo", upserted.getValue().get(0).getName());
+    }
+
+    @Test
+    @DisplayName("Tests an empty list never prunes every developer")
+    void loadEmptyList() throws FileDownloaderException {
+
+        when(mockDeveloperSource.fetchIfChanged()).thenReturn(createDevelopers());
+
+        developerListLoader.load();
+
+        verify(mockDeveloperRepository, never()).deleteByNameNotIn(any());
+    }
+
+    private Developers createDevelopers(String... names) {
+        List<Developer> list = new ArrayList<>();
+
+        for (String name : names) {
+            Developer developer = new Developer();
+            developer.setName(name);
+            list.add(developer);
+        }
+
+        Developers developers = new Developers();
+        developers.setDevelopers(list);
+        return developers;
+    }
+}
@@ -0,0 +1,233 @@
+package com.cai.smith.videogameapi.service;
+
+import com.cai.smith.videogameapi.InsertPipelineConfig;
+import com.cai.smith.videogameapi.model.Game;
+import com.cai.smith.videogameapi.repository.GameRepository;
+import com.mongodb.MongoException;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Spy;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyZeroInteractions;
+
+@ExtendWith(MockitoExtension.class)
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+public class GameInsertPipelineTest {
+
+    @Spy
+    private InsertPipelineConfig insertPipelineConfig = new InsertPipelineConfig();
+
+    @Spy
+    private MeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @Mock
+    private GameRepository gameRepository;
+
+    @Mock
+    private GamesGenerationTracker gamesGenerationTracker;
+
+    @InjectMocks
+    private GameInsertPipeline gameInsertPipeline;
+
+    private List<Integer> batchSizes;
+
+    @BeforeEach
+    void setUp() {
+        insertPipelineConfig.setQueueCapacity(4);
+        insertPipelineConfig.setMaxBatchSize(3);
+        batchSizes = Collections.synchronizedList(new ArrayList<>());
+    }
+
+    @AfterEach
+    void tearDown() {
+        gameInsertPipeline.shutdown();
+    }
+
+    @Test
+    @DisplayName("Tests a submitted game is inserted and the generation incremented")
+    void submit() throws Exception {
+
+        doReturn(Collections.emptySet()).when(gameRepository).insertUnordered(anyList());
+        gameInsertPipeline.init();
+
+        gameInsertPipeline.submit(new Game()).get(5, TimeUnit.SECONDS);
+
+        verify(gameRepository).insertUnordered(anyList());
+        verify(gamesGenerationTracker).bump();
+    }
+
+    @Test
+    @DisplayName("Tests games queued behind a slow insert share the next batch up to the maximum size")
+    void submitBatched() throws Exception {
+
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+
+        doAnswer(invocation -> {
+            List<Game> games = invocation.getArgument(0);
+            batchSizes.add(games.size());
+            started.countDown();
+            release.await(5, TimeUnit.SECONDS);
+            return Collections.emptySet();
+        }).when(gameRepository).insertUnordered(anyList());
+        gameInsertPipeline.init();
+
+        List<CompletableFuture<Void>> inserted = new ArrayList<>();
+        inserted.add(gameInsertPipeline.submit(new Game()));
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+
+        for (int i = 0; i < 4; i++) {
+            inserted.add(gameInsertPipeline.submit(new Game()));
+        }
+        release.countDown();
+
+        for (CompletableFuture<Void> future : inserted) {
+            future.get(5, TimeUnit.SECONDS);
+        }
+
+        assertEquals(1, (int) batchSizes.get(0));
+        assertEquals(3, (int) batchSizes.get(1));
+        assertEquals(1, (int) batchSizes.get(2));
+        verify(gamesGenerationTracker, times(3)).bump();
+    }
+
+    @Test
+    @DisplayName("Tests a full queue is rejected straight away")
+    void submitRejected() throws Exception {
+
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+
+        doAnswer(invocation -> {
+            started.countDown();
+            release.await(5, TimeUnit.SECONDS);
+            return Collections.emptySet();
+        }).when(gameRepository).insertUnordered(anyList());
+        gameInsertPipeline.init();
+
+        gameInsertPipeline.submit(new Game());
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+        for (int i = 0; i < 4; i++) {
+            gameInsertPipeline.submit(new Game());
+        }
+
+        assertThrows(RejectedExecutionException.class, () -> gameInsertPipeline.submit(new Game()));
+        assertEquals(1.0, meterRegistry.get(GameInsertPipeline.PIPELINE_NAME + ".rejected").counter().count());
+        release.countDown();
+    }
+
+    @Test
+    @DisplayName("Tests only the games rejected by the batch insert fail")
+    void submitPartialFailure() throws Exception {
+
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+
+        doAnswer(invocation -> {
+            started.countDown();
+            release.await(5, TimeUnit.SECONDS);
+            return Collections.emptySet();
+        }).doReturn(Collections.singleton(1)).when(gameRepository).insertUnordered(anyList());
+        gameInsertPipeline.init();
+
+        gameInsertPipeline.submit(new Game());
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+        CompletableFuture<Void> first = gameInsertPipeline.submit(new Game());
+        CompletableFuture<Void> second = gameInsertPipeline.submit(new Game());
+        release.countDown();
+
+        first.get(5, TimeUnit.SECONDS);
+        ExecutionException e = assertThrows(ExecutionException.class, () -> second.get(5, TimeUnit.SECONDS));
+        assertTrue(e.getCause() instanceof MongoException);
+    }
+
+    @Test
+    @DisplayName("Tests a failed batch fails every game in it without incrementing the generation")
+    void submitMongoException() throws Exception {
+
+        doThrow(new MongoException("failed")).when(gameRepository).insertUnordered(anyList());
+        gameInsertPipeline.init();
+
+        CompletableFuture<Void> inserted = gameInsertPipeline.submit(new Game());
+
+        ExecutionException e = assertThrows(ExecutionException.class, () -> inserted.get(5, TimeUnit.SECONDS));
+        assertTrue(e.getCause() instanceof MongoException);
+        verifyZeroInteractions(gamesGenerationTracker);
+    }
+
+    @Test
+    @DisplayName("Tests an unexpected failure fails its batch and the writer carries on")
+    void submitUnexpectedFailure() throws Exception {
+
+        IllegalStateException failure = new IllegalStateException("failed");
+        doThrow(failure).doReturn(Collections.emptySet()).when(gameRepository).insertUnordered(anyList());
+        gameInsertPipeline.init();
+
+        CompletableFuture<Void> first = gameInsertPipeline.submit(new Game());
+        ExecutionException e = assertThrows(ExecutionException.class, () -> first.get(5, TimeUnit.SECONDS));
+        assertEquals(failure, e.getCause());
+
+        gameInsertPipeline.submit(new Game()).get(5, TimeUnit.SECONDS);
+    }
+
+    @Test
+    @DisplayName("Tests a withdrawn game is left out of its batch, and one already taken cannot be withdrawn")
+    @SuppressWarnings("unchecked")
+    void withdraw() throws Exception {
+
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        List<List<Game>> batches = Collections.synchronizedList(new ArrayList<>());
+
+        doAnswer(invocation -> {
+            batches.add(new ArrayList<>((List<Game>) invocation.getArgument(0)));
+            started.countDown();
+            release.await(5, TimeUnit.SECONDS);
+            return Collections.emptySet();
+        }).when(gameRepository).insertUnordered(anyList());
+        gameInsertPipeline.init();
+
+        CompletableFuture<Void> taken = gameInsertPipeline.submit(new Game());
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+        Game kept = new Game();
+        CompletableFuture<Void> withdrawn = gameInsertPipeline.submit(new Game());
+        CompletableFuture<Void> queued = gameInsertPipeline.submit(kept);
+
+        assertFalse(gameInsertPipeline.withdraw(taken));
+        assertTrue(gameInsertPipeline.withdraw(withdrawn));
+        assertTrue(withdrawn.isCancelled());
+        release.countDown();
+
+        queued.get(5, TimeUnit.SECONDS);
+        taken.get(5, TimeUnit.SECONDS);
+        assertEquals(Collections.singletonList(kept), batches.get(1));
+    }
+}
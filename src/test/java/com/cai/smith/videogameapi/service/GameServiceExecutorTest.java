@@ -0,0 +1,109 @@
+package com.cai.smith.videogameapi.service;
+
+import com.cai.smith.videogameapi.AsyncConfig;
+import com.cai.smith.videogameapi.exception.DataException;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Spy;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.context.request.async.DeferredResult;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@ExtendWith(MockitoExtension.class)
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+public class GameServiceExecutorTest {
+
+    @Spy
+    private AsyncConfig asyncConfig = new AsyncConfig();
+
+    @Spy
+    private MeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @InjectMocks
+    private GameServiceExecutor gameServiceExecutor;
+
+    @BeforeEach
+    void setUp() {
+        asyncConfig.setPoolSize(1);
+        asyncConfig.setQueueCapacity(1);
+        gameServiceExecutor.init();
+    }
+
+    @AfterEach
+    void tearDown() {
+        gameServiceExecutor.shutdown();
+    }
+
+    @Test
+    @DisplayName("Tests the service response is delivered to the deferred result")
+    void submit() throws InterruptedException {
+
+        DeferredResult<ResponseEntity> result = gameServiceExecutor.submit(
+                () -> ResponseEntity.status(HttpStatus.OK).build());
+
+        assertEquals(HttpStatus.OK, ((ResponseEntity) awaitResult(result)).getStatusCode());
+    }
+
+    @Test
+    @DisplayName("Tests a DataException is delivered as the error result for DataExceptionHandler")
+    void submitDataException() throws InterruptedException {
+
+        DataException failure = new DataException("failed", new RuntimeException());
+        DeferredResult<ResponseEntity> result = gameServiceExecutor.submit(() -> {
+            throw failure;
+        });
+
+        assertEquals(failure, awaitResult(result));
+    }
+
+    @Test
+    @DisplayName("Tests a full queue is rejected with service unavailable")
+    void submitRejected() throws InterruptedException {
+
+        CountDownLatch release = new CountDownLatch(1);
+        CountDownLatch started = new CountDownLatch(1);
+
+        // One call holds the only thread and a second fills the queue
+        gameServiceExecutor.submit(() -> {
+            started.countDown();
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return ResponseEntity.status(HttpStatus.OK).build();
+        });
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+        gameServiceExecutor.submit(() -> ResponseEntity.status(HttpStatus.OK).build());
+
+        DeferredResult<ResponseEntity> result = gameServiceExecutor.submit(
+                () -> ResponseEntity.status(HttpStatus.OK).build());
+
+        assertEquals(HttpStatus.SERVICE_UNAVAILABLE, ((ResponseEntity) result.getResult()).getStatusCode());
+        assertEquals(1.0, meterRegistry.counter(GameServiceExecutor.EXECUTOR_NAME + ".rejected").count());
+        release.countDown();
+    }
+
+    private Object awaitResult(DeferredResult<ResponseEntity> result) throws InterruptedException {
+
+        long deadline = System.currentTimeMillis() + 5000;
+        while (!result.hasResult() && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+        }
+        return result.getResult();
+    }
+}
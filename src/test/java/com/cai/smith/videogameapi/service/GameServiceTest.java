@@ -1,196 +1,1277 @@
 package com.cai.smith.videogameapi.service;
 
+import com.cai.smith.videogameapi.BatchConfig;
+import com.cai.smith.videogameapi.IdempotencyConfig;
+import com.cai.smith.videogameapi.InsertPipelineConfig;
+import com.cai.smith.videogameapi.PaginationConfig;
+import com.cai.smith.videogameapi.SearchConfig;
+import com.cai.smith.videogameapi.cache.CompressedSnapshotCache;
+import com.cai.smith.videogameapi.cache.GameCache;
+import com.cai.smith.videogameapi.cache.GameResponseCache;
+import com.cai.smith.videogameapi.cache.SerializedGame;
 import com.cai.smith.videogameapi.exception.DataException;
+import com.cai.smith.videogameapi.facet.GameFacets;
+import com.cai.smith.videogameapi.idempotency.IdempotencyStore;
+import com.cai.smith.videogameapi.mapper.GameFormat;
+import com.cai.smith.videogameapi.mapper.GameListWriter;
 import com.cai.smith.videogameapi.mapper.ResponseMapper;
-import com.cai.smith.videogameapi.model.Developer;
 import com.cai.smith.videogameapi.model.Game;
+import com.cai.smith.videogameapi.model.GameFields;
+import com.cai.smith.videogameapi.model.GameFilter;
+import com.cai.smith.videogameapi.model.IdempotencyRecord;
+import com.cai.smith.videogameapi.model.response.BatchItemStatus;
+import com.cai.smith.videogameapi.model.response.BatchResponse;
+import com.cai.smith.videogameapi.model.response.FacetResponse;
 import com.cai.smith.videogameapi.model.response.GameResponse;
-import com.cai.smith.videogameapi.model.response.GameResponseList;
-import com.cai.smith.videogameapi.repository.DeveloperRepository;
+import com.cai.smith.videogameapi.model.response.SearchResponse;
+import com.cai.smith.videogameapi.model.response.SearchResult;
+import com.cai.smith.videogameapi.repository.CollectionGenerationRepository;
 import com.cai.smith.videogameapi.repository.GameRepository;
+import com.cai.smith.videogameapi.search.TitleSearchIndex;
+import com.cai.smith.videogameapi.utility.ContentEncoding;
+import com.cai.smith.videogameapi.utility.PageToken;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
 import com.mongodb.MongoException;
+import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.TestInstance;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.data.util.CloseableIterator;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
 import java.time.LocalDate;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Iterator;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Function;
+import java.util.zip.GZIPInputStream;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyZeroInteractions;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+public class GameServiceTest {
+
+    @Mock
+    private GameRepository mockGameRepository;
+
+    @Mock
+    private ApprovedDeveloperRegistry mockApprovedDeveloperRegistry;
+
+    @Mock
+    private ResponseMapper mockResponseMapper;
+
+    @Mock
+    private GameCache mockGameCache;
+
+    @Mock
+    private GameResponseCache mockGameResponseCache;
+
+    @Mock
+    private CompressedSnapshotCache mockCompressedSnapshotCache;
+
+    @Mock
+    private CollectionGenerationRepository mockCollectionGenerationRepository;
+
+    @Mock
+    private GamesGenerationTracker mockGamesGenerationTracker;
+
+    @Mock
+    private TitleSearchIndex mockTitleSearchIndex;
+
+    @Mock
+    private GameFacets mockGameFacets;
+
+    @Mock
+    private IdempotencyStore mockIdempotencyStore;
+
+    @Mock
+    private GameResponse mockGameResponse;
+
+
+    @Mock
+    private MongoException mockMongoException;
+
+    @Spy
+    private PaginationConfig paginationConfig = new PaginationConfig();
+
+    @Spy
+    private BatchConfig batchConfig = new BatchConfig();
+
+    @Spy
+    private SearchConfig searchConfig = new SearchConfig();
+
+    @Spy
+    private IdempotencyConfig idempotencyConfig = new IdempotencyConfig();
+
+    @Spy
+    private InsertPipelineConfig insertPipelineConfig = new InsertPipelineConfig();
+
+    @Spy
+    private ObjectMapper objectMapper = new ObjectMapper().registerModule(new JavaTimeModule());
+
+    @Spy
+    private GameListWriter gameListWriter = new GameListWriter();
+
+    @InjectMocks
+    private GameService gameService;
+
+    @AfterEach
+    void tearDown() {
+        // Not a mock field, so it would otherwise outlive the test that set it
+        ReflectionTestUtils.setField(gameService, "gameInsertPipeline", null);
+    }
+
+    private static final String APPROVED_DEVELOPER = "approved developer";
+    private static final String UNAPPROVED_DEVELOPER = "unapproved developer";
+    private static final String ADVENTURE_GENRE = "adventure";
+    private static final String ACTION_GENRE = "action";
+    private static final LocalDate RELEASE_DATE = LocalDate.of(2019, 01, 01);
+    private static final byte[] GAME_LIST_JSON = "{}".getBytes();
+
+    @Test
+    @DisplayName("Tests successful post")
+    void postGame() throws DataException {
+
+        Game game = createGame();
+
+        when(mockApprovedDeveloperRegistry.isApproved(APPROVED_DEVELOPER)).thenReturn(true);
+        when(mockResponseMapper.mapGameResponse(game)).thenReturn(mockGameResponse);
+
+        ResponseEntity responseEntity = gameService.create(game);
+
+        assertNotNull(responseEntity);
+        assertEquals(HttpStatus.CREATED, responseEntity.getStatusCode());
+        assertEquals(mockGameResponse, responseEntity.getBody());
+        verify(mockGameCache).put(game);
+        verify(mockTitleSearchIndex).put(game.getGameId(), "title", 1L);
+        verify(mockGameFacets).add(game);
+        verify(mockGamesGenerationTracker).bump();
+        assertEquals("\"v1\"", responseEntity.getHeaders().getETag());
+    }
+
+    @Test
+    @DisplayName("Tests post return unauthorised with unapproved developer")
+    void postGameUnapprovedDeveloper() throws DataException {
+
+        Game game = createGameWithUnapprovedDeveloper();
+
+        when(mockApprovedDeveloperRegistry.isApproved(UNAPPROVED_DEVELOPER)).thenReturn(false);
+
+        ResponseEntity responseEntity = gameService.create(game);
+
+        assertNotNull(responseEntity);
+        assertEquals(HttpStatus.UNAUTHORIZED, responseEntity.getStatusCode());
+    }
+
+    @Test
+    @DisplayName("Test mongo exception when posting game")
+    void postGameMongoException() {
+
+        Game game = createGame();
+
+        when(mockApprovedDeveloperRegistry.isApproved(APPROVED_DEVELOPER)).thenReturn(true);
+        when(mockGameRepository.insert(game)).thenThrow(mockMongoException);
+
+        assertThrows(DataException.class, () -> gameService.create(game));
+    }
+
+    @Test
+    @DisplayName("Tests post waits for the insert pipeline instead of inserting itself")
+    void postGamePipelined() throws DataException {
+
+        Game game = createGame();
+        GameInsertPipeline mockGameInsertPipeline = mock(GameInsertPipeline.class);
+        ReflectionTestUtils.setField(gameService, "gameInsertPipeline", mockGameInsertPipeline);
+
+        when(mockApprovedDeveloperRegistry.isApproved(APPROVED_DEVELOPER)).thenReturn(true);
+        when(mockResponseMapper.mapGameResponse(game)).thenReturn(mockGameResponse);
+        when(mockGameInsertPipeline.submit(game)).thenReturn(CompletableFuture.completedFuture(null));
+
+        ResponseEntity responseEntity = gameService.create(game);
+
+        assertEquals(HttpStatus.CREATED, responseEntity.getStatusCode());
+        assertEquals(mockGameResponse, responseEntity.getBody());
+        verify(mockGameCache).put(game);
+        verify(mockGameRepository, never()).insert(any(Game.class));
+        // The pipeline bumps the generation once per batch
+        verifyZeroInteractions(mockGamesGenerationTracker);
+    }
+
+    @Test
+    @DisplayName("Tests post returns service unavailable when the insert pipeline is full")
+    void postGamePipelineFull() throws DataException {
+
+        Game game = createGame();
+        GameInsertPipeline mockGameInsertPipeline = mock(GameInsertPipeline.class);
+        ReflectionTestUtils.setField(gameService, "gameInsertPipeline", mockGameInsertPipeline);
+
+        when(mockApprovedDeveloperRegistry.isApproved(APPROVED_DEVELOPER)).thenReturn(true);
+        when(mockGameInsertPipeline.submit(game)).thenThrow(new RejectedExecutionException("full"));
+
+        ResponseEntity responseEntity = gameService.create(game);
+
+        assertEquals(HttpStatus.SERVICE_UNAVAILABLE, responseEntity.getStatusCode());
+        verifyZeroInteractions(mockGameCache);
+    }
+
+    @Test
+    @DisplayName("Tests a create still queued when the wait times out is withdrawn and answered 503")
+    void postGamePipelineTimeout() throws DataException {
+
+        Game game = createGame();
+        GameInsertPipeline mockGameInsertPipeline = mock(GameInsertPipeline.class);
+        ReflectionTestUtils.setField(gameService, "gameInsertPipeline", mockGameInsertPipeline);
+        CompletableFuture<Void> pending = new CompletableFuture<>();
+
+        when(insertPipelineConfig.getWaitTimeoutMillis()).thenReturn(1L);
+        when(mockApprovedDeveloperRegistry.isApproved(APPROVED_DEVELOPER)).thenReturn(true);
+        when(mockGameInsertPipeline.submit(game)).thenReturn(pending);
+        when(mockGameInsertPipeline.withdraw(pending)).thenReturn(true);
+
+        ResponseEntity responseEntity = gameService.create(game);
+
+        assertEquals(HttpStatus.SERVICE_UNAVAILABLE, responseEntity.getStatusCode());
+        verifyZeroInteractions(mockGameCache);
+    }
+
+    @Test
+    @DisplayName("Tests a create already being written when the wait times out is a data exception")
+    void postGamePipelineTimeoutInFlight() {
+
+        Game game = createGame();
+        GameInsertPipeline mockGameInsertPipeline = mock(GameInsertPipeline.class);
+        ReflectionTestUtils.setField(gameService, "gameInsertPipeline", mockGameInsertPipeline);
+        CompletableFuture<Void> pending = new CompletableFuture<>();
+
+        when(insertPipelineConfig.getWaitTimeoutMillis()).thenReturn(1L);
+        when(mockApprovedDeveloperRegistry.isApproved(APPROVED_DEVELOPER)).thenReturn(true);
+        when(mockGameInsertPipeline.submit(game)).thenReturn(pending);
+        when(mockGameInsertPipeline.withdraw(pending)).thenReturn(false);
+
+        DataException e = assertThrows(DataException.class, () -> gameService.create(game));
+        assertTrue(e.getCause() instanceof TimeoutException);
+        verifyZeroInteractions(mockGameCache);
+    }
+
+    @Test
+    @DisplayName("Test a failed pipeline batch is a data exception")
+    void postGamePipelineMongoException() {
+
+        Game game = createGame();
+        GameInsertPipeline mockGameInsertPipeline = mock(GameInsertPipeline.class);
+        ReflectionTestUtils.setField(gameService, "gameInsertPipeline", mockGameInsertPipeline);
+
+        CompletableFuture<Void> failed = new CompletableFuture<>();
+        failed.completeExceptionally(mockMongoException);
+
+        when(mockApprovedDeveloperRegistry.isApproved(APPROVED_DEVELOPER)).thenReturn(true);
+        when(mockGameInsertPipeline.submit(game)).thenReturn(failed);
+
+        DataException e = assertThrows(DataException.class, () -> gameService.create(game));
+        assertSame(mockMongoException, e.getCause());
+    }
+
+    @Test
+    @DisplayName("Tests post with a new idempotency key creates the game and records it")
+    void postGameIdempotencyKey() throws DataException {
+
+        Game game = createGame();
+
+        when(mockIdempotencyStore.claim(any(IdempotencyRecord.class))).thenReturn(null);
+        when(mockApprovedDeveloperRegistry.isApproved(APPROVED_DEVELOPER)).thenReturn(true);
+        when(mockResponseMapper.mapGameResponse(game)).thenReturn(mockGameResponse);
+        when(mockIdempotencyStore.complete(any(IdempotencyRecord.class), eq(game))).thenReturn(true);
+
+        ResponseEntity responseEntity = gameService.create(game, "key");
+
+        assertEquals(HttpStatus.CREATED, responseEntity.getStatusCode());
+        assertNull(responseEntity.getHeaders().getFirst(GameService.IDEMPOTENT_REPLAYED_HEADER));
+        verify(mockGameRepository).insert(game);
+        // Completes the very claim it made, so it cannot overwrite anyone else's
+        ArgumentCaptor<IdempotencyRecord> claim = ArgumentCaptor.forClass(IdempotencyRecord.class);
+        verify(mockIdempotencyStore).claim(claim.capture());
+        verify(mockIdempotencyStore).complete(claim.getValue(), game);
+    }
+
+    @Test
+    @DisplayName("Tests a duplicate arriving during the original post waits and is answered as a replay")
+    void postGameIdempotencyKeyConcurrent() throws Exception {
+
+        Game game = createGame();
+
+        ResponseEntity duplicate = createDuringOriginal(game, createGame());
+
+        assertEquals(HttpStatus.CREATED, duplicate.getStatusCode());
+        assertEquals("true", duplicate.getHeaders().getFirst(GameService.IDEMPOTENT_REPLAYED_HEADER));
+        verify(mockIdempotencyStore, times(2)).claim(argThat(claim -> "key".equals(claim.getKey())));
+        verify(mockGameRepository).insert(game);
+    }
+
+    @Test
+    @DisplayName("Tests a different game arriving during the original post with its key is unprocessable")
+    void postGameIdempotencyKeyConcurrentDifferentGame() throws Exception {
+
+        Game game = createGame();
+        Game different = createGame();
+        different.setTitle("Different");
+
+        ResponseEntity duplicate = createDuringOriginal(game, different);
+
+        assertEquals(HttpStatus.UNPROCESSABLE_ENTITY, duplicate.getStatusCode());
+        verify(mockGameRepository).insert(game);
+    }
+
+    @Test
+    @DisplayName("Tests a retried post is answered with the original game without inserting")
+    void postGameIdempotencyKeyReplay() throws DataException {
+
+        Game original = createGame();
+        original.setGameId("id");
+        original.setVersion(1);
+
+        when(mockIdempotencyStore.claim(any(IdempotencyRecord.class))).thenReturn(IdempotencyRecord.completed("key", original));
+        when(mockResponseMapper.mapGameResponse(any(Game.class))).thenReturn(mockGameResponse);
+
+        ResponseEntity responseEntity = gameService.create(createGame(), "key");
+
+        assertEquals(HttpStatus.CREATED, responseEntity.getStatusCode());
+        assertEquals(mockGameResponse, responseEntity.getBody());
+        assertEquals("\"v1\"", responseEntity.getHeaders().getETag());
+        assertEquals("true", responseEntity.getHeaders().getFirst(GameService.IDEMPOTENT_REPLAYED_HEADER));
+        verify(mockResponseMapper).mapGameResponse(argThat(game -> "id".equals(game.getGameId())));
+        verifyZeroInteractions(mockGameRepository, mockApprovedDeveloperRegistry);
+    }
+
+    @Test
+    @DisplayName("Tests an idempotency key reused for a different game is unprocessable")
+    void postGameIdempotencyKeyDifferentGame() throws DataException {
+
+        Game original = createGame();
+        original.setGameId("id");
+        Game different = createGame();
+        different.setTitle("different");
+
+        when(mockIdempotencyStore.claim(any(IdempotencyRecord.class))).thenReturn(IdempotencyRecord.completed("key", original));
+
+        ResponseEntity responseEntity = gameService.create(different, "key");
+
+        assertEquals(HttpStatus.UNPROCESSABLE_ENTITY, responseEntity.getStatusCode());
+        verifyZeroInteractions(mockGameRepository);
+    }
+
+    @Test
+    @DisplayName("Tests an idempotency key still being created elsewhere is a conflict")
+    void postGameIdempotencyKeyInProgress() throws DataException {
+
+        when(mockIdempotencyStore.claim(any(IdempotencyRecord.class))).thenReturn(IdempotencyRecord.pending("key", 60000));
+
+        ResponseEntity responseEntity = gameService.create(createGame(), "key");
+
+        assertEquals(HttpStatus.CONFLICT, responseEntity.getStatusCode());
+        verifyZeroInteractions(mockGameRepository);
+    }
+
+    @Test
+    @DisplayName("Tests an idempotency key is released when no game was created")
+    void postGameIdempotencyKeyUnauthorised() throws DataException {
+
+        when(mockIdempotencyStore.claim(any(IdempotencyRecord.class))).thenReturn(null);
+        when(mockApprovedDeveloperRegistry.isApproved(UNAPPROVED_DEVELOPER)).thenReturn(false);
+
+        ResponseEntity responseEntity = gameService.create(createGameWithUnapprovedDeveloper(), "key");
+
+        assertEquals(HttpStatus.UNAUTHORIZED, responseEntity.getStatusCode());
+        verify(mockIdempotencyStore).release(any(IdempotencyRecord.class));
+        verify(mockIdempotencyStore, never()).complete(any(), any());
+    }
+
+    @Test
+    @DisplayName("Tests an idempotency key is released when the create fails before inserting")
+    void postGameIdempotencyKeyDeveloperCheckFails() {
+
+        when(mockIdempotencyStore.claim(any(IdempotencyRecord.class))).thenReturn(null);
+        when(mockApprovedDeveloperRegistry.isApproved(APPROVED_DEVELOPER)).thenThrow(mockMongoException);
+
+        assertThrows(DataException.class, () -> gameService.create(createGame(), "key"));
+        verify(mockIdempotencyStore).release(any(IdempotencyRecord.class));
+        verifyZeroInteractions(mockGameRepository);
+    }
+
+    @Test
+    @DisplayName("Tests an idempotency key is kept pending when the insert fails with its outcome unknown")
+    void postGameIdempotencyKeyMongoException() {
+
+        Game game = createGame();
+
+        when(mockIdempotencyStore.claim(any(IdempotencyRecord.class))).thenReturn(null);
+        when(mockApprovedDeveloperRegistry.isApproved(APPROVED_DEVELOPER)).thenReturn(true);
+        when(mockGameRepository.insert(game)).thenThrow(mockMongoException);
+
+        assertThrows(DataException.class, () -> gameService.create(game, "key"));
+        verify(mockIdempotencyStore, never()).release(any());
+        verify(mockIdempotencyStore, never()).complete(any(), any());
+    }
+
+    @Test
+    @DisplayName("Tests an idempotency key is kept pending when its game's batch is still being written at the timeout")
+    void postGameIdempotencyKeyPipelineTimeoutInFlight() {
+
+        Game game = createGame();
+        GameInsertPipeline mockGameInsertPipeline = mock(GameInsertPipeline.class);
+        ReflectionTestUtils.setField(gameService, "gameInsertPipeline", mockGameInsertPipeline);
+        CompletableFuture<Void> pending = new CompletableFuture<>();
+
+        when(insertPipelineConfig.getWaitTimeoutMillis()).thenReturn(1L);
+        when(mockIdempotencyStore.claim(any(IdempotencyRecord.class))).thenReturn(null);
+        when(mockApprovedDeveloperRegistry.isApproved(APPROVED_DEVELOPER)).thenReturn(true);
+        when(mockGameInsertPipeline.submit(game)).thenReturn(pending);
+        when(mockGameInsertPipeline.withdraw(pending)).thenReturn(false);
+
+        assertThrows(DataException.class, () -> gameService.create(game, "key"));
+        verify(mockIdempotencyStore, never()).release(any());
+        verify(mockIdempotencyStore, never()).complete(any(), any());
+    }
+
+    @Test
+    @DisplayName("Tests an idempotency key is released when its game is withdrawn from the pipeline")
+    void postGameIdempotencyKeyPipelineWithdrawn() throws DataException {
+
+        Game game = createGame();
+        GameInsertPipeline mockGameInsertPipeline = mock(GameInsertPipeline.class);
+        ReflectionTestUtils.setField(gameService, "gameInsertPipeline", mockGameInsertPipeline);
+        CompletableFuture<Void> pending = new CompletableFuture<>();
+
+        when(insertPipelineConfig.getWaitTimeoutMillis()).thenReturn(1L);
+        when(mockIdempotencyStore.claim(any(IdempotencyRecord.class))).thenReturn(null);
+        when(mockApprovedDeveloperRegistry.isApproved(APPROVED_DEVELOPER)).thenReturn(true);
+        when(mockGameInsertPipeline.submit(game)).thenReturn(pending);
+        when(mockGameInsertPipeline.withdraw(pending)).thenReturn(true);
+
+        assertEquals(HttpStatus.SERVICE_UNAVAILABLE, gameService.create(game, "key").getStatusCode());
+        verify(mockIdempotencyStore).release(any(IdempotencyRecord.class));
+    }
+
+    @Test
+    @DisplayName("Tests a duplicate waiting on a create whose outcome is unknown is a conflict rather than a second insert")
+    void postGameIdempotencyKeyConcurrentUnknownOutcome() throws Exception {
+
+        Game game = createGame();
+        CountDownLatch inserting = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+
+        // The original's claim is left pending, so the duplicate's own claim finds it
+        when(mockIdempotencyStore.claim(any(IdempotencyRecord.class)))
+                .thenReturn(null)
+                .thenAnswer(invocation -> IdempotencyRecord.pending("key", 60000));
+        when(mockApprovedDeveloperRegistry.isApproved(APPROVED_DEVELOPER)).thenReturn(true);
+        when(mockGameRepository.insert(game)).thenAnswer(invocation -> {
+            inserting.countDown();
+            release.await(5, TimeUnit.SECONDS);
+            throw mockMongoException;
+        });
+
+        CompletableFuture<Void> original = CompletableFuture.runAsync(() -> assertThrows(IllegalStateException.class,
+                () -> createIdempotently(game)));
+        assertTrue(inserting.await(5, TimeUnit.SECONDS));
+
+        CompletableFuture<ResponseEntity> duplicate = new CompletableFuture<>();
+        Thread duplicateThread = new Thread(() -> duplicate.complete(createIdempotently(createGame())));
+        duplicateThread.start();
+        while (duplicateThread.getState() != Thread.State.WAITING) {
+            Thread.sleep(1);
+        }
+        release.countDown();
+
+        original.get(5, TimeUnit.SECONDS);
+        assertEquals(HttpStatus.CONFLICT, duplicate.get(5, TimeUnit.SECONDS).getStatusCode());
+        verify(mockGameRepository).insert(any(Game.class));
+        verify(mockIdempotencyStore, never()).release(any());
+    }
+
+    @Test
+    @DisplayName("Tests an empty or overlong idempotency key is a bad request")
+    void postGameIdempotencyKeyInvalid() throws DataException {
+
+        when(idempotencyConfig.getMaxKeyLength()).thenReturn(3);
+
+        assertEquals(HttpStatus.BAD_REQUEST, gameService.create(createGame(), "").getStatusCode());
+        assertEquals(HttpStatus.BAD_REQUEST, gameService.create(createGame(), "long").getStatusCode());
+        verifyZeroInteractions(mockIdempotencyStore, mockGameRepository);
+    }
+
+    @Test
+    @DisplayName("Tests batch post reports status per game")
+    void postBatch() throws DataException {
+
+        List<Game> games = new ArrayList<>();
+        games.add(createGame());
+        games.add(createGameWithUnapprovedDeveloper());
+        games.add(null);
+        games.add(createGame());
+
+        when(mockApprovedDeveloperRegistry.isApproved(APPROVED_DEVELOPER)).thenReturn(true);
+        doReturn(false).when(mockApprovedDeveloperRegistry).isApproved(UNAPPROVED_DEVELOPER);
+        when(mockGameRepository.insertUnordered(any())).thenReturn(Collections.singleton(1));
+
+        ResponseEntity responseEntity = gameService.createBatch(games);
+
+        assertNotNull(responseEntity);
+        assertEquals(HttpStatus.OK, responseEntity.getStatusCode());
+
+        BatchResponse batchResponse = (BatchResponse) responseEntity.getBody();
+        assertEquals(1, batchResponse.getCreated());
+        assertEquals(1, batchResponse.getUnauthorised());
+        assertEquals(2, batchResponse.getFailed());
+        assertEquals(BatchItemStatus.CREATED, batchResponse.getItems().get(0).getStatus());
+        assertNotNull(batchResponse.getItems().get(0).getId());
+        assertEquals(BatchItemStatus.UNAUTHORISED, batchResponse.getItems().get(1).getStatus());
+        assertEquals(BatchItemStatus.FAILED, batchResponse.getItems().get(2).getStatus());
+        assertEquals(BatchItemStatus.FAILED, batchResponse.getItems().get(3).getStatus());
+    }
+
+    @Test
+    @DisplayName("Tests batch post inserts in chunks")
+    void postBatchChunked() throws DataException {
+
+        List<Game> games = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            games.add(createGame());
+        }
+
+        when(batchConfig.getInsertChunkSize()).thenReturn(2);
+        when(mockApprovedDeveloperRegistry.isApproved(APPROVED_DEVELOPER)).thenReturn(true);
+        when(mockGameRepository.insertUnordered(any())).thenReturn(Collections.<Integer>emptySet());
+
+        ResponseEntity responseEntity = gameService.createBatch(games);
+
+        BatchResponse batchResponse = (BatchResponse) responseEntity.getBody();
+        assertEquals(5, batchResponse.getCreated());
+        verify(mockGameRepository, times(3)).insertUnordered(any());
+    }
+
+    @Test
+    @DisplayName("Test mongo exception fails only the affected chunk")
+    void postBatchMongoException() throws DataException {
+
+        List<Game> games = new ArrayList<>();
+        games.add(createGame());
+
+        when(mockApprovedDeveloperRegistry.isApproved(APPROVED_DEVELOPER)).thenReturn(true);
+        when(mockGameRepository.insertUnordered(any())).thenThrow(mockMongoException);
+
+        ResponseEntity responseEntity = gameService.createBatch(games);
+
+        BatchResponse batchResponse = (BatchResponse) responseEntity.getBody();
+        assertEquals(1, batchResponse.getFailed());
+        assertEquals(BatchItemStatus.FAILED, batchResponse.getItems().get(0).getStatus());
+    }
+
+    @Test
+    @DisplayName("Tests empty batch is rejected")
+    void postBatchEmpty() throws DataException {
+
+        ResponseEntity responseEntity = gameService.createBatch(new ArrayList<>());
+
+        assertNotNull(responseEntity);
+        assertEquals(HttpStatus.BAD_REQUEST, responseEntity.getStatusCode());
+    }
+
+    @Test
+    @DisplayName("Tests successful getAll")
+    void getAllGames() throws DataException {
+
+        List<Game> games = createGamesList();
+
+        when(mockGameRepository.findPage(0, 20, GameFields.ALL)).thenReturn(games);
+        when(mockGameRepository.estimatedCount()).thenReturn(2L);
+        doReturn(GAME_LIST_JSON).when(gameListWriter).writeGameList(games, 0, 20, 2L, null, GameFormat.JSON, GameFields.ALL);
+
+        ResponseEntity responseEntity = gameService.getAll(null, null, null, null);
+
+        assertNotNull(responseEntity);
+        assertEquals(HttpStatus.OK, responseEntity.getStatusCode());
+        assertSame(GAME_LIST_JSON, responseEntity.getBody());
+    }
+
+    @Test
+    @DisplayName("Tests getAll writes the page in the negotiated format")
+    void getAllGamesBinaryFormat() throws DataException {
+
+        List<Game> games = createGamesList();
+        byte[] cbor = {(byte) 0xbf};
+
+        when(mockCollectionGenerationRepository.currentGeneration("games")).thenReturn(7L);
+        when(mockGameRepository.findPage(0, 20, GameFields.ALL)).thenReturn(games);
+        when(mockGameRepository.estimatedCount()).thenReturn(2L);
+        doReturn(cbor).when(gameListWriter).writeGameList(games, 0, 20, 2L, null, GameFormat.CBOR, GameFields.ALL);
+
+        ResponseEntity responseEntity = gameService.getAll(null, null, null, new GameFilter(), GameFields.ALL, "\"g7\"", GameFormat.CBOR, null);
+
+        assertEquals(HttpStatus.OK, responseEntity.getStatusCode());
+        assertEquals("\"g7-cbor\"", responseEntity.getHeaders().getETag());
+        assertEquals(GameFormat.CBOR.getMediaType(), responseEntity.getHeaders().getContentType());
+        assertSame(cbor, responseEntity.getBody());
+    }
+
+    @Test
+    @DisplayName("Tests getAll serves a compressed snapshot without querying the page")
+    void getAllGamesCompressedSnapshot() throws DataException {
+
+        byte[] snapshot = {1, 2, 3};
+
+        when(mockCollectionGenerationRepository.currentGeneration("games")).thenReturn(7L);
+        when(mockCompressedSnapshotCache.encodingFor("gzip")).thenReturn(ContentEncoding.GZIP);
+        when(mockCompressedSnapshotCache.get(7L, "page:JSON:GZIP:id,title,releaseDate,genres,developer:index:0:20")).thenReturn(snapshot);
+
+        ResponseEntity responseEntity = gameService.getAll(null, null, null, new GameFilter(), GameFields.ALL, null,
+                GameFormat.JSON, "gzip");
+
+        assertEquals(HttpStatus.OK, responseEntity.getStatusCode());
+        assertEquals("gzip", responseEntity.getHeaders().getFirst(HttpHeaders.CONTENT_ENCODING));
+        assertEquals("\"g7-gzip\"", responseEntity.getHeaders().getETag());
+        assertSame(snapshot, responseEntity.getBody());
+        verify(mockGameRepository, never()).findPage(anyInt(), anyInt(), any());
+    }
+
+    @Test
+    @DisplayName("Tests getAll compresses a large enough page and keeps it for the generation")
+    void getAllGamesCompressesPage() throws DataException, IOException {
+
+        List<Game> games = createGamesList();
+
+        when(mockCollectionGenerationRepository.currentGeneration("games")).thenReturn(7L);
+        when(mockCompressedSnapshotCache.encodingFor("gzip")).thenReturn(ContentEncoding.GZIP);
+        when(mockCompressedSnapshotCache.isLargeEnough(GAME_LIST_JSON)).thenReturn(true);
+        when(mockGameRepository.findPage(0, 20, GameFields.ALL)).thenReturn(games);
+        when(mockGameRepository.estimatedCount()).thenReturn(2L);
+        doReturn(GAME_LIST_JSON).when(gameListWriter).writeGameList(games, 0, 20, 2L, null, GameFormat.JSON, GameFields.ALL);
+
+        ResponseEntity responseEntity = gameService.getAll(null, null, null, new GameFilter(), GameFields.ALL, null,
+                GameFormat.JSON, "gzip");
+
+        assertEquals(HttpStatus.OK, responseEntity.getStatusCode());
+        assertEquals("gzip", responseEntity.getHeaders().getFirst(HttpHeaders.CONTENT_ENCODING));
+        assertArrayEquals(GAME_LIST_JSON, gunzip((byte[]) responseEntity.getBody()));
+        verify(mockCompressedSnapshotCache).put(7L, "page:JSON:GZIP:id,title,releaseDate,genres,developer:index:0:20", (byte[]) responseEntity.getBody());
+    }
+
+    @Test
+    @DisplayName("Tests getAll leaves a small page uncompressed")
+    void getAllGamesSmallPageUncompressed() throws DataException {
+
+        List<Game> games = createGamesList();
+
+        when(mockCollectionGenerationRepository.currentGeneration("games")).thenReturn(7L);
+        when(mockCompressedSnapshotCache.encodingFor("gzip")).thenReturn(ContentEncoding.GZIP);
+        when(mockGameRepository.findPage(0, 20, GameFields.ALL)).thenReturn(games);
+        when(mockGameRepository.estimatedCount()).thenReturn(2L);
+        doReturn(GAME_LIST_JSON).when(gameListWriter).writeGameList(games, 0, 20, 2L, null, GameFormat.JSON, GameFields.ALL);
+
+        ResponseEntity responseEntity = gameService.getAll(null, null, null, new GameFilter(), GameFields.ALL, null,
+                GameFormat.JSON, "gzip");
+
+        assertNull(responseEntity.getHeaders().getFirst(HttpHeaders.CONTENT_ENCODING));
+        assertSame(GAME_LIST_JSON, responseEntity.getBody());
+        verify(mockCompressedSnapshotCache, never()).put(anyLong(), anyString(), any());
+    }
+
+    @Test
+    @DisplayName("Tests a plain page varies by Accept-Encoding once compression is on")
+    void getAllGamesFilteredVariesByEncoding() throws DataException {
+
+        GameFilter filter = new GameFilter();
+        filter.setDeveloper("Nintendo");
+        List<Game> games = createGamesList();
+
+        when(mockCollectionGenerationRepository.currentGeneration("games")).thenReturn(7L);
+        when(mockCompressedSnapshotCache.isEnabled()).thenReturn(true);
+        when(mockGameRepository.findByFilter(filter, 0, 20, GameFields.ALL)).thenReturn(games);
+        when(mockGameRepository.countByFilter(filter)).thenReturn(2L);
+        doReturn(GAME_LIST_JSON).when(gameListWriter).writeGameList(games, 0, 20, 2L, null, GameFormat.JSON, GameFields.ALL);
+
+        ResponseEntity responseEntity = gameService.getAll(null, null, null, filter, GameFields.ALL, null,
+                GameFormat.JSON, "gzip");
+
+        assertEquals("\"g7\"", responseEntity.getHeaders().getETag());
+        assertEquals(Arrays.asList(HttpHeaders.ACCEPT, HttpHeaders.ACCEPT_ENCODING), responseEntity.getHeaders().getVary());
+        verify(mockCompressedSnapshotCache, never()).encodingFor(any());
+    }
+
+    @Test
+    @DisplayName("Tests getAll revalidates the tag of a compressed page")
+    void getAllGamesCompressedNotModified() throws DataException {
+
+        when(mockCollectionGenerationRepository.currentGeneration("games")).thenReturn(7L);
+        when(mockCompressedSnapshotCache.isEnabled()).thenReturn(true);
+
+        ResponseEntity responseEntity = gameService.getAll(null, null, null, "\"g7-gzip\"");
+
+        assertEquals(HttpStatus.NOT_MODIFIED, responseEntity.getStatusCode());
+        assertEquals("\"g7-gzip\"", responseEntity.getHeaders().getETag());
+        assertEquals(Arrays.asList(HttpHeaders.ACCEPT, HttpHeaders.ACCEPT_ENCODING), responseEntity.getHeaders().getVary());
+        verify(mockGameRepository, never()).findPage(anyInt(), anyInt(), any());
+    }
+
+    @Test
+    @DisplayName("Tests getAll sends pages untagged and uncompressed while the generation is stale")
+    void getAllGamesStaleGeneration() throws DataException {
+
+        List<Game> games = createGamesList();
+
+        when(mockGamesGenerationTracker.isStale()).thenReturn(true);
+        when(mockCollectionGenerationRepository.currentGeneration("games")).thenReturn(7L);
+        when(mockGameRepository.findPage(0, 20, GameFields.ALL)).thenReturn(games);
+        when(mockGameRepository.estimatedCount()).thenReturn(2L);
+        doReturn(GAME_LIST_JSON).when(gameListWriter).writeGameList(games, 0, 20, 2L, null, GameFormat.JSON, GameFields.ALL);
+
+        ResponseEntity responseEntity = gameService.getAll(null, null, null, new GameFilter(), GameFields.ALL, "\"g7\"",
+                GameFormat.JSON, "gzip");
+
+        assertEquals(HttpStatus.OK, responseEntity.getStatusCode());
+        assertNull(responseEntity.getHeaders().getETag());
+        assertSame(GAME_LIST_JSON, responseEntity.getBody());
+        verify(mockGamesGenerationTracker).bump();
+        verify(mockCompressedSnapshotCache, never()).get(anyLong(), anyString());
+    }
+
+    @Test
+    @DisplayName("Tests getAll tags pages again once a retried bump succeeds")
+    void getAllGamesStaleGenerationRecovered() throws DataException {
+
+        when(mockGamesGenerationTracker.isStale()).thenReturn(true, false);
+        when(mockCollectionGenerationRepository.currentGeneration("games")).thenReturn(8L);
+
+        ResponseEntity responseEntity = gameService.getAll(null, null, null, "\"g8\"");
+
+        assertEquals(HttpStatus.NOT_MODIFIED, responseEntity.getStatusCode());
+        verify(mockGamesGenerationTracker).bump();
+    }
+
+    @Test
+    @DisplayName("Tests getAll returns not modified for unchanged generation")
+    void getAllGamesNotModified() throws DataException {
+
+        when(mockCollectionGenerationRepository.currentGeneration("games")).thenReturn(7L);
+
+        ResponseEntity responseEntity = gameService.getAll(null, null, null, "\"g7\"");
+
+        assertNotNull(responseEntity);
+        assertEquals(HttpStatus.NOT_MODIFIED, responseEntity.getStatusCode());
+        assertEquals("\"g7\"", responseEntity.getHeaders().getETag());
+        assertNull(responseEntity.getBody());
+        verify(mockGameRepository, never()).findPage(anyInt(), anyInt(), any());
+    }
+
+    @Test
+    @DisplayName("Tests full page returns a token for the next page")
+    void getAllGamesFullPage() throws DataException {
+
+        List<Game> games = createGamesList();
+        games.get(1).setGameId("last id");
+        String nextPageToken = new PageToken(12, "last id").encode();
+
+        when(mockGameRepository.findPage(10, 2, GameFields.ALL)).thenReturn(games);
+        when(mockGameRepository.estimatedCount()).thenReturn(50L);
+        doReturn(GAME_LIST_JSON).when(gameListWriter).writeGameList(games, 10, 2, 50L, nextPageToken, GameFormat.JSON, GameFields.ALL);
+
+        ResponseEntity responseEntity = gameService.getAll(10, 2, null, null);
+
+        assertNotNull(responseEntity);
+        assertEquals(HttpStatus.OK, responseEntity.getStatusCode());
+        assertSame(GAME_LIST_JSON, responseEntity.getBody());
+    }
+
+    @Test
+    @DisplayName("Tests getAll with page token seeks after last game")
+    void getAllGamesWithPageToken() throws DataException {
+
+        List<Game> games = createGamesList();
+        String pageToken = new PageToken(40, "previous id").encode();
+
+        when(mockGameRepository.findPageAfter("previous id", 20, GameFields.ALL)).thenReturn(games);
+        when(mockGameRepository.estimatedCount()).thenReturn(42L);
+        doReturn(GAME_LIST_JSON).when(gameListWriter).writeGameList(games, 40, 20, 42L, null, GameFormat.JSON, GameFields.ALL);
+
+        ResponseEntity responseEntity = gameService.getAll(null, null, pageToken, null);
+
+        assertNotNull(responseEntity);
+        assertEquals(HttpStatus.OK, responseEntity.getStatusCode());
+        assertSame(GAME_LIST_JSON, responseEntity.getBody());
+    }
+
+    @Test
+    @DisplayName("Tests filtered getAll queries and counts with the filter")
+    void getAllGamesFiltered() throws DataException {
+
+        List<Game> games = createGamesList();
+        GameFilter filter = GameFilter.of(APPROVED_DEVELOPER, null, null, null, null, "-release_date");
+
+        when(mockGameRepository.findByFilter(filter, 0, 20, GameFields.ALL)).thenReturn(games);
+        when(mockGameRepository.countByFilter(filter)).thenReturn(2L);
+        doReturn(GAME_LIST_JSON).when(gameListWriter).writeGameList(games, 0, 20, 2L, null, GameFormat.JSON, GameFields.ALL);
+
+        ResponseEntity responseEntity = gameService.getAll(null, null, null, filter, null);
+
+        assertNotNull(responseEntity);
+        assertEquals(HttpStatus.OK, responseEntity.getStatusCode());
+        assertSame(GAME_LIST_JSON, responseEntity.getBody());
+    }
+
+    @Test
+    @DisplayName("Tests filtered getAll rejects page tokens")
+    void getAllGamesFilteredWithPageToken() throws DataException {
+
+        GameFilter filter = GameFilter.of(APPROVED_DEVELOPER, null, null, null, null, null);
+
+        ResponseEntity responseEntity = gameService.getAll(null, null, "token", filter, null);
+
+        assertNotNull(responseEntity);
+        assertEquals(HttpStatus.BAD_REQUEST, responseEntity.getStatusCode());
+    }
+
+    @Test
+    @DisplayName("Tests getAll with malformed page token")
+    void getAllGamesInvalidPageToken() throws DataException {
+
+        ResponseEntity responseEntity = gameService.getAll(null, null, "not a token", null);
+
+        assertNotNull(responseEntity);
+        assertEquals(HttpStatus.BAD_REQUEST, responseEntity.getStatusCode());
+    }
 
-import static org.junit.jupiter.api.Assertions.assertEquals;
-import static org.junit.jupiter.api.Assertions.assertNotNull;
-import static org.junit.jupiter.api.Assertions.assertThrows;
-import static org.mockito.ArgumentMatchers.anyString;
-import static org.mockito.Mockito.doThrow;
-import static org.mockito.Mockito.when;
+    @Test
+    @DisplayName("Tests getAll rejects page size above maximum")
+    void getAllGamesPageTooLarge() throws DataException {
 
-@ExtendWith(MockitoExtension.class)
-@TestInstance(TestInstance.Lifecycle.PER_CLASS)
-public class GameServiceTest {
+        ResponseEntity responseEntity = gameService.getAll(0, 101, null, null);
 
-    @Mock
-    private GameRepository mockGameRepository;
+        assertNotNull(responseEntity);
+        assertEquals(HttpStatus.BAD_REQUEST, responseEntity.getStatusCode());
+    }
 
-    @Mock
-    private DeveloperRepository mockDeveloperRepository;
+    @Test
+    @DisplayName("Tests getAll rejects deep offsets")
+    void getAllGamesStartIndexTooDeep() throws DataException {
 
-    @Mock
-    private ResponseMapper mockResponseMapper;
+        ResponseEntity responseEntity = gameService.getAll(10001, 20, null, null);
 
-    @Mock
-    private GameResponse mockGameResponse;
+        assertNotNull(responseEntity);
+        assertEquals(HttpStatus.BAD_REQUEST, responseEntity.getStatusCode());
+    }
 
-    @Mock
-    private GameResponseList mockGameResponseList;
+    @Test
+    @DisplayName("Tests getAll with no games")
+    void getAllGamesNotFound() throws DataException {
 
-    @Mock
-    private MongoException mockMongoException;
+        List<Game> games = new ArrayList<>();
 
-    @InjectMocks
-    private GameService gameService;
+        when(mockGameRepository.findPage(0, 20, GameFields.ALL)).thenReturn(games);
 
-    private static final String APPROVED_DEVELOPER = "approved developer";
-    private static final String UNAPPROVED_DEVELOPER = "unapproved developer";
-    private static final String ADVENTURE_GENRE = "adventure";
-    private static final String ACTION_GENRE = "action";
-    private static final LocalDate RELEASE_DATE = LocalDate.of(2019, 01, 01);
+        ResponseEntity responseEntity = gameService.getAll(null, null, null, null);
+
+        assertNotNull(responseEntity);
+        assertEquals(HttpStatus.NOT_FOUND, responseEntity.getStatusCode());
+    }
 
     @Test
-    @DisplayName("Tests successful post")
-    void postGame() throws DataException {
+    @DisplayName("Test mongo exception when getting all games")
+    void getAllGamesMongoException() {
 
-        Game game = createGame();
+        when(mockGameRepository.findPage(0, 20, GameFields.ALL)).thenThrow(mockMongoException);
 
-        when(mockDeveloperRepository.findAll()).thenReturn(createApprovedDevelopers());
-        when(mockResponseMapper.mapGameResponse(game)).thenReturn(mockGameResponse);
+        assertThrows(DataException.class, () -> gameService.getAll(null, null, null, null));
+    }
 
-        ResponseEntity responseEntity = gameService.create(game);
+    @Test
+    @DisplayName("Tests export writes one JSON line per game and closes the cursor")
+    void exportGames() throws DataException, IOException {
+
+        List<Game> games = createGamesList();
+        CloseableIterator<Game> cursor = createCursor(games);
+
+        games.get(0).setGameId("first");
+
+        when(mockGameRepository.streamAll()).thenReturn(cursor);
+
+        ResponseEntity<StreamingResponseBody> responseEntity = gameService.export();
 
         assertNotNull(responseEntity);
-        assertEquals(HttpStatus.CREATED, responseEntity.getStatusCode());
-        assertEquals(mockGameResponse, responseEntity.getBody());
+        assertEquals(HttpStatus.OK, responseEntity.getStatusCode());
+        verify(mockGameRepository, never()).streamAll();
+
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        responseEntity.getBody().writeTo(outputStream);
+
+        String[] lines = new String(outputStream.toByteArray(), StandardCharsets.UTF_8).split("\n");
+        assertEquals(2, lines.length);
+        assertEquals("first", objectMapper.readTree(lines[0]).get("id").asText());
+        assertEquals("2019-01-01", objectMapper.readTree(lines[1]).get("releaseDate").asText());
+        verify(cursor).close();
     }
 
     @Test
-    @DisplayName("Tests post return unauthorised with unapproved developer")
-    void postGameUnapprovedDeveloper() throws DataException {
+    @DisplayName("Tests compressed export streams gzip and keeps the compressed copy")
+    void exportGamesCompressed() throws DataException, IOException {
 
-        Game game = createGameWithUnapprovedDeveloper();
+        List<Game> games = createGamesList();
+        CloseableIterator<Game> cursor = createCursor(games);
 
-        when(mockDeveloperRepository.findAll()).thenReturn(createApprovedDevelopers());
+        when(mockCollectionGenerationRepository.currentGeneration("games")).thenReturn(7L);
+        when(mockCompressedSnapshotCache.encodingFor("gzip")).thenReturn(ContentEncoding.GZIP);
+        when(mockCompressedSnapshotCache.getMaximumBytes()).thenReturn(1024L * 1024);
+        when(mockGameRepository.streamAll()).thenReturn(cursor);
 
-        ResponseEntity responseEntity = gameService.create(game);
+        ResponseEntity<StreamingResponseBody> responseEntity = gameService.export("gzip");
+
+        assertEquals("gzip", responseEntity.getHeaders().getFirst(HttpHeaders.CONTENT_ENCODING));
+
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        responseEntity.getBody().writeTo(outputStream);
+
+        String[] lines = new String(gunzip(outputStream.toByteArray()), StandardCharsets.UTF_8).split("\n");
+        assertEquals(2, lines.length);
+        verify(mockCompressedSnapshotCache).put(7L, "export:GZIP", outputStream.toByteArray());
+        verify(cursor).close();
+    }
+
+    @Test
+    @DisplayName("Tests compressed export is served from the snapshot without opening a cursor")
+    void exportCompressedSnapshot() throws DataException, IOException {
+
+        byte[] snapshot = {1, 2, 3};
+
+        when(mockCollectionGenerationRepository.currentGeneration("games")).thenReturn(7L);
+        when(mockCompressedSnapshotCache.encodingFor("deflate")).thenReturn(ContentEncoding.DEFLATE);
+        when(mockCompressedSnapshotCache.get(7L, "export:DEFLATE")).thenReturn(snapshot);
+
+        ResponseEntity<StreamingResponseBody> responseEntity = gameService.export("deflate");
+
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        responseEntity.getBody().writeTo(outputStream);
+
+        assertEquals("deflate", responseEntity.getHeaders().getFirst(HttpHeaders.CONTENT_ENCODING));
+        assertArrayEquals(snapshot, outputStream.toByteArray());
+        verify(mockGameRepository, never()).streamAll();
+    }
+
+    @Test
+    @DisplayName("Test mongo exception when opening export cursor fails the stream")
+    void exportMongoException() throws DataException {
+
+        when(mockGameRepository.streamAll()).thenThrow(mockMongoException);
+
+        ResponseEntity<StreamingResponseBody> responseEntity = gameService.export();
+
+        assertThrows(IOException.class, () -> responseEntity.getBody().writeTo(new ByteArrayOutputStream()));
+    }
+
+    @Test
+    @DisplayName("Test mongo exception when reading the generation for a compressed export")
+    void exportGenerationMongoException() {
+
+        when(mockCompressedSnapshotCache.encodingFor("gzip")).thenReturn(ContentEncoding.GZIP);
+        when(mockCollectionGenerationRepository.currentGeneration("games")).thenThrow(mockMongoException);
+
+        assertThrows(DataException.class, () -> gameService.export("gzip"));
+    }
+
+    @Test
+    @DisplayName("Tests successful get")
+    void getGame() throws DataException {
+
+        Game game = createGame();
+
+        SerializedGame serializedGame = new SerializedGame(game.getVersion(), "{}".getBytes(), null);
+
+        when(mockGameCache.get(eq("id"), any())).thenReturn(game);
+        when(mockGameResponseCache.get(game)).thenReturn(serializedGame);
+
+        ResponseEntity responseEntity = gameService.get("id", null);
 
         assertNotNull(responseEntity);
-        assertEquals(HttpStatus.UNAUTHORIZED, responseEntity.getStatusCode());
+        assertEquals(HttpStatus.OK, responseEntity.getStatusCode());
+        assertSame(serializedGame.getJson(), responseEntity.getBody());
+        verify(mockResponseMapper, never()).mapGameResponse(any());
     }
 
     @Test
-    @DisplayName("Test mongo exception when posting game")
-    void postGameMongoException() {
+    @DisplayName("Tests get serves the gzipped body to clients that accept it")
+    void getGameGzip() throws DataException {
 
         Game game = createGame();
+        SerializedGame serializedGame = new SerializedGame(game.getVersion(), "{}".getBytes(), new byte[] {1});
 
-        when(mockDeveloperRepository.findAll()).thenReturn(createApprovedDevelopers());
-        when(mockGameRepository.insert(game)).thenThrow(mockMongoException);
+        when(mockGameCache.get(eq("id"), any())).thenReturn(game);
+        when(mockGameResponseCache.get(game)).thenReturn(serializedGame);
 
-        assertThrows(DataException.class, () -> gameService.create(game));
+        ResponseEntity responseEntity = gameService.get("id", null, "deflate, gzip");
+
+        assertEquals(HttpStatus.OK, responseEntity.getStatusCode());
+        assertEquals("gzip", responseEntity.getHeaders().getFirst(HttpHeaders.CONTENT_ENCODING));
+        assertEquals(serializedGame.getGzipETag(), responseEntity.getHeaders().getETag());
+        assertSame(serializedGame.getGzip(), responseEntity.getBody());
+
+        ResponseEntity identity = gameService.get("id", null, null);
+
+        assertEquals(serializedGame.getETag(), identity.getHeaders().getETag());
+        assertSame(serializedGame.getJson(), identity.getBody());
     }
 
     @Test
-    @DisplayName("Tests successful getAll")
-    void getAllGames() throws DataException {
+    @DisplayName("Tests get revalidates the tag of the gzipped body as well as the plain one")
+    void getGameGzipNotModified() throws DataException {
 
-        List<Game> games = createGamesList();
+        Game game = createGame();
+        game.setVersion(3);
 
-        when(mockGameRepository.findAll()).thenReturn(games);
-        when(mockResponseMapper.mapGameResponseList(games)).thenReturn(mockGameResponseList);
+        when(mockGameCache.get(eq("id"), any())).thenReturn(game);
+        when(mockGameResponseCache.isGzipEnabled()).thenReturn(true);
 
-        ResponseEntity responseEntity = gameService.getAll();
+        ResponseEntity responseEntity = gameService.get("id", "\"v3-gzip\"", "gzip");
+
+        assertEquals(HttpStatus.NOT_MODIFIED, responseEntity.getStatusCode());
+        assertEquals("\"v3-gzip\"", responseEntity.getHeaders().getETag());
+        assertEquals(Arrays.asList(HttpHeaders.ACCEPT, HttpHeaders.ACCEPT_ENCODING), responseEntity.getHeaders().getVary());
+        verify(mockGameResponseCache, never()).get(any());
+    }
+
+    @Test
+    @DisplayName("Tests get with fields projects a cache miss in mongo without caching the partial game")
+    void getGameFields() throws DataException {
+
+        Game game = createGame();
+        game.setVersion(3);
+        GameFields fields = GameFields.of("id,title");
+        byte[] json = "{}".getBytes();
+
+        when(mockGameRepository.findByGameId("id", fields)).thenReturn(game);
+        doReturn(json).when(gameListWriter).writeGame(game, GameFormat.JSON, fields);
+
+        ResponseEntity responseEntity = gameService.get("id", fields, null, null, GameFormat.JSON);
 
-        assertNotNull(responseEntity);
         assertEquals(HttpStatus.OK, responseEntity.getStatusCode());
-        assertEquals(mockGameResponseList, responseEntity.getBody());
+        assertEquals("\"v3\"", responseEntity.getHeaders().getETag());
+        assertSame(json, responseEntity.getBody());
+        verify(mockGameCache, never()).get(anyString(), any());
+        verify(mockGameResponseCache, never()).get(any());
     }
 
     @Test
-    @DisplayName("Tests getAll with no games")
-    void getAllGamesNotFound() throws DataException {
+    @DisplayName("Tests get with fields is answered from a cached whole game")
+    void getGameFieldsCached() throws DataException {
 
-        List<Game> games = new ArrayList<>();
+        Game game = createGame();
+        GameFields fields = GameFields.of("title");
 
-        when(mockGameRepository.findAll()).thenReturn(games);
+        byte[] json = "{}".getBytes();
 
-        ResponseEntity responseEntity = gameService.getAll();
+        when(mockGameCache.getIfPresent("id")).thenReturn(game);
+        doReturn(json).when(gameListWriter).writeGame(game, GameFormat.JSON, fields);
 
-        assertNotNull(responseEntity);
-        assertEquals(HttpStatus.NOT_FOUND, responseEntity.getStatusCode());
+        ResponseEntity responseEntity = gameService.get("id", fields, null, null, GameFormat.JSON);
+
+        assertEquals(HttpStatus.OK, responseEntity.getStatusCode());
+        assertSame(json, responseEntity.getBody());
+        verify(mockGameRepository, never()).findByGameId(anyString(), any());
     }
 
     @Test
-    @DisplayName("Test mongo exception when getting all games")
-    void getAllGamesMongoException() {
+    @DisplayName("Tests get writes a binary format with its own entity tag instead of the cached JSON")
+    void getGameBinaryFormat() throws DataException {
+
+        Game game = createGame();
+        game.setVersion(3);
+        byte[] protobuf = {10, 2};
 
-        when(mockGameRepository.findAll()).thenThrow(mockMongoException);
+        when(mockGameCache.get(eq("id"), any())).thenReturn(game);
+        doReturn(protobuf).when(gameListWriter).writeGame(game, GameFormat.PROTOBUF, GameFields.ALL);
 
-        assertThrows(DataException.class, () -> gameService.getAll());
+        ResponseEntity responseEntity = gameService.get("id", GameFields.ALL, "\"v3\"", null, GameFormat.PROTOBUF);
+
+        assertEquals(HttpStatus.OK, responseEntity.getStatusCode());
+        assertEquals("\"v3-protobuf\"", responseEntity.getHeaders().getETag());
+        assertEquals(GameFormat.PROTOBUF.getMediaType(), responseEntity.getHeaders().getContentType());
+        assertEquals(HttpHeaders.ACCEPT, responseEntity.getHeaders().getFirst(HttpHeaders.VARY));
+        assertSame(protobuf, responseEntity.getBody());
+        verify(mockGameResponseCache, never()).get(any());
     }
 
     @Test
-    @DisplayName("Tests successful get")
-    void getGame() throws DataException {
+    @DisplayName("Tests get returns not modified for unchanged version")
+    void getGameNotModified() throws DataException {
 
         Game game = createGame();
+        game.setVersion(3);
 
-        when(mockGameRepository.findByGameId(anyString())).thenReturn(game);
-        when(mockResponseMapper.mapGameResponse(game)).thenReturn(mockGameResponse);
+        when(mockGameCache.get(eq("id"), any())).thenReturn(game);
+
+        ResponseEntity responseEntity = gameService.get("id", "\"v3\"");
+
+        assertNotNull(responseEntity);
+        assertEquals(HttpStatus.NOT_MODIFIED, responseEntity.getStatusCode());
+        assertNull(responseEntity.getBody());
+        verify(mockResponseMapper, never()).mapGameResponse(any());
+    }
+
+    @Test
+    @DisplayName("Tests get loads through the cache from the repository")
+    void getGameCacheMiss() throws DataException {
+
+        Game game = createGame();
+
+        when(mockGameCache.get(eq("id"), any())).thenAnswer(invocation ->
+                invocation.<Function<String, Game>>getArgument(1).apply("id"));
+        when(mockGameRepository.findByGameId("id")).thenReturn(game);
+        when(mockGameResponseCache.get(game)).thenReturn(new SerializedGame(game.getVersion(), "{}".getBytes(), null));
 
-        ResponseEntity responseEntity = gameService.get(anyString());
+        ResponseEntity responseEntity = gameService.get("id", null);
 
         assertNotNull(responseEntity);
         assertEquals(HttpStatus.OK, responseEntity.getStatusCode());
-        assertEquals(mockGameResponse, responseEntity.getBody());
+    }
+
+    @Test
+    @DisplayName("Tests get of game that does not exist")
+    void getGameThatDoesNotExist() throws DataException {
+
+        when(mockGameCache.get(eq("id"), any())).thenReturn(null);
+
+        ResponseEntity responseEntity = gameService.get("id", null);
+
+        assertNotNull(responseEntity);
+        assertEquals(HttpStatus.NOT_FOUND, responseEntity.getStatusCode());
     }
 
     @Test
     @DisplayName("Test mongo exception when getting game")
     void getMongoException() {
 
-        when(mockGameRepository.findByGameId("id")).thenThrow(mockMongoException);
+        when(mockGameCache.get(eq("id"), any())).thenThrow(mockMongoException);
 
-        assertThrows(DataException.class, () -> gameService.get("id"));
+        assertThrows(DataException.class, () -> gameService.get("id", null));
     }
 
     @Test
-    @DisplayName("Tests successful update")
-    void updateGame() throws DataException {
+    @DisplayName("Tests search uses the in-memory title index")
+    void searchGames() throws DataException {
+
+        List<SearchResult> results = new ArrayList<>();
+        results.add(new SearchResult("id", "title"));
+
+        when(mockTitleSearchIndex.search("tit", 10)).thenReturn(results);
+
+        ResponseEntity responseEntity = gameService.search("tit", null);
+
+        assertNotNull(responseEntity);
+        assertEquals(HttpStatus.OK, responseEntity.getStatusCode());
+        assertEquals(results, ((SearchResponse) responseEntity.getBody()).getItems());
+    }
+
+    @Test
+    @DisplayName("Tests search falls back to the mongo text index when in-memory search is off")
+    void searchGamesMongoFallback() throws DataException {
 
         Game game = createGame();
+        game.setGameId("id");
 
-        Game updatedGame = new Game();
+        when(searchConfig.isInMemoryEnabled()).thenReturn(false);
+        when(mockGameRepository.searchTitles("title", 10)).thenReturn(Collections.singletonList(game));
 
-        updatedGame.setTitle("updated title");
-        updatedGame.setReleaseDate(RELEASE_DATE);
-        updatedGame.setDeveloper(APPROVED_DEVELOPER);
+        ResponseEntity responseEntity = gameService.search("title", null);
 
-        List<String> genres = new ArrayList<>();
-        genres.add(ACTION_GENRE);
-        genres.add(ADVENTURE_GENRE);
-        game.setGenres(genres);
+        assertNotNull(responseEntity);
+        assertEquals(HttpStatus.OK, responseEntity.getStatusCode());
+        SearchResponse searchResponse = (SearchResponse) responseEntity.getBody();
+        assertEquals("id", searchResponse.getItems().get(0).getId());
+        verify(mockTitleSearchIndex, never()).search(anyString(), anyInt());
+    }
+
+    @Test
+    @DisplayName("Tests search without a query is rejected")
+    void searchGamesBlankQuery() throws DataException {
+
+        ResponseEntity responseEntity = gameService.search(" ", null);
+
+        assertNotNull(responseEntity);
+        assertEquals(HttpStatus.BAD_REQUEST, responseEntity.getStatusCode());
+    }
+
+    @Test
+    @DisplayName("Tests facets are served from the in-memory counters")
+    void getFacets() {
+
+        FacetResponse facetResponse = new FacetResponse();
+
+        when(mockGameFacets.snapshot()).thenReturn(facetResponse);
+
+        ResponseEntity responseEntity = gameService.facets();
+
+        assertNotNull(responseEntity);
+        assertEquals(HttpStatus.OK, responseEntity.getStatusCode());
+        assertEquals(facetResponse, responseEntity.getBody());
+    }
+
+    @Test
+    @DisplayName("Tests successful update")
+    void updateGame() throws DataException {
 
+        Game game = createGame();
+        game.setVersion(4);
+        Game updatedGame = createUpdatedGame();
 
-        when(mockGameRepository.findByGameId(anyString())).thenReturn(game);
+        when(mockGameRepository.updateIfDeveloper("id", APPROVED_DEVELOPER, updatedGame)).thenReturn(game);
 
         ResponseEntity responseEntity = gameService.update(updatedGame, APPROVED_DEVELOPER, "id");
 
         assertNotNull(responseEntity);
         assertEquals(HttpStatus.NO_CONTENT, responseEntity.getStatusCode());
+        verify(mockGameCache).invalidate("id");
+        verify(mockGameResponseCache).invalidate("id");
+        verify(mockGameFacets).replace(game, updatedGame);
+        verify(mockTitleSearchIndex).put("id", updatedGame.getTitle(), 5L);
     }
 
     @Test
@@ -199,7 +1280,8 @@ public class GameServiceTest {
 
         Game game = createGame();
 
-        when(mockGameRepository.findByGameId(anyString())).thenReturn(null);
+        when(mockGameRepository.updateIfDeveloper("id", APPROVED_DEVELOPER, game)).thenReturn(null);
+        when(mockGameRepository.existsById("id")).thenReturn(false);
 
         ResponseEntity responseEntity = gameService.update(game, APPROVED_DEVELOPER, "id");
 
@@ -211,21 +1293,10 @@ public class GameServiceTest {
     @DisplayName("Tests update return unauthorised with unapproved developer")
     void updateGameUnapprovedDeveloper() throws DataException {
 
-        Game game = createGame();
-
-        Game updatedGame = new Game();
-
-        updatedGame.setTitle("updated title");
-        updatedGame.setReleaseDate(RELEASE_DATE);
-        updatedGame.setDeveloper(APPROVED_DEVELOPER);
-
-        List<String> genres = new ArrayList<>();
-        genres.add(ACTION_GENRE);
-        genres.add(ADVENTURE_GENRE);
-        game.setGenres(genres);
-
+        Game updatedGame = createUpdatedGame();
 
-        when(mockGameRepository.findByGameId(anyString())).thenReturn(game);
+        when(mockGameRepository.updateIfDeveloper("id", UNAPPROVED_DEVELOPER, updatedGame)).thenReturn(null);
+        when(mockGameRepository.existsById("id")).thenReturn(true);
 
         ResponseEntity responseEntity = gameService.update(updatedGame, UNAPPROVED_DEVELOPER, "id");
 
@@ -239,7 +1310,19 @@ public class GameServiceTest {
 
         Game game = createGame();
 
-        when(mockGameRepository.findByGameId("id")).thenThrow(mockMongoException);
+        when(mockGameRepository.updateIfDeveloper("id", APPROVED_DEVELOPER, game)).thenThrow(mockMongoException);
+
+        assertThrows(DataException.class, () -> gameService.update(game, APPROVED_DEVELOPER, "id"));
+    }
+
+    @Test
+    @DisplayName("Test translated data access exception when updating game")
+    void updateDataAccessException() {
+
+        Game game = createGame();
+
+        when(mockGameRepository.updateIfDeveloper("id", APPROVED_DEVELOPER, game))
+                .thenThrow(new DataAccessResourceFailureException("mongo down"));
 
         assertThrows(DataException.class, () -> gameService.update(game, APPROVED_DEVELOPER, "id"));
     }
@@ -250,19 +1333,38 @@ public class GameServiceTest {
 
         Game game = createGame();
 
-        when(mockGameRepository.findByGameId(anyString())).thenReturn(game);
+        when(mockGameRepository.deleteIfDeveloper("id", APPROVED_DEVELOPER)).thenReturn(game);
 
         ResponseEntity responseEntity = gameService.delete(APPROVED_DEVELOPER, "id");
 
         assertNotNull(responseEntity);
         assertEquals(HttpStatus.NO_CONTENT, responseEntity.getStatusCode());
+        verify(mockGameCache).invalidate("id");
+        verify(mockGameResponseCache).invalidate("id");
+        verify(mockGameFacets).remove(game);
+    }
+
+    @Test
+    @DisplayName("Tests delete bumps the generation once the game is gone")
+    void deleteGameBumpsGeneration() throws DataException {
+
+        Game game = createGame();
+
+        when(mockGameRepository.deleteIfDeveloper("id", APPROVED_DEVELOPER)).thenReturn(game);
+
+        ResponseEntity responseEntity = gameService.delete(APPROVED_DEVELOPER, "id");
+
+        // A failed bump is the tracker's to record - the delete has happened either way
+        assertEquals(HttpStatus.NO_CONTENT, responseEntity.getStatusCode());
+        verify(mockGamesGenerationTracker).bump();
     }
 
     @Test
     @DisplayName("Test delete to game that does not exist")
     void deleteGameThatDoesNotExist() throws DataException {
 
-        when(mockGameRepository.findByGameId(anyString())).thenReturn(null);
+        when(mockGameRepository.deleteIfDeveloper("id", APPROVED_DEVELOPER)).thenReturn(null);
+        when(mockGameRepository.existsById("id")).thenReturn(false);
 
         ResponseEntity responseEntity = gameService.delete(APPROVED_DEVELOPER, "id");
 
@@ -274,9 +1376,8 @@ public class GameServiceTest {
     @DisplayName("Tests delete return unauthorised with unapproved developer")
     void deleteGameUnapprovedDeveloper() throws DataException {
 
-        Game game = createGame();
-
-        when(mockGameRepository.findByGameId(anyString())).thenReturn(game);
+        when(mockGameRepository.deleteIfDeveloper("id", UNAPPROVED_DEVELOPER)).thenReturn(null);
+        when(mockGameRepository.existsById("id")).thenReturn(true);
 
         ResponseEntity responseEntity = gameService.delete(UNAPPROVED_DEVELOPER, "id");
 
@@ -288,14 +1389,65 @@ public class GameServiceTest {
     @DisplayName("Test mongo exception when deleting game")
     void deleteMongoException() {
 
-        Game game = createGame();
+        when(mockGameRepository.deleteIfDeveloper("id", APPROVED_DEVELOPER)).thenThrow(mockMongoException);
 
-        when(mockGameRepository.findByGameId("id")).thenReturn(game);
-        doThrow(mockMongoException).when(mockGameRepository).deleteByGameId("id");
+        assertThrows(DataException.class, () -> gameService.delete(APPROVED_DEVELOPER, "id"));
+    }
+
+    @Test
+    @DisplayName("Test translated data access exception when deleting game")
+    void deleteDataAccessException() {
+
+        when(mockGameRepository.deleteIfDeveloper("id", APPROVED_DEVELOPER))
+                .thenThrow(new DataAccessResourceFailureException("mongo down"));
 
         assertThrows(DataException.class, () -> gameService.delete(APPROVED_DEVELOPER, "id"));
     }
 
+    /**
+     * Posts the duplicate with the same key while the original's insert is held,
+     * and returns the duplicate's response once both have finished.
+     */
+    private ResponseEntity createDuringOriginal(Game game, Game duplicateGame) throws Exception {
+
+        CountDownLatch inserting = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+
+        when(mockIdempotencyStore.claim(any(IdempotencyRecord.class)))
+                .thenReturn(null)
+                .thenAnswer(invocation -> IdempotencyRecord.completed("key", game));
+        when(mockApprovedDeveloperRegistry.isApproved(APPROVED_DEVELOPER)).thenReturn(true);
+        when(mockResponseMapper.mapGameResponse(any(Game.class))).thenReturn(mockGameResponse);
+        when(mockGameRepository.insert(game)).thenAnswer(invocation -> {
+            inserting.countDown();
+            release.await(5, TimeUnit.SECONDS);
+            return game;
+        });
+
+        CompletableFuture<ResponseEntity> original = CompletableFuture.supplyAsync(() -> createIdempotently(game));
+        assertTrue(inserting.await(5, TimeUnit.SECONDS));
+
+        // The duplicate parks waiting for the original rather than claiming the key itself
+        CompletableFuture<ResponseEntity> duplicate = new CompletableFuture<>();
+        Thread duplicateThread = new Thread(() -> duplicate.complete(createIdempotently(duplicateGame)));
+        duplicateThread.start();
+        while (duplicateThread.getState() != Thread.State.WAITING) {
+            Thread.sleep(1);
+        }
+        release.countDown();
+
+        assertEquals(HttpStatus.CREATED, original.get(5, TimeUnit.SECONDS).getStatusCode());
+        return duplicate.get(5, TimeUnit.SECONDS);
+    }
+
+    private ResponseEntity createIdempotently(Game game) {
+        try {
+            return gameService.create(game, "key");
+        } catch (DataException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
     private Game createGame() {
         Game game = new Game();
 
@@ -311,6 +1463,21 @@ public class GameServiceTest {
         return game;
     }
 
+    private Game createUpdatedGame() {
+        Game updatedGame = new Game();
+
+        updatedGame.setTitle("updated title");
+        updatedGame.setReleaseDate(RELEASE_DATE);
+        updatedGame.setDeveloper(APPROVED_DEVELOPER);
+
+        List<String> genres = new ArrayList<>();
+        genres.add(ACTION_GENRE);
+        genres.add(ADVENTURE_GENRE);
+        updatedGame.setGenres(genres);
+
+        return updatedGame;
+    }
+
     private Game createGameWithUnapprovedDeveloper() {
         Game game = new Game();
 
@@ -345,14 +1512,28 @@ public class GameServiceTest {
         return games;
     }
 
-    private List<Developer> createApprovedDevelopers() {
-        List<Developer> developers = new ArrayList<>();
-        Developer developer = new Developer();
+    @SuppressWarnings("unchecked")
+    private byte[] gunzip(byte[] compressed) throws IOException {
+
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        try (GZIPInputStream inputStream = new GZIPInputStream(new ByteArrayInputStream(compressed))) {
+            byte[] buffer = new byte[1024];
+            int read;
+            while ((read = inputStream.read(buffer)) != -1) {
+                outputStream.write(buffer, 0, read);
+            }
+        }
+        return outputStream.toByteArray();
+    }
 
-        developer.setName(APPROVED_DEVELOPER);
+    private CloseableIterator<Game> createCursor(List<Game> games) {
+        Iterator<Game> iterator = games.iterator();
+        CloseableIterator<Game> cursor = mock(CloseableIterator.class);
 
-        developers.add(developer);
+        when(cursor.hasNext()).thenAnswer(invocation -> iterator.hasNext());
+        when(cursor.next()).thenAnswer(invocation -> iterator.next());
 
-        return developers;
+        return cursor;
     }
+
 }
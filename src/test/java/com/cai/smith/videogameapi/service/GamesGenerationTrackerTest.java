@@ -0,0 +1,88 @@
+package com.cai.smith.videogameapi.service;
+
+import com.cai.smith.videogameapi.model.CollectionGeneration;
+import com.cai.smith.videogameapi.repository.CollectionGenerationRepository;
+import com.mongodb.MongoException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.reset;
+
+@ExtendWith(MockitoExtension.class)
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+public class GamesGenerationTrackerTest {
+
+    @Mock
+    private CollectionGenerationRepository collectionGenerationRepository;
+
+    private SimpleMeterRegistry meterRegistry;
+
+    private GamesGenerationTracker gamesGenerationTracker;
+
+    @BeforeEach
+    void setUp() {
+        // Staleness outlives a test, so each one starts from a fresh tracker
+        reset(collectionGenerationRepository);
+        meterRegistry = new SimpleMeterRegistry();
+        gamesGenerationTracker = new GamesGenerationTracker();
+        ReflectionTestUtils.setField(gamesGenerationTracker, "collectionGenerationRepository", collectionGenerationRepository);
+        ReflectionTestUtils.setField(gamesGenerationTracker, "meterRegistry", meterRegistry);
+    }
+
+    @Test
+    @DisplayName("Tests a successful bump leaves the generation trusted")
+    void bump() {
+
+        gamesGenerationTracker.bump();
+
+        assertFalse(gamesGenerationTracker.isStale());
+    }
+
+    @Test
+    @DisplayName("Tests a failed bump is counted and marks the generation stale without throwing")
+    void bumpFailure() {
+
+        doThrow(new MongoException("failed")).when(collectionGenerationRepository)
+                .incrementGeneration(CollectionGeneration.GAMES);
+
+        gamesGenerationTracker.bump();
+
+        assertTrue(gamesGenerationTracker.isStale());
+        assertEquals(1.0, meterRegistry.counter(GamesGenerationTracker.BUMP_FAILURES_METRIC).count());
+    }
+
+    @Test
+    @DisplayName("Tests a later successful bump makes the generation trusted again")
+    void bumpRecovers() {
+
+        doThrow(new MongoException("failed")).doNothing().when(collectionGenerationRepository)
+                .incrementGeneration(CollectionGeneration.GAMES);
+
+        gamesGenerationTracker.bump();
+        gamesGenerationTracker.bump();
+
+        assertFalse(gamesGenerationTracker.isStale());
+    }
+
+    @Test
+    @DisplayName("Tests a bump that started before a failure was recorded does not clear it")
+    void bumpStartedBeforeFailure() {
+
+        long failedBefore = gamesGenerationTracker.beforeBump();
+        gamesGenerationTracker.bumpFailed(new MongoException("failed"));
+        gamesGenerationTracker.bumped(failedBefore);
+
+        assertTrue(gamesGenerationTracker.isStale());
+    }
+}
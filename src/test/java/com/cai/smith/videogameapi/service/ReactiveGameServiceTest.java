@@ -0,0 +1,401 @@
+package com.cai.smith.videogameapi.service;
+
+import com.cai.smith.videogameapi.PaginationConfig;
+import com.cai.smith.videogameapi.SearchConfig;
+import com.cai.smith.videogameapi.cache.CompressedSnapshotCache;
+import com.cai.smith.videogameapi.cache.GameCache;
+import com.cai.smith.videogameapi.cache.GameResponseCache;
+import com.cai.smith.videogameapi.cache.SerializedGame;
+import com.cai.smith.videogameapi.exception.DataException;
+import com.cai.smith.videogameapi.facet.GameFacets;
+import com.cai.smith.videogameapi.mapper.GameFormat;
+import com.cai.smith.videogameapi.mapper.GameListWriter;
+import com.cai.smith.videogameapi.mapper.ResponseMapper;
+import com.cai.smith.videogameapi.model.Game;
+import com.cai.smith.videogameapi.model.GameFields;
+import com.cai.smith.videogameapi.model.GameFilter;
+import com.cai.smith.videogameapi.model.response.GameResponse;
+import com.cai.smith.videogameapi.repository.ReactiveCollectionGenerationRepository;
+import com.cai.smith.videogameapi.repository.ReactiveGameRepository;
+import com.cai.smith.videogameapi.search.TitleSearchIndex;
+import com.cai.smith.videogameapi.utility.ContentEncoding;
+import com.mongodb.MongoException;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Spy;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+public class ReactiveGameServiceTest {
+
+    @Mock
+    private ReactiveGameRepository mockReactiveGameRepository;
+
+    @Mock
+    private ReactiveCollectionGenerationRepository mockReactiveCollectionGenerationRepository;
+
+    @Mock
+    private GamesGenerationTracker mockGamesGenerationTracker;
+
+    @Mock
+    private ApprovedDeveloperRegistry mockApprovedDeveloperRegistry;
+
+    @Mock
+    private ResponseMapper mockResponseMapper;
+
+    @Mock
+    private GameCache mockGameCache;
+
+    @Mock
+    private GameResponseCache mockGameResponseCache;
+
+    @Mock
+    private CompressedSnapshotCache mockCompressedSnapshotCache;
+
+    @Mock
+    private TitleSearchIndex mockTitleSearchIndex;
+
+    @Mock
+    private GameFacets mockGameFacets;
+
+    @Mock
+    private GameResponse mockGameResponse;
+
+    @Mock
+    private GameListWriter mockGameListWriter;
+
+    @Spy
+    private PaginationConfig paginationConfig = new PaginationConfig();
+
+    @Spy
+    private SearchConfig searchConfig = new SearchConfig();
+
+    @InjectMocks
+    private ReactiveGameService reactiveGameService;
+
+    private static final String APPROVED_DEVELOPER = "approved developer";
+    private static final String UNAPPROVED_DEVELOPER = "unapproved developer";
+    private static final LocalDate RELEASE_DATE = LocalDate.of(2019, 01, 01);
+    private static final byte[] GAME_LIST_JSON = "{}".getBytes();
+
+    @Test
+    @DisplayName("Tests successful post")
+    void postGame() {
+
+        Game game = createGame();
+
+        when(mockApprovedDeveloperRegistry.isApproved(APPROVED_DEVELOPER)).thenReturn(true);
+        when(mockReactiveGameRepository.insert(game)).thenReturn(Mono.just(game));
+        when(mockReactiveCollectionGenerationRepository.incrementGeneration("games")).thenReturn(Mono.empty());
+        when(mockResponseMapper.mapGameResponse(game)).thenReturn(mockGameResponse);
+
+        ResponseEntity responseEntity = reactiveGameService.create(game).block();
+
+        assertNotNull(responseEntity);
+        assertEquals(HttpStatus.CREATED, responseEntity.getStatusCode());
+        assertEquals(mockGameResponse, responseEntity.getBody());
+        assertEquals("\"v1\"", responseEntity.getHeaders().getETag());
+        verify(mockGameCache).put(game);
+        verify(mockGameFacets).add(game);
+    }
+
+    @Test
+    @DisplayName("Tests unauthorised post never reaches the database")
+    void postGameUnauthorised() {
+
+        Game game = createGame();
+        game.setDeveloper(UNAPPROVED_DEVELOPER);
+
+        when(mockApprovedDeveloperRegistry.isApproved(UNAPPROVED_DEVELOPER)).thenReturn(false);
+
+        ResponseEntity responseEntity = reactiveGameService.create(game).block();
+
+        assertNotNull(responseEntity);
+        assertEquals(HttpStatus.UNAUTHORIZED, responseEntity.getStatusCode());
+        verify(mockReactiveGameRepository, never()).insert(any(Game.class));
+    }
+
+    @Test
+    @DisplayName("Tests Mongo failure on post is signalled as a DataException")
+    void postGameMongoException() {
+
+        Game game = createGame();
+
+        when(mockApprovedDeveloperRegistry.isApproved(APPROVED_DEVELOPER)).thenReturn(true);
+        when(mockReactiveGameRepository.insert(game)).thenReturn(Mono.error(new MongoException("failed")));
+
+        Exception exception = assertThrows(RuntimeException.class, () -> reactiveGameService.create(game).block());
+
+        assertTrue(exception.getCause() instanceof DataException);
+    }
+
+    @Test
+    @DisplayName("Tests successful get all")
+    void getAll() {
+
+        List<Game> games = new ArrayList<>();
+        games.add(createGame());
+
+        when(mockReactiveCollectionGenerationRepository.currentGeneration("games")).thenReturn(Mono.just(3L));
+        when(mockReactiveGameRepository.findPage(0, 20, GameFields.ALL)).thenReturn(Flux.fromIterable(games));
+        when(mockReactiveGameRepository.estimatedCount()).thenReturn(Mono.just(1L));
+        when(mockGameListWriter.writeGameList(games, 0, 20, 1L, null, GameFormat.JSON, GameFields.ALL)).thenReturn(GAME_LIST_JSON);
+
+        ResponseEntity responseEntity = reactiveGameService.getAll(null, null, null, new GameFilter(), null).block();
+
+        assertNotNull(responseEntity);
+        assertEquals(HttpStatus.OK, responseEntity.getStatusCode());
+        assertSame(GAME_LIST_JSON, responseEntity.getBody());
+        assertEquals("\"g3\"", responseEntity.getHeaders().getETag());
+    }
+
+    @Test
+    @DisplayName("Tests get all compresses a large enough unfiltered page and keeps it for the generation")
+    void getAllCompressed() {
+
+        List<Game> games = new ArrayList<>();
+        games.add(createGame());
+
+        when(mockReactiveCollectionGenerationRepository.currentGeneration("games")).thenReturn(Mono.just(3L));
+        when(mockReactiveGameRepository.findPage(0, 20, GameFields.ALL)).thenReturn(Flux.fromIterable(games));
+        when(mockReactiveGameRepository.estimatedCount()).thenReturn(Mono.just(1L));
+        when(mockGameListWriter.writeGameList(games, 0, 20, 1L, null, GameFormat.JSON, GameFields.ALL)).thenReturn(GAME_LIST_JSON);
+        when(mockCompressedSnapshotCache.encodingFor("deflate")).thenReturn(ContentEncoding.DEFLATE);
+        when(mockCompressedSnapshotCache.isLargeEnough(GAME_LIST_JSON)).thenReturn(true);
+
+        ResponseEntity responseEntity = reactiveGameService.getAll(null, null, null, new GameFilter(), GameFields.ALL, null,
+                GameFormat.JSON, "deflate").block();
+
+        assertNotNull(responseEntity);
+        assertEquals("deflate", responseEntity.getHeaders().getFirst(HttpHeaders.CONTENT_ENCODING));
+        assertEquals("\"g3-deflate\"", responseEntity.getHeaders().getETag());
+        verify(mockCompressedSnapshotCache).put(3L, "page:JSON:DEFLATE:id,title,releaseDate,genres,developer:index:0:20", (byte[]) responseEntity.getBody());
+    }
+
+    @Test
+    @DisplayName("Tests get all serves a compressed snapshot without reading the page")
+    void getAllCompressedSnapshot() {
+
+        byte[] snapshot = {1, 2, 3};
+
+        when(mockReactiveCollectionGenerationRepository.currentGeneration("games")).thenReturn(Mono.just(3L));
+        when(mockReactiveGameRepository.findPage(0, 20, GameFields.ALL)).thenReturn(Flux.empty());
+        when(mockCompressedSnapshotCache.encodingFor("gzip")).thenReturn(ContentEncoding.GZIP);
+        when(mockCompressedSnapshotCache.get(3L, "page:JSON:GZIP:id,title,releaseDate,genres,developer:index:0:20")).thenReturn(snapshot);
+
+        ResponseEntity responseEntity = reactiveGameService.getAll(null, null, null, new GameFilter(), GameFields.ALL, null,
+                GameFormat.JSON, "gzip").block();
+
+        assertNotNull(responseEntity);
+        assertSame(snapshot, responseEntity.getBody());
+        verify(mockReactiveGameRepository, never()).estimatedCount();
+    }
+
+    @Test
+    @DisplayName("Tests get all returns not modified when the generation is unchanged")
+    void getAllNotModified() {
+
+        when(mockReactiveCollectionGenerationRepository.currentGeneration("games")).thenReturn(Mono.just(3L));
+        when(mockReactiveGameRepository.findPage(0, 20, GameFields.ALL)).thenReturn(Flux.empty());
+
+        ResponseEntity responseEntity = reactiveGameService.getAll(null, null, null, new GameFilter(), "\"g3\"").block();
+
+        assertNotNull(responseEntity);
+        assertEquals(HttpStatus.NOT_MODIFIED, responseEntity.getStatusCode());
+        verify(mockReactiveGameRepository, never()).estimatedCount();
+    }
+
+    @Test
+    @DisplayName("Tests get all with no games returns not found")
+    void getAllNotFound() {
+
+        when(mockReactiveCollectionGenerationRepository.currentGeneration("games")).thenReturn(Mono.just(3L));
+        when(mockReactiveGameRepository.findPage(0, 20, GameFields.ALL)).thenReturn(Flux.empty());
+
+        ResponseEntity responseEntity = reactiveGameService.getAll(null, null, null, new GameFilter(), null).block();
+
+        assertNotNull(responseEntity);
+        assertEquals(HttpStatus.NOT_FOUND, responseEntity.getStatusCode());
+    }
+
+    @Test
+    @DisplayName("Tests get all rejects a page size outside the permitted range")
+    void getAllInvalidPageSize() {
+
+        ResponseEntity responseEntity = reactiveGameService.getAll(null, 0, null, new GameFilter(), null).block();
+
+        assertNotNull(responseEntity);
+        assertEquals(HttpStatus.BAD_REQUEST, responseEntity.getStatusCode());
+    }
+
+    @Test
+    @DisplayName("Tests get loads from the repository on a cache miss")
+    void getGame() {
+
+        Game game = createGame();
+
+        when(mockGameCache.getIfPresent("id")).thenReturn(null);
+        when(mockGameCache.invalidations()).thenReturn(4L);
+        SerializedGame serializedGame = new SerializedGame(game.getVersion(), "{}".getBytes(), null);
+
+        when(mockReactiveGameRepository.findByGameId("id")).thenReturn(Mono.just(game));
+        when(mockGameResponseCache.get(game)).thenReturn(serializedGame);
+
+        ResponseEntity responseEntity = reactiveGameService.get("id", null).block();
+
+        assertNotNull(responseEntity);
+        assertEquals(HttpStatus.OK, responseEntity.getStatusCode());
+        assertSame(serializedGame.getJson(), responseEntity.getBody());
+        verify(mockGameCache).putIfCurrent(game, 4L);
+    }
+
+    @Test
+    @DisplayName("Tests get returns not modified for a matching version")
+    void getGameNotModified() {
+
+        when(mockGameCache.getIfPresent("id")).thenReturn(createGame());
+
+        ResponseEntity responseEntity = reactiveGameService.get("id", "\"v1\"").block();
+
+        assertNotNull(responseEntity);
+        assertEquals(HttpStatus.NOT_MODIFIED, responseEntity.getStatusCode());
+    }
+
+    @Test
+    @DisplayName("Tests get revalidates the tag of the gzipped body as well as the plain one")
+    void getGameGzipNotModified() {
+
+        when(mockGameCache.getIfPresent("id")).thenReturn(createGame());
+        when(mockGameResponseCache.isGzipEnabled()).thenReturn(true);
+
+        ResponseEntity responseEntity = reactiveGameService.get("id", "\"v1-gzip\"", "gzip").block();
+
+        assertEquals(HttpStatus.NOT_MODIFIED, responseEntity.getStatusCode());
+        assertEquals("\"v1-gzip\"", responseEntity.getHeaders().getETag());
+        assertEquals(Arrays.asList(HttpHeaders.ACCEPT, HttpHeaders.ACCEPT_ENCODING), responseEntity.getHeaders().getVary());
+        verify(mockGameResponseCache, never()).get(any());
+    }
+
+    @Test
+    @DisplayName("Tests get of a missing game returns not found")
+    void getGameNotFound() {
+
+        when(mockGameCache.getIfPresent("id")).thenReturn(null);
+        when(mockReactiveGameRepository.findByGameId("id")).thenReturn(Mono.empty());
+
+        ResponseEntity responseEntity = reactiveGameService.get("id", null).block();
+
+        assertNotNull(responseEntity);
+        assertEquals(HttpStatus.NOT_FOUND, responseEntity.getStatusCode());
+    }
+
+    @Test
+    @DisplayName("Tests successful update")
+    void updateGame() {
+
+        Game game = createGame();
+        Game updatedGame = createGame();
+
+        when(mockReactiveGameRepository.updateIfDeveloper("id", APPROVED_DEVELOPER, updatedGame))
+                .thenReturn(Mono.just(game));
+        when(mockReactiveCollectionGenerationRepository.incrementGeneration("games")).thenReturn(Mono.empty());
+
+        ResponseEntity responseEntity = reactiveGameService.update(updatedGame, APPROVED_DEVELOPER, "id").block();
+
+        assertNotNull(responseEntity);
+        assertEquals(HttpStatus.NO_CONTENT, responseEntity.getStatusCode());
+        verify(mockGameCache).invalidate("id");
+        verify(mockGameResponseCache).invalidate("id");
+        verify(mockGameFacets).replace(game, updatedGame);
+    }
+
+    @Test
+    @DisplayName("Tests update by a different developer is unauthorised")
+    void updateGameUnauthorised() {
+
+        Game updatedGame = createGame();
+
+        when(mockReactiveGameRepository.updateIfDeveloper("id", UNAPPROVED_DEVELOPER, updatedGame))
+                .thenReturn(Mono.empty());
+        when(mockReactiveGameRepository.existsById("id")).thenReturn(Mono.just(true));
+
+        ResponseEntity responseEntity = reactiveGameService.update(updatedGame, UNAPPROVED_DEVELOPER, "id").block();
+
+        assertNotNull(responseEntity);
+        assertEquals(HttpStatus.UNAUTHORIZED, responseEntity.getStatusCode());
+        verify(mockGameCache, never()).invalidate("id");
+    }
+
+    @Test
+    @DisplayName("Tests delete of a missing game returns not found")
+    void deleteGameNotFound() {
+
+        when(mockReactiveGameRepository.deleteIfDeveloper("id", APPROVED_DEVELOPER)).thenReturn(Mono.empty());
+        when(mockReactiveGameRepository.existsById("id")).thenReturn(Mono.just(false));
+
+        ResponseEntity responseEntity = reactiveGameService.delete(APPROVED_DEVELOPER, "id").block();
+
+        assertNotNull(responseEntity);
+        assertEquals(HttpStatus.NOT_FOUND, responseEntity.getStatusCode());
+    }
+
+    @Test
+    @DisplayName("Tests delete still succeeds when the generation cannot be incremented")
+    void deleteGameGenerationFailure() {
+
+        Game game = createGame();
+        MongoException failure = new MongoException("failed");
+
+        when(mockReactiveGameRepository.deleteIfDeveloper("id", APPROVED_DEVELOPER)).thenReturn(Mono.just(game));
+        when(mockReactiveCollectionGenerationRepository.incrementGeneration(eq("games"))).thenReturn(Mono.error(failure));
+
+        ResponseEntity responseEntity = reactiveGameService.delete(APPROVED_DEVELOPER, "id").block();
+
+        assertEquals(HttpStatus.NO_CONTENT, responseEntity.getStatusCode());
+        verify(mockTitleSearchIndex).remove("id");
+        verify(mockGameFacets).remove(game);
+        verify(mockGamesGenerationTracker).bumpFailed(failure);
+    }
+
+    private Game createGame() {
+        Game game = new Game();
+
+        game.setGameId("id");
+        game.setTitle("title");
+        game.setReleaseDate(RELEASE_DATE);
+        game.setDeveloper(APPROVED_DEVELOPER);
+        game.setVersion(1L);
+
+        List<String> genres = new ArrayList<>();
+        genres.add("adventure");
+        game.setGenres(genres);
+
+        return game;
+    }
+}
@@ -0,0 +1,141 @@
+package com.cai.smith.videogameapi.service;
+
+import com.cai.smith.videogameapi.SearchConfig;
+import com.cai.smith.videogameapi.StartupConfig;
+import com.cai.smith.videogameapi.facet.GameFacets;
+import com.cai.smith.videogameapi.health.StartupHealthIndicator;
+import com.cai.smith.videogameapi.repository.CollectionGenerationRepository;
+import com.cai.smith.videogameapi.repository.GameRepository;
+import com.cai.smith.videogameapi.search.TitleSearchIndex;
+import com.mongodb.MongoException;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Spy;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+public class StartupDataLoaderTest {
+
+    @Mock
+    private DeveloperListLoader mockDeveloperListLoader;
+
+    @Mock
+    private GameRepository mockGameRepository;
+
+    @Mock
+    private ApprovedDeveloperRegistry mockApprovedDeveloperRegistry;
+
+    @Mock
+    private CollectionGenerationRepository mockCollectionGenerationRepository;
+
+    @Mock
+    private TitleSearchIndex mockTitleSearchIndex;
+
+    @Mock
+    private GameFacets mockGameFacets;
+
+    @Spy
+    private StartupConfig startupConfig = new StartupConfig();
+
+    @Spy
+    private SearchConfig searchConfig = new SearchConfig();
+
+    @Spy
+    private StartupHealthIndicator startupHealthIndicator = new StartupHealthIndicator();
+
+    @InjectMocks
+    private StartupDataLoader startupDataLoader;
+
+    @Test
+    @DisplayName("Tests a successful load builds the indexes and flips the readiness flag")
+    void load() {
+
+        startupDataLoader.load();
+
+        verify(mockDeveloperListLoader).load();
+        verify(mockTitleSearchIndex).rebuild(any());
+        verify(mockGameFacets).rebuild(any(), any(), any());
+        verify(mockGameRepository, never()).deleteAll();
+        verify(startupHealthIndicator).markReady();
+    }
+
+    @Test
+    @DisplayName("Tests the readiness flag only flips once loading succeeds")
+    void loadFailureLeavesNotReady() {
+
+        doThrow(new MongoException("failed")).when(mockDeveloperListLoader).load();
+
+        assertFalse(startupDataLoader.loadOnce());
+
+        verify(startupHealthIndicator, never()).markReady();
+        verify(mockGameFacets, never()).rebuild(any(), any(), any());
+    }
+
+    @Test
+    @DisplayName("Tests a failed load is retried until the service is ready")
+    void loadRetriesFailure() {
+
+        when(startupConfig.getRetryBackoffMillis()).thenReturn(1L);
+        doThrow(new MongoException("failed")).doNothing().when(mockDeveloperListLoader).load();
+
+        startupDataLoader.load();
+
+        verify(mockDeveloperListLoader, times(2)).load();
+        verify(mockGameFacets).rebuild(any(), any(), any());
+        verify(startupHealthIndicator).markReady();
+    }
+
+    @Test
+    @DisplayName("Tests games are only removed when a reset is requested, and only once across retries")
+    void loadResetsGames() {
+
+        startupConfig.setResetGames(true);
+        ReflectionTestUtils.setField(startupDataLoader, "gamesReset", false);
+        when(startupConfig.getRetryBackoffMillis()).thenReturn(1L);
+        doThrow(new MongoException("failed")).doNothing().when(mockDeveloperListLoader).load();
+
+        startupDataLoader.load();
+
+        verify(mockGameRepository).deleteAll();
+        verify(mockCollectionGenerationRepository).incrementGeneration("games");
+        verify(mockApprovedDeveloperRegistry, times(2)).refresh();
+        verify(startupHealthIndicator).markReady();
+        startupConfig.setResetGames(false);
+    }
+
+    @Test
+    @DisplayName("Tests games are kept by default")
+    void loadKeepsGames() {
+
+        startupDataLoader.loadOnce();
+
+        verify(mockGameRepository, never()).deleteAll();
+        verify(mockApprovedDeveloperRegistry).refresh();
+    }
+
+    @Test
+    @DisplayName("Tests mongo being down while the registry is read leaves the service not ready for a retry")
+    void loadRegistryFailure() {
+
+        doThrow(new MongoException("failed")).when(mockApprovedDeveloperRegistry).refresh();
+
+        assertFalse(startupDataLoader.loadOnce());
+
+        verify(mockDeveloperListLoader, never()).load();
+        verify(startupHealthIndicator, never()).markReady();
+    }
+}
@@ -0,0 +1,48 @@
+package com.cai.smith.videogameapi.source;
+
+import com.cai.smith.videogameapi.model.Developers;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public class DeveloperListParserTest {
+
+    @Test
+    @DisplayName("Tests developers are read and unknown fields skipped")
+    void parse() throws IOException {
+
+        Developers developers = DeveloperListParser.parse(stream(
+                "{\"version\":{\"major\":2},\"developers\":[" +
+                "{\"name\":\"Nintendo\",\"headquarters\":\"Japan\",\"founded\":1889}," +
+                "{\"name\":\"Bungie\",\"headquarters\":\"USA\"}],\"tags\":[\"a\"]}"));
+
+        assertEquals(2, developers.getDevelopers().size());
+        assertEquals("Nintendo", developers.getDevelopers().get(0).getName());
+        assertEquals("USA", developers.getDevelopers().get(1).getHeadquarters());
+    }
+
+    @Test
+    @DisplayName("Tests a document without developers gives an empty list")
+    void parseMissingDevelopers() throws IOException {
+
+        assertEquals(0, DeveloperListParser.parse(stream("{}")).getDevelopers().size());
+    }
+
+    @Test
+    @DisplayName("Tests a document that is not an object is rejected")
+    void parseInvalid() {
+
+        assertThrows(IOException.class, () -> DeveloperListParser.parse(stream("[]")));
+    }
+
+    private InputStream stream(String json) {
+        return new ByteArrayInputStream(json.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,92 @@
+package com.cai.smith.videogameapi.source;
+
+import com.cai.smith.videogameapi.DeveloperSourceConfig;
+import com.cai.smith.videogameapi.exception.FileDownloaderException;
+import com.cai.smith.videogameapi.model.Developers;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Spy;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+@ExtendWith(MockitoExtension.class)
+@TestInstance(TestInstance.Lifecycle.PER_METHOD)
+public class FileDeveloperSourceTest {
+
+    @Spy
+    private DeveloperSourceConfig developerSourceConfig = new DeveloperSourceConfig();
+
+    @InjectMocks
+    private FileDeveloperSource fileDeveloperSource;
+
+    private Path file;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        file = Files.createTempFile("developers", ".json");
+        developerSourceConfig.setFilePath(file.toString());
+    }
+
+    @AfterEach
+    void tearDown() throws IOException {
+        Files.deleteIfExists(file);
+    }
+
+    @Test
+    @DisplayName("Tests the file is only re-read once it has been modified")
+    void fetchIfChanged() throws IOException, FileDownloaderException {
+
+        write("Nintendo", FileTime.fromMillis(1000000));
+
+        Developers first = fileDeveloperSource.fetchIfChanged();
+        assertEquals("Nintendo", first.getDevelopers().get(0).getName());
+        fileDeveloperSource.commit();
+
+        assertNull(fileDeveloperSource.fetchIfChanged());
+
+        write("Bungie", FileTime.fromMillis(2000000));
+
+        Developers changed = fileDeveloperSource.fetchIfChanged();
+        assertEquals("Bungie", changed.getDevelopers().get(0).getName());
+    }
+
+    @Test
+    @DisplayName("Tests a file that was never committed is read again")
+    void fetchUncommitted() throws IOException, FileDownloaderException {
+
+        write("Nintendo", FileTime.fromMillis(1000000));
+
+        fileDeveloperSource.fetchIfChanged();
+
+        Developers again = fileDeveloperSource.fetchIfChanged();
+        assertEquals("Nintendo", again.getDevelopers().get(0).getName());
+    }
+
+    @Test
+    @DisplayName("Tests a missing file is reported as a download failure")
+    void fetchMissingFile() throws IOException {
+
+        Files.delete(file);
+
+        assertThrows(FileDownloaderException.class, () -> fileDeveloperSource.fetchIfChanged());
+    }
+
+    private void write(String name, FileTime modified) throws IOException {
+        Files.write(file, ("{\"developers\":[{\"name\":\"" + name + "\"}]}").getBytes(StandardCharsets.UTF_8));
+        Files.setLastModifiedTime(file, modified);
+    }
+}
@@ -0,0 +1,91 @@
+package com.cai.smith.videogameapi.source;
+
+import com.amazonaws.services.s3.AmazonS3;
+import com.amazonaws.services.s3.model.GetObjectRequest;
+import com.amazonaws.services.s3.model.ObjectMetadata;
+import com.amazonaws.services.s3.model.S3Object;
+import com.cai.smith.videogameapi.AwsConfig;
+import com.cai.smith.videogameapi.exception.FileDownloaderException;
+import com.cai.smith.videogameapi.model.Developers;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Spy;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Collections;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+@TestInstance(TestInstance.Lifecycle.PER_METHOD)
+public class S3DeveloperSourceTest {
+
+    @Mock
+    private AmazonS3 mockS3Client;
+
+    @Spy
+    private AwsConfig awsConfig = new AwsConfig();
+
+    @InjectMocks
+    private S3DeveloperSource s3DeveloperSource;
+
+    @Test
+    @DisplayName("Tests the second fetch is conditional on the first ETag")
+    void fetchIfChanged() throws FileDownloaderException {
+
+        when(mockS3Client.getObject(any(GetObjectRequest.class))).thenReturn(createObject("etag-1"), (S3Object) null);
+
+        Developers developers = s3DeveloperSource.fetchIfChanged();
+        assertEquals("Nintendo", developers.getDevelopers().get(0).getName());
+        s3DeveloperSource.commit();
+
+        assertNull(s3DeveloperSource.fetchIfChanged());
+
+        ArgumentCaptor<GetObjectRequest> requests = ArgumentCaptor.forClass(GetObjectRequest.class);
+        verify(mockS3Client, times(2)).getObject(requests.capture());
+
+        assertTrue(requests.getAllValues().get(0).getNonmatchingETagConstraints().isEmpty());
+        assertEquals(Collections.singletonList("etag-1"), requests.getAllValues().get(1).getNonmatchingETagConstraints());
+    }
+
+    @Test
+    @DisplayName("Tests an uncommitted fetch is not used as the ETag condition")
+    void fetchUncommitted() throws FileDownloaderException {
+
+        when(mockS3Client.getObject(any(GetObjectRequest.class)))
+                .thenReturn(createObject("etag-1"), createObject("etag-1"));
+
+        s3DeveloperSource.fetchIfChanged();
+        s3DeveloperSource.fetchIfChanged();
+
+        ArgumentCaptor<GetObjectRequest> requests = ArgumentCaptor.forClass(GetObjectRequest.class);
+        verify(mockS3Client, times(2)).getObject(requests.capture());
+
+        assertTrue(requests.getAllValues().get(1).getNonmatchingETagConstraints().isEmpty());
+    }
+
+    private S3Object createObject(String eTag) {
+        S3Object object = new S3Object();
+
+        ObjectMetadata metadata = new ObjectMetadata();
+        metadata.setHeader("ETag", eTag);
+        object.setObjectMetadata(metadata);
+        object.setObjectContent(new ByteArrayInputStream(
+                "{\"developers\":[{\"name\":\"Nintendo\"}]}".getBytes(StandardCharsets.UTF_8)));
+
+        return object;
+    }
+}
@@ -0,0 +1,37 @@
+package com.cai.smith.videogameapi.utility;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.task.SyncTaskExecutor;
+import org.springframework.core.task.support.TaskExecutorAdapter;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.context.request.async.AsyncWebRequest;
+import org.springframework.web.context.request.async.WebAsyncManager;
+import org.springframework.web.context.request.async.WebAsyncUtils;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+public class AsyncTimeoutsTest {
+
+    @Test
+    @DisplayName("Tests the timeout replaces the one the handler adapter registered")
+    void set() throws Exception {
+
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        request.setAsyncSupported(true);
+
+        // What the handler adapter does before invoking the handler
+        AsyncWebRequest adapterRequest = WebAsyncUtils.createAsyncWebRequest(request, response);
+        adapterRequest.setTimeout(30000L);
+        WebAsyncManager asyncManager = WebAsyncUtils.getAsyncManager(request);
+        asyncManager.setTaskExecutor(new TaskExecutorAdapter(new SyncTaskExecutor()));
+        asyncManager.setAsyncWebRequest(adapterRequest);
+
+        AsyncTimeouts.set(request, response, 600000);
+        asyncManager.startCallableProcessing(() -> null);
+
+        assertEquals(600000, request.getAsyncContext().getTimeout());
+    }
+}
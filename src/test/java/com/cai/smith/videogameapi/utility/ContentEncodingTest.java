@@ -0,0 +1,63 @@
+package com.cai.smith.videogameapi.utility;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.InflaterInputStream;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+public class ContentEncodingTest {
+
+    private static final byte[] BODY = "{\"items\":[{\"title\":\"game\"},{\"title\":\"game\"}]}"
+            .getBytes(StandardCharsets.UTF_8);
+
+    @Test
+    void encodeTest() throws IOException {
+        assertArrayEquals(BODY, read(new GZIPInputStream(new ByteArrayInputStream(ContentEncoding.GZIP.encode(BODY)))));
+        assertArrayEquals(BODY, read(new InflaterInputStream(new ByteArrayInputStream(ContentEncoding.DEFLATE.encode(BODY)))));
+    }
+
+    @Test
+    void isAcceptedByTest() {
+        assertTrue(ContentEncoding.GZIP.isAcceptedBy("deflate, gzip"));
+        assertTrue(ContentEncoding.GZIP.isAcceptedBy("*"));
+        assertFalse(ContentEncoding.GZIP.isAcceptedBy("gzip;q=0, *"));
+        assertFalse(ContentEncoding.GZIP.isAcceptedBy("br"));
+        assertFalse(ContentEncoding.GZIP.isAcceptedBy(null));
+    }
+
+    @Test
+    void negotiateTest() {
+        assertEquals(ContentEncoding.GZIP, ContentEncoding.negotiate("deflate, gzip"));
+        assertEquals(ContentEncoding.DEFLATE, ContentEncoding.negotiate("gzip;q=0.5, deflate"));
+        assertEquals(ContentEncoding.DEFLATE, ContentEncoding.negotiate("gzip;q=0, *"));
+        assertEquals(ContentEncoding.GZIP, ContentEncoding.negotiate("br, *;q=0.1"));
+        assertNull(ContentEncoding.negotiate("br, identity"));
+        assertNull(ContentEncoding.negotiate(null));
+    }
+
+    private static byte[] read(InputStream inputStream) throws IOException {
+
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        try (InputStream in = inputStream) {
+            byte[] buffer = new byte[256];
+            int read;
+            while ((read = in.read(buffer)) != -1) {
+                outputStream.write(buffer, 0, read);
+            }
+        }
+        return outputStream.toByteArray();
+    }
+}
@@ -0,0 +1,58 @@
+package com.cai.smith.videogameapi.utility;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+public class ETagsTest {
+
+    @Test
+    void forVersionTest() {
+        assertEquals("\"v2\"", ETags.forVersion(2));
+        assertEquals("\"g2\"", ETags.forGeneration(2));
+    }
+
+    @Test
+    void withSuffixTest() {
+        assertEquals("\"v2-cbor\"", ETags.withSuffix("\"v2\"", "cbor"));
+    }
+
+    @Test
+    void forEncodingTest() {
+        assertEquals("\"v2-gzip\"", ETags.forEncoding("\"v2\"", ContentEncoding.GZIP));
+    }
+
+    @Test
+    void weakenTest() {
+        assertEquals("W/\"v2\"", ETags.weaken("\"v2\""));
+        assertEquals("W/\"v2\"", ETags.weaken("W/\"v2\""));
+    }
+
+    @Test
+    void matchTest() {
+        assertEquals("\"v2-gzip\"", ETags.match("\"v2-gzip\"", "\"v2\"", "\"v2-gzip\""));
+        assertEquals("\"v2\"", ETags.match("W/\"v2\"", "\"v2\"", "\"v2-gzip\""));
+        assertNull(ETags.match("\"v1-gzip\"", "\"v2\"", "\"v2-gzip\""));
+    }
+
+    @Test
+    void matchAnyEncodingTest() {
+        assertEquals("\"g2\"", ETags.matchAnyEncoding("\"g2\"", "\"g2\""));
+        assertEquals("\"g2-deflate\"", ETags.matchAnyEncoding("\"g1\", \"g2-deflate\"", "\"g2\""));
+        assertNull(ETags.matchAnyEncoding("\"g2-br\"", "\"g2\""));
+    }
+
+    @Test
+    void matchesTest() {
+        assertTrue(ETags.matches("\"v2\"", "\"v2\""));
+        assertTrue(ETags.matches("\"v1\", W/\"v2\"", "\"v2\""));
+        assertTrue(ETags.matches("*", "\"v2\""));
+        assertFalse(ETags.matches("\"v1\"", "\"v2\""));
+        assertFalse(ETags.matches(null, "\"v2\""));
+    }
+}
@@ -0,0 +1,27 @@
+package com.cai.smith.videogameapi.utility;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+public class PageTokenTest {
+
+    private static final String GAME_ID = "7c9e6679-7425-40de-944b-e07fc1f90ae7";
+
+    @Test
+    void encodeDecodeTest() {
+        PageToken pageToken = PageToken.decode(new PageToken(120, GAME_ID).encode());
+
+        assertEquals(120, pageToken.getStartIndex());
+        assertEquals(GAME_ID, pageToken.getLastGameId());
+    }
+
+    @Test
+    void decodeMalformedTokenTest() {
+        assertThrows(IllegalArgumentException.class, () -> PageToken.decode("not a token"));
+        assertThrows(IllegalArgumentException.class, () -> PageToken.decode("bm9zZXBhcmF0b3I"));
+    }
+}
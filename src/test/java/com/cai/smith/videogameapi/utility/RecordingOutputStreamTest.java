@@ -0,0 +1,40 @@
+package com.cai.smith.videogameapi.utility;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+public class RecordingOutputStreamTest {
+
+    @Test
+    void recordsWritesTest() throws IOException {
+
+        ByteArrayOutputStream target = new ByteArrayOutputStream();
+        RecordingOutputStream recording = new RecordingOutputStream(target, 4);
+
+        recording.write(1);
+        recording.write(new byte[] {2, 3, 4}, 0, 3);
+
+        assertArrayEquals(new byte[] {1, 2, 3, 4}, target.toByteArray());
+        assertArrayEquals(new byte[] {1, 2, 3, 4}, recording.getRecording());
+    }
+
+    @Test
+    void dropsRecordingPastLimitTest() throws IOException {
+
+        ByteArrayOutputStream target = new ByteArrayOutputStream();
+        RecordingOutputStream recording = new RecordingOutputStream(target, 2);
+
+        recording.write(new byte[] {1, 2, 3}, 0, 3);
+        recording.write(4);
+
+        assertArrayEquals(new byte[] {1, 2, 3, 4}, target.toByteArray());
+        assertNull(recording.getRecording());
+    }
+}